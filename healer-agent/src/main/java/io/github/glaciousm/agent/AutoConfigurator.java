@@ -4,10 +4,12 @@ import io.github.glaciousm.core.config.ConfigLoader;
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
 import io.github.glaciousm.core.engine.HealingSummary;
+import io.github.glaciousm.core.engine.cache.CacheKey;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.util.ImplicitWaits;
 import io.github.glaciousm.core.util.StackTraceAnalyzer;
 import io.github.glaciousm.llm.LlmOrchestrator;
-import io.github.glaciousm.selenium.snapshot.SnapshotBuilder;
+import io.github.glaciousm.selenium.snapshot.SnapshotSession;
 import org.openqa.selenium.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,8 +17,8 @@ import org.slf4j.LoggerFactory;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Auto-configures the Intent Healer components for agent-based operation.
@@ -36,11 +38,15 @@ public class AutoConfigurator {
     private static volatile boolean providerAvailable = false;
 
     // Track registered drivers (WeakHashMap allows garbage collection)
-    private static final Map<WebDriver, SnapshotBuilder> driverSnapshots =
+    private static final Map<WebDriver, SnapshotSession> driverSnapshots =
             Collections.synchronizedMap(new WeakHashMap<>());
 
     // Cache healed locators to avoid repeated LLM calls for the same broken locator
-    private static final Map<String, By> healedLocatorCache = new ConcurrentHashMap<>();
+    private static final HealedLocatorCache healedLocatorCache =
+            new HealedLocatorCache(() -> engine != null ? engine.getHealCache() : null);
+
+    // Set while the agent itself calls findElement, so the advice leaves those calls alone
+    private static final ThreadLocal<Boolean> internalLookup = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
     private static final StackTraceAnalyzer stackTraceAnalyzer = new StackTraceAnalyzer();
 
@@ -125,6 +131,17 @@ public class AutoConfigurator {
         return engine;
     }
 
+    /**
+     * Shut down the healing engine, writing pending heal cache changes to disk.
+     * Called from the agent's shutdown hook.
+     */
+    public static void shutdown() {
+        HealingEngine current = engine;
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
     /**
      * Register a WebDriver instance for healing.
      * Called by the constructor advice when a new WebDriver is created.
@@ -136,13 +153,89 @@ public class AutoConfigurator {
 
         synchronized (driverSnapshots) {
             if (!driverSnapshots.containsKey(driver)) {
-                SnapshotBuilder snapshotBuilder = new SnapshotBuilder(driver);
-                driverSnapshots.put(driver, snapshotBuilder);
+                driverSnapshots.put(driver, new SnapshotSession(driver, config.getSnapshot()));
                 logger.debug("Registered driver for healing: {}", driver.getClass().getName());
             }
         }
     }
 
+    /**
+     * Get the healed locator to use instead of the given one before findElement runs.
+     * The page URL is only read when a healed locator may exist for this locator.
+     *
+     * @param driver the WebDriver instance
+     * @param by the locator passed to findElement
+     * @return the rewrite to apply, or null to run the call unchanged
+     */
+    public static Rewrite rewriteLocator(WebDriver driver, By by) {
+        if (by == null || internalLookup.get() || !isEnabled()) {
+            return null;
+        }
+
+        LocatorInfo originalLocator = byToLocatorInfo(by);
+        if (!healedLocatorCache.mayContain(originalLocator)) {
+            return null;
+        }
+
+        CacheKey cacheKey = buildCacheKey(driver, originalLocator);
+        Optional<LocatorInfo> healedLocator = healedLocatorCache.preemptive(cacheKey);
+        if (healedLocator.isEmpty()) {
+            return null;
+        }
+
+        By healedBy = locatorInfoToBy(healedLocator.get());
+        logger.debug("Pre-emptively using healed locator: {} -> {}", by, healedBy);
+        return new Rewrite(by, healedBy, cacheKey);
+    }
+
+    /**
+     * Check whether the current findElement call was made by the agent itself.
+     */
+    public static boolean isInternalLookup() {
+        return internalLookup.get();
+    }
+
+    /**
+     * Record that a pre-emptively rewritten locator found its element.
+     */
+    public static void recordPreemptiveHit(Rewrite rewrite) {
+        healedLocatorCache.promote(rewrite.cacheKey());
+    }
+
+    /**
+     * Recover from a pre-emptively rewritten locator that failed. The original locator is
+     * tried first, in case the page has been fixed, and healing runs only if it fails too.
+     *
+     * @param driver the WebDriver instance
+     * @param rewrite the rewrite applied on entry
+     * @param rewriteFailure the exception thrown for the healed locator
+     * @return the element found by the original locator or by a new heal
+     * @throws WebDriverException the original locator's failure if nothing was found
+     */
+    public static WebElement recoverPreemptiveMiss(WebDriver driver, Rewrite rewrite, Throwable rewriteFailure) {
+        By original = rewrite.original();
+        healedLocatorCache.demote(rewrite.cacheKey());
+        logger.debug("Healed locator missed for {}, trying the original: {}",
+                original, rewriteFailure.getMessage());
+
+        // The healed locator already waited out the implicit wait, so probe the original without it
+        WebDriverException originalFailure;
+        try {
+            WebElement element = ImplicitWaits.withoutImplicitWait(driver, () -> findInternal(driver, original));
+            healedLocatorCache.remove(rewrite.cacheKey());
+            logger.info("Original locator works again, dropping healed locator for: {}", original);
+            return element;
+        } catch (NoSuchElementException | StaleElementReferenceException e) {
+            originalFailure = e;
+        }
+
+        WebElement healedElement = heal(driver, original, originalFailure, rewrite.cacheKey(), false);
+        if (healedElement == null) {
+            throw originalFailure;
+        }
+        return healedElement;
+    }
+
     /**
      * Attempt to heal a failed findElement call.
      *
@@ -155,28 +248,38 @@ public class AutoConfigurator {
         if (!isEnabled()) {
             return null;
         }
+        return heal(driver, by, originalException, buildCacheKey(driver, byToLocatorInfo(by)), true);
+    }
 
-        String originalLocatorKey = by.toString();
+    private static WebElement heal(WebDriver driver, By by, Throwable originalException,
+                                   CacheKey cacheKey, boolean tryCached) {
+        if (!isEnabled()) {
+            return null;
+        }
 
         // Check cache first - avoid repeated LLM calls for same broken locator
-        By cachedHealedBy = healedLocatorCache.get(originalLocatorKey);
-        if (cachedHealedBy != null) {
-            logger.debug("Using cached healed locator for: {}", originalLocatorKey);
+        Optional<LocatorInfo> cachedLocator = tryCached ? healedLocatorCache.get(cacheKey) : Optional.empty();
+        if (cachedLocator.isPresent()) {
+            By cachedHealedBy = locatorInfoToBy(cachedLocator.get());
+            logger.debug("Using cached healed locator for: {}", by);
             try {
-                return driver.findElement(cachedHealedBy);
+                WebElement element = findInternal(driver, cachedHealedBy);
+                healedLocatorCache.promote(cacheKey);
+                return element;
             } catch (NoSuchElementException e) {
                 // Cached locator no longer works, remove from cache and proceed with healing
-                healedLocatorCache.remove(originalLocatorKey);
-                logger.debug("Cached locator failed, re-healing: {}", originalLocatorKey);
+                healedLocatorCache.remove(cacheKey);
+                logger.debug("Cached locator failed, re-healing: {}", by);
             }
         }
 
-        SnapshotBuilder snapshotBuilder = driverSnapshots.get(driver);
-        if (snapshotBuilder == null) {
-            // Driver wasn't registered, create a snapshot builder on-the-fly
-            snapshotBuilder = new SnapshotBuilder(driver);
-            driverSnapshots.put(driver, snapshotBuilder);
+        SnapshotSession registered = driverSnapshots.get(driver);
+        if (registered == null) {
+            // Driver wasn't registered, create a snapshot session on-the-fly
+            registered = new SnapshotSession(driver, config.getSnapshot());
+            driverSnapshots.put(driver, registered);
         }
+        SnapshotSession snapshotSession = registered;
 
         // Capture screenshot BEFORE healing attempt (for visual evidence)
         String beforeScreenshotBase64 = captureScreenshotBase64(driver);
@@ -185,9 +288,6 @@ public class AutoConfigurator {
             // Convert By to LocatorInfo
             LocatorInfo originalLocator = byToLocatorInfo(by);
 
-            // Capture UI snapshot
-            UiSnapshot snapshot = snapshotBuilder.captureAll();
-
             // Extract source location from stack trace
             SourceLocation sourceLocation = stackTraceAnalyzer
                     .extractSourceLocationWithContext((Exception) originalException)
@@ -210,8 +310,9 @@ public class AutoConfigurator {
 
             IntentContract intent = IntentContract.defaultContract("find element");
 
-            // Attempt healing with pre-captured snapshot
-            HealResult result = engine.attemptHeal(failureContext, intent, snapshot);
+            // Threads failing on the same locator share one heal; only the thread that runs it
+            // captures a snapshot, and the result is checked against this driver below
+            HealResult result = engine.attemptHeal(cacheKey, failureContext, intent, snapshotSession::captureAll);
 
             if (result != null && result.isSuccess() && result.getHealedLocator().isPresent()) {
                 String healedLocatorStr = result.getHealedLocator().get();
@@ -220,10 +321,6 @@ public class AutoConfigurator {
 
                 logger.info("Healed locator: {} -> {}", by, healedBy);
 
-                // Cache the healed locator for future calls
-                healedLocatorCache.put(originalLocatorKey, healedBy);
-                logger.debug("Cached healed locator: {} -> {}", originalLocatorKey, healedBy);
-
                 // Capture screenshot AFTER successful healing
                 String afterScreenshotBase64 = captureScreenshotBase64(driver);
 
@@ -238,8 +335,12 @@ public class AutoConfigurator {
                         afterScreenshotBase64
                 );
 
-                // Find element with healed locator
-                return driver.findElement(healedBy);
+                // Find element with healed locator on this driver, then cache it for future calls
+                WebElement healedElement = findInternal(driver, healedBy);
+                healedLocatorCache.put(cacheKey, healedLocator, result.getConfidence(),
+                        result.getReasoning().orElse(null));
+                logger.debug("Cached healed locator: {} -> {}", by, healedBy);
+                return healedElement;
             }
 
         } catch (Exception healException) {
@@ -249,6 +350,36 @@ public class AutoConfigurator {
         return null;
     }
 
+    /**
+     * Build the heal cache key for a locator on the driver's current page.
+     */
+    private static CacheKey buildCacheKey(WebDriver driver, LocatorInfo locator) {
+        String pageUrl;
+        try {
+            pageUrl = driver.getCurrentUrl();
+        } catch (WebDriverException e) {
+            pageUrl = null;
+        }
+        return CacheKey.builder()
+                .pageUrl(pageUrl)
+                .originalLocator(locator)
+                .actionType(ActionType.UNKNOWN)
+                .build();
+    }
+
+    /**
+     * Call findElement without the advice rewriting the locator or healing a failure.
+     */
+    private static WebElement findInternal(WebDriver driver, By by) {
+        boolean nested = internalLookup.get();
+        internalLookup.set(Boolean.TRUE);
+        try {
+            return driver.findElement(by);
+        } finally {
+            internalLookup.set(nested);
+        }
+    }
+
     /**
      * Wire the healing engine with snapshot capture and LLM evaluation functions.
      */
@@ -265,6 +396,12 @@ public class AutoConfigurator {
             IntentContract intent = IntentContract.defaultContract(failure.getStepText());
             return llmOrchestrator.evaluateCandidates(failure, snapshot, intent, config.getLlm());
         });
+        engine.setAsyncLlmEvaluator((failure, snapshot) -> {
+            IntentContract intent = IntentContract.defaultContract(failure.getStepText());
+            return llmOrchestrator.evaluateCandidatesAsync(failure, snapshot, intent, config.getLlm());
+        });
+        engine.setBatchLlmEvaluator((targets, snapshot) ->
+                llmOrchestrator.evaluateBatch(targets, snapshot, config.getLlm()));
     }
 
     /**
@@ -394,4 +531,14 @@ public class AutoConfigurator {
             case TAG_NAME -> By.tagName(locator.getValue());
         };
     }
+
+    /**
+     * A locator replaced before findElement ran, handed from the entry advice to the exit advice.
+     *
+     * @param original the locator the caller passed
+     * @param healed the healed locator used instead
+     * @param cacheKey the heal cache key of the original locator on the current page
+     */
+    public record Rewrite(By original, By healed, CacheKey cacheKey) {
+    }
 }
@@ -0,0 +1,134 @@
+package io.github.glaciousm.agent;
+
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
+import io.github.glaciousm.core.model.LocatorInfo;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Healed locators remembered by the agent, stored in the engine's {@link HealCache} so
+ * entries are scoped to a page URL pattern, bounded by the configured eviction policy and,
+ * with file storage, reused by later runs.
+ *
+ * <p>On top of the heal cache each entry carries a small saturating score for this JVM.
+ * Entries at or above {@link #PREEMPTIVE_THRESHOLD} are swapped in before findElement runs,
+ * so a locator known to be broken never waits out the implicit wait. A hit promotes the
+ * entry and a miss demotes it; demoted entries are only tried after the original locator
+ * has failed.</p>
+ *
+ * <p>Finding the cache key needs the page URL, which costs a driver call. The original
+ * locators of entries seen in this JVM are therefore indexed, and locators outside the
+ * index are never looked up before the call. Entries loaded from disk join the index the
+ * first time they heal a failure.</p>
+ */
+final class HealedLocatorCache {
+
+    /** Minimum score for an entry to replace the original locator up front. */
+    static final int PREEMPTIVE_THRESHOLD = 1;
+
+    /** Highest score, so a well-proven entry survives this many misses in a row. */
+    static final int MAX_SCORE = 3;
+
+    private final Supplier<HealCache> healCache;
+    private final Set<String> knownLocators = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> scores = new ConcurrentHashMap<>();
+
+    /**
+     * @param healCache supplies the heal cache, or null when caching is disabled
+     */
+    HealedLocatorCache(Supplier<HealCache> healCache) {
+        this.healCache = healCache;
+    }
+
+    /**
+     * Check, without any driver call, whether a healed locator may be cached for the locator.
+     */
+    boolean mayContain(LocatorInfo original) {
+        return knownLocators.contains(indexKey(original));
+    }
+
+    /**
+     * Remember a freshly healed locator. New entries start at the threshold because
+     * the heal has just found the element with them.
+     */
+    void put(CacheKey key, LocatorInfo healed, double confidence, String reasoning) {
+        HealCache cache = healCache.get();
+        if (cache == null) {
+            return;
+        }
+        cache.put(key, healed, confidence, reasoning);
+        knownLocators.add(indexKey(key.getOriginalLocator()));
+        scores.put(key.getHash(), PREEMPTIVE_THRESHOLD);
+    }
+
+    /**
+     * Get the healed locator regardless of its score.
+     */
+    Optional<LocatorInfo> get(CacheKey key) {
+        HealCache cache = healCache.get();
+        if (cache == null) {
+            return Optional.empty();
+        }
+        Optional<LocatorInfo> healed = cache.get(key);
+        if (healed.isPresent()) {
+            knownLocators.add(indexKey(key.getOriginalLocator()));
+        } else {
+            scores.remove(key.getHash());
+        }
+        return healed;
+    }
+
+    /**
+     * Get the healed locator only if it is trusted enough to be used before the original.
+     */
+    Optional<LocatorInfo> preemptive(CacheKey key) {
+        return score(key) >= PREEMPTIVE_THRESHOLD ? get(key) : Optional.empty();
+    }
+
+    /**
+     * Record that the healed locator found the element.
+     */
+    void promote(CacheKey key) {
+        HealCache cache = healCache.get();
+        if (cache != null) {
+            cache.recordSuccess(key);
+        }
+        scores.merge(key.getHash(), PREEMPTIVE_THRESHOLD + 1, (old, one) -> Math.min(MAX_SCORE, old + 1));
+    }
+
+    /**
+     * Record that the healed locator did not find the element.
+     */
+    void demote(CacheKey key) {
+        HealCache cache = healCache.get();
+        if (cache != null) {
+            cache.recordFailure(key);
+        }
+        scores.merge(key.getHash(), PREEMPTIVE_THRESHOLD - 1, (old, one) -> Math.max(0, old - 1));
+    }
+
+    void remove(CacheKey key) {
+        HealCache cache = healCache.get();
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+        scores.remove(key.getHash());
+    }
+
+    /**
+     * Score of the entry in this JVM. Entries not seen yet, such as ones healed in an
+     * earlier run, start at the threshold.
+     */
+    int score(CacheKey key) {
+        return scores.getOrDefault(key.getHash(), PREEMPTIVE_THRESHOLD);
+    }
+
+    private static String indexKey(LocatorInfo locator) {
+        return locator != null ? locator.getStrategy() + ":" + locator.getValue() : "";
+    }
+}
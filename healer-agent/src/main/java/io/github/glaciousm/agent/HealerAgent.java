@@ -35,7 +35,8 @@ import java.security.ProtectionDomain;
  * <ul>
  *   <li>On JVM start: Loads healer-config.yml and prints startup banner</li>
  *   <li>On WebDriver creation: Registers driver for healing</li>
- *   <li>On findElement: Intercepts NoSuchElementException and triggers healing</li>
+ *   <li>On findElement: Uses a known healed locator up front, otherwise intercepts
+ *       NoSuchElementException and triggers healing</li>
  * </ul>
  *
  * @see AutoConfigurator
@@ -137,6 +138,9 @@ public class HealerAgent {
                     System.out.println(YELLOW + "[Intent Healer] Failed to generate healing reports: " + e.getMessage() + RESET);
                     e.printStackTrace(System.out);
                     logger.error("Failed to generate healing reports", e);
+                } finally {
+                    // Write pending heal cache changes so the next run starts warm
+                    AutoConfigurator.shutdown();
                 }
             }, "intent-healer-summary"));
 
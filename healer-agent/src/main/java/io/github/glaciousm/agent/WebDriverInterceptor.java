@@ -6,6 +6,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 
 /**
@@ -15,6 +16,10 @@ import org.openqa.selenium.WebElement;
  * When a NoSuchElementException or StaleElementReferenceException is thrown,
  * the healing engine attempts to find an alternative locator.</p>
  *
+ * <p>Locators that have already been healed are swapped for their healed form before
+ * the call, so they do not wait out the implicit wait again. If the healed locator
+ * misses, the original locator is tried before healing runs.</p>
+ *
  * <p>The healing process:</p>
  * <ol>
  *   <li>Original findElement is called</li>
@@ -27,26 +32,70 @@ import org.openqa.selenium.WebElement;
 public class WebDriverInterceptor {
 
     /**
-     * Called when findElement throws an exception.
+     * Called before findElement runs.
+     * Replaces the locator with its healed form when that is known to work.
+     *
+     * @param driver the WebDriver instance
+     * @param by the locator passed to findElement, replaced in place
+     * @return the rewrite that was applied, or null if the call runs unchanged
+     */
+    @Advice.OnMethodEnter(suppress = Throwable.class)
+    public static AutoConfigurator.Rewrite onFindElementEnter(
+            @Advice.This WebDriver driver,
+            @Advice.Argument(value = 0, readOnly = false) By by) {
+        // A failed rewrite must never fail a lookup that would work unchanged
+        try {
+            AutoConfigurator.Rewrite rewrite = AutoConfigurator.rewriteLocator(driver, by);
+            if (rewrite != null) {
+                by = rewrite.healed();
+            }
+            return rewrite;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Called when findElement returns or throws.
      * Attempts to heal the locator and find the element.
      *
      * @param driver the WebDriver instance
-     * @param by the locator that failed
+     * @param by the locator that was used
+     * @param rewrite the rewrite applied on entry, or null
      * @param thrown the exception that was thrown
-     * @return the healed element, or null if healing failed
      */
     @Advice.OnMethodExit(onThrowable = Throwable.class)
     public static void onFindElementExit(
             @Advice.This WebDriver driver,
             @Advice.Argument(0) By by,
+            @Advice.Enter AutoConfigurator.Rewrite rewrite,
             @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) WebElement returned,
             @Advice.Thrown(readOnly = false, typing = Assigner.Typing.DYNAMIC) Throwable thrown) {
 
-        // Only intercept NoSuchElementException and StaleElementReferenceException
+        // Lookups made by the healer itself are handled by the healer
+        if (AutoConfigurator.isInternalLookup()) {
+            return;
+        }
+
         if (thrown == null) {
+            if (rewrite != null) {
+                AutoConfigurator.recordPreemptiveHit(rewrite);
+            }
             return;
         }
 
+        // A rewritten call that fails for any WebDriver reason falls back to the caller's locator
+        if (rewrite != null && thrown instanceof WebDriverException) {
+            try {
+                returned = AutoConfigurator.recoverPreemptiveMiss(driver, rewrite, thrown);
+                thrown = null;
+            } catch (Throwable originalFailure) {
+                thrown = originalFailure;
+            }
+            return;
+        }
+
+        // Only intercept NoSuchElementException and StaleElementReferenceException
         if (!(thrown instanceof NoSuchElementException) &&
             !(thrown instanceof StaleElementReferenceException)) {
             return;
@@ -1,14 +1,23 @@
 package io.github.glaciousm.agent;
 
+import io.github.glaciousm.core.engine.cache.CacheKey;
 import io.github.glaciousm.core.model.LocatorInfo;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for AutoConfigurator.
@@ -289,6 +298,39 @@ class AutoConfiguratorTest {
         }
     }
 
+    @Nested
+    @DisplayName("recoverPreemptiveMiss")
+    class RecoverPreemptiveMissTests {
+
+        @Test
+        @DisplayName("should probe the original locator without the implicit wait")
+        void probesOriginalWithoutImplicitWait() {
+            WebDriver driver = mock(WebDriver.class);
+            WebDriver.Options options = mock(WebDriver.Options.class);
+            WebDriver.Timeouts timeouts = mock(WebDriver.Timeouts.class);
+            WebElement element = mock(WebElement.class);
+            when(driver.manage()).thenReturn(options);
+            when(options.timeouts()).thenReturn(timeouts);
+            when(timeouts.getImplicitWaitTimeout()).thenReturn(Duration.ofSeconds(5));
+            By original = By.id("submit");
+            when(driver.findElement(original)).thenReturn(element);
+            CacheKey cacheKey = CacheKey.builder()
+                    .pageUrl("https://example.com")
+                    .originalLocator(new LocatorInfo("id", "submit"))
+                    .build();
+            AutoConfigurator.Rewrite rewrite = new AutoConfigurator.Rewrite(original, By.id("submit-v2"), cacheKey);
+
+            WebElement result = AutoConfigurator.recoverPreemptiveMiss(
+                    driver, rewrite, new NoSuchElementException("healed locator gone"));
+
+            assertThat(result).isSameAs(element);
+            InOrder inOrder = inOrder(timeouts, driver);
+            inOrder.verify(timeouts).implicitlyWait(Duration.ZERO);
+            inOrder.verify(driver).findElement(original);
+            inOrder.verify(timeouts).implicitlyWait(Duration.ofSeconds(5));
+        }
+    }
+
     // Helper methods to invoke private static methods via reflection
 
     private LocatorInfo invokeByToLocatorInfo(By by) throws Exception {
@@ -0,0 +1,193 @@
+package io.github.glaciousm.agent;
+
+import io.github.glaciousm.core.config.CacheConfig;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
+import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HealedLocatorCache.
+ */
+class HealedLocatorCacheTest {
+
+    private static final LocatorInfo ORIGINAL = new LocatorInfo("id", "old-submit");
+    private static final LocatorInfo HEALED = new LocatorInfo("id", "submit");
+    private static final CacheKey KEY = keyFor("https://shop.example.com/orders/42");
+
+    private HealCache healCache;
+    private HealedLocatorCache cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig config = new CacheConfig();
+        config.setPersistenceEnabled(false);
+        healCache = new HealCache(config);
+        cache = new HealedLocatorCache(() -> healCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        healCache.shutdown();
+    }
+
+    @Test
+    @DisplayName("should use a freshly healed locator pre-emptively")
+    void usesFreshEntryPreemptively() {
+        cache.put(KEY, HEALED, 0.9, "same button");
+
+        assertThat(cache.mayContain(ORIGINAL)).isTrue();
+        assertThat(cache.preemptive(KEY)).contains(HEALED);
+        assertThat(cache.score(KEY)).isEqualTo(HealedLocatorCache.PREEMPTIVE_THRESHOLD);
+    }
+
+    @Test
+    @DisplayName("should not know locators that were never healed")
+    void unknownLocator() {
+        assertThat(cache.mayContain(ORIGINAL)).isFalse();
+        assertThat(cache.preemptive(KEY)).isEmpty();
+        assertThat(cache.get(KEY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should scope entries to the page URL pattern")
+    void scopesEntriesToPage() {
+        cache.put(KEY, HEALED, 0.9, "same button");
+
+        assertThat(cache.get(keyFor("https://shop.example.com/orders/7"))).contains(HEALED);
+        assertThat(cache.get(keyFor("https://shop.example.com/cart"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not cache heals below the configured confidence")
+    void skipsLowConfidenceHeals() {
+        cache.put(KEY, HEALED, 0.2, "guess");
+
+        assertThat(cache.get(KEY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should stop pre-emptive use after a miss but keep the entry")
+    void demotedEntryIsKeptButNotPreemptive() {
+        cache.put(KEY, HEALED, 0.9, "same button");
+
+        cache.demote(KEY);
+
+        assertThat(cache.preemptive(KEY)).isEmpty();
+        assertThat(cache.get(KEY)).contains(HEALED);
+    }
+
+    @Test
+    @DisplayName("should restore pre-emptive use after a hit")
+    void promotionRestoresPreemptiveUse() {
+        cache.put(KEY, HEALED, 0.9, "same button");
+        cache.demote(KEY);
+
+        cache.promote(KEY);
+
+        assertThat(cache.preemptive(KEY)).contains(HEALED);
+    }
+
+    @Test
+    @DisplayName("should let a proven entry survive a single miss")
+    void provenEntrySurvivesSingleMiss() {
+        cache.put(KEY, HEALED, 0.9, "same button");
+        cache.promote(KEY);
+        cache.promote(KEY);
+        cache.promote(KEY);
+
+        cache.demote(KEY);
+
+        assertThat(cache.score(KEY)).isEqualTo(HealedLocatorCache.MAX_SCORE - 1);
+        assertThat(cache.preemptive(KEY)).contains(HEALED);
+    }
+
+    @Test
+    @DisplayName("should keep the score within bounds")
+    void scoreIsBounded() {
+        cache.put(KEY, HEALED, 0.9, "same button");
+        for (int i = 0; i < 10; i++) {
+            cache.promote(KEY);
+        }
+        assertThat(cache.score(KEY)).isEqualTo(HealedLocatorCache.MAX_SCORE);
+
+        for (int i = 0; i < 10; i++) {
+            cache.demote(KEY);
+        }
+        assertThat(cache.score(KEY)).isZero();
+    }
+
+    @Test
+    @DisplayName("should reset the score when a locator is healed again")
+    void putResetsScore() {
+        LocatorInfo rehealed = new LocatorInfo("css", "button[type='submit']");
+        cache.put(KEY, HEALED, 0.9, "same button");
+        cache.demote(KEY);
+
+        cache.put(KEY, rehealed, 0.9, "button moved");
+
+        assertThat(cache.preemptive(KEY)).contains(rehealed);
+    }
+
+    @Test
+    @DisplayName("should forget removed entries")
+    void removeForgetsEntry() {
+        cache.put(KEY, HEALED, 0.9, "same button");
+
+        cache.remove(KEY);
+
+        assertThat(cache.get(KEY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should do nothing when caching is disabled")
+    void noHealCache() {
+        HealedLocatorCache disabled = new HealedLocatorCache(() -> null);
+
+        disabled.put(KEY, HEALED, 0.9, "same button");
+
+        assertThat(disabled.mayContain(ORIGINAL)).isFalse();
+        assertThat(disabled.get(KEY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reuse heals from an earlier run once they are looked up")
+    void warmStartFromDisk(@TempDir Path dir) {
+        CacheConfig config = new CacheConfig();
+        config.setStorage(CacheConfig.StorageType.FILE);
+        config.setFilePath(dir.toString());
+
+        HealCache firstRun = new HealCache(config);
+        new HealedLocatorCache(() -> firstRun).put(KEY, HEALED, 0.9, "same button");
+        firstRun.shutdown();
+
+        HealCache secondRun = new HealCache(config);
+        try {
+            HealedLocatorCache warm = new HealedLocatorCache(() -> secondRun);
+            assertThat(warm.mayContain(ORIGINAL)).isFalse();
+
+            assertThat(warm.get(KEY)).contains(HEALED);
+            assertThat(warm.mayContain(ORIGINAL)).isTrue();
+            assertThat(warm.preemptive(KEY)).contains(HEALED);
+        } finally {
+            secondRun.shutdown();
+        }
+    }
+
+    private static CacheKey keyFor(String url) {
+        return CacheKey.builder()
+                .pageUrl(url)
+                .originalLocator(ORIGINAL)
+                .actionType(ActionType.UNKNOWN)
+                .build();
+    }
+}
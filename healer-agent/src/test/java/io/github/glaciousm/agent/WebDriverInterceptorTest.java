@@ -0,0 +1,32 @@
+package io.github.glaciousm.agent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Unit tests for WebDriverInterceptor.
+ */
+class WebDriverInterceptorTest {
+
+    @Test
+    @DisplayName("should run findElement unchanged when the locator rewrite fails")
+    void failedRewriteLeavesLookupUnchanged() {
+        WebDriver driver = mock(WebDriver.class);
+        try (MockedStatic<AutoConfigurator> autoConfigurator = mockStatic(AutoConfigurator.class)) {
+            autoConfigurator.when(() -> AutoConfigurator.rewriteLocator(any(), any()))
+                    .thenThrow(new IllegalStateException("malformed cached locator"));
+
+            AutoConfigurator.Rewrite rewrite = WebDriverInterceptor.onFindElementEnter(driver, By.id("submit"));
+
+            assertThat(rewrite).isNull();
+        }
+    }
+}
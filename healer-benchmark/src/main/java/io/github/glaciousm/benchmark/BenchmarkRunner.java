@@ -291,6 +291,9 @@ public class BenchmarkRunner {
         // Ensure guardrails are configured for benchmarking
         configureBenchmarkGuardrails(config);
 
+        // Every scenario must reach the provider, or accuracy and latency would measure the cache
+        config.getLlm().getDecisionCache().setEnabled(false);
+
         // Run benchmarks
         BenchmarkRunner runner = new BenchmarkRunner(config, Paths.get(outputPath));
         BenchmarkResult.BenchmarkSummary summary = runner.runAll();
@@ -22,6 +22,9 @@ public class CacheConfig {
     @JsonProperty("max_size")
     private int maxSize = 10000;
 
+    @JsonProperty("eviction_policy")
+    private EvictionPolicyType evictionPolicy = EvictionPolicyType.SEGMENTED_LRU;
+
     @JsonProperty("min_confidence_to_cache")
     private double minConfidenceToCache = 0.7;
 
@@ -40,6 +43,18 @@ public class CacheConfig {
     @JsonProperty("redis_url")
     private String redisUrl;
 
+    @JsonProperty("persistence_mode")
+    private PersistenceMode persistenceMode = PersistenceMode.WRITE_BEHIND;
+
+    @JsonProperty("flush_interval_ms")
+    private long flushIntervalMs = 1000;
+
+    @JsonProperty("flush_batch_size")
+    private int flushBatchSize = 256;
+
+    @JsonProperty("compact_threshold")
+    private int compactThreshold = 10000;
+
     public CacheConfig() {
     }
 
@@ -86,6 +101,14 @@ public class CacheConfig {
         this.maxEntries = maxSize;
     }
 
+    public EvictionPolicyType getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public void setEvictionPolicy(EvictionPolicyType evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+    }
+
     public double getMinConfidenceToCache() {
         return minConfidenceToCache;
     }
@@ -136,10 +159,53 @@ public class CacheConfig {
         this.redisUrl = redisUrl;
     }
 
+    public PersistenceMode getPersistenceMode() {
+        return persistenceMode;
+    }
+
+    public void setPersistenceMode(PersistenceMode persistenceMode) {
+        this.persistenceMode = persistenceMode;
+    }
+
+    /**
+     * Maximum time a cache mutation waits in memory before it is written to the journal.
+     * This bounds how much is lost if the JVM crashes in write-behind mode.
+     */
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    /**
+     * Number of pending mutations that triggers a flush before the interval elapses.
+     */
+    public int getFlushBatchSize() {
+        return flushBatchSize;
+    }
+
+    public void setFlushBatchSize(int flushBatchSize) {
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    /**
+     * Number of journal records after which the journal is folded into the snapshot file.
+     */
+    public int getCompactThreshold() {
+        return compactThreshold;
+    }
+
+    public void setCompactThreshold(int compactThreshold) {
+        this.compactThreshold = compactThreshold;
+    }
+
     @Override
     public String toString() {
         return "CacheConfig{enabled=" + enabled + ", ttlHours=" + ttlHours +
-               ", maxSize=" + maxSize + ", storage=" + storage + "}";
+               ", maxSize=" + maxSize + ", evictionPolicy=" + evictionPolicy + ", storage=" + storage +
+               ", persistenceMode=" + persistenceMode + "}";
     }
 
     /**
@@ -150,4 +216,24 @@ public class CacheConfig {
         FILE,
         REDIS
     }
+
+    /**
+     * How entries are chosen for eviction once the cache is full.
+     */
+    public enum EvictionPolicyType {
+        /** Probation and protected LRU segments; keys used twice survive one-off heals. */
+        SEGMENTED_LRU,
+        /** Small LRU window in front of a segmented LRU, admitting keys by estimated frequency. */
+        W_TINY_LFU
+    }
+
+    /**
+     * How persisted caches write changes to disk.
+     */
+    public enum PersistenceMode {
+        /** Rewrite the whole cache file on every change. */
+        SYNC,
+        /** Append changes to a journal from a background writer and compact periodically. */
+        WRITE_BEHIND
+    }
 }
@@ -181,9 +181,30 @@ public class ConfigLoader {
             llm.setMaxTokensPerRequest(srcLlm.getMaxTokensPerRequest());
             llm.setMaxRequestsPerTestRun(srcLlm.getMaxRequestsPerTestRun());
             llm.setMaxCostPerRunUsd(srcLlm.getMaxCostPerRunUsd());
+            llm.setStreaming(srcLlm.isStreaming());
+            llm.setPromptEncoding(srcLlm.getPromptEncoding());
+            llm.setMaxBatchSize(srcLlm.getMaxBatchSize());
             if (srcLlm.getFallback() != null && !srcLlm.getFallback().isEmpty()) {
                 llm.setFallback(srcLlm.getFallback());
             }
+            if (srcLlm.getVision() != null) {
+                llm.setVision(srcLlm.getVision());
+            }
+            if (srcLlm.getPreRanking() != null) {
+                llm.setPreRanking(srcLlm.getPreRanking());
+            }
+            if (srcLlm.getDecisionCache() != null) {
+                llm.setDecisionCache(srcLlm.getDecisionCache());
+            }
+            if (srcLlm.getHedging() != null) {
+                llm.setHedging(srcLlm.getHedging());
+            }
+            if (srcLlm.getRateLimit() != null) {
+                llm.setRateLimit(srcLlm.getRateLimit());
+            }
+            if (srcLlm.getPromptCache() != null) {
+                llm.setPromptCache(srcLlm.getPromptCache());
+            }
         }
 
         if (source.getGuardrails() != null) {
@@ -208,6 +229,10 @@ public class ConfigLoader {
             snap.setIncludeDisabled(srcSnap.isIncludeDisabled());
             snap.setCaptureScreenshot(srcSnap.isCaptureScreenshot());
             snap.setCaptureDom(srcSnap.isCaptureDom());
+            if (srcSnap.getCaptureMode() != null) snap.setCaptureMode(srcSnap.getCaptureMode());
+            snap.setReuseTtlMs(srcSnap.getReuseTtlMs());
+            snap.setIncludeFrames(srcSnap.isIncludeFrames());
+            snap.setIncludeShadowDom(srcSnap.isIncludeShadowDom());
         }
 
         if (source.getCache() != null) {
@@ -216,8 +241,13 @@ public class ConfigLoader {
             cache.setEnabled(srcCache.isEnabled());
             cache.setTtlHours(srcCache.getTtlHours());
             cache.setMaxEntries(srcCache.getMaxEntries());
+            if (srcCache.getEvictionPolicy() != null) cache.setEvictionPolicy(srcCache.getEvictionPolicy());
             if (srcCache.getStorage() != null) cache.setStorage(srcCache.getStorage());
             if (srcCache.getFilePath() != null) cache.setFilePath(srcCache.getFilePath());
+            if (srcCache.getPersistenceMode() != null) cache.setPersistenceMode(srcCache.getPersistenceMode());
+            cache.setFlushIntervalMs(srcCache.getFlushIntervalMs());
+            cache.setFlushBatchSize(srcCache.getFlushBatchSize());
+            cache.setCompactThreshold(srcCache.getCompactThreshold());
         }
 
         if (source.getReport() != null) {
@@ -46,12 +46,36 @@ public class LlmConfig {
     @JsonProperty("require_reasoning")
     private boolean requireReasoning = true;
 
+    @JsonProperty("streaming")
+    private boolean streaming = false;
+
+    @JsonProperty("prompt_encoding")
+    private PromptEncoding promptEncoding = PromptEncoding.MARKDOWN;
+
+    @JsonProperty("max_batch_size")
+    private int maxBatchSize = 10;
+
     @JsonProperty("fallback")
     private List<FallbackProvider> fallback = new ArrayList<>();
 
     @JsonProperty("vision")
     private VisionConfig vision = new VisionConfig();
 
+    @JsonProperty("pre_ranking")
+    private PreRankingConfig preRanking = new PreRankingConfig();
+
+    @JsonProperty("decision_cache")
+    private DecisionCacheConfig decisionCache = new DecisionCacheConfig();
+
+    @JsonProperty("hedging")
+    private HedgingConfig hedging = new HedgingConfig();
+
+    @JsonProperty("rate_limit")
+    private RateLimitConfig rateLimit = new RateLimitConfig();
+
+    @JsonProperty("prompt_cache")
+    private PromptCacheConfig promptCache = new PromptCacheConfig();
+
     public LlmConfig() {
     }
 
@@ -168,6 +192,40 @@ public class LlmConfig {
         this.requireReasoning = requireReasoning;
     }
 
+    /**
+     * Whether heal decisions are streamed and resolved as soon as the decision fields arrive,
+     * before the reasoning text is complete.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * How candidate elements are written into the healing prompt.
+     */
+    public PromptEncoding getPromptEncoding() {
+        return promptEncoding;
+    }
+
+    public void setPromptEncoding(PromptEncoding promptEncoding) {
+        this.promptEncoding = promptEncoding != null ? promptEncoding : PromptEncoding.MARKDOWN;
+    }
+
+    /**
+     * Most broken locators decided in one batch request; larger batches are split.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
     public List<FallbackProvider> getFallback() {
         return fallback;
     }
@@ -184,6 +242,46 @@ public class LlmConfig {
         this.vision = vision != null ? vision : new VisionConfig();
     }
 
+    public PreRankingConfig getPreRanking() {
+        return preRanking;
+    }
+
+    public void setPreRanking(PreRankingConfig preRanking) {
+        this.preRanking = preRanking != null ? preRanking : new PreRankingConfig();
+    }
+
+    public DecisionCacheConfig getDecisionCache() {
+        return decisionCache;
+    }
+
+    public void setDecisionCache(DecisionCacheConfig decisionCache) {
+        this.decisionCache = decisionCache != null ? decisionCache : new DecisionCacheConfig();
+    }
+
+    public HedgingConfig getHedging() {
+        return hedging;
+    }
+
+    public void setHedging(HedgingConfig hedging) {
+        this.hedging = hedging != null ? hedging : new HedgingConfig();
+    }
+
+    public RateLimitConfig getRateLimit() {
+        return rateLimit;
+    }
+
+    public void setRateLimit(RateLimitConfig rateLimit) {
+        this.rateLimit = rateLimit != null ? rateLimit : new RateLimitConfig();
+    }
+
+    public PromptCacheConfig getPromptCache() {
+        return promptCache;
+    }
+
+    public void setPromptCache(PromptCacheConfig promptCache) {
+        this.promptCache = promptCache != null ? promptCache : new PromptCacheConfig();
+    }
+
     /**
      * Check if vision is enabled for this configuration.
      */
@@ -283,6 +381,18 @@ public class LlmConfig {
         @JsonProperty("image_quality")
         private String imageQuality = "auto";
 
+        @JsonProperty("crop_to_candidates")
+        private boolean cropToCandidates = false;
+
+        @JsonProperty("crop_margin")
+        private int cropMargin = 48;
+
+        @JsonProperty("image_format")
+        private ImageFormat imageFormat = ImageFormat.PNG;
+
+        @JsonProperty("compression_quality")
+        private double compressionQuality = 0.8;
+
         public VisionConfig() {
         }
 
@@ -342,12 +452,419 @@ public class LlmConfig {
             this.imageQuality = imageQuality;
         }
 
+        /**
+         * Whether to crop the screenshot to the area around the candidate elements.
+         */
+        public boolean isCropToCandidates() {
+            return cropToCandidates;
+        }
+
+        public void setCropToCandidates(boolean cropToCandidates) {
+            this.cropToCandidates = cropToCandidates;
+        }
+
+        /**
+         * Pixels kept around the candidate elements when cropping.
+         */
+        public int getCropMargin() {
+            return cropMargin;
+        }
+
+        public void setCropMargin(int cropMargin) {
+            this.cropMargin = cropMargin;
+        }
+
+        public ImageFormat getImageFormat() {
+            return imageFormat;
+        }
+
+        public void setImageFormat(ImageFormat imageFormat) {
+            this.imageFormat = imageFormat != null ? imageFormat : ImageFormat.PNG;
+        }
+
+        /**
+         * Lossy compression quality from 0.0 to 1.0, used for JPEG and WebP.
+         */
+        public double getCompressionQuality() {
+            return compressionQuality;
+        }
+
+        public void setCompressionQuality(double compressionQuality) {
+            this.compressionQuality = compressionQuality;
+        }
+
         @Override
         public String toString() {
             return "VisionConfig{enabled=" + enabled + ", strategy=" + strategy + "}";
         }
     }
 
+    /**
+     * Local candidate pre-ranking applied before the LLM call.
+     */
+    public static class PreRankingConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = true;
+
+        @JsonProperty("top_k")
+        private int topK = 20;
+
+        @JsonProperty("skip_llm")
+        private boolean skipLlm = false;
+
+        @JsonProperty("skip_llm_min_score")
+        private double skipLlmMinScore = 0.90;
+
+        @JsonProperty("skip_llm_margin")
+        private double skipLlmMargin = 0.30;
+
+        public PreRankingConfig() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getTopK() {
+            return topK;
+        }
+
+        public void setTopK(int topK) {
+            this.topK = topK;
+        }
+
+        public boolean isSkipLlm() {
+            return skipLlm;
+        }
+
+        public void setSkipLlm(boolean skipLlm) {
+            this.skipLlm = skipLlm;
+        }
+
+        public double getSkipLlmMinScore() {
+            return skipLlmMinScore;
+        }
+
+        public void setSkipLlmMinScore(double skipLlmMinScore) {
+            this.skipLlmMinScore = skipLlmMinScore;
+        }
+
+        public double getSkipLlmMargin() {
+            return skipLlmMargin;
+        }
+
+        public void setSkipLlmMargin(double skipLlmMargin) {
+            this.skipLlmMargin = skipLlmMargin;
+        }
+
+        @Override
+        public String toString() {
+            return "PreRankingConfig{enabled=" + enabled + ", topK=" + topK + ", skipLlm=" + skipLlm + "}";
+        }
+    }
+
+    /**
+     * Cache of LLM heal decisions keyed by a fingerprint of the prompt inputs.
+     */
+    public static class DecisionCacheConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = true;
+
+        @JsonProperty("max_entries")
+        private int maxEntries = 1000;
+
+        @JsonProperty("ttl_hours")
+        private int ttlHours = 24;
+
+        @JsonProperty("persistence_enabled")
+        private boolean persistenceEnabled = false;
+
+        @JsonProperty("persistence_dir")
+        private String persistenceDir = ".healer/llm-cache";
+
+        public DecisionCacheConfig() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getTtlHours() {
+            return ttlHours;
+        }
+
+        public void setTtlHours(int ttlHours) {
+            this.ttlHours = ttlHours;
+        }
+
+        public boolean isPersistenceEnabled() {
+            return persistenceEnabled;
+        }
+
+        public void setPersistenceEnabled(boolean persistenceEnabled) {
+            this.persistenceEnabled = persistenceEnabled;
+        }
+
+        public String getPersistenceDir() {
+            return persistenceDir;
+        }
+
+        public void setPersistenceDir(String persistenceDir) {
+            this.persistenceDir = persistenceDir;
+        }
+
+        @Override
+        public String toString() {
+            return "DecisionCacheConfig{enabled=" + enabled + ", maxEntries=" + maxEntries
+                    + ", ttlHours=" + ttlHours + ", persistenceEnabled=" + persistenceEnabled + "}";
+        }
+    }
+
+    /**
+     * Hedged requests: when a provider is slower than its usual latency, the same request is
+     * also sent to the next fallback provider and the first decision wins.
+     */
+    public static class HedgingConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = false;
+
+        @JsonProperty("percentile")
+        private double percentile = 95.0;
+
+        @JsonProperty("min_samples")
+        private int minSamples = 10;
+
+        @JsonProperty("initial_delay_ms")
+        private long initialDelayMs = 5000;
+
+        @JsonProperty("min_delay_ms")
+        private long minDelayMs = 250;
+
+        @JsonProperty("max_delay_ms")
+        private long maxDelayMs = 15000;
+
+        public HedgingConfig() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Latency percentile (0-100) of a provider after which the next provider is tried.
+         */
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        /**
+         * Calls a provider must have completed before its own percentile is used.
+         */
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        /**
+         * Hedge delay used until a provider has {@link #getMinSamples()} recorded calls.
+         */
+        public long getInitialDelayMs() {
+            return initialDelayMs;
+        }
+
+        public void setInitialDelayMs(long initialDelayMs) {
+            this.initialDelayMs = initialDelayMs;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+
+        public long getMaxDelayMs() {
+            return maxDelayMs;
+        }
+
+        public void setMaxDelayMs(long maxDelayMs) {
+            this.maxDelayMs = maxDelayMs;
+        }
+
+        @Override
+        public String toString() {
+            return "HedgingConfig{enabled=" + enabled + ", percentile=" + percentile
+                    + ", minSamples=" + minSamples + ", delayMs=[" + minDelayMs + ", " + maxDelayMs + "]}";
+        }
+    }
+
+    /**
+     * Client-side admission control applied to each provider separately: request and token
+     * budgets per minute, and a concurrency limit that adapts to latency and rate limiting.
+     */
+    public static class RateLimitConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = false;
+
+        @JsonProperty("requests_per_minute")
+        private int requestsPerMinute = 0;
+
+        @JsonProperty("tokens_per_minute")
+        private int tokensPerMinute = 0;
+
+        @JsonProperty("initial_concurrency")
+        private int initialConcurrency = 4;
+
+        @JsonProperty("min_concurrency")
+        private int minConcurrency = 1;
+
+        @JsonProperty("max_concurrency")
+        private int maxConcurrency = 16;
+
+        @JsonProperty("max_queue_wait_ms")
+        private long maxQueueWaitMs = 30000;
+
+        @JsonProperty("latency_tolerance")
+        private double latencyTolerance = 2.0;
+
+        public RateLimitConfig() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Requests each provider may receive per minute; 0 for no limit.
+         */
+        public int getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(int requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        /**
+         * Estimated prompt plus completion tokens each provider may receive per minute; 0 for no limit.
+         */
+        public int getTokensPerMinute() {
+            return tokensPerMinute;
+        }
+
+        public void setTokensPerMinute(int tokensPerMinute) {
+            this.tokensPerMinute = tokensPerMinute;
+        }
+
+        public int getInitialConcurrency() {
+            return initialConcurrency;
+        }
+
+        public void setInitialConcurrency(int initialConcurrency) {
+            this.initialConcurrency = initialConcurrency;
+        }
+
+        public int getMinConcurrency() {
+            return minConcurrency;
+        }
+
+        public void setMinConcurrency(int minConcurrency) {
+            this.minConcurrency = minConcurrency;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        /**
+         * Longest a heal waits in the queue before the provider is treated as unavailable.
+         */
+        public long getMaxQueueWaitMs() {
+            return maxQueueWaitMs;
+        }
+
+        public void setMaxQueueWaitMs(long maxQueueWaitMs) {
+            this.maxQueueWaitMs = maxQueueWaitMs;
+        }
+
+        /**
+         * How many times slower than its usual latency a call may be before the concurrency
+         * limit is reduced.
+         */
+        public double getLatencyTolerance() {
+            return latencyTolerance;
+        }
+
+        public void setLatencyTolerance(double latencyTolerance) {
+            this.latencyTolerance = latencyTolerance;
+        }
+
+        @Override
+        public String toString() {
+            return "RateLimitConfig{enabled=" + enabled + ", requestsPerMinute=" + requestsPerMinute
+                    + ", tokensPerMinute=" + tokensPerMinute + ", concurrency=[" + minConcurrency + ", "
+                    + maxConcurrency + "]}";
+        }
+    }
+
+    /**
+     * Encoding of candidate elements in the healing prompt.
+     */
+    public enum PromptEncoding {
+        /** One markdown block per element, up to 50 elements */
+        MARKDOWN,
+        /** One table row per element with repeated values deduplicated, fitted to max_tokens_per_request */
+        COMPACT
+    }
+
+    /**
+     * Encoding of the screenshot sent to vision models.
+     */
+    public enum ImageFormat {
+        /** Lossless, the format screenshots are captured in */
+        PNG,
+        /** Lossy, usually several times smaller than PNG for page screenshots */
+        JPEG,
+        /** Lossy, needs an ImageIO WebP writer on the classpath; falls back to JPEG without one */
+        WEBP
+    }
+
     /**
      * Vision strategy for healing.
      */
@@ -359,4 +876,46 @@ public class LlmConfig {
         /** Combine both vision and DOM analysis */
         HYBRID
     }
+
+    /**
+     * Provider-side caching of the static part of the healing prompt. The instructions are
+     * sent as a prefix that is identical across failures and marked cacheable where the
+     * provider supports it; only the per-failure suffix is processed in full. Off by default,
+     * since Anthropic bills cache writes above the normal input price.
+     */
+    public static class PromptCacheConfig {
+        @JsonProperty("enabled")
+        private boolean enabled = false;
+
+        @JsonProperty("keep_alive")
+        private String keepAlive = "30m";
+
+        public PromptCacheConfig() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * How long Ollama keeps the model, and with it the processed prefix, loaded between
+         * requests, as an Ollama duration such as {@code 30m}. Other providers ignore it.
+         */
+        public String getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(String keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        @Override
+        public String toString() {
+            return "PromptCacheConfig{enabled=" + enabled + ", keepAlive='" + keepAlive + "'}";
+        }
+    }
 }
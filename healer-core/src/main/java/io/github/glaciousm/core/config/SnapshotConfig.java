@@ -28,6 +28,18 @@ public class SnapshotConfig {
     @JsonProperty("timeout_ms")
     private int timeoutMs = 5000;
 
+    @JsonProperty("capture_mode")
+    private CaptureMode captureMode = CaptureMode.BULK;
+
+    @JsonProperty("reuse_ttl_ms")
+    private long reuseTtlMs = 60000;
+
+    @JsonProperty("include_frames")
+    private boolean includeFrames = false;
+
+    @JsonProperty("include_shadow_dom")
+    private boolean includeShadowDom = false;
+
     public SnapshotConfig() {
     }
 
@@ -87,9 +99,64 @@ public class SnapshotConfig {
         this.timeoutMs = timeoutMs;
     }
 
+    public CaptureMode getCaptureMode() {
+        return captureMode;
+    }
+
+    public void setCaptureMode(CaptureMode captureMode) {
+        this.captureMode = captureMode;
+    }
+
+    /**
+     * How long an unchanged page snapshot may be reused by a snapshot session.
+     * Zero disables reuse.
+     */
+    public long getReuseTtlMs() {
+        return reuseTtlMs;
+    }
+
+    public void setReuseTtlMs(long reuseTtlMs) {
+        this.reuseTtlMs = reuseTtlMs;
+    }
+
+    /**
+     * Whether bulk capture also collects elements inside same-origin iframes.
+     * Only used by the Playwright snapshot builder.
+     */
+    public boolean isIncludeFrames() {
+        return includeFrames;
+    }
+
+    public void setIncludeFrames(boolean includeFrames) {
+        this.includeFrames = includeFrames;
+    }
+
+    /**
+     * Whether bulk capture also collects elements inside open shadow roots.
+     * Only used by the Selenium snapshot builder.
+     */
+    public boolean isIncludeShadowDom() {
+        return includeShadowDom;
+    }
+
+    public void setIncludeShadowDom(boolean includeShadowDom) {
+        this.includeShadowDom = includeShadowDom;
+    }
+
     @Override
     public String toString() {
         return "SnapshotConfig{maxElements=" + maxElements +
-               ", captureScreenshot=" + captureScreenshot + "}";
+               ", captureScreenshot=" + captureScreenshot +
+               ", captureMode=" + captureMode + "}";
+    }
+
+    /**
+     * Strategies for collecting element data from the browser.
+     */
+    public enum CaptureMode {
+        /** Collect every element field in a single script round trip. */
+        BULK,
+        /** Query each element individually through the WebDriver API. */
+        PER_ELEMENT
     }
 }
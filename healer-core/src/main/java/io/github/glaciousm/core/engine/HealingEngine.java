@@ -5,6 +5,9 @@ import io.github.glaciousm.core.engine.approval.ApprovalCallback;
 import io.github.glaciousm.core.engine.approval.ApprovalDecision;
 import io.github.glaciousm.core.engine.approval.ApprovalWorkflow;
 import io.github.glaciousm.core.engine.approval.HealProposal;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
+import io.github.glaciousm.core.engine.cache.HealCoalescer;
 import io.github.glaciousm.core.engine.guardrails.GuardrailChecker;
 import io.github.glaciousm.core.engine.notification.NotificationConfig;
 import io.github.glaciousm.core.engine.notification.NotificationService;
@@ -17,15 +20,37 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Main healing engine that orchestrates the healing process.
  * This class is independent of Selenium/LLM implementations to allow different integrations.
+ *
+ * <p>A heal runs as a series of timed {@link HealStage}s, reported on
+ * {@link HealResult#getStageTimings()}. Shared patterns are looked up first, and the LLM is
+ * only called when no trusted pattern matches. The LLM evaluator runs on the calling thread;
+ * with an {@linkplain #setAsyncLlmEvaluator async evaluator} no thread is held while the LLM
+ * answers. Notifications and pattern storage run on virtual threads after the result is
+ * returned, and batch heals evaluate their targets concurrently.</p>
+ *
+ * <p>Heals started through {@link #attemptHeal(CacheKey, FailureContext, IntentContract, Supplier)}
+ * are coalesced: concurrent heals of the same key share one snapshot and LLM call.</p>
  */
 public class HealingEngine {
 
@@ -39,15 +64,31 @@ public class HealingEngine {
     // Pluggable components
     private Function<FailureContext, UiSnapshot> snapshotCapture;
     private BiFunction<FailureContext, UiSnapshot, HealDecision> llmEvaluator;
+    private BiFunction<FailureContext, UiSnapshot, CompletableFuture<HealDecision>> asyncLlmEvaluator;
+    private BiFunction<List<HealTarget>, UiSnapshot, List<HealDecision>> batchLlmEvaluator;
     private TriFunction<ActionType, ElementSnapshot, Object, Void> actionExecutor;
     private Function<ExecutionContext, OutcomeResult> outcomeValidator;
 
     // Optional approval workflow for CONFIRM mode
     private ApprovalWorkflow approvalWorkflow;
 
+    // Heal cache shared by all drivers using this engine (created on first use)
+    private volatile HealCache healCache;
+
+    // Shares in-flight heals between threads failing on the same locator
+    private final HealCoalescer coalescer;
+
+    // Runs LLM calls and post-heal work off the caller thread
+    private final ExecutorService pipelineExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("heal-pipeline-", 0).factory());
+
     public HealingEngine(HealerConfig config) {
         this.config = Objects.requireNonNull(config, "config cannot be null");
         this.guardrails = new GuardrailChecker(config.getGuardrails());
+        // Waiters give up on a heal that outlasts one LLM timeout and heal on their own
+        this.coalescer = new HealCoalescer(config.getLlm() != null && config.getLlm().getTimeoutSeconds() > 0
+                ? Duration.ofSeconds(config.getLlm().getTimeoutSeconds())
+                : null);
 
         // Initialize notification service if configured
         NotificationConfig notificationConfig = config.getNotification();
@@ -75,11 +116,31 @@ public class HealingEngine {
 
     /**
      * Set the LLM evaluator function.
+     * The evaluator runs on a pipeline thread, not the thread calling {@link #attemptHeal}.
      */
     public void setLlmEvaluator(BiFunction<FailureContext, UiSnapshot, HealDecision> llmEvaluator) {
         this.llmEvaluator = llmEvaluator;
     }
 
+    /**
+     * Set an LLM evaluator that returns without waiting for the decision.
+     * When set, it is used instead of the LLM evaluator. The future is cancelled if the
+     * decision is no longer needed.
+     */
+    public void setAsyncLlmEvaluator(
+            BiFunction<FailureContext, UiSnapshot, CompletableFuture<HealDecision>> asyncLlmEvaluator) {
+        this.asyncLlmEvaluator = asyncLlmEvaluator;
+    }
+
+    /**
+     * Set the function deciding several heals on the same page in one LLM request.
+     * It must return one decision per target, in order; a null entry fails that target.
+     * Without it, {@link #attemptHealBatch} calls the LLM evaluator once per target.
+     */
+    public void setBatchLlmEvaluator(BiFunction<List<HealTarget>, UiSnapshot, List<HealDecision>> batchLlmEvaluator) {
+        this.batchLlmEvaluator = batchLlmEvaluator;
+    }
+
     /**
      * Set the action executor function.
      */
@@ -102,6 +163,31 @@ public class HealingEngine {
         this.approvalWorkflow = approvalWorkflow;
     }
 
+    /**
+     * Set the heal cache consulted before snapshot capture and LLM evaluation.
+     */
+    public void setHealCache(HealCache healCache) {
+        this.healCache = healCache;
+    }
+
+    /**
+     * Get the heal cache for this engine, creating it from the cache configuration on
+     * first use. Returns null if caching is disabled.
+     */
+    public HealCache getHealCache() {
+        HealCache cache = healCache;
+        if (cache == null && config.getCache() != null && config.getCache().isEnabled()) {
+            synchronized (this) {
+                cache = healCache;
+                if (cache == null) {
+                    cache = new HealCache(config.getCache());
+                    healCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     /**
      * Attempt to heal a test failure.
      */
@@ -114,6 +200,49 @@ public class HealingEngine {
      * This is useful when the snapshot has already been captured (e.g., in agent mode).
      */
     public HealResult attemptHeal(FailureContext failure, IntentContract intent, UiSnapshot preSnapshot) {
+        StageTimer timer = new StageTimer();
+        HealResult result = runPipeline(failure, intent, preSnapshot, timer);
+        Map<HealStage, Duration> timings = timer.timings();
+        return timings.isEmpty() ? result : result.toBuilder().stageTimings(timings).build();
+    }
+
+    /**
+     * Attempt to heal a test failure, sharing the attempt with concurrent heals of the same key.
+     *
+     * <p>The first thread to fail on a key captures the snapshot and runs the heal; threads
+     * failing on the same key meanwhile wait and get its result, marked
+     * {@link HealResult#isCoalesced() coalesced}, without calling the snapshot supplier. A
+     * thread still waiting after {@code llm.timeout_seconds} runs its own heal. The healed
+     * locator was chosen on another thread's page, so callers must check it against their own
+     * before using it.</p>
+     *
+     * @param key              the heal cache key of the broken locator on its page
+     * @param snapshotSupplier captures the page; only called on the thread that runs the heal
+     */
+    public HealResult attemptHeal(CacheKey key, FailureContext failure, IntentContract intent,
+                                  Supplier<UiSnapshot> snapshotSupplier) {
+        return coalescer.execute(key, () -> {
+            long start = System.nanoTime();
+            UiSnapshot snapshot = snapshotSupplier.get();
+            Duration captureTime = Duration.ofNanos(System.nanoTime() - start);
+
+            HealResult result = attemptHeal(failure, intent, snapshot);
+            Map<HealStage, Duration> timings = new EnumMap<>(HealStage.class);
+            timings.putAll(result.getStageTimings());
+            timings.put(HealStage.SNAPSHOT, captureTime);
+            return result.toBuilder().stageTimings(timings).build();
+        });
+    }
+
+    /**
+     * Get counts of heals run and heals coalesced with a concurrent attempt.
+     */
+    public HealCoalescer.CoalescingStats getCoalescingStats() {
+        return coalescer.getStats();
+    }
+
+    private HealResult runPipeline(FailureContext failure, IntentContract intent, UiSnapshot preSnapshot,
+                                   StageTimer timer) {
         Instant startTime = Instant.now();
 
         try {
@@ -123,7 +252,8 @@ public class HealingEngine {
             }
 
             // 1. Pre-LLM guardrail check
-            GuardrailResult preCheck = guardrails.checkPreLlm(failure, intent);
+            GuardrailResult preCheck = timer.time(HealStage.PRE_GUARDRAILS,
+                    () -> guardrails.checkPreLlm(failure, intent));
             if (preCheck.isRefused()) {
                 logger.info("Pre-LLM guardrail refused: {}", preCheck.getReason());
                 return HealResult.refused(preCheck.getReason());
@@ -135,7 +265,7 @@ public class HealingEngine {
                 if (snapshotCapture == null) {
                     return HealResult.failed("Snapshot capture not configured");
                 }
-                snapshot = snapshotCapture.apply(failure);
+                snapshot = timer.time(HealStage.SNAPSHOT, () -> snapshotCapture.apply(failure));
             }
 
             if (snapshot == null || !snapshot.hasElements()) {
@@ -148,193 +278,451 @@ public class HealingEngine {
                 return HealResult.refused(urlCheck.getReason());
             }
 
-            // 2.5. Check for matching patterns (skip LLM if high-confidence match found)
-            if (failure.getOriginalLocator() != null) {
-                List<PatternMatch> patternMatches = patternSharingService.findMatchingPatterns(
-                        failure.getOriginalLocator(), snapshot.getUrl());
-
-                if (!patternMatches.isEmpty()) {
-                    PatternMatch bestMatch = patternMatches.get(0);
-                    // Use pattern if similarity is very high (>= 0.85)
-                    if (bestMatch.similarity() >= 0.85 && bestMatch.pattern().successRate() >= 0.8) {
-                        logger.info("Using cached pattern with {}% similarity and {}% success rate",
-                                Math.round(bestMatch.similarity() * 100),
-                                Math.round(bestMatch.pattern().successRate() * 100));
-
-                        // Create heal decision from pattern
-                        HealDecision patternDecision = HealDecision.builder()
-                                .canHeal(true)
-                                .confidence(bestMatch.pattern().avgConfidence())
-                                .reasoning("Matched existing pattern: " + bestMatch.pattern().patternId())
-                                .selectedElementIndex(-1) // Special marker for pattern-based heal
-                                .build();
-
-                        HealResult patternResult = HealResult.builder()
-                                .outcome(HealOutcome.SUCCESS)
-                                .decision(patternDecision)
-                                .healedLocator(bestMatch.pattern().healedSignature())
-                                .confidence(bestMatch.pattern().avgConfidence())
-                                .reasoning("Pattern match from " + bestMatch.source())
-                                .duration(Duration.between(startTime, Instant.now()))
-                                .build();
-
-                        sendNotification(failure, patternResult);
-                        return patternResult;
-                    }
-                }
+            // 3. Look up shared patterns; the indexed lookup is cheap next to an LLM call,
+            // so the LLM is only asked when no trusted pattern matches
+            UiSnapshot pageSnapshot = snapshot;
+            Optional<PatternMatch> trustedPattern = timer.time(HealStage.PATTERN_LOOKUP,
+                    () -> findTrustedPattern(failure, pageSnapshot));
+
+            if (trustedPattern.isPresent()) {
+                HealResult patternResult = patternResult(trustedPattern.get(), startTime);
+                sendNotification(failure, patternResult);
+                return patternResult;
             }
 
-            // 3. Get LLM decision
-            if (llmEvaluator == null) {
+            if (asyncLlmEvaluator == null && llmEvaluator == null) {
                 return HealResult.failed("LLM evaluator not configured");
             }
-            HealDecision decision = llmEvaluator.apply(failure, snapshot);
+            HealDecision decision = callLlm(failure, snapshot, timer);
+            return resolveDecision(failure, intent, decision, snapshot, timer, startTime, true);
 
-            // 4. Check if LLM decided not to heal
-            if (!decision.canHeal()) {
-                return HealResult.builder()
-                        .outcome(HealOutcome.REFUSED)
-                        .decision(decision)
-                        .failureReason(decision.getRefusalReason())
-                        .duration(Duration.between(startTime, Instant.now()))
-                        .build();
+        } catch (Exception e) {
+            logger.error("Unexpected error during healing: {}", e.getMessage(), e);
+            HealResult failedResult = HealResult.builder()
+                    .outcome(HealOutcome.FAILED)
+                    .failureReason("Unexpected error: " + e.getMessage())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+
+            // Send failure notification
+            sendNotification(failure, failedResult);
+
+            return failedResult;
+        }
+    }
+
+    /**
+     * Heal several broken locators on the same page, deciding them with one LLM request.
+     *
+     * <p>Each target goes through the same guardrails, pattern lookup and approval as
+     * {@link #attemptHeal(FailureContext, IntentContract, UiSnapshot)}. The targets left for the
+     * LLM are decided together by the batch evaluator, or one by one by the LLM evaluator if no
+     * batch evaluator is set. Batch heals only resolve locators: no action is executed and no
+     * outcome is validated, so a successful result just carries the healed locator.</p>
+     *
+     * @param snapshot the page all targets were broken on
+     * @return one result per target, in order
+     */
+    public List<HealResult> attemptHealBatch(List<HealTarget> targets, UiSnapshot snapshot) {
+        Instant startTime = Instant.now();
+        HealResult[] results = new HealResult[targets.size()];
+
+        if (!config.isEnabled()) {
+            Arrays.fill(results, HealResult.refused("Healing is disabled"));
+            return List.of(results);
+        }
+        if (snapshot == null || !snapshot.hasElements()) {
+            Arrays.fill(results, HealResult.failed("No interactive elements found on page"));
+            return List.of(results);
+        }
+        GuardrailResult urlCheck = guardrails.checkUrl(snapshot.getUrl());
+        if (urlCheck.isRefused()) {
+            Arrays.fill(results, HealResult.refused(urlCheck.getReason()));
+            return List.of(results);
+        }
+
+        // 1. Settle what guardrails and trusted patterns can, leaving the rest for the LLM
+        StageTimer[] timers = new StageTimer[targets.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            FailureContext failure = targets.get(i).getFailure();
+            IntentContract intent = targets.get(i).getIntent();
+            timers[i] = new StageTimer();
+
+            GuardrailResult preCheck = timers[i].time(HealStage.PRE_GUARDRAILS,
+                    () -> guardrails.checkPreLlm(failure, intent));
+            if (preCheck.isRefused()) {
+                logger.info("Pre-LLM guardrail refused: {}", preCheck.getReason());
+                results[i] = HealResult.refused(preCheck.getReason());
+                continue;
+            }
+            Optional<PatternMatch> trustedPattern = timers[i].time(HealStage.PATTERN_LOOKUP,
+                    () -> findTrustedPattern(failure, snapshot));
+            if (trustedPattern.isPresent()) {
+                results[i] = patternResult(trustedPattern.get(), startTime);
+                sendNotification(failure, results[i]);
+                continue;
+            }
+            pending.add(i);
+        }
+
+        // 2. Decide the rest together
+        if (!pending.isEmpty()) {
+            List<HealTarget> llmTargets = pending.stream().map(targets::get).toList();
+            long llmStart = System.nanoTime();
+            List<HealDecision> decisions;
+            try {
+                decisions = evaluateBatch(llmTargets, snapshot);
+            } catch (Exception e) {
+                logger.error("Batch LLM evaluation failed: {}", e.getMessage(), e);
+                for (int i : pending) {
+                    results[i] = HealResult.failed("Unexpected error: " + e.getMessage());
+                    sendNotification(targets.get(i).getFailure(), results[i]);
+                }
+                return List.of(results);
+            }
+            Duration llmTime = Duration.ofNanos(System.nanoTime() - llmStart);
+
+            for (int b = 0; b < pending.size(); b++) {
+                int i = pending.get(b);
+                timers[i].record(HealStage.LLM, llmTime);
+                HealDecision decision = decisions != null && b < decisions.size() ? decisions.get(b) : null;
+                results[i] = resolveBatchDecision(targets.get(i), decision, snapshot, timers[i], startTime);
             }
+        }
 
-            // 5. Get chosen element
-            Optional<ElementSnapshot> chosenOpt = snapshot.getElement(decision.getSelectedElementIndex());
-            if (chosenOpt.isEmpty()) {
-                return HealResult.failed("Selected element index not found in snapshot");
+        for (int i = 0; i < results.length; i++) {
+            Map<HealStage, Duration> timings = timers[i] != null ? timers[i].timings() : Map.of();
+            if (!timings.isEmpty()) {
+                results[i] = results[i].toBuilder().stageTimings(timings).build();
             }
-            ElementSnapshot chosenElement = chosenOpt.get();
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Decide the targets with the batch evaluator, or concurrently with the (async) LLM
+     * evaluator if there is no batch evaluator.
+     */
+    private List<HealDecision> evaluateBatch(List<HealTarget> targets, UiSnapshot snapshot) {
+        BiFunction<List<HealTarget>, UiSnapshot, List<HealDecision>> batchEvaluator = batchLlmEvaluator;
+        if (batchEvaluator != null) {
+            return batchEvaluator.apply(targets, snapshot);
+        }
+        BiFunction<FailureContext, UiSnapshot, CompletableFuture<HealDecision>> asyncEvaluator = asyncLlmEvaluator;
+        BiFunction<FailureContext, UiSnapshot, HealDecision> evaluator = llmEvaluator;
+        if (asyncEvaluator == null && evaluator == null) {
+            throw new IllegalStateException("LLM evaluator not configured");
+        }
+        List<Future<HealDecision>> calls = targets.stream()
+                .map(target -> asyncEvaluator != null
+                        ? startAsyncLlmCall(asyncEvaluator, target.getFailure(), snapshot)
+                        : pipelineExecutor.submit(() -> evaluator.apply(target.getFailure(), snapshot)))
+                .toList();
+        List<HealDecision> decisions = new ArrayList<>(calls.size());
+        for (Future<HealDecision> call : calls) {
+            decisions.add(awaitDecision(call));
+        }
+        return decisions;
+    }
+
+    /**
+     * Turn one target's batch decision into a result, without executing the action.
+     */
+    private HealResult resolveBatchDecision(HealTarget target, HealDecision decision, UiSnapshot snapshot,
+                                            StageTimer timer, Instant startTime) {
+        FailureContext failure = target.getFailure();
+        IntentContract intent = target.getIntent();
+        try {
+            if (decision == null) {
+                return HealResult.failed("No decision returned for this locator");
+            }
+            return resolveDecision(failure, intent, decision, snapshot, timer, startTime, false);
+
+        } catch (Exception e) {
+            logger.error("Unexpected error during batch healing: {}", e.getMessage(), e);
+            HealResult failedResult = HealResult.builder()
+                    .outcome(HealOutcome.FAILED)
+                    .failureReason("Unexpected error: " + e.getMessage())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+            sendNotification(failure, failedResult);
+            return failedResult;
+        }
+    }
+
+    /**
+     * Turn the LLM's decision into a result: check the chosen element against the post-LLM
+     * guardrails and the heal policy, then generate the healed locator. With
+     * {@code executeAction} the healed action is also executed and its outcome validated;
+     * batch heals only resolve the locator.
+     */
+    private HealResult resolveDecision(FailureContext failure, IntentContract intent, HealDecision decision,
+                                       UiSnapshot snapshot, StageTimer timer, Instant startTime,
+                                       boolean executeAction) {
+        // 4. Check if LLM decided not to heal
+        if (!decision.canHeal()) {
+            return HealResult.builder()
+                    .outcome(HealOutcome.REFUSED)
+                    .decision(decision)
+                    .failureReason(decision.getRefusalReason())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+        }
 
-            // 6. Post-LLM guardrail check
-            GuardrailResult postCheck = guardrails.checkPostLlm(decision, chosenElement, snapshot);
-            if (postCheck.isRefused()) {
-                logger.info("Post-LLM guardrail refused: {}", postCheck.getReason());
+        // 5. Get chosen element
+        Optional<ElementSnapshot> chosenOpt = snapshot.getElement(decision.getSelectedElementIndex());
+        if (chosenOpt.isEmpty()) {
+            return HealResult.failed("Selected element index not found in snapshot");
+        }
+        ElementSnapshot chosenElement = chosenOpt.get();
+
+        // 6. Post-LLM guardrail check
+        GuardrailResult postCheck = timer.time(HealStage.POST_GUARDRAILS,
+                () -> guardrails.checkPostLlm(decision, chosenElement, snapshot));
+        if (postCheck.isRefused()) {
+            logger.info("Post-LLM guardrail refused: {}", postCheck.getReason());
+            return HealResult.builder()
+                    .outcome(HealOutcome.REFUSED)
+                    .decision(decision)
+                    .failureReason(postCheck.getReason())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+        }
+
+        // 7. Handle SUGGEST mode (don't actually execute)
+        if (intent.getPolicy() == HealPolicy.SUGGEST) {
+            return HealResult.builder()
+                    .outcome(HealOutcome.SUGGESTED)
+                    .decision(decision)
+                    .healedElementIndex(decision.getSelectedElementIndex())
+                    .confidence(decision.getConfidence())
+                    .reasoning(decision.getReasoning())
+                    .duration(Duration.between(startTime, Instant.now()))
+                    .build();
+        }
+
+        // 7.5. Handle CONFIRM mode (require approval before executing)
+        if (intent.getPolicy() == HealPolicy.CONFIRM && approvalWorkflow != null) {
+            ApprovalDecision approvalDecision = requestApproval(failure, intent, decision, chosenElement,
+                    snapshot, timer);
+            if (!approvalDecision.isApproved()) {
                 return HealResult.builder()
                         .outcome(HealOutcome.REFUSED)
                         .decision(decision)
-                        .failureReason(postCheck.getReason())
+                        .failureReason("Approval rejected: " + approvalDecision.getReason())
                         .duration(Duration.between(startTime, Instant.now()))
                         .build();
             }
+        }
 
-            // 7. Handle SUGGEST mode (don't actually execute)
-            if (intent.getPolicy() == HealPolicy.SUGGEST) {
-                return HealResult.builder()
-                        .outcome(HealOutcome.SUGGESTED)
+        // 8. Execute the healed action
+        if (executeAction && actionExecutor != null) {
+            try {
+                timer.time(HealStage.ACTION,
+                        () -> actionExecutor.apply(failure.getActionType(), chosenElement, failure.getActionData()));
+            } catch (Exception e) {
+                logger.error("Action execution failed: {}", e.getMessage());
+                HealResult actionFailedResult = HealResult.builder()
+                        .outcome(HealOutcome.FAILED)
                         .decision(decision)
-                        .healedElementIndex(decision.getSelectedElementIndex())
-                        .confidence(decision.getConfidence())
-                        .reasoning(decision.getReasoning())
+                        .failureReason("Action execution failed: " + e.getMessage())
                         .duration(Duration.between(startTime, Instant.now()))
                         .build();
+                sendNotification(failure, actionFailedResult);
+                return actionFailedResult;
             }
+        }
 
-            // 7.5. Handle CONFIRM mode (require approval before executing)
-            if (intent.getPolicy() == HealPolicy.CONFIRM && approvalWorkflow != null) {
-                // Generate proposed locator for the approval request
-                String proposedLocatorStr = generateLocatorFromElement(chosenElement);
-                LocatorInfo proposedLocator = parseLocatorString(proposedLocatorStr);
-
-                // Create proposal
-                HealProposal proposal = HealProposal.builder()
-                        .featureName(failure.getFeatureName())
-                        .scenarioName(failure.getScenarioName())
-                        .stepText(failure.getStepText())
-                        .originalLocator(failure.getOriginalLocator())
-                        .proposedLocator(proposedLocator)
-                        .actionType(failure.getActionType())
-                        .confidence(decision.getConfidence())
-                        .reasoning(decision.getReasoning())
-                        .pageUrl(snapshot.getUrl())
+        // 9. Validate outcome (if validator configured)
+        if (executeAction && outcomeValidator != null) {
+            ExecutionContext ctx = new ExecutionContext(null, snapshot);
+            OutcomeResult outcomeResult = timer.time(HealStage.OUTCOME_VALIDATION,
+                    () -> outcomeValidator.apply(ctx));
+            if (outcomeResult.isFailed()) {
+                HealResult outcomeFailedResult = HealResult.builder()
+                        .outcome(HealOutcome.OUTCOME_FAILED)
+                        .decision(decision)
+                        .failureReason(outcomeResult.getMessage())
+                        .duration(Duration.between(startTime, Instant.now()))
                         .build();
+                sendNotification(failure, outcomeFailedResult);
+                return outcomeFailedResult;
+            }
+        }
 
-                logger.info("Submitting heal proposal for approval: {}", proposal.getId());
+        // 10. Success! Generate healed locator from chosen element
+        String healedLocator = generateLocatorFromElement(chosenElement);
+        logger.info("Generated healed locator: {}", healedLocator);
 
-                // Submit for approval - this may block waiting for human approval
-                ApprovalDecision approvalDecision = approvalWorkflow.submitForApproval(proposal, intent.getPolicy());
+        HealResult successResult = HealResult.builder()
+                .outcome(HealOutcome.SUCCESS)
+                .decision(decision)
+                .healedElementIndex(decision.getSelectedElementIndex())
+                .healedLocator(healedLocator)
+                .confidence(decision.getConfidence())
+                .reasoning(decision.getReasoning())
+                .duration(Duration.between(startTime, Instant.now()))
+                .build();
 
-                if (!approvalDecision.isApproved()) {
-                    logger.info("Heal proposal {} was rejected: {}", proposal.getId(), approvalDecision.getReason());
-                    return HealResult.builder()
-                            .outcome(HealOutcome.REFUSED)
-                            .decision(decision)
-                            .failureReason("Approval rejected: " + approvalDecision.getReason())
-                            .duration(Duration.between(startTime, Instant.now()))
-                            .build();
-                }
+        // Send success notification
+        sendNotification(failure, successResult);
 
-                logger.info("Heal proposal {} was approved", proposal.getId());
-            }
-
-            // 8. Execute the healed action
-            if (actionExecutor != null) {
-                try {
-                    actionExecutor.apply(failure.getActionType(), chosenElement, failure.getActionData());
-                } catch (Exception e) {
-                    logger.error("Action execution failed: {}", e.getMessage());
-                    HealResult actionFailedResult = HealResult.builder()
-                            .outcome(HealOutcome.FAILED)
-                            .decision(decision)
-                            .failureReason("Action execution failed: " + e.getMessage())
-                            .duration(Duration.between(startTime, Instant.now()))
-                            .build();
-                    sendNotification(failure, actionFailedResult);
-                    return actionFailedResult;
-                }
-            }
+        // Store successful heal pattern for future use
+        runInBackground(() -> storeHealPattern(failure, healedLocator, decision.getConfidence(), intent));
 
-            // 9. Validate outcome (if validator configured)
-            if (outcomeValidator != null) {
-                ExecutionContext ctx = new ExecutionContext(null, snapshot);
-                OutcomeResult outcomeResult = outcomeValidator.apply(ctx);
-                if (outcomeResult.isFailed()) {
-                    HealResult outcomeFailedResult = HealResult.builder()
-                            .outcome(HealOutcome.OUTCOME_FAILED)
-                            .decision(decision)
-                            .failureReason(outcomeResult.getMessage())
-                            .duration(Duration.between(startTime, Instant.now()))
-                            .build();
-                    sendNotification(failure, outcomeFailedResult);
-                    return outcomeFailedResult;
-                }
-            }
+        return successResult;
+    }
 
-            // 10. Success! Generate healed locator from chosen element
-            String healedLocator = generateLocatorFromElement(chosenElement);
-            logger.info("Generated healed locator: {}", healedLocator);
+    /**
+     * Build the successful result of a heal settled by a trusted shared pattern.
+     */
+    private HealResult patternResult(PatternMatch bestMatch, Instant startTime) {
+        logger.info("Using cached pattern with {}% similarity and {}% success rate",
+                Math.round(bestMatch.similarity() * 100),
+                Math.round(bestMatch.pattern().successRate() * 100));
+
+        // Create heal decision from pattern
+        HealDecision patternDecision = HealDecision.builder()
+                .canHeal(true)
+                .confidence(bestMatch.pattern().avgConfidence())
+                .reasoning("Matched existing pattern: " + bestMatch.pattern().patternId())
+                .selectedElementIndex(-1) // Special marker for pattern-based heal
+                .build();
+
+        return HealResult.builder()
+                .outcome(HealOutcome.SUCCESS)
+                .decision(patternDecision)
+                .healedLocator(bestMatch.pattern().healedSignature())
+                .confidence(bestMatch.pattern().avgConfidence())
+                .reasoning("Pattern match from " + bestMatch.source())
+                .duration(Duration.between(startTime, Instant.now()))
+                .build();
+    }
 
-            HealResult successResult = HealResult.builder()
-                    .outcome(HealOutcome.SUCCESS)
-                    .decision(decision)
-                    .healedElementIndex(decision.getSelectedElementIndex())
-                    .healedLocator(healedLocator)
-                    .confidence(decision.getConfidence())
-                    .reasoning(decision.getReasoning())
-                    .duration(Duration.between(startTime, Instant.now()))
-                    .build();
+    /**
+     * Submit the chosen element for approval. This may block waiting for a human.
+     */
+    private ApprovalDecision requestApproval(FailureContext failure, IntentContract intent, HealDecision decision,
+                                             ElementSnapshot chosenElement, UiSnapshot snapshot, StageTimer timer) {
+        // Generate proposed locator for the approval request
+        String proposedLocatorStr = generateLocatorFromElement(chosenElement);
+        LocatorInfo proposedLocator = parseLocatorString(proposedLocatorStr);
+
+        HealProposal proposal = HealProposal.builder()
+                .featureName(failure.getFeatureName())
+                .scenarioName(failure.getScenarioName())
+                .stepText(failure.getStepText())
+                .originalLocator(failure.getOriginalLocator())
+                .proposedLocator(proposedLocator)
+                .actionType(failure.getActionType())
+                .confidence(decision.getConfidence())
+                .reasoning(decision.getReasoning())
+                .pageUrl(snapshot.getUrl())
+                .build();
+
+        logger.info("Submitting heal proposal for approval: {}", proposal.getId());
+        ApprovalDecision approvalDecision = timer.time(HealStage.APPROVAL,
+                () -> approvalWorkflow.submitForApproval(proposal, intent.getPolicy()));
+
+        if (approvalDecision.isApproved()) {
+            logger.info("Heal proposal {} was approved", proposal.getId());
+        } else {
+            logger.info("Heal proposal {} was rejected: {}", proposal.getId(), approvalDecision.getReason());
+        }
+        return approvalDecision;
+    }
 
-            // Send success notification
-            sendNotification(failure, successResult);
+    /**
+     * Get the LLM decision. The LLM evaluator runs on the calling thread; an async evaluator's
+     * call is awaited, and cancelled if the calling thread is interrupted.
+     */
+    private HealDecision callLlm(FailureContext failure, UiSnapshot snapshot, StageTimer timer) {
+        BiFunction<FailureContext, UiSnapshot, CompletableFuture<HealDecision>> asyncEvaluator = asyncLlmEvaluator;
+        if (asyncEvaluator != null) {
+            long start = System.nanoTime();
+            CompletableFuture<HealDecision> call = startAsyncLlmCall(asyncEvaluator, failure, snapshot);
+            CompletableFuture<HealDecision> timed = call.whenComplete((decision, error) ->
+                    timer.record(HealStage.LLM, Duration.ofNanos(System.nanoTime() - start)));
+            timed.whenComplete((decision, error) -> {
+                // Derived futures do not pass cancellation back to the call
+                if (timed.isCancelled()) {
+                    call.cancel(true);
+                }
+            });
+            return awaitDecision(timed);
+        }
 
-            // Store successful heal pattern for future use
-            storeHealPattern(failure, healedLocator, decision.getConfidence(), intent);
+        BiFunction<FailureContext, UiSnapshot, HealDecision> evaluator = llmEvaluator;
+        if (evaluator == null) {
+            throw new IllegalStateException("LLM evaluator not configured");
+        }
+        return timer.time(HealStage.LLM, () -> evaluator.apply(failure, snapshot));
+    }
 
-            return successResult;
+    private CompletableFuture<HealDecision> startAsyncLlmCall(
+            BiFunction<FailureContext, UiSnapshot, CompletableFuture<HealDecision>> asyncEvaluator,
+            FailureContext failure, UiSnapshot snapshot) {
+        try {
+            CompletableFuture<HealDecision> call = asyncEvaluator.apply(failure, snapshot);
+            return call != null ? call : CompletableFuture.failedFuture(
+                    new IllegalStateException("Async LLM evaluator returned no future"));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-        } catch (Exception e) {
-            logger.error("Unexpected error during healing: {}", e.getMessage(), e);
-            HealResult failedResult = HealResult.builder()
-                    .outcome(HealOutcome.FAILED)
-                    .failureReason("Unexpected error: " + e.getMessage())
-                    .duration(Duration.between(startTime, Instant.now()))
-                    .build();
+    /**
+     * Wait for the LLM decision, rethrowing whatever the evaluator threw.
+     */
+    private HealDecision awaitDecision(Future<HealDecision> llmCall) {
+        try {
+            return llmCall.get();
+        } catch (InterruptedException e) {
+            llmCall.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for LLM decision", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
 
-            // Send failure notification
-            sendNotification(failure, failedResult);
+    /**
+     * Find a shared pattern trusted enough to skip the LLM: very high similarity (>= 0.85)
+     * and a proven success rate (>= 0.8).
+     */
+    private Optional<PatternMatch> findTrustedPattern(FailureContext failure, UiSnapshot snapshot) {
+        if (failure.getOriginalLocator() == null) {
+            return Optional.empty();
+        }
+        List<PatternMatch> patternMatches = patternSharingService.findMatchingPatterns(
+                failure.getOriginalLocator(), snapshot.getUrl());
+        if (patternMatches.isEmpty()) {
+            return Optional.empty();
+        }
+        PatternMatch bestMatch = patternMatches.get(0);
+        if (bestMatch.similarity() >= 0.85 && bestMatch.pattern().successRate() >= 0.8) {
+            return Optional.of(bestMatch);
+        }
+        return Optional.empty();
+    }
 
-            return failedResult;
+    /**
+     * Run follow-up work that the caller does not need to wait for.
+     */
+    private void runInBackground(Runnable task) {
+        try {
+            pipelineExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Engine is shutting down; finish the work on the caller thread
+            task.run();
         }
     }
 
@@ -442,7 +830,10 @@ public class HealingEngine {
         if (notificationService == null) {
             return;
         }
+        runInBackground(() -> notifyHeal(failure, result));
+    }
 
+    private void notifyHeal(FailureContext failure, HealResult result) {
         try {
             HealDecision decision = result.getDecision().orElse(null);
             String originalLocator = failure.getOriginalLocator() != null
@@ -556,13 +947,51 @@ public class HealingEngine {
     }
 
     /**
-     * Shutdown the notification service gracefully.
+     * Shutdown the pipeline, notification service and heal cache gracefully.
      * Should be called when the engine is no longer needed.
      */
     public void shutdown() {
+        // Let queued notifications and pattern updates finish before closing their targets
+        pipelineExecutor.shutdown();
+        try {
+            if (!pipelineExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                pipelineExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pipelineExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
         if (notificationService != null) {
             notificationService.shutdown();
         }
+        if (healCache != null) {
+            healCache.shutdown();
+        }
+    }
+
+    /**
+     * Wall-clock time spent in each pipeline stage of one heal attempt.
+     * Thread-safe, since an async LLM stage finishes on another thread.
+     */
+    private static final class StageTimer {
+        private final Map<HealStage, Duration> timings = new EnumMap<>(HealStage.class);
+
+        <T> T time(HealStage stage, Supplier<T> work) {
+            long start = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                record(stage, Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+
+        private synchronized void record(HealStage stage, Duration duration) {
+            timings.put(stage, duration);
+        }
+
+        synchronized Map<HealStage, Duration> timings() {
+            return new EnumMap<>(timings);
+        }
     }
 
     /**
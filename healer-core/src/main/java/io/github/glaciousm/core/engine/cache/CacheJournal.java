@@ -0,0 +1,367 @@
+package io.github.glaciousm.core.engine.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.glaciousm.core.config.CacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence for {@link HealCache}.
+ *
+ * <p>A cache mutation only marks its key dirty, so puts never touch the disk. A background
+ * writer appends the current state of every dirty key to an NDJSON journal each
+ * {@code flush_interval_ms}, or as soon as {@code flush_batch_size} keys are pending, and
+ * syncs the journal after each batch. Once the journal holds {@code compact_threshold}
+ * records it is folded into the snapshot file, which keeps the format written by
+ * synchronous persistence so existing tooling can still read it.</p>
+ *
+ * <p>On startup the journal is replayed on top of the snapshot. A torn final record left by
+ * a crash mid-write is ignored. A crash loses at most the mutations that were still
+ * pending, which {@link #getMaxFlushLagMs()} reports as a measured bound.</p>
+ */
+final class CacheJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheJournal.class);
+
+    static final String JOURNAL_FILE_NAME = "heal-cache.journal";
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Map<String, CacheEntry> cache;
+    private final ObjectMapper objectMapper;
+    private final long flushIntervalMs;
+    private final int flushBatchSize;
+    private final int compactThreshold;
+    private final ScheduledExecutorService writer;
+
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // System.nanoTime() of the oldest unflushed mutation, 0 when nothing is pending
+    private final AtomicLong oldestPendingNanos = new AtomicLong();
+    private volatile boolean compactRequested;
+    private volatile boolean closed;
+
+    // Guarded by this
+    private FileOutputStream journalOut;
+    private long journalRecords;
+    private long flushes;
+    private long compactions;
+    private long maxFlushLagMs;
+
+    CacheJournal(Path snapshotPath, Map<String, CacheEntry> cache, ObjectMapper objectMapper,
+                 CacheConfig config) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = snapshotPath.resolveSibling(JOURNAL_FILE_NAME);
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.flushIntervalMs = Math.max(1, config.getFlushIntervalMs());
+        this.flushBatchSize = Math.max(1, config.getFlushBatchSize());
+        this.compactThreshold = Math.max(1, config.getCompactThreshold());
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "heal-cache-journal");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Replay the journal on top of entries already loaded from the snapshot.
+     *
+     * @return number of journal records applied
+     */
+    synchronized int replay() {
+        if (!Files.exists(journalPath)) {
+            return 0;
+        }
+
+        int applied = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JournalRecord record;
+                try {
+                    record = objectMapper.readValue(line, JournalRecord.class);
+                } catch (JsonProcessingException e) {
+                    // Only the last record can be torn; anything after it was never synced
+                    logger.warn("Ignoring unreadable heal cache journal record {}: {}", applied + 1, e.getOriginalMessage());
+                    break;
+                }
+                apply(record);
+                applied++;
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to replay heal cache journal: {}", e.getMessage());
+        }
+
+        journalRecords = applied;
+        logger.info("Replayed {} heal cache journal records", applied);
+        return applied;
+    }
+
+    private void apply(JournalRecord record) {
+        if (record.op() == Op.PUT && record.entry() != null && !HealCache.isExpired(record.entry())) {
+            CacheEntry entry = HealCache.fromDto(record.entry());
+            cache.put(entry.getKey().getHash(), entry);
+        } else {
+            cache.remove(record.key());
+        }
+    }
+
+    /**
+     * Start the background writer.
+     */
+    void start() {
+        writer.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record that a key changed. The key must already be updated in the cache map.
+     */
+    void markDirty(String keyHash) {
+        dirtyKeys.add(keyHash);
+        oldestPendingNanos.compareAndSet(0, System.nanoTime());
+        if (dirtyKeys.size() >= flushBatchSize && flushScheduled.compareAndSet(false, true)) {
+            submitFlush();
+        }
+    }
+
+    /**
+     * Rewrite the snapshot from the cache map on the next flush, e.g. after a clear.
+     */
+    void requestCompaction() {
+        compactRequested = true;
+        oldestPendingNanos.compareAndSet(0, System.nanoTime());
+        if (flushScheduled.compareAndSet(false, true)) {
+            submitFlush();
+        }
+    }
+
+    private void submitFlush() {
+        if (closed) {
+            return;
+        }
+        try {
+            writer.execute(this::flushQuietly);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; close() performs the final flush
+            flushScheduled.set(false);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Heal cache journal flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write all pending changes, compacting the journal into the snapshot if it is due.
+     */
+    synchronized void flush() {
+        flushScheduled.set(false);
+        long pendingSince = oldestPendingNanos.getAndSet(0);
+
+        if (compactRequested || journalRecords >= compactThreshold) {
+            compact();
+        } else {
+            appendDirtyKeys();
+        }
+
+        if (pendingSince != 0) {
+            flushes++;
+            long lagMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingSince);
+            maxFlushLagMs = Math.max(maxFlushLagMs, lagMs);
+        }
+    }
+
+    private void appendDirtyKeys() {
+        if (dirtyKeys.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        int records = 0;
+        try {
+            Iterator<String> it = dirtyKeys.iterator();
+            while (it.hasNext()) {
+                String keyHash = it.next();
+                it.remove();
+                // Journal the key's current state, so reordered mutations still converge
+                CacheEntry entry = cache.get(keyHash);
+                JournalRecord record = entry != null && !entry.isExpired()
+                        ? new JournalRecord(Op.PUT, keyHash, HealCache.toDto(entry))
+                        : new JournalRecord(Op.REMOVE, keyHash, null);
+                batch.write(objectMapper.writeValueAsBytes(record));
+                batch.write('\n');
+                records++;
+            }
+
+            if (journalOut == null) {
+                Files.createDirectories(journalPath.getParent());
+                journalOut = new FileOutputStream(journalPath.toFile(), true);
+            }
+            journalOut.write(batch.toByteArray());
+            journalOut.getChannel().force(false);
+            journalRecords += records;
+            logger.debug("Appended {} heal cache journal records", records);
+        } catch (IOException e) {
+            // The drained keys are no longer tracked, so rewrite everything next time
+            logger.warn("Failed to append heal cache journal: {}", e.getMessage());
+            compactRequested = true;
+        }
+    }
+
+    private void compact() {
+        // Drain before reading the map: later changes are journaled again on the next flush
+        dirtyKeys.clear();
+        compactRequested = false;
+
+        try {
+            Files.createDirectories(snapshotPath.getParent());
+            List<HealCache.CacheEntryDto> entries = cache.values().stream()
+                    .filter(e -> !e.isExpired())
+                    .map(HealCache::toDto)
+                    .toList();
+
+            // The snapshot must be durable before the journal it replaces is truncated
+            Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            ByteBuffer json = ByteBuffer.wrap(objectMapper.writeValueAsBytes(entries));
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (json.hasRemaining()) {
+                    channel.write(json);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(snapshotPath.getParent());
+
+            closeJournal();
+            journalOut = new FileOutputStream(journalPath.toFile(), false);
+            journalRecords = 0;
+            compactions++;
+            logger.debug("Compacted heal cache journal into {} snapshot entries", entries.size());
+        } catch (IOException e) {
+            logger.warn("Failed to compact heal cache journal: {}", e.getMessage());
+            compactRequested = true;
+        }
+    }
+
+    /**
+     * Make a rename in the directory durable. Not every platform can open a directory for
+     * this (Windows cannot), in which case the rename is left to the file system.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.debug("Could not sync directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void closeJournal() {
+        if (journalOut != null) {
+            try {
+                journalOut.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close heal cache journal: {}", e.getMessage());
+            }
+            journalOut = null;
+        }
+    }
+
+    /**
+     * Stop the writer, then fold all pending changes into the snapshot.
+     */
+    void close() {
+        closed = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            compactRequested = true;
+            flush();
+            closeJournal();
+        }
+    }
+
+    int getPendingWrites() {
+        return dirtyKeys.size();
+    }
+
+    /**
+     * Age of the oldest change not yet on disk, i.e. what a crash right now would lose.
+     */
+    long getOldestPendingMs() {
+        long since = oldestPendingNanos.get();
+        return since == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - since);
+    }
+
+    /**
+     * Longest observed time between a change and the flush that made it durable.
+     */
+    synchronized long getMaxFlushLagMs() {
+        return maxFlushLagMs;
+    }
+
+    synchronized long getJournalRecords() {
+        return journalRecords;
+    }
+
+    synchronized long getFlushCount() {
+        return flushes;
+    }
+
+    synchronized long getCompactionCount() {
+        return compactions;
+    }
+
+    Path getJournalPath() {
+        return journalPath;
+    }
+
+    enum Op {
+        PUT,
+        REMOVE
+    }
+
+    record JournalRecord(Op op, String key, HealCache.CacheEntryDto entry) {
+    }
+}
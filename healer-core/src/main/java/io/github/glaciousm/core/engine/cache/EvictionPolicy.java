@@ -0,0 +1,202 @@
+package io.github.glaciousm.core.engine.cache;
+
+import io.github.glaciousm.core.config.CacheConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded eviction policy for {@link HealCache}. Every operation is O(1).
+ *
+ * <p>The policy tracks keys only; the cache map stays the source of truth for entries.
+ * Reads never block: if another thread holds the policy lock, the access is recorded in a
+ * lossy ring buffer and replayed by the next thread that takes the lock. Dropping an
+ * access only makes the recency order slightly less precise.</p>
+ */
+abstract class EvictionPolicy {
+
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    protected final int capacity;
+    protected final Map<String, Node> nodes = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicReferenceArray<String> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readsWritten = new AtomicLong();
+    private long readsDrained; // Guarded by lock
+
+    protected EvictionPolicy(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Create the policy selected by the cache configuration.
+     */
+    static EvictionPolicy create(CacheConfig config) {
+        CacheConfig.EvictionPolicyType type = config.getEvictionPolicy() != null
+                ? config.getEvictionPolicy() : CacheConfig.EvictionPolicyType.SEGMENTED_LRU;
+        return switch (type) {
+            case SEGMENTED_LRU -> new SegmentedLruPolicy(config.getMaxSize());
+            case W_TINY_LFU -> new WindowTinyLfuPolicy(config.getMaxSize());
+        };
+    }
+
+    /**
+     * Record a read of an existing key.
+     */
+    final void recordAccess(String key) {
+        if (lock.tryLock()) {
+            try {
+                drainReadBuffer();
+                onAccess(key);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        long index = readsWritten.getAndIncrement();
+        readBuffer.lazySet((int) (index & READ_BUFFER_MASK), key);
+    }
+
+    /**
+     * Record a newly inserted key.
+     *
+     * @return the key to evict to stay within capacity, which may be the new key itself
+     *         if the policy declines to admit it, or null if nothing needs evicting
+     */
+    final String recordInsert(String key) {
+        lock.lock();
+        try {
+            drainReadBuffer();
+            return onInsert(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record that a key was removed from the cache.
+     */
+    final void recordRemoval(String key) {
+        lock.lock();
+        try {
+            drainReadBuffer();
+            Node node = nodes.remove(key);
+            if (node != null) {
+                node.queue.unlink(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forget all keys.
+     */
+    final void clear() {
+        lock.lock();
+        try {
+            readsDrained = readsWritten.get();
+            nodes.clear();
+            onClear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainReadBuffer() {
+        long written = readsWritten.get();
+        long start = Math.max(readsDrained, written - READ_BUFFER_SIZE);
+        for (long i = start; i < written; i++) {
+            String key = readBuffer.getAndSet((int) (i & READ_BUFFER_MASK), null);
+            if (key != null) {
+                onAccess(key);
+            }
+        }
+        readsDrained = written;
+    }
+
+    protected abstract void onAccess(String key);
+
+    protected abstract String onInsert(String key);
+
+    protected abstract void onClear();
+
+    /**
+     * Remove and return the key at the head of a queue.
+     */
+    protected String evictHead(NodeQueue queue) {
+        Node node = queue.head;
+        queue.unlink(node);
+        nodes.remove(node.key);
+        return node.key;
+    }
+
+    /**
+     * Doubly linked node tracking which queue a key is in.
+     */
+    protected static final class Node {
+        final String key;
+        NodeQueue queue;
+        Node prev;
+        Node next;
+
+        Node(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Intrusive access-order queue: head is least recently used, tail most recently used.
+     */
+    protected static final class NodeQueue {
+        Node head;
+        Node tail;
+        int size;
+
+        void addLast(Node node) {
+            node.queue = this;
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        void unlink(Node node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.queue = null;
+            size--;
+        }
+
+        void moveToTail(Node node) {
+            unlink(node);
+            addLast(node);
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
@@ -17,10 +17,17 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Cache for storing successful heals to reduce LLM calls and latency.
- * Supports in-memory caching with optional file-based persistence.
+ * Supports in-memory caching with optional file-based persistence, either rewriting
+ * the cache file on every change or appending to a write-behind journal.
+ *
+ * <p>Lookups are lock-free. Inserts and removals are serialized so the map and the
+ * configured {@link EvictionPolicy} stay in step; every operation is O(1) regardless
+ * of cache size.</p>
  */
 public class HealCache {
 
@@ -32,17 +39,23 @@ public class HealCache {
     private final ObjectMapper objectMapper;
     private final ScheduledExecutorService cleanupExecutor;
     private final Path persistencePath;
+    private final CacheJournal journal;
+    private final LongAccumulator maxPutNanos = new LongAccumulator(Long::max, 0);
+    private final EvictionPolicy evictionPolicy;
+    // Guards map membership changes so the eviction policy tracks exactly the cached keys
+    private final Object writeLock = new Object();
 
     // Statistics
-    private long totalHits = 0;
-    private long totalMisses = 0;
-    private long totalEvictions = 0;
+    private final LongAdder totalHits = new LongAdder();
+    private final LongAdder totalMisses = new LongAdder();
+    private final LongAdder totalEvictions = new LongAdder();
 
     public HealCache(CacheConfig config) {
         this.config = config != null ? config : new CacheConfig();
         this.cache = new ConcurrentHashMap<>();
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+        this.evictionPolicy = EvictionPolicy.create(this.config);
 
         // Set up persistence path
         if (this.config.isPersistenceEnabled()) {
@@ -52,6 +65,15 @@ public class HealCache {
             this.persistencePath = null;
         }
 
+        if (persistencePath != null && this.config.getPersistenceMode() == CacheConfig.PersistenceMode.WRITE_BEHIND) {
+            this.journal = new CacheJournal(persistencePath, cache, objectMapper, this.config);
+            journal.replay();
+            journal.start();
+        } else {
+            this.journal = null;
+        }
+        trackLoadedEntries();
+
         // Start cleanup task
         this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "heal-cache-cleanup");
@@ -78,39 +100,42 @@ public class HealCache {
 
         CacheEntry entry = cache.get(key.getHash());
         if (entry == null) {
-            totalMisses++;
+            totalMisses.increment();
             logger.debug("Cache miss for key: {}", key.getHash());
             return Optional.empty();
         }
 
         if (entry.isExpired()) {
-            cache.remove(key.getHash());
-            totalMisses++;
-            totalEvictions++;
+            removeEntry(key.getHash());
+            totalMisses.increment();
+            totalEvictions.increment();
             logger.debug("Cache entry expired for key: {}", key.getHash());
             return Optional.empty();
         }
 
         if (entry.shouldEvict()) {
-            cache.remove(key.getHash());
-            totalMisses++;
-            totalEvictions++;
+            removeEntry(key.getHash());
+            totalMisses.increment();
+            totalEvictions.increment();
             logger.debug("Cache entry evicted due to failures for key: {}", key.getHash());
             return Optional.empty();
         }
 
-        totalHits++;
+        totalHits.increment();
+        evictionPolicy.recordAccess(key.getHash());
         logger.debug("Cache hit for key: {} (hits: {})", key.getHash(), entry.getHitCount() + 1);
         return Optional.of(entry.recordHit());
     }
 
     /**
      * Store a successful heal in the cache.
+     * In write-behind mode this never touches the disk.
      */
     public void put(CacheKey key, LocatorInfo healedLocator, double confidence, String reasoning) {
         if (!config.isEnabled()) {
             return;
         }
+        long start = System.nanoTime();
 
         // Don't cache low-confidence heals
         if (confidence < config.getMinConfidenceToCache()) {
@@ -119,11 +144,6 @@ public class HealCache {
             return;
         }
 
-        // Check size limit
-        if (cache.size() >= config.getMaxSize()) {
-            evictOldest();
-        }
-
         CacheEntry entry = CacheEntry.builder()
                 .key(key)
                 .healedLocator(healedLocator)
@@ -132,13 +152,14 @@ public class HealCache {
                 .ttlSeconds(config.getTtlSeconds())
                 .build();
 
-        cache.put(key.getHash(), entry);
+        insertEntry(key.getHash(), entry);
         logger.debug("Cached heal for key: {} with confidence {}", key.getHash(), confidence);
 
-        // Persist if enabled
-        if (config.isPersistenceEnabled()) {
+        // Persist if enabled; the journal was already told by insertEntry
+        if (journal == null && config.isPersistenceEnabled()) {
             persistToDisk();
         }
+        maxPutNanos.accumulate(System.nanoTime() - start);
     }
 
     /**
@@ -168,7 +189,7 @@ public class HealCache {
      * Invalidate a specific cache entry.
      */
     public void invalidate(CacheKey key) {
-        cache.remove(key.getHash());
+        removeEntry(key.getHash());
         logger.debug("Invalidated cache key: {}", key.getHash());
     }
 
@@ -178,11 +199,8 @@ public class HealCache {
     public void invalidateByPagePattern(String pageUrlPattern) {
         String pattern = CacheKey.extractPagePattern(pageUrlPattern);
         int removed = 0;
-        Iterator<Map.Entry<String, CacheEntry>> it = cache.entrySet().iterator();
-        while (it.hasNext()) {
-            CacheEntry entry = it.next().getValue();
-            if (pattern.equals(entry.getKey().getPageUrlPattern())) {
-                it.remove();
+        for (CacheEntry entry : cache.values()) {
+            if (pattern.equals(entry.getKey().getPageUrlPattern()) && removeEntry(entry.getKey().getHash())) {
                 removed++;
             }
         }
@@ -193,9 +211,14 @@ public class HealCache {
      * Clear the entire cache.
      */
     public void clear() {
-        cache.clear();
+        synchronized (writeLock) {
+            cache.clear();
+            evictionPolicy.clear();
+        }
         logger.info("Cache cleared");
-        if (config.isPersistenceEnabled()) {
+        if (journal != null) {
+            journal.requestCompaction();
+        } else if (config.isPersistenceEnabled()) {
             persistToDisk();
         }
     }
@@ -206,48 +229,122 @@ public class HealCache {
     public CacheStats getStats() {
         return new CacheStats(
                 cache.size(),
-                totalHits,
-                totalMisses,
-                totalEvictions,
+                totalHits.sum(),
+                totalMisses.sum(),
+                totalEvictions.sum(),
                 config.getMaxSize()
         );
     }
 
+    /**
+     * Get write-behind journal statistics, or empty if the cache is not journaled.
+     */
+    public Optional<JournalStats> getJournalStats() {
+        if (journal == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new JournalStats(
+                journal.getPendingWrites(),
+                journal.getOldestPendingMs(),
+                journal.getMaxFlushLagMs(),
+                TimeUnit.NANOSECONDS.toMicros(maxPutNanos.get()),
+                journal.getJournalRecords(),
+                journal.getFlushCount(),
+                journal.getCompactionCount()
+        ));
+    }
+
+    /**
+     * Write any pending journal records now. No-op unless the cache is journaled.
+     */
+    public void flush() {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    /**
+     * Add or replace an entry, evicting whatever the policy selects once the cache is full.
+     */
+    private void insertEntry(String keyHash, CacheEntry entry) {
+        String evicted = null;
+        synchronized (writeLock) {
+            if (cache.put(keyHash, entry) != null) {
+                evictionPolicy.recordAccess(keyHash);
+            } else {
+                evicted = evictionPolicy.recordInsert(keyHash);
+                if (evicted != null) {
+                    cache.remove(evicted);
+                }
+            }
+        }
+        if (evicted != null) {
+            totalEvictions.increment();
+            if (!evicted.equals(keyHash)) {
+                recordChange(evicted);
+            }
+            logger.debug("Evicted cache entry: {}", evicted);
+        }
+        recordChange(keyHash);
+    }
+
+    /**
+     * Remove an entry and stop tracking it for eviction.
+     *
+     * @return true if the entry was present
+     */
+    private boolean removeEntry(String keyHash) {
+        synchronized (writeLock) {
+            if (cache.remove(keyHash) == null) {
+                return false;
+            }
+            evictionPolicy.recordRemoval(keyHash);
+        }
+        recordChange(keyHash);
+        return true;
+    }
+
+    /**
+     * Register entries restored from disk with the eviction policy, trimming to capacity.
+     */
+    private void trackLoadedEntries() {
+        for (String keyHash : List.copyOf(cache.keySet())) {
+            String evicted = evictionPolicy.recordInsert(keyHash);
+            if (evicted != null) {
+                cache.remove(evicted);
+                recordChange(evicted);
+            }
+        }
+    }
+
+    /**
+     * Tell the journal a key changed. The synchronous mode persists at its own call sites.
+     */
+    private void recordChange(String keyHash) {
+        if (journal != null) {
+            journal.markDirty(keyHash);
+        }
+    }
+
     /**
      * Clean up expired entries.
      */
     private void cleanup() {
         int removed = 0;
-        Iterator<Map.Entry<String, CacheEntry>> it = cache.entrySet().iterator();
-        while (it.hasNext()) {
-            CacheEntry entry = it.next().getValue();
-            if (entry.isExpired() || entry.shouldEvict()) {
-                it.remove();
+        for (CacheEntry entry : cache.values()) {
+            if ((entry.isExpired() || entry.shouldEvict()) && removeEntry(entry.getKey().getHash())) {
                 removed++;
             }
         }
         if (removed > 0) {
-            totalEvictions += removed;
+            totalEvictions.add(removed);
             logger.info("Cache cleanup removed {} entries", removed);
-            if (config.isPersistenceEnabled()) {
+            if (journal == null && config.isPersistenceEnabled()) {
                 persistToDisk();
             }
         }
     }
 
-    /**
-     * Evict the oldest entry when cache is full.
-     */
-    private void evictOldest() {
-        cache.entrySet().stream()
-                .min(Comparator.comparing(e -> e.getValue().getLastAccessedAt()))
-                .ifPresent(oldest -> {
-                    cache.remove(oldest.getKey());
-                    totalEvictions++;
-                    logger.debug("Evicted oldest cache entry: {}", oldest.getKey());
-                });
-    }
-
     /**
      * Persist cache to disk.
      */
@@ -262,7 +359,7 @@ public class HealCache {
             // Convert to serializable format
             List<CacheEntryDto> entries = cache.values().stream()
                     .filter(e -> !e.isExpired())
-                    .map(this::toDto)
+                    .map(HealCache::toDto)
                     .toList();
 
             objectMapper.writeValue(persistencePath.toFile(), entries);
@@ -301,7 +398,7 @@ public class HealCache {
         }
     }
 
-    private CacheEntryDto toDto(CacheEntry entry) {
+    static CacheEntryDto toDto(CacheEntry entry) {
         CacheEntryDto dto = new CacheEntryDto();
         dto.keyHash = entry.getKey().getHash();
         dto.pageUrlPattern = entry.getKey().getPageUrlPattern();
@@ -324,7 +421,7 @@ public class HealCache {
         return dto;
     }
 
-    private CacheEntry fromDto(CacheEntryDto dto) {
+    static CacheEntry fromDto(CacheEntryDto dto) {
         LocatorInfo originalLocator = null;
         if (dto.originalLocatorStrategy != null && dto.originalLocatorValue != null) {
             originalLocator = new LocatorInfo(
@@ -353,16 +450,18 @@ public class HealCache {
                 .build();
     }
 
-    private boolean isExpired(CacheEntryDto dto) {
+    static boolean isExpired(CacheEntryDto dto) {
         return Instant.now().toEpochMilli() > dto.expiresAt;
     }
 
     /**
-     * Shutdown the cache cleanup executor.
+     * Shutdown the cache cleanup executor and write pending changes to disk.
      */
     public void shutdown() {
         cleanupExecutor.shutdown();
-        if (config.isPersistenceEnabled()) {
+        if (journal != null) {
+            journal.close();
+        } else if (config.isPersistenceEnabled()) {
             persistToDisk();
         }
     }
@@ -370,7 +469,7 @@ public class HealCache {
     /**
      * DTO for cache serialization.
      */
-    private static class CacheEntryDto {
+    static class CacheEntryDto {
         public String keyHash;
         public String pageUrlPattern;
         public String originalLocatorStrategy;
@@ -403,4 +502,26 @@ public class HealCache {
             return total > 0 ? (double) hits / total : 0.0;
         }
     }
+
+    /**
+     * Write-behind journal statistics.
+     *
+     * @param pendingWrites   keys changed in memory but not yet journaled
+     * @param oldestPendingMs age of the oldest unjournaled change; what a crash now would lose
+     * @param maxFlushLagMs   longest observed delay between a change and its journal sync
+     * @param maxPutMicros    slowest observed {@link #put} call
+     * @param journalRecords  records appended since the last compaction
+     * @param flushes         number of flushes that wrote pending changes
+     * @param compactions     number of times the journal was folded into the snapshot
+     */
+    public record JournalStats(
+            int pendingWrites,
+            long oldestPendingMs,
+            long maxFlushLagMs,
+            long maxPutMicros,
+            long journalRecords,
+            long flushes,
+            long compactions
+    ) {
+    }
 }
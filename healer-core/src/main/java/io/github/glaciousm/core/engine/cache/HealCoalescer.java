@@ -0,0 +1,154 @@
+package io.github.glaciousm.core.engine.cache;
+
+import io.github.glaciousm.core.model.HealResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent heals of the same broken locator into a single attempt.
+ *
+ * <p>When parallel test threads hit the same broken locator on the same page, the first thread
+ * runs the heal and threads arriving while it is in flight wait for its result instead of
+ * capturing their own snapshot and calling the LLM. Waiting threads receive a copy of the
+ * result marked {@link HealResult#isCoalesced() coalesced}; it is a proposal only, and each
+ * caller must still check the healed locator against its own page.</p>
+ *
+ * <p>A heal that throws is not shared: the waiting threads retry, and one of them runs the
+ * next attempt. A thread that has waited longer than the configured maximum, for example
+ * behind a hung LLM call, stops waiting and runs its own heal.</p>
+ */
+public class HealCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealCoalescer.class);
+
+    private final ConcurrentHashMap<CacheKey, CompletableFuture<HealResult>> inFlight = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+
+    // Statistics
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Create a coalescer whose waiting threads wait as long as the running heal takes.
+     */
+    public HealCoalescer() {
+        this(null);
+    }
+
+    /**
+     * @param maxWait longest a thread waits for a concurrent heal before running its own;
+     *                null waits as long as the running heal takes
+     */
+    public HealCoalescer(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Run the heal for the key, or wait for a heal of the same key that is already running.
+     *
+     * @param key  identifies the broken locator on its page; null disables coalescing
+     * @param heal the heal to run if no other thread is healing the key
+     * @return the heal result, shared if another thread produced it
+     */
+    public HealResult execute(CacheKey key, Supplier<HealResult> heal) {
+        if (key == null) {
+            executed.increment();
+            return heal.get();
+        }
+
+        while (true) {
+            CompletableFuture<HealResult> attempt = new CompletableFuture<>();
+            CompletableFuture<HealResult> running = inFlight.putIfAbsent(key, attempt);
+            if (running == null) {
+                return lead(key, attempt, heal);
+            }
+
+            long waitStart = System.nanoTime();
+            HealResult shared;
+            try {
+                shared = await(running);
+            } catch (TimeoutException e) {
+                logger.warn("Concurrent heal of {} still running after {}, healing independently",
+                        key.getOriginalLocator(), maxWait);
+                executed.increment();
+                return heal.get();
+            }
+            if (shared != null) {
+                coalesced.increment();
+                logger.debug("Coalesced heal of {} with a concurrent attempt", key.getOriginalLocator());
+                return shared.toBuilder()
+                        .id(null)
+                        .coalesced(true)
+                        .duration(Duration.ofNanos(System.nanoTime() - waitStart))
+                        .stageTimings(null)
+                        .build();
+            }
+        }
+    }
+
+    /**
+     * Get executed and coalesced heal counts.
+     */
+    public CoalescingStats getStats() {
+        return new CoalescingStats(executed.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private HealResult lead(CacheKey key, CompletableFuture<HealResult> attempt, Supplier<HealResult> heal) {
+        executed.increment();
+        try {
+            HealResult result = heal.get();
+            attempt.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            attempt.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, attempt);
+        }
+    }
+
+    /**
+     * Wait for another thread's heal.
+     *
+     * @return its result, or null if it failed and the caller should try again
+     * @throws TimeoutException if it is still running after the maximum wait
+     */
+    private HealResult await(CompletableFuture<HealResult> running) throws TimeoutException {
+        try {
+            return maxWait != null ? running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS) : running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent heal", e);
+        } catch (ExecutionException e) {
+            logger.debug("Concurrent heal failed, retrying: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Coalescing statistics.
+     *
+     * @param executed  heals that ran their own snapshot and LLM call
+     * @param coalesced heals that shared the result of a concurrent heal
+     * @param inFlight  heals running right now
+     */
+    public record CoalescingStats(
+            long executed,
+            long coalesced,
+            int inFlight
+    ) {
+        public double getCoalescedRate() {
+            long total = executed + coalesced;
+            return total > 0 ? (double) coalesced / total : 0.0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.glaciousm.core.engine.cache;
+
+/**
+ * Segmented LRU eviction. New keys enter a probation segment and are promoted to a
+ * protected segment on their second access, so a burst of one-off heals cannot flush
+ * locators that are healed repeatedly.
+ */
+class SegmentedLruPolicy extends EvictionPolicy {
+
+    private static final double PROTECTED_RATIO = 0.8;
+
+    protected final NodeQueue probation = new NodeQueue();
+    protected final NodeQueue protectedSegment = new NodeQueue();
+    private final int protectedCapacity;
+
+    SegmentedLruPolicy(int capacity) {
+        this(capacity, capacity);
+    }
+
+    /**
+     * @param capacity        total keys the policy may hold
+     * @param segmentCapacity keys held by the probation and protected segments together
+     */
+    protected SegmentedLruPolicy(int capacity, int segmentCapacity) {
+        super(capacity);
+        this.protectedCapacity = (int) (segmentCapacity * PROTECTED_RATIO);
+    }
+
+    @Override
+    protected void onAccess(String key) {
+        Node node = nodes.get(key);
+        if (node != null) {
+            onSegmentAccess(node);
+        }
+    }
+
+    /**
+     * Promote a probation key, or refresh a protected key.
+     */
+    protected void onSegmentAccess(Node node) {
+        if (node.queue == protectedSegment) {
+            protectedSegment.moveToTail(node);
+            return;
+        }
+
+        probation.unlink(node);
+        protectedSegment.addLast(node);
+        if (protectedSegment.size > protectedCapacity) {
+            // Demote the coldest protected key back to probation
+            Node demoted = protectedSegment.head;
+            protectedSegment.unlink(demoted);
+            probation.addLast(demoted);
+        }
+    }
+
+    @Override
+    protected String onInsert(String key) {
+        Node node = new Node(key);
+        nodes.put(key, node);
+        probation.addLast(node);
+
+        if (nodes.size() <= capacity) {
+            return null;
+        }
+        return evictHead(probation.size > 0 ? probation : protectedSegment);
+    }
+
+    @Override
+    protected void onClear() {
+        probation.clear();
+        protectedSegment.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.glaciousm.core.engine.cache;
+
+/**
+ * W-TinyLFU eviction. New keys enter a small LRU window. A key leaving the window is only
+ * admitted to the main segmented LRU if it has been requested more often than the key it
+ * would displace, as estimated by a {@link FrequencySketch}. This keeps frequently
+ * healed locators cached through scans of one-off heals.
+ */
+class WindowTinyLfuPolicy extends SegmentedLruPolicy {
+
+    private static final double WINDOW_RATIO = 0.01;
+
+    private final NodeQueue window = new NodeQueue();
+    private final int windowCapacity;
+    private final FrequencySketch sketch;
+
+    WindowTinyLfuPolicy(int capacity) {
+        super(capacity, capacity - windowCapacity(capacity));
+        this.windowCapacity = windowCapacity(capacity);
+        this.sketch = new FrequencySketch(this.capacity);
+    }
+
+    private static int windowCapacity(int capacity) {
+        return Math.max(1, (int) (Math.max(1, capacity) * WINDOW_RATIO));
+    }
+
+    @Override
+    protected void onAccess(String key) {
+        sketch.increment(key);
+        Node node = nodes.get(key);
+        if (node == null) {
+            return;
+        }
+        if (node.queue == window) {
+            window.moveToTail(node);
+        } else {
+            onSegmentAccess(node);
+        }
+    }
+
+    @Override
+    protected String onInsert(String key) {
+        sketch.increment(key);
+        Node node = new Node(key);
+        nodes.put(key, node);
+        window.addLast(node);
+
+        if (window.size <= windowCapacity) {
+            return null;
+        }
+
+        // The window overflowed: its oldest key competes for a place in the main segments
+        Node candidate = window.head;
+        window.unlink(candidate);
+        probation.addLast(candidate);
+
+        if (nodes.size() <= capacity) {
+            return null;
+        }
+
+        Node victim = probation.head != candidate ? probation.head : protectedSegment.head;
+        Node evicted = victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)
+                ? victim : candidate;
+        evicted.queue.unlink(evicted);
+        nodes.remove(evicted.key);
+        return evicted.key;
+    }
+
+    @Override
+    protected void onClear() {
+        super.onClear();
+        window.clear();
+        sketch.clear();
+    }
+}
@@ -1,8 +1,11 @@
 package io.github.glaciousm.core.engine.context;
 
+import io.github.glaciousm.core.util.ImplicitWaits;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,21 +14,96 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Handles iframe detection and context switching for healing operations.
  * Enables healing of elements inside iframes.
+ *
+ * <p>In {@link SearchMode#SCRIPT} mode the whole same-origin frame tree is searched by
+ * one injected script, and the driver only switches into the frame that holds the
+ * element. Cross-origin frames cannot be read from their parent, so the handler switches
+ * into each of them and runs the script again there.</p>
  */
 public class IframeHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(IframeHandler.class);
 
+    /**
+     * Arguments: strategy, value. Searches the current document and then its frames depth
+     * first, in the order of {@code window.frames}. Returns {found: frame index path or null,
+     * blocked: index paths of cross-origin frames that could not be searched}.
+     */
+    static final String FRAME_TREE_SCRIPT = """
+            const strategy = arguments[0];
+            const value = arguments[1];
+
+            const find = (doc) => {
+                switch (strategy) {
+                    case 'id': return doc.getElementById(value);
+                    case 'name': return doc.querySelector('[name="' + CSS.escape(value) + '"]');
+                    case 'className': return doc.getElementsByClassName(value)[0];
+                    case 'css': return doc.querySelector(value);
+                    case 'tagName': return doc.getElementsByTagName(value)[0];
+                    case 'xpath': return doc.evaluate(value, doc, null,
+                            XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                    case 'linkText': return [...doc.querySelectorAll('a')]
+                            .find(a => (a.innerText || a.textContent).trim() === value);
+                    case 'partialLinkText': return [...doc.querySelectorAll('a')]
+                            .find(a => (a.innerText || a.textContent).includes(value));
+                    default: return null;
+                }
+            };
+
+            const blocked = [];
+            const search = (win, path) => {
+                let doc;
+                try {
+                    doc = win.document;
+                } catch (e) {
+                    doc = null;
+                }
+                if (!doc) {
+                    blocked.push(path);
+                    return null;
+                }
+                if (find(doc)) {
+                    return path;
+                }
+                for (let i = 0; i < win.frames.length; i++) {
+                    const found = search(win.frames[i], path.concat(i));
+                    if (found) {
+                        return found;
+                    }
+                }
+                return null;
+            };
+
+            const found = search(window, []);
+            return { found: found, blocked: found ? [] : blocked };
+            """;
+
+    /**
+     * Arguments: frame index. Returns the frame element for {@code window.frames[index]},
+     * which also works for cross-origin frames.
+     */
+    static final String FRAME_ELEMENT_SCRIPT = """
+            const win = window.frames[arguments[0]];
+            return [...document.querySelectorAll('iframe, frame')].find(f => f.contentWindow === win) || null;
+            """;
+
     private final WebDriver driver;
+    private final SearchMode searchMode;
     private final Deque<FrameContext> frameStack = new ArrayDeque<>();
 
     public IframeHandler(WebDriver driver) {
+        this(driver, SearchMode.SCRIPT);
+    }
+
+    public IframeHandler(WebDriver driver, SearchMode searchMode) {
         this.driver = driver;
+        this.searchMode = searchMode != null ? searchMode : SearchMode.SCRIPT;
     }
 
     /**
@@ -40,6 +118,11 @@ public class IframeHandler {
             // Switch to default content first
             driver.switchTo().defaultContent();
 
+            Optional<FrameQuery> query = FrameQuery.of(locator);
+            if (searchMode == SearchMode.SCRIPT && driver instanceof JavascriptExecutor js && query.isPresent()) {
+                return searchFrameTree(js, query.get(), locator, new ArrayList<>(), null);
+            }
+
             // Try main document
             try {
                 WebElement element = driver.findElement(locator);
@@ -237,6 +320,148 @@ public class IframeHandler {
         return Optional.empty();
     }
 
+    /**
+     * Search the current context and every frame below it with the frame tree script,
+     * switching only into the frame that holds the element and into cross-origin frames.
+     *
+     * @param basePath frame path of the current context from the top document
+     * @param contextFrame frame element of the current context, or null at the top
+     */
+    private Optional<ElementInFrame> searchFrameTree(JavascriptExecutor js, FrameQuery query, By locator,
+                                                     List<Integer> basePath, WebElement contextFrame) {
+        FrameTreeResult result = runFrameTreeScript(js, query);
+        if (result == null) {
+            // The script could not run here; search this context by switching frames instead
+            return ImplicitWaits.withoutImplicitWait(driver, () -> searchBySwitching(locator, basePath, contextFrame));
+        }
+
+        if (result.found() != null) {
+            return enterAndFind(js, locator, basePath, result.found(), contextFrame);
+        }
+
+        for (List<Integer> blocked : result.blocked()) {
+            List<Integer> path = new ArrayList<>(basePath);
+            path.addAll(blocked);
+            WebElement frame;
+            try {
+                frame = switchToPath(js, path);
+            } catch (WebDriverException e) {
+                logger.debug("Could not enter cross-origin frame {}: {}", path, e.getMessage());
+                continue;
+            }
+
+            Optional<ElementInFrame> nested = searchFrameTree(js, query, locator, path, frame);
+            if (nested.isPresent()) {
+                return nested;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private FrameTreeResult runFrameTreeScript(JavascriptExecutor js, FrameQuery query) {
+        Object result;
+        try {
+            result = js.executeScript(FRAME_TREE_SCRIPT, query.strategy(), query.value());
+        } catch (WebDriverException e) {
+            logger.debug("Frame tree script failed: {}", e.getMessage());
+            return null;
+        }
+
+        if (!(result instanceof Map<?, ?> map)) {
+            logger.debug("Frame tree script returned unexpected payload: {}", result);
+            return null;
+        }
+
+        List<List<Integer>> blocked = new ArrayList<>();
+        if (map.get("blocked") instanceof List<?> paths) {
+            for (Object path : paths) {
+                blocked.add(toPath(path));
+            }
+        }
+        Object found = map.get("found");
+        return new FrameTreeResult(found != null ? toPath(found) : null, blocked);
+    }
+
+    /**
+     * Switch from the current context along a relative frame path and find the element there.
+     */
+    private Optional<ElementInFrame> enterAndFind(JavascriptExecutor js, By locator, List<Integer> basePath,
+                                                  List<Integer> relativePath, WebElement contextFrame) {
+        try {
+            WebElement frame = contextFrame;
+            for (int i = 0; i < relativePath.size(); i++) {
+                if (i == relativePath.size() - 1) {
+                    frame = enterFrame(js, relativePath.get(i));
+                } else {
+                    driver.switchTo().frame(relativePath.get(i).intValue());
+                }
+            }
+
+            WebElement element = ImplicitWaits.withoutImplicitWait(driver, () -> driver.findElement(locator));
+            List<Integer> path = new ArrayList<>(basePath);
+            path.addAll(relativePath);
+            return Optional.of(new ElementInFrame(element, frame, path));
+        } catch (WebDriverException e) {
+            logger.debug("Element reported in frame {} could not be found: {}", relativePath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Switch from the top document along an absolute frame path.
+     *
+     * @return the frame element of the last frame entered
+     */
+    private WebElement switchToPath(JavascriptExecutor js, List<Integer> path) {
+        driver.switchTo().defaultContent();
+        WebElement frame = null;
+        for (int i = 0; i < path.size(); i++) {
+            if (i == path.size() - 1) {
+                frame = enterFrame(js, path.get(i));
+            } else {
+                driver.switchTo().frame(path.get(i).intValue());
+            }
+        }
+        return frame;
+    }
+
+    /**
+     * Switch into a child frame by index, returning its frame element.
+     */
+    private WebElement enterFrame(JavascriptExecutor js, int index) {
+        Object frame = js.executeScript(FRAME_ELEMENT_SCRIPT, index);
+        if (frame instanceof WebElement frameElement) {
+            driver.switchTo().frame(frameElement);
+            return frameElement;
+        }
+        driver.switchTo().frame(index);
+        return null;
+    }
+
+    /**
+     * Search the current context and its frames with one switch and lookup per frame.
+     */
+    private Optional<ElementInFrame> searchBySwitching(By locator, List<Integer> basePath, WebElement contextFrame) {
+        try {
+            WebElement element = driver.findElement(locator);
+            return Optional.of(new ElementInFrame(element, contextFrame, basePath));
+        } catch (NoSuchElementException e) {
+            // Not in this document
+        }
+        return searchInIframes(locator, basePath);
+    }
+
+    private static List<Integer> toPath(Object value) {
+        List<Integer> path = new ArrayList<>();
+        if (value instanceof List<?> indices) {
+            for (Object index : indices) {
+                path.add(((Number) index).intValue());
+            }
+        }
+        return path;
+    }
+
     private <T> Optional<T> executeInIframesRecursively(FrameOperation<T> operation, List<Integer> currentPath) {
         List<WebElement> iframes = driver.findElements(By.tagName("iframe"));
         iframes.addAll(driver.findElements(By.tagName("frame")));
@@ -361,6 +586,54 @@ public class IframeHandler {
         }
     }
 
+    /**
+     * How {@link #findElementAcrossFrames(By)} searches frames.
+     */
+    public enum SearchMode {
+        /** One script per origin searches the frame tree; falls back to SWITCH without JavaScript. */
+        SCRIPT,
+        /** Switch into every frame and call findElement there. */
+        SWITCH
+    }
+
+    /**
+     * A locator the frame tree script can evaluate.
+     */
+    record FrameQuery(String strategy, String value) {
+
+        private static final String[][] PREFIXES = {
+                {"By.id: ", "id"},
+                {"By.name: ", "name"},
+                {"By.className: ", "className"},
+                {"By.cssSelector: ", "css"},
+                {"By.tagName: ", "tagName"},
+                {"By.xpath: ", "xpath"},
+                {"By.linkText: ", "linkText"},
+                {"By.partialLinkText: ", "partialLinkText"}
+        };
+
+        /**
+         * Map a standard Selenium locator to a query, or empty for composite and custom locators.
+         */
+        static Optional<FrameQuery> of(By locator) {
+            String description = String.valueOf(locator);
+            for (String[] prefix : PREFIXES) {
+                if (description.startsWith(prefix[0])) {
+                    return Optional.of(new FrameQuery(prefix[1], description.substring(prefix[0].length())));
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Outcome of one frame tree script run.
+     */
+    private record FrameTreeResult(
+            List<Integer> found,
+            List<List<Integer>> blocked
+    ) {}
+
     /**
      * Frame context for tracking current position.
      */
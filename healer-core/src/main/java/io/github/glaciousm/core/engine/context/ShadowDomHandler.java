@@ -6,32 +6,132 @@ import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.NoSuchShadowRootException;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Handles Shadow DOM traversal for healing operations.
  * Enables finding and healing elements inside shadow roots.
+ *
+ * <p>In {@link SearchMode#SCRIPT} mode lookups run as one page-side query that walks every
+ * open shadow root, instead of a {@code getShadowRoot} and {@code findElement} round trip
+ * per host. Closed shadow roots are only reachable in {@link SearchMode#WALK} mode.</p>
  */
 public class ShadowDomHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ShadowDomHandler.class);
 
+    /** Deepest shadow nesting searched, matching the host collection limit. */
+    private static final int MAX_DEPTH = 10;
+
+    /**
+     * Arguments: CSS selector, max matches, max depth. Searches the document and then each
+     * open shadow root in document order. Returns [{element, hosts, path}] where path is the
+     * {@code >>} shadow path accepted by {@link #findByShadowPath(String)}.
+     */
+    static final String DEEP_QUERY_SCRIPT = """
+            const selector = arguments[0];
+            const max = arguments[1];
+            const maxDepth = arguments[2];
+
+            const simpleSelector = (el) => {
+                if (el.id) return '#' + el.id;
+                const tag = el.tagName.toLowerCase();
+                const cls = typeof el.className === 'string' ? el.className.trim().split(/\\s+/)[0] : '';
+                return cls ? tag + '.' + cls : tag;
+            };
+
+            const matches = [];
+            const search = (root, hosts, depth) => {
+                for (const el of root.querySelectorAll(selector)) {
+                    if (matches.length >= max) return;
+                    matches.push({
+                        element: el,
+                        hosts: hosts,
+                        path: hosts.map(simpleSelector).concat(simpleSelector(el)).join(' >> ')
+                    });
+                }
+                if (depth >= maxDepth) return;
+                for (const host of root.querySelectorAll('*')) {
+                    if (matches.length >= max) return;
+                    if (host.shadowRoot) search(host.shadowRoot, hosts.concat(host), depth + 1);
+                }
+            };
+            search(document, [], 0);
+            return matches;
+            """;
+
+    /**
+     * Arguments: max depth. Returns [{path, tag, id, cls, depth}] for every open shadow host,
+     * depth first, where path lists the hosts from the document down to and including the host.
+     */
+    static final String HOSTS_SCRIPT = """
+            const maxDepth = arguments[0];
+            const hosts = [];
+            const walk = (root, path, depth) => {
+                if (depth > maxDepth) return;
+                for (const el of root.querySelectorAll('*')) {
+                    if (!el.shadowRoot) continue;
+                    const hostPath = path.concat(el);
+                    hosts.push({ path: hostPath, tag: el.tagName.toLowerCase(), id: el.getAttribute('id'),
+                                 cls: el.getAttribute('class'), depth: depth });
+                    walk(el.shadowRoot, hostPath, depth + 1);
+                }
+            };
+            walk(document, [], 0);
+            return hosts;
+            """;
+
+    /**
+     * Arguments: path segments. Resolves a {@code >>} shadow path, returning the element or null.
+     */
+    static final String SHADOW_PATH_SCRIPT = """
+            const parts = arguments[0];
+            let root = document;
+            for (let i = 0; i < parts.length; i++) {
+                const el = root.querySelector(parts[i]);
+                if (!el) return null;
+                if (i === parts.length - 1) return el;
+                if (!el.shadowRoot) return null;
+                root = el.shadowRoot;
+            }
+            return null;
+            """;
+
     private final WebDriver driver;
+    private final SearchMode searchMode;
 
     public ShadowDomHandler(WebDriver driver) {
+        this(driver, SearchMode.SCRIPT);
+    }
+
+    public ShadowDomHandler(WebDriver driver, SearchMode searchMode) {
         this.driver = driver;
+        this.searchMode = searchMode != null ? searchMode : SearchMode.SCRIPT;
     }
 
     /**
      * Find element across all shadow roots.
      */
     public Optional<ElementInShadow> findElementAcrossShadowRoots(By locator) {
+        Optional<String> css = toCssSelector(locator);
+        if (css.isPresent()) {
+            Optional<List<ShadowMatch>> matches = runDeepQuery(css.get(), 1);
+            if (matches.isPresent()) {
+                return matches.get().stream()
+                        .findFirst()
+                        .map(match -> new ElementInShadow(match.element(), match.hosts()));
+            }
+        }
+
         // Try in main document first
         try {
             WebElement element = driver.findElement(locator);
@@ -44,6 +144,16 @@ public class ShadowDomHandler {
         return searchInShadowRoots(locator, (WebElement) null, new ArrayList<>());
     }
 
+    /**
+     * Find up to {@code maxResults} elements matching a CSS selector in the document and all
+     * open shadow roots with a single script.
+     *
+     * @return the matches in document order, or an empty list if the driver cannot run scripts
+     */
+    public List<ShadowMatch> deepQuery(String cssSelector, int maxResults) {
+        return runDeepQuery(cssSelector, maxResults).orElse(List.of());
+    }
+
     /**
      * Find element using CSS selector across shadow roots.
      */
@@ -58,6 +168,16 @@ public class ShadowDomHandler {
      */
     public Optional<WebElement> findByShadowPath(String shadowPath) {
         String[] parts = shadowPath.split("\\s*>>\\s*");
+
+        if (scriptsEnabled() && driver instanceof JavascriptExecutor js) {
+            try {
+                Object result = js.executeScript(SHADOW_PATH_SCRIPT, Arrays.stream(parts).map(String::trim).toList());
+                return result instanceof WebElement element ? Optional.of(element) : Optional.empty();
+            } catch (WebDriverException e) {
+                logger.debug("Shadow path script failed, resolving per segment: {}", e.getMessage());
+            }
+        }
+
         SearchContext currentContext = driver;
 
         for (int i = 0; i < parts.length; i++) {
@@ -92,6 +212,11 @@ public class ShadowDomHandler {
      * Get all shadow hosts on the page.
      */
     public List<ShadowHostInfo> getAllShadowHosts() {
+        Optional<List<ShadowHostInfo>> scripted = collectShadowHostsByScript();
+        if (scripted.isPresent()) {
+            return scripted.get();
+        }
+
         List<ShadowHostInfo> hosts = new ArrayList<>();
         collectShadowHosts(driver, hosts, new ArrayList<>(), 0);
         return hosts;
@@ -176,6 +301,108 @@ public class ShadowDomHandler {
 
     // Private helper methods
 
+    private boolean scriptsEnabled() {
+        return searchMode == SearchMode.SCRIPT;
+    }
+
+    /**
+     * Run the deep query script.
+     *
+     * @return the matches, or empty if script mode is off or the script failed
+     */
+    private Optional<List<ShadowMatch>> runDeepQuery(String cssSelector, int maxResults) {
+        if (!scriptsEnabled() || !(driver instanceof JavascriptExecutor js)) {
+            return Optional.empty();
+        }
+
+        Object result;
+        try {
+            result = js.executeScript(DEEP_QUERY_SCRIPT, cssSelector, maxResults, MAX_DEPTH);
+        } catch (WebDriverException e) {
+            logger.debug("Deep shadow query failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (!(result instanceof List<?> items)) {
+            logger.debug("Deep shadow query returned unexpected payload: {}", result);
+            return Optional.empty();
+        }
+
+        List<ShadowMatch> matches = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof Map<?, ?> map && map.get("element") instanceof WebElement element) {
+                matches.add(new ShadowMatch(element, toElements(map.get("hosts")), String.valueOf(map.get("path"))));
+            }
+        }
+        return Optional.of(matches);
+    }
+
+    private Optional<List<ShadowHostInfo>> collectShadowHostsByScript() {
+        if (!scriptsEnabled() || !(driver instanceof JavascriptExecutor js)) {
+            return Optional.empty();
+        }
+
+        Object result;
+        try {
+            result = js.executeScript(HOSTS_SCRIPT, MAX_DEPTH);
+        } catch (WebDriverException e) {
+            logger.debug("Shadow host script failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (!(result instanceof List<?> items)) {
+            return Optional.empty();
+        }
+
+        List<ShadowHostInfo> hosts = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof Map<?, ?> map) {
+                hosts.add(new ShadowHostInfo(
+                        (String) map.get("tag"),
+                        (String) map.get("id"),
+                        (String) map.get("cls"),
+                        toElements(map.get("path")),
+                        map.get("depth") instanceof Number depth ? depth.intValue() : 0
+                ));
+            }
+        }
+        return Optional.of(hosts);
+    }
+
+    private static List<WebElement> toElements(Object value) {
+        List<WebElement> elements = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof WebElement element) {
+                    elements.add(element);
+                }
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Express a standard locator as CSS so the deep query can evaluate it, or empty for
+     * XPath, link text and custom locators.
+     */
+    static Optional<String> toCssSelector(By locator) {
+        String description = String.valueOf(locator);
+        int colon = description.indexOf(": ");
+        if (colon < 0) {
+            return Optional.empty();
+        }
+        String value = description.substring(colon + 2);
+        return switch (description.substring(0, colon)) {
+            case "By.cssSelector", "By.tagName" -> Optional.of(value);
+            case "By.id" -> Optional.of("[id=\"" + escapeAttribute(value) + "\"]");
+            case "By.name" -> Optional.of("[name=\"" + escapeAttribute(value) + "\"]");
+            case "By.className" -> Optional.of("[class~=\"" + escapeAttribute(value) + "\"]");
+            default -> Optional.empty();
+        };
+    }
+
+    private static String escapeAttribute(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     private Optional<ElementInShadow> searchInShadowRoots(
             By locator,
             WebElement host,
@@ -403,6 +630,28 @@ public class ShadowDomHandler {
 
     // Types
 
+    /**
+     * How lookups traverse shadow roots.
+     */
+    public enum SearchMode {
+        /** One script walks all open shadow roots; falls back to WALK without JavaScript. */
+        SCRIPT,
+        /** Walk hosts from Java with getShadowRoot, which also reaches closed roots. */
+        WALK
+    }
+
+    /**
+     * Element found by a deep query.
+     *
+     * @param hosts shadow hosts from the document down to the element's root
+     * @param shadowPath {@code >>} separated selector path to the element
+     */
+    public record ShadowMatch(
+            WebElement element,
+            List<WebElement> hosts,
+            String shadowPath
+    ) {}
+
     /**
      * Result of finding element in shadow DOM.
      */
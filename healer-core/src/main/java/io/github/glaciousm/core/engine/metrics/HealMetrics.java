@@ -1,7 +1,12 @@
 package io.github.glaciousm.core.engine.metrics;
 
+import io.github.glaciousm.core.model.HealStage;
+
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Metrics data for a single heal attempt.
@@ -23,10 +28,13 @@ public class HealMetrics {
     private int outputTokens;
     private double llmCostUsd;
     private boolean cacheHit;
+    private boolean coalesced;
     private String errorMessage;
     private boolean outcomeCheckPassed;
     private boolean invariantsChecked;
     private boolean invariantsPassed;
+    private String provider;
+    private Map<HealStage, Duration> stageTimings = Collections.emptyMap();
 
     public HealMetrics(String featureName, String scenarioName, String stepName,
                        String failureKind, String originalLocator) {
@@ -80,6 +88,9 @@ public class HealMetrics {
     public boolean isCacheHit() { return cacheHit; }
     public void setCacheHit(boolean cacheHit) { this.cacheHit = cacheHit; }
 
+    public boolean isCoalesced() { return coalesced; }
+    public void setCoalesced(boolean coalesced) { this.coalesced = coalesced; }
+
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
 
@@ -92,6 +103,19 @@ public class HealMetrics {
     public boolean isInvariantsPassed() { return invariantsPassed; }
     public void setInvariantsPassed(boolean invariantsPassed) { this.invariantsPassed = invariantsPassed; }
 
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    /**
+     * Time spent in each heal stage, as reported by {@code HealResult.getStageTimings()}.
+     */
+    public Map<HealStage, Duration> getStageTimings() { return stageTimings; }
+    public void setStageTimings(Map<HealStage, Duration> stageTimings) {
+        this.stageTimings = stageTimings == null || stageTimings.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new EnumMap<>(stageTimings));
+    }
+
     public boolean isSuccess() {
         return "SUCCESS".equals(result);
     }
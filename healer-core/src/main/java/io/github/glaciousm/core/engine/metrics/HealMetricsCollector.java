@@ -1,5 +1,6 @@
 package io.github.glaciousm.core.engine.metrics;
 
+import io.github.glaciousm.core.model.HealStage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,9 +17,9 @@ import java.util.concurrent.atomic.DoubleAdder;
  *
  * Tracks:
  * - Success/failure/refusal rates
- * - Latency (P50, P90, P99)
+ * - Latency (P50, P90, P99), overall and per heal stage, provider and failure kind
  * - LLM costs
- * - Cache hit rates
+ * - Cache hit and coalesced heal rates
  * - False heal rates
  * - Per-failure-kind statistics
  */
@@ -32,6 +33,7 @@ public class HealMetricsCollector {
     private final AtomicInteger refusalCount = new AtomicInteger(0);
     private final AtomicInteger failureCount = new AtomicInteger(0);
     private final AtomicInteger cacheHits = new AtomicInteger(0);
+    private final AtomicInteger coalescedHeals = new AtomicInteger(0);
     private final AtomicInteger falseHealCount = new AtomicInteger(0);
 
     // Token and cost tracking
@@ -39,8 +41,10 @@ public class HealMetricsCollector {
     private final AtomicLong totalOutputTokens = new AtomicLong(0);
     private final DoubleAdder totalLlmCostUsd = new DoubleAdder();
 
-    // Latency tracking (in milliseconds)
-    private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+    // Latency tracking in fixed-size histograms
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<HealStage, LatencyHistogram> stageLatencies = new EnumMap<>(HealStage.class);
+    private final Map<String, LatencyHistogram> providerLatencies = new ConcurrentHashMap<>();
 
     // Per-failure-kind statistics
     private final Map<String, FailureKindStats> failureKindStats = new ConcurrentHashMap<>();
@@ -54,6 +58,9 @@ public class HealMetricsCollector {
     private volatile Instant lastHealTime;
 
     public HealMetricsCollector() {
+        for (HealStage stage : HealStage.values()) {
+            stageLatencies.put(stage, new LatencyHistogram());
+        }
     }
 
     /**
@@ -79,6 +86,9 @@ public class HealMetricsCollector {
         if (metrics.isCacheHit()) {
             cacheHits.incrementAndGet();
         }
+        if (metrics.isCoalesced()) {
+            coalescedHeals.incrementAndGet();
+        }
 
         // Token and cost tracking
         totalInputTokens.addAndGet(metrics.getInputTokens());
@@ -86,7 +96,14 @@ public class HealMetricsCollector {
         totalLlmCostUsd.add(metrics.getLlmCostUsd());
 
         // Latency tracking
-        latencies.add(metrics.getDurationMs());
+        long durationMicros = toMicros(metrics.getDuration());
+        latencies.record(durationMicros);
+        metrics.getStageTimings().forEach((stage, time) -> stageLatencies.get(stage).record(toMicros(time)));
+        Duration llmTime = metrics.getStageTimings().get(HealStage.LLM);
+        if (metrics.getProvider() != null && llmTime != null) {
+            providerLatencies.computeIfAbsent(metrics.getProvider(), p -> new LatencyHistogram())
+                    .record(toMicros(llmTime));
+        }
 
         // Per-failure-kind stats
         if (metrics.getFailureKind() != null) {
@@ -154,6 +171,21 @@ public class HealMetricsCollector {
         return total > 0 ? (double) cacheHits.get() / total : 0.0;
     }
 
+    /**
+     * Get the number of heals that shared a concurrent heal's result instead of calling the LLM.
+     */
+    public int getCoalescedCount() {
+        return coalescedHeals.get();
+    }
+
+    /**
+     * Get the share of heals coalesced with a concurrent heal.
+     */
+    public double getCoalescedRate() {
+        int total = totalAttempts.get();
+        return total > 0 ? (double) coalescedHeals.get() / total : 0.0;
+    }
+
     /**
      * Get P50 (median) latency in milliseconds.
      */
@@ -179,30 +211,58 @@ public class HealMetricsCollector {
      * Get a specific percentile latency.
      */
     public long getPercentileLatency(int percentile) {
-        List<Long> sorted;
-        synchronized (latencies) {
-            if (latencies.isEmpty()) {
-                return 0;
-            }
-            sorted = new ArrayList<>(latencies);
-        }
-        Collections.sort(sorted);
-
-        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
-        index = Math.max(0, Math.min(index, sorted.size() - 1));
-        return sorted.get(index);
+        return latencies.snapshot().getPercentileMillis(percentile);
     }
 
     /**
      * Get average latency in milliseconds.
      */
     public double getAverageLatency() {
-        synchronized (latencies) {
-            if (latencies.isEmpty()) {
-                return 0;
+        return latencies.snapshot().getMeanMillis();
+    }
+
+    /**
+     * Get the distribution of total heal time.
+     */
+    public LatencyHistogram.Snapshot getLatencySnapshot() {
+        return latencies.snapshot();
+    }
+
+    /**
+     * Get the distribution of time spent in one heal stage.
+     */
+    public LatencyHistogram.Snapshot getStageLatency(HealStage stage) {
+        return stageLatencies.get(stage).snapshot();
+    }
+
+    /**
+     * Get the time distribution of every stage that has been recorded, in pipeline order.
+     */
+    public Map<HealStage, LatencyHistogram.Snapshot> getAllStageLatencies() {
+        Map<HealStage, LatencyHistogram.Snapshot> result = new EnumMap<>(HealStage.class);
+        stageLatencies.forEach((stage, histogram) -> {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (!snapshot.isEmpty()) {
+                result.put(stage, snapshot);
             }
-            return latencies.stream().mapToLong(Long::longValue).average().orElse(0);
-        }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Get the LLM call latency distribution for a provider.
+     */
+    public Optional<LatencyHistogram.Snapshot> getProviderLatency(String provider) {
+        return Optional.ofNullable(providerLatencies.get(provider)).map(LatencyHistogram::snapshot);
+    }
+
+    /**
+     * Get the LLM call latency distribution of every provider.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getAllProviderLatencies() {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        providerLatencies.forEach((provider, histogram) -> result.put(provider, histogram.snapshot()));
+        return Collections.unmodifiableMap(result);
     }
 
     /**
@@ -251,11 +311,13 @@ public class HealMetricsCollector {
                 failureCount.get(),
                 falseHealCount.get(),
                 cacheHits.get(),
+                coalescedHeals.get(),
                 getSuccessRate(),
                 getRefusalRate(),
                 getFailureRate(),
                 getFalseHealRate(),
                 getCacheHitRate(),
+                getCoalescedRate(),
                 getAverageLatency(),
                 getP50Latency(),
                 getP90Latency(),
@@ -263,7 +325,8 @@ public class HealMetricsCollector {
                 totalInputTokens.get(),
                 totalOutputTokens.get(),
                 getTotalLlmCostUsd(),
-                Duration.between(sessionStart, Instant.now())
+                Duration.between(sessionStart, Instant.now()),
+                getAllStageLatencies()
         );
     }
 
@@ -276,12 +339,13 @@ public class HealMetricsCollector {
         refusalCount.set(0);
         failureCount.set(0);
         cacheHits.set(0);
+        coalescedHeals.set(0);
         falseHealCount.set(0);
         totalInputTokens.set(0);
         totalOutputTokens.set(0);
-        synchronized (latencies) {
-            latencies.clear();
-        }
+        latencies.reset();
+        stageLatencies.values().forEach(LatencyHistogram::reset);
+        providerLatencies.clear();
         failureKindStats.clear();
         synchronized (recentMetrics) {
             recentMetrics.clear();
@@ -289,6 +353,14 @@ public class HealMetricsCollector {
         logger.info("Metrics reset");
     }
 
+    private static long toMicros(Duration duration) {
+        try {
+            return duration.toNanos() / 1000;
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
     /**
      * Statistics for a specific failure kind.
      */
@@ -297,9 +369,11 @@ public class HealMetricsCollector {
         private final AtomicInteger successes = new AtomicInteger(0);
         private final AtomicInteger refusals = new AtomicInteger(0);
         private final AtomicInteger failures = new AtomicInteger(0);
+        private final LatencyHistogram latency = new LatencyHistogram();
 
         void record(HealMetrics metrics) {
             attempts.incrementAndGet();
+            latency.record(toMicros(metrics.getDuration()));
             switch (metrics.getResult()) {
                 case "SUCCESS" -> successes.incrementAndGet();
                 case "REFUSED" -> refusals.incrementAndGet();
@@ -312,6 +386,11 @@ public class HealMetricsCollector {
         public int getRefusals() { return refusals.get(); }
         public int getFailures() { return failures.get(); }
 
+        /**
+         * Distribution of total heal time for this failure kind.
+         */
+        public LatencyHistogram.Snapshot getLatency() { return latency.snapshot(); }
+
         public double getSuccessRate() {
             int total = attempts.get();
             return total > 0 ? (double) successes.get() / total : 0.0;
@@ -328,11 +407,13 @@ public class HealMetricsCollector {
             int failureCount,
             int falseHealCount,
             int cacheHits,
+            int coalescedHeals,
             double successRate,
             double refusalRate,
             double failureRate,
             double falseHealRate,
             double cacheHitRate,
+            double coalescedRate,
             double avgLatencyMs,
             long p50LatencyMs,
             long p90LatencyMs,
@@ -340,26 +421,32 @@ public class HealMetricsCollector {
             long totalInputTokens,
             long totalOutputTokens,
             double totalLlmCostUsd,
-            Duration sessionDuration
+            Duration sessionDuration,
+            Map<HealStage, LatencyHistogram.Snapshot> stageLatencies
     ) {
         @Override
         public String toString() {
+            StringBuilder stages = new StringBuilder(stageLatencies.isEmpty() ? "" : "  Stage Latency:\n");
+            stageLatencies.forEach((stage, latency) -> stages.append(String.format(
+                    "    %s: P50=%dms, P90=%dms, P99=%dms (n=%d)%n", stage,
+                    latency.getPercentileMillis(50), latency.getPercentileMillis(90),
+                    latency.getPercentileMillis(99), latency.getCount())));
             return String.format("""
                     Metrics Summary:
                       Total Attempts: %d (Success: %d, Refused: %d, Failed: %d)
                       Success Rate: %.1f%%, False Heal Rate: %.1f%%
-                      Cache Hit Rate: %.1f%%
+                      Cache Hit Rate: %.1f%%, Coalesced: %.1f%%
                       Latency: avg=%.0fms, P50=%dms, P90=%dms, P99=%dms
                       LLM Cost: $%.4f (input: %d, output: %d tokens)
                       Session Duration: %s
                     """,
                     totalAttempts, successCount, refusalCount, failureCount,
                     successRate * 100, falseHealRate * 100,
-                    cacheHitRate * 100,
+                    cacheHitRate * 100, coalescedRate * 100,
                     avgLatencyMs, p50LatencyMs, p90LatencyMs, p99LatencyMs,
                     totalLlmCostUsd, totalInputTokens, totalOutputTokens,
                     formatDuration(sessionDuration)
-            );
+            ) + stages;
         }
 
         private String formatDuration(Duration duration) {
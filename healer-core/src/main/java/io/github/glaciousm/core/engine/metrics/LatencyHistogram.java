@@ -0,0 +1,194 @@
+package io.github.glaciousm.core.engine.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory, lock-free latency histogram with log-linear buckets.
+ *
+ * <p>Values are recorded in microseconds. Values below {@value #SUB_BUCKETS} are counted exactly;
+ * above that every power of two is split into {@value #SUB_BUCKETS} equal buckets, so a reported
+ * percentile is within about 3% of the recorded value. Values of 2<sup>45</sup> microseconds
+ * (roughly 407 days) and above are clamped into the last bucket. Memory is constant (about 10 KB) no matter how many values are recorded.</p>
+ *
+ * <p>Recording is a single atomic increment and never blocks. {@link #snapshot()} copies the
+ * counters into an immutable {@link Snapshot} that can be queried and merged with others.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 44;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final long MAX_TRACKABLE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency in microseconds. Negative values are recorded as zero.
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Record a latency in the given unit.
+     */
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toMicros(duration));
+    }
+
+    /**
+     * Copy the current counts into an immutable snapshot.
+     *
+     * <p>Values recorded while the copy is taken may or may not be included, but each value
+     * is either fully counted or not at all.</p>
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, sum.sum(), max.get());
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        long clamped = Math.min(value, MAX_TRACKABLE);
+        if (clamped < SUB_BUCKETS) {
+            return (int) clamped;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(clamped);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int mantissa = (int) (clamped >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * Largest value that falls into the given bucket.
+     */
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long mantissa = SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * Immutable point-in-time copy of a histogram.
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new long[BUCKET_COUNT], 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            this.count = Arrays.stream(counts).sum();
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * A snapshot with no recorded values.
+         */
+        public static Snapshot empty() {
+            return EMPTY;
+        }
+
+        /**
+         * Combine two snapshots, e.g. several providers or stages, into one distribution.
+         */
+        public Snapshot merge(Snapshot other) {
+            long[] merged = Arrays.copyOf(counts, BUCKET_COUNT);
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                merged[i] += other.counts[i];
+            }
+            return new Snapshot(merged, sum + other.sum, Math.max(max, other.max));
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        /**
+         * Value in microseconds at or below which the given percentage of values fall.
+         *
+         * @param percentile percentile between 0 and 100
+         * @return the percentile, or 0 if nothing was recorded
+         */
+        public long getPercentileMicros(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            double clamped = Math.max(0.0, Math.min(100.0, percentile));
+            long rank = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueInBucket(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Percentile in milliseconds.
+         */
+        public long getPercentileMillis(double percentile) {
+            return TimeUnit.MICROSECONDS.toMillis(getPercentileMicros(percentile));
+        }
+
+        public double getMeanMicros() {
+            return count > 0 ? (double) sum / count : 0.0;
+        }
+
+        public double getMeanMillis() {
+            return getMeanMicros() / 1000.0;
+        }
+
+        public long getMaxMicros() {
+            return max;
+        }
+
+        public long getTotalMicros() {
+            return sum;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, avg=%.1fms, P50=%dms, P90=%dms, P99=%dms, max=%dms",
+                    count, getMeanMillis(), getPercentileMillis(50), getPercentileMillis(90),
+                    getPercentileMillis(99), TimeUnit.MICROSECONDS.toMillis(max));
+        }
+    }
+}
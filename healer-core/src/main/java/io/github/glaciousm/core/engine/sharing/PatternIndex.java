@@ -0,0 +1,125 @@
+package io.github.glaciousm.core.engine.sharing;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index over shared pattern signatures, used to shortlist patterns worth scoring
+ * for a failed locator instead of scoring every local and imported pattern.
+ *
+ * <p>Each pattern is indexed by the padded character trigrams of its locator value (the
+ * signature without its strategy prefix) and by its page URL pattern. A pattern is a
+ * candidate if it shares at least one trigram with the failed locator or was recorded on
+ * the same page. Strategy is not indexed on its own: with only a handful of values it
+ * cannot narrow the search, so it is applied when each candidate is scored instead.</p>
+ */
+final class PatternIndex {
+
+    static final int GRAM_SIZE = 3;
+    private static final char PAD_START = '\u0002';
+    private static final char PAD_END = '\u0003';
+
+    private final Map<String, Set<String>> gramPostings = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> urlPostings = new ConcurrentHashMap<>();
+    private final Map<String, IndexedPattern> indexed = new ConcurrentHashMap<>();
+
+    /**
+     * Index a pattern, replacing any previous entry with the same id.
+     */
+    synchronized void add(PatternSharingService.SharedPattern pattern) {
+        remove(pattern.patternId());
+
+        Set<String> grams = grams(valueOf(pattern.originalSignature()));
+        IndexedPattern entry = new IndexedPattern(grams, pattern.pageUrlPattern());
+        indexed.put(pattern.patternId(), entry);
+
+        for (String gram : grams) {
+            gramPostings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(pattern.patternId());
+        }
+        if (entry.urlPattern() != null) {
+            urlPostings.computeIfAbsent(entry.urlPattern(), u -> ConcurrentHashMap.newKeySet()).add(pattern.patternId());
+        }
+    }
+
+    /**
+     * Remove a pattern from the index.
+     */
+    synchronized void remove(String patternId) {
+        IndexedPattern entry = indexed.remove(patternId);
+        if (entry == null) {
+            return;
+        }
+        for (String gram : entry.grams()) {
+            removePosting(gramPostings, gram, patternId);
+        }
+        if (entry.urlPattern() != null) {
+            removePosting(urlPostings, entry.urlPattern(), patternId);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<String>> postings, String term, String patternId) {
+        Set<String> ids = postings.get(term);
+        if (ids != null) {
+            ids.remove(patternId);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Ids of patterns sharing a trigram with the signature or recorded on the same page.
+     *
+     * @param signature  normalized locator signature of the failed locator
+     * @param urlPattern normalized page URL pattern, or null
+     */
+    Set<String> candidates(String signature, String urlPattern) {
+        Set<String> candidates = new LinkedHashSet<>();
+        if (urlPattern != null) {
+            candidates.addAll(urlPostings.getOrDefault(urlPattern, Collections.emptySet()));
+        }
+        for (String gram : grams(valueOf(signature))) {
+            Set<String> ids = gramPostings.get(gram);
+            if (ids != null) {
+                candidates.addAll(ids);
+            }
+        }
+        return candidates;
+    }
+
+    int size() {
+        return indexed.size();
+    }
+
+    /**
+     * Strip the {@code STRATEGY:} prefix so patterns of different strategies can still share grams.
+     */
+    private static String valueOf(String signature) {
+        if (signature == null) {
+            return "";
+        }
+        int colon = signature.indexOf(':');
+        return colon >= 0 ? signature.substring(colon + 1) : signature;
+    }
+
+    /**
+     * Padded trigrams, so values shorter than a trigram still produce grams.
+     */
+    static Set<String> grams(String value) {
+        String padded = String.valueOf(PAD_START).repeat(GRAM_SIZE - 1)
+                + value.toLowerCase()
+                + String.valueOf(PAD_END).repeat(GRAM_SIZE - 1);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private record IndexedPattern(Set<String> grams, String urlPattern) {
+    }
+}
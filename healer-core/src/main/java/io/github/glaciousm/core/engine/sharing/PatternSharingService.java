@@ -34,9 +34,11 @@ import java.util.stream.Collectors;
 public class PatternSharingService {
 
     private static final Logger logger = LoggerFactory.getLogger(PatternSharingService.class);
+    private static final double SIGNATURE_WEIGHT = 0.4;
 
     private final Map<String, SharedPattern> localPatterns;
     private final Map<String, SharedPattern> importedPatterns;
+    private final PatternIndex patternIndex;
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
     private final SharingConfig config;
@@ -49,6 +51,7 @@ public class PatternSharingService {
         this.config = config;
         this.localPatterns = new ConcurrentHashMap<>();
         this.importedPatterns = new ConcurrentHashMap<>();
+        this.patternIndex = new PatternIndex();
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         this.httpClient = HttpClient.newBuilder()
@@ -62,28 +65,36 @@ public class PatternSharingService {
     public void addPattern(HealPatternData data) {
         SharedPattern pattern = createPattern(data);
         localPatterns.put(pattern.patternId(), pattern);
+        patternIndex.add(pattern);
         logger.debug("Added pattern: {}", pattern.patternId());
     }
 
     /**
      * Find matching patterns for a given locator.
+     * Only patterns shortlisted by the signature and page index are scored.
      */
     public List<PatternMatch> findMatchingPatterns(LocatorInfo failedLocator, String pageContext) {
         List<PatternMatch> matches = new ArrayList<>();
-
-        // Search local patterns
-        for (SharedPattern pattern : localPatterns.values()) {
-            double similarity = calculateSimilarity(failedLocator, pageContext, pattern);
-            if (similarity >= config.minMatchSimilarity()) {
-                matches.add(new PatternMatch(pattern, similarity, PatternSource.LOCAL));
+        LocatorQuery query = new LocatorQuery(
+                failedLocator.getStrategy(),
+                createLocatorSignature(failedLocator),
+                pageContext != null ? anonymizeUrl(pageContext) : null,
+                categorizeFromLocator(failedLocator));
+
+        for (String patternId : patternIndex.candidates(query.signature(), query.pageContext())) {
+            SharedPattern pattern = localPatterns.get(patternId);
+            PatternSource source = PatternSource.LOCAL;
+            if (pattern == null) {
+                pattern = importedPatterns.get(patternId);
+                source = PatternSource.IMPORTED;
+            }
+            if (pattern == null) {
+                continue;
             }
-        }
 
-        // Search imported patterns
-        for (SharedPattern pattern : importedPatterns.values()) {
-            double similarity = calculateSimilarity(failedLocator, pageContext, pattern);
+            double similarity = calculateSimilarity(query, pattern);
             if (similarity >= config.minMatchSimilarity()) {
-                matches.add(new PatternMatch(pattern, similarity, PatternSource.IMPORTED));
+                matches.add(new PatternMatch(pattern, similarity, source));
             }
         }
 
@@ -141,6 +152,7 @@ public class PatternSharingService {
             }
 
             importedPatterns.put(pattern.patternId(), pattern);
+            patternIndex.add(pattern);
             added++;
         }
 
@@ -209,6 +221,9 @@ public class PatternSharingService {
      * Clear all imported patterns.
      */
     public void clearImported() {
+        for (String patternId : importedPatterns.keySet()) {
+            patternIndex.remove(patternId);
+        }
         importedPatterns.clear();
         logger.info("Cleared imported patterns");
     }
@@ -321,33 +336,26 @@ public class PatternSharingService {
         return "general";
     }
 
-    private double calculateSimilarity(LocatorInfo locator, String pageContext, SharedPattern pattern) {
+    private double calculateSimilarity(LocatorQuery query, SharedPattern pattern) {
         double similarity = 0.0;
 
         // Strategy match
-        if (locator.getStrategy().equals(pattern.originalStrategy())) {
+        if (query.strategy().equals(pattern.originalStrategy())) {
             similarity += 0.2;
         }
 
-        // Signature similarity
-        String currentSignature = createLocatorSignature(locator);
-        double signatureSim = calculateStringSimilarity(currentSignature, pattern.originalSignature());
-        similarity += signatureSim * 0.4;
-
         // Page context match
-        if (pageContext != null && pattern.pageUrlPattern() != null) {
-            String normalizedContext = anonymizeUrl(pageContext);
-            if (normalizedContext.equals(pattern.pageUrlPattern())) {
+        if (query.pageContext() != null && pattern.pageUrlPattern() != null) {
+            if (query.pageContext().equals(pattern.pageUrlPattern())) {
                 similarity += 0.2;
-            } else if (normalizedContext.contains(pattern.pageUrlPattern()) ||
-                    pattern.pageUrlPattern().contains(normalizedContext)) {
+            } else if (query.pageContext().contains(pattern.pageUrlPattern()) ||
+                    pattern.pageUrlPattern().contains(query.pageContext())) {
                 similarity += 0.1;
             }
         }
 
         // Category match from locator
-        String category = categorizeFromLocator(locator);
-        if (category.equals(pattern.category())) {
+        if (query.category().equals(pattern.category())) {
             similarity += 0.1;
         }
 
@@ -356,6 +364,12 @@ public class PatternSharingService {
             similarity += 0.1;
         }
 
+        // Signature similarity, computed only as far as it can still reach the threshold
+        double requiredSignatureSim = (config.minMatchSimilarity() - similarity) / SIGNATURE_WEIGHT;
+        double signatureSim = calculateStringSimilarity(query.signature(), pattern.originalSignature(),
+                Math.max(0.0, requiredSignatureSim));
+        similarity += signatureSim * SIGNATURE_WEIGHT;
+
         return Math.min(1.0, similarity);
     }
 
@@ -368,35 +382,58 @@ public class PatternSharingService {
         return "general";
     }
 
-    private double calculateStringSimilarity(String s1, String s2) {
+    /**
+     * Levenshtein-based similarity. Returns 0 as soon as the similarity is known to be
+     * below {@code minSimilarity}.
+     */
+    static double calculateStringSimilarity(String s1, String s2, double minSimilarity) {
         if (s1 == null || s2 == null) return 0;
         if (s1.equals(s2)) return 1.0;
 
-        // Levenshtein-based similarity
         int maxLen = Math.max(s1.length(), s2.length());
         if (maxLen == 0) return 1.0;
+        if (minSimilarity > 1.0) return 0;
 
-        int distance = levenshteinDistance(s1, s2);
+        int maxDistance = (int) Math.floor((1.0 - minSimilarity) * maxLen + 1e-9);
+        int distance = boundedLevenshteinDistance(s1, s2, maxDistance);
+        if (distance > maxDistance) return 0;
         return 1.0 - ((double) distance / maxLen);
     }
 
-    private int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+    /**
+     * Two-row Levenshtein distance that gives up once every alignment exceeds {@code maxDistance}.
+     *
+     * @return the distance, or {@code maxDistance + 1} if it is larger than {@code maxDistance}
+     */
+    static int boundedLevenshteinDistance(String s1, String s2, int maxDistance) {
+        if (Math.abs(s1.length() - s2.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
 
-        for (int i = 0; i <= s1.length(); i++) dp[i][0] = i;
-        for (int j = 0; j <= s2.length(); j++) dp[0][j] = j;
+        int[] previous = new int[s2.length() + 1];
+        int[] current = new int[s2.length() + 1];
+        for (int j = 0; j <= s2.length(); j++) previous[j] = j;
 
         for (int i = 1; i <= s1.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
             for (int j = 1; j <= s2.length(); j++) {
                 int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(
-                        dp[i - 1][j] + 1,
-                        dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + cost);
+                current[j] = Math.min(Math.min(
+                        previous[j] + 1,
+                        current[j - 1] + 1),
+                        previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
             }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
         }
 
-        return dp[s1.length()][s2.length()];
+        return previous[s2.length()];
     }
 
     private boolean isDuplicate(SharedPattern pattern) {
@@ -461,6 +498,7 @@ public class PatternSharingService {
         for (SharedPattern pattern : downloaded) {
             if (!isDuplicate(pattern)) {
                 importedPatterns.put(pattern.patternId(), pattern);
+                patternIndex.add(pattern);
                 added++;
             }
         }
@@ -478,6 +516,12 @@ public class PatternSharingService {
 
     // Records
 
+    /**
+     * Failed-locator features computed once per lookup rather than once per pattern.
+     */
+    private record LocatorQuery(LocatorInfo.LocatorStrategy strategy, String signature,
+                                String pageContext, String category) {}
+
     public record HealPatternData(
             LocatorInfo originalLocator,
             LocatorInfo healedLocator,
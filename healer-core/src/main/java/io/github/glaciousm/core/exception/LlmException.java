@@ -1,5 +1,8 @@
 package io.github.glaciousm.core.exception;
 
+import java.time.Duration;
+import java.util.Optional;
+
 /**
  * Exception for LLM-related errors.
  */
@@ -7,6 +10,7 @@ public class LlmException extends HealingException {
 
     private final String provider;
     private final String model;
+    private int retryAfterSeconds = -1;
 
     public LlmException(String message, String provider, String model) {
         super(message, HealingFailureReason.LLM_UNAVAILABLE);
@@ -34,6 +38,13 @@ public class LlmException extends HealingException {
         return model;
     }
 
+    /**
+     * How long the provider asked callers to wait before retrying, if it said.
+     */
+    public Optional<Duration> getRetryAfter() {
+        return retryAfterSeconds >= 0 ? Optional.of(Duration.ofSeconds(retryAfterSeconds)) : Optional.empty();
+    }
+
     /**
      * Creates an exception for unavailable provider.
      */
@@ -102,9 +113,24 @@ public class LlmException extends HealingException {
      * Creates an exception for rate limiting with retry-after hint.
      */
     public static LlmException rateLimited(String provider, String model, int retryAfterSeconds) {
-        return new LlmException(
+        LlmException e = new LlmException(
                 "Rate limited by " + provider + "/" + model + ". Retry after " + retryAfterSeconds + " seconds.",
                 provider, model);
+        e.retryAfterSeconds = retryAfterSeconds;
+        return e;
+    }
+
+    /**
+     * Creates an exception for an HTTP 429 response, keeping the provider's error details and
+     * its {@code Retry-After} hint (negative if the response had none).
+     */
+    public static LlmException rateLimited(String provider, String model, String details, int retryAfterSeconds) {
+        String retryHint = retryAfterSeconds >= 0 ? " Retry after " + retryAfterSeconds + " seconds." : "";
+        LlmException e = new LlmException(
+                "Rate limited by " + provider + "/" + model + ": " + details + "." + retryHint,
+                provider, model);
+        e.retryAfterSeconds = retryAfterSeconds;
+        return e;
     }
 
     /**
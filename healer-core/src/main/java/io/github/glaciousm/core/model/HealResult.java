@@ -5,6 +5,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +29,23 @@ public final class HealResult {
     private final Duration duration;
     private final boolean fromCache;
     private final SourceLocation sourceLocation;
+    private final Map<HealStage, Duration> stageTimings;
+    private final boolean coalesced;
+
+    public HealResult(String id, HealOutcome outcome, HealDecision decision, Integer healedElementIndex,
+                      String healedLocator, double confidence, String reasoning, String failureReason,
+                      Instant timestamp, Duration duration, boolean fromCache, SourceLocation sourceLocation) {
+        this(id, outcome, decision, healedElementIndex, healedLocator, confidence, reasoning, failureReason,
+                timestamp, duration, fromCache, sourceLocation, null);
+    }
+
+    public HealResult(String id, HealOutcome outcome, HealDecision decision, Integer healedElementIndex,
+                      String healedLocator, double confidence, String reasoning, String failureReason,
+                      Instant timestamp, Duration duration, boolean fromCache, SourceLocation sourceLocation,
+                      Map<HealStage, Duration> stageTimings) {
+        this(id, outcome, decision, healedElementIndex, healedLocator, confidence, reasoning, failureReason,
+                timestamp, duration, fromCache, sourceLocation, stageTimings, false);
+    }
 
     @JsonCreator
     public HealResult(
@@ -40,7 +60,9 @@ public final class HealResult {
             @JsonProperty("timestamp") Instant timestamp,
             @JsonProperty("duration") Duration duration,
             @JsonProperty("fromCache") boolean fromCache,
-            @JsonProperty("sourceLocation") SourceLocation sourceLocation) {
+            @JsonProperty("sourceLocation") SourceLocation sourceLocation,
+            @JsonProperty("stageTimings") Map<HealStage, Duration> stageTimings,
+            @JsonProperty("coalesced") boolean coalesced) {
         this.id = id != null ? id : UUID.randomUUID().toString();
         this.outcome = Objects.requireNonNull(outcome, "outcome cannot be null");
         this.decision = decision;
@@ -53,6 +75,10 @@ public final class HealResult {
         this.duration = duration;
         this.fromCache = fromCache;
         this.sourceLocation = sourceLocation;
+        this.stageTimings = stageTimings == null || stageTimings.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new EnumMap<>(stageTimings));
+        this.coalesced = coalesced;
     }
 
     public String getId() {
@@ -103,6 +129,22 @@ public final class HealResult {
         return Optional.ofNullable(sourceLocation);
     }
 
+    /**
+     * Time spent in each pipeline stage that ran, in pipeline order.
+     * Stages that were skipped are absent.
+     */
+    public Map<HealStage, Duration> getStageTimings() {
+        return stageTimings;
+    }
+
+    /**
+     * Whether this result was shared from a concurrent heal of the same locator instead of
+     * running its own snapshot and LLM call.
+     */
+    public boolean isCoalesced() {
+        return coalesced;
+    }
+
     public boolean isSuccess() {
         return outcome == HealOutcome.SUCCESS;
     }
@@ -167,6 +209,27 @@ public final class HealResult {
         return new Builder();
     }
 
+    /**
+     * Creates a builder initialized with this result's values.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .id(id)
+                .outcome(outcome)
+                .decision(decision)
+                .healedElementIndex(healedElementIndex)
+                .healedLocator(healedLocator)
+                .confidence(confidence)
+                .reasoning(reasoning)
+                .failureReason(failureReason)
+                .timestamp(timestamp)
+                .duration(duration)
+                .fromCache(fromCache)
+                .sourceLocation(sourceLocation)
+                .stageTimings(stageTimings)
+                .coalesced(coalesced);
+    }
+
     @Override
     public String toString() {
         return "HealResult{outcome=" + outcome +
@@ -188,6 +251,8 @@ public final class HealResult {
         private Duration duration;
         private boolean fromCache;
         private SourceLocation sourceLocation;
+        private Map<HealStage, Duration> stageTimings;
+        private boolean coalesced;
 
         private Builder() {
         }
@@ -252,9 +317,20 @@ public final class HealResult {
             return this;
         }
 
+        public Builder stageTimings(Map<HealStage, Duration> stageTimings) {
+            this.stageTimings = stageTimings;
+            return this;
+        }
+
+        public Builder coalesced(boolean coalesced) {
+            this.coalesced = coalesced;
+            return this;
+        }
+
         public HealResult build() {
             return new HealResult(id, outcome, decision, healedElementIndex, healedLocator,
-                    confidence, reasoning, failureReason, timestamp, duration, fromCache, sourceLocation);
+                    confidence, reasoning, failureReason, timestamp, duration, fromCache, sourceLocation,
+                    stageTimings, coalesced);
         }
     }
 }
@@ -0,0 +1,46 @@
+package io.github.glaciousm.core.model;
+
+/**
+ * Stage of the heal pipeline, used to report where a heal attempt spent its time.
+ */
+public enum HealStage {
+    /**
+     * Guardrail checks run before any snapshot or LLM work.
+     */
+    PRE_GUARDRAILS,
+
+    /**
+     * UI snapshot capture (skipped when a pre-captured snapshot is supplied).
+     */
+    SNAPSHOT,
+
+    /**
+     * Lookup of shared heal patterns, run before the LLM is called.
+     */
+    PATTERN_LOOKUP,
+
+    /**
+     * LLM evaluation of the candidate elements.
+     */
+    LLM,
+
+    /**
+     * Guardrail checks on the LLM decision.
+     */
+    POST_GUARDRAILS,
+
+    /**
+     * Waiting for approval in CONFIRM mode.
+     */
+    APPROVAL,
+
+    /**
+     * Execution of the healed action.
+     */
+    ACTION,
+
+    /**
+     * Validation of the action outcome.
+     */
+    OUTCOME_VALIDATION
+}
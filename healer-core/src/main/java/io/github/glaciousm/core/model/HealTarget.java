@@ -0,0 +1,30 @@
+package io.github.glaciousm.core.model;
+
+import java.util.Objects;
+
+/**
+ * One broken locator to heal as part of a batch: the failure and the intent of its step.
+ * All targets of a batch are healed against the same page snapshot.
+ */
+public final class HealTarget {
+    private final FailureContext failure;
+    private final IntentContract intent;
+
+    public HealTarget(FailureContext failure, IntentContract intent) {
+        this.failure = Objects.requireNonNull(failure, "failure cannot be null");
+        this.intent = Objects.requireNonNull(intent, "intent cannot be null");
+    }
+
+    public FailureContext getFailure() {
+        return failure;
+    }
+
+    public IntentContract getIntent() {
+        return intent;
+    }
+
+    @Override
+    public String toString() {
+        return "HealTarget{locator=" + failure.getOriginalLocator() + ", intent=" + intent.getAction() + "}";
+    }
+}
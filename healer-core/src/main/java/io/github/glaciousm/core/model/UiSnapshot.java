@@ -20,6 +20,19 @@ public final class UiSnapshot {
     private final Instant timestamp;
     private final String screenshotBase64;
     private final String domSnapshot;
+    private final ViewportInfo viewport;
+    private final List<Integer> relevanceOrder;
+
+    public UiSnapshot(
+            String url,
+            String title,
+            String detectedLanguage,
+            List<ElementSnapshot> interactiveElements,
+            Instant timestamp,
+            String screenshotBase64,
+            String domSnapshot) {
+        this(url, title, detectedLanguage, interactiveElements, timestamp, screenshotBase64, domSnapshot, null, null);
+    }
 
     @JsonCreator
     public UiSnapshot(
@@ -29,7 +42,9 @@ public final class UiSnapshot {
             @JsonProperty("interactive_elements") List<ElementSnapshot> interactiveElements,
             @JsonProperty("timestamp") Instant timestamp,
             @JsonProperty("screenshot") String screenshotBase64,
-            @JsonProperty("dom_snapshot") String domSnapshot) {
+            @JsonProperty("dom_snapshot") String domSnapshot,
+            @JsonProperty("viewport") ViewportInfo viewport,
+            @JsonProperty("relevance_order") List<Integer> relevanceOrder) {
         this.url = url;
         this.title = title;
         this.detectedLanguage = detectedLanguage;
@@ -37,6 +52,8 @@ public final class UiSnapshot {
         this.timestamp = timestamp != null ? timestamp : Instant.now();
         this.screenshotBase64 = screenshotBase64;
         this.domSnapshot = domSnapshot;
+        this.viewport = viewport;
+        this.relevanceOrder = relevanceOrder != null ? List.copyOf(relevanceOrder) : List.of();
     }
 
     public String getUrl() {
@@ -67,6 +84,21 @@ public final class UiSnapshot {
         return Optional.ofNullable(domSnapshot);
     }
 
+    /**
+     * Scroll offset and device pixel ratio at the time of the screenshot, if known.
+     */
+    public Optional<ViewportInfo> getViewport() {
+        return Optional.ofNullable(viewport);
+    }
+
+    /**
+     * Element indices from most to least relevant to the failure, as ranked before the LLM
+     * call, or empty if the elements were not ranked. Elements keep their page order.
+     */
+    public List<Integer> getRelevanceOrder() {
+        return relevanceOrder;
+    }
+
     /**
      * Gets the HTML/DOM snapshot.
      * Alias for getDomSnapshot() that returns String (null if not present).
@@ -157,6 +189,8 @@ public final class UiSnapshot {
         private Instant timestamp;
         private String screenshotBase64;
         private String domSnapshot;
+        private ViewportInfo viewport;
+        private List<Integer> relevanceOrder;
 
         private Builder() {
         }
@@ -196,9 +230,19 @@ public final class UiSnapshot {
             return this;
         }
 
+        public Builder viewport(ViewportInfo viewport) {
+            this.viewport = viewport;
+            return this;
+        }
+
+        public Builder relevanceOrder(List<Integer> relevanceOrder) {
+            this.relevanceOrder = relevanceOrder;
+            return this;
+        }
+
         public UiSnapshot build() {
             return new UiSnapshot(url, title, detectedLanguage, interactiveElements,
-                    timestamp, screenshotBase64, domSnapshot);
+                    timestamp, screenshotBase64, domSnapshot, viewport, relevanceOrder);
         }
     }
 }
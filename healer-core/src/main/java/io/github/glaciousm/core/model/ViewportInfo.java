@@ -0,0 +1,78 @@
+package io.github.glaciousm.core.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Geometry needed to map element rectangles onto the page screenshot.
+ *
+ * <p>Element rectangles are in CSS pixels relative to the document, while a screenshot covers
+ * only the viewport and is in device pixels. A rectangle at CSS position {@code (x, y)} appears
+ * in the screenshot at {@code ((x - scrollX) * devicePixelRatio, (y - scrollY) * devicePixelRatio)}.</p>
+ */
+public final class ViewportInfo {
+
+    /** Rectangles that are already screenshot pixels. */
+    public static final ViewportInfo IDENTITY = new ViewportInfo(0, 0, 1.0);
+
+    private final double scrollX;
+    private final double scrollY;
+    private final double devicePixelRatio;
+
+    @JsonCreator
+    public ViewportInfo(
+            @JsonProperty("scroll_x") double scrollX,
+            @JsonProperty("scroll_y") double scrollY,
+            @JsonProperty("device_pixel_ratio") double devicePixelRatio) {
+        this.scrollX = scrollX;
+        this.scrollY = scrollY;
+        this.devicePixelRatio = devicePixelRatio > 0 ? devicePixelRatio : 1.0;
+    }
+
+    public double getScrollX() {
+        return scrollX;
+    }
+
+    public double getScrollY() {
+        return scrollY;
+    }
+
+    public double getDevicePixelRatio() {
+        return devicePixelRatio;
+    }
+
+    /**
+     * Map a document rectangle in CSS pixels to screenshot pixels.
+     */
+    public ElementRect toScreenshot(ElementRect rect) {
+        return new ElementRect(
+                (int) Math.round((rect.getX() - scrollX) * devicePixelRatio),
+                (int) Math.round((rect.getY() - scrollY) * devicePixelRatio),
+                (int) Math.round(rect.getWidth() * devicePixelRatio),
+                (int) Math.round(rect.getHeight() * devicePixelRatio));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ViewportInfo that = (ViewportInfo) o;
+        return Double.compare(scrollX, that.scrollX) == 0 &&
+               Double.compare(scrollY, that.scrollY) == 0 &&
+               Double.compare(devicePixelRatio, that.devicePixelRatio) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(scrollX);
+        result = 31 * result + Double.hashCode(scrollY);
+        result = 31 * result + Double.hashCode(devicePixelRatio);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ViewportInfo{scrollX=" + scrollX + ", scrollY=" + scrollY +
+               ", devicePixelRatio=" + devicePixelRatio + "}";
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.glaciousm.core.util;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Utility for probing the page without waiting out the driver's implicit wait.
+ */
+public final class ImplicitWaits {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImplicitWaits.class);
+
+    private ImplicitWaits() {
+        // Utility class
+    }
+
+    /**
+     * Run an action with the implicit wait set to zero, so lookups that match nothing fail
+     * immediately, then restore the previous implicit wait. If the timeouts cannot be read
+     * the action runs with the wait unchanged.
+     */
+    public static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> action) {
+        WebDriver.Timeouts timeouts;
+        Duration previous;
+        try {
+            timeouts = driver.manage().timeouts();
+            previous = timeouts.getImplicitWaitTimeout();
+            timeouts.implicitlyWait(Duration.ZERO);
+        } catch (RuntimeException e) {
+            logger.debug("Could not clear implicit wait: {}", e.getMessage());
+            return action.get();
+        }
+
+        try {
+            return action.get();
+        } finally {
+            try {
+                timeouts.implicitlyWait(previous);
+            } catch (RuntimeException e) {
+                logger.warn("Could not restore implicit wait of {}: {}", previous, e.getMessage());
+            }
+        }
+    }
+}
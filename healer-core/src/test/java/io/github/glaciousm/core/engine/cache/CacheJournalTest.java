@@ -0,0 +1,152 @@
+package io.github.glaciousm.core.engine.cache;
+
+import io.github.glaciousm.core.config.CacheConfig;
+import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HealCache write-behind journal")
+class CacheJournalTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private CacheConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new CacheConfig();
+        config.setPersistenceEnabled(true);
+        config.setPersistenceDir(cacheDir.toString());
+        config.setPersistenceMode(CacheConfig.PersistenceMode.WRITE_BEHIND);
+        config.setFlushIntervalMs(60_000); // Tests flush explicitly
+        config.setMinConfidenceToCache(0.5);
+    }
+
+    private CacheKey key(int i) {
+        return CacheKey.builder()
+                .pageUrl("https://example.com/checkout")
+                .originalLocator(new LocatorInfo("id", "button-" + i))
+                .actionType(ActionType.CLICK)
+                .build();
+    }
+
+    private void put(HealCache cache, int i) {
+        cache.put(key(i), new LocatorInfo("css", "#healed-" + i), 0.9, "test");
+    }
+
+    private Path journalFile() {
+        return cacheDir.resolve(CacheJournal.JOURNAL_FILE_NAME);
+    }
+
+    @Test
+    @DisplayName("put should not write to disk until flushed")
+    void putDefersDiskWrites() {
+        HealCache cache = new HealCache(config);
+        put(cache, 1);
+
+        assertFalse(Files.exists(journalFile()));
+        assertEquals(1, cache.getJournalStats().orElseThrow().pendingWrites());
+
+        cache.flush();
+
+        assertTrue(Files.exists(journalFile()));
+        assertEquals(0, cache.getJournalStats().orElseThrow().pendingWrites());
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("should recover entries and removals from the journal after a crash")
+    void recoversFromJournalWithoutShutdown() {
+        HealCache cache = new HealCache(config);
+        put(cache, 1);
+        put(cache, 2);
+        cache.invalidate(key(2));
+        cache.flush();
+
+        // No shutdown: the journal is the only record of these changes
+        HealCache recovered = new HealCache(config);
+
+        Optional<LocatorInfo> healed = recovered.get(key(1));
+        assertTrue(healed.isPresent());
+        assertEquals("#healed-1", healed.get().getValue());
+        assertFalse(recovered.get(key(2)).isPresent());
+
+        recovered.shutdown();
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("should ignore a torn final journal record")
+    void ignoresTornRecord() throws Exception {
+        HealCache cache = new HealCache(config);
+        put(cache, 1);
+        cache.flush();
+        Files.writeString(journalFile(), "{\"op\":\"PUT\",\"key\":\"abc", StandardOpenOption.APPEND);
+
+        HealCache recovered = new HealCache(config);
+
+        assertEquals(1, recovered.getStats().size());
+        assertTrue(recovered.get(key(1)).isPresent());
+        recovered.shutdown();
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("should compact the journal into the snapshot once it exceeds the threshold")
+    void compactsJournal() throws Exception {
+        config.setCompactThreshold(3);
+        HealCache cache = new HealCache(config);
+        for (int i = 0; i < 5; i++) {
+            put(cache, i);
+        }
+        cache.flush(); // Appends 5 records, passing the threshold
+        cache.flush(); // Compacts
+
+        HealCache.JournalStats stats = cache.getJournalStats().orElseThrow();
+        assertEquals(1, stats.compactions());
+        assertEquals(0, stats.journalRecords());
+        assertEquals(0, Files.size(journalFile()));
+        assertTrue(Files.exists(cacheDir.resolve("heal-cache.json")));
+
+        HealCache reloaded = new HealCache(config);
+        assertEquals(5, reloaded.getStats().size());
+        reloaded.shutdown();
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("clear should be persisted by rewriting the snapshot")
+    void clearIsPersisted() {
+        HealCache cache = new HealCache(config);
+        put(cache, 1);
+        cache.flush();
+        cache.clear();
+        cache.shutdown();
+
+        HealCache reloaded = new HealCache(config);
+        assertEquals(0, reloaded.getStats().size());
+        reloaded.shutdown();
+    }
+
+    @Test
+    @DisplayName("synchronous mode should not use a journal")
+    void syncModeHasNoJournal() {
+        config.setPersistenceMode(CacheConfig.PersistenceMode.SYNC);
+        HealCache cache = new HealCache(config);
+        put(cache, 1);
+
+        assertFalse(cache.getJournalStats().isPresent());
+        assertFalse(Files.exists(journalFile()));
+        assertTrue(Files.exists(cacheDir.resolve("heal-cache.json")));
+        cache.shutdown();
+    }
+}
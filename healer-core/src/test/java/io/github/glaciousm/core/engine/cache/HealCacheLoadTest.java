@@ -113,6 +113,64 @@ class HealCacheLoadTest {
         }
     }
 
+    @Nested
+    @DisplayName("Eviction Policy Tests")
+    class EvictionPolicyTests {
+
+        @Test
+        @DisplayName("should keep puts constant time at 100K capacity for every policy")
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        void constantTimeEvictionAt100K() {
+            for (CacheConfig.EvictionPolicyType policy : CacheConfig.EvictionPolicyType.values()) {
+                config.setMaxSize(100_000);
+                config.setEvictionPolicy(policy);
+                HealCache fullCache = new HealCache(config);
+
+                try {
+                    long startTime = System.currentTimeMillis();
+                    for (int i = 0; i < 300_000; i++) {
+                        fullCache.put(createKey(i), createHealed(i), 0.9, "Test reasoning");
+                    }
+                    long elapsed = System.currentTimeMillis() - startTime;
+                    System.out.println(policy + ": 300K puts at 100K capacity in " + elapsed + "ms");
+
+                    assertEquals(100_000, fullCache.getStats().size());
+                    assertEquals(200_000, fullCache.getStats().evictions());
+                } finally {
+                    fullCache.shutdown();
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("should keep frequently used entries through a scan of one-off heals")
+        void frequentEntriesSurviveScan() {
+            for (CacheConfig.EvictionPolicyType policy : CacheConfig.EvictionPolicyType.values()) {
+                config.setMaxSize(1000);
+                config.setEvictionPolicy(policy);
+                HealCache smallCache = new HealCache(config);
+
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        smallCache.put(createKey(i), createHealed(i), 0.9, "Hot");
+                        smallCache.get(createKey(i));
+                        smallCache.get(createKey(i));
+                    }
+                    for (int i = 1000; i < 5000; i++) {
+                        smallCache.put(createKey(i), createHealed(i), 0.9, "Scan");
+                    }
+
+                    for (int i = 0; i < 50; i++) {
+                        assertTrue(smallCache.get(createKey(i)).isPresent(),
+                                policy + " should keep hot entry " + i);
+                    }
+                } finally {
+                    smallCache.shutdown();
+                }
+            }
+        }
+    }
+
     @Nested
     @DisplayName("Retrieval Performance Tests")
     class RetrievalPerformanceTests {
@@ -245,6 +303,37 @@ class HealCacheLoadTest {
             assertTrue(cache.getStats().size() > 0);
         }
 
+        @Test
+        @DisplayName("should count every hit and miss under contention")
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        void countsStatisticsExactlyUnderContention() throws InterruptedException {
+            int threads = 8;
+            int lookupsPerThread = 10_000;
+            cache.put(createKey(0), createHealed(0), 0.9, "Shared");
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch endLatch = new CountDownLatch(threads);
+
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    try {
+                        for (int i = 0; i < lookupsPerThread; i++) {
+                            // Even lookups hit the shared entry, odd ones miss
+                            cache.get(createKey(i % 2 == 0 ? 0 : -1));
+                        }
+                    } finally {
+                        endLatch.countDown();
+                    }
+                });
+            }
+
+            endLatch.await();
+            executor.shutdown();
+
+            HealCache.CacheStats stats = cache.getStats();
+            assertEquals(threads * lookupsPerThread / 2, stats.hits());
+            assertEquals(threads * lookupsPerThread / 2, stats.misses());
+        }
+
         @Test
         @DisplayName("should handle concurrent invalidations")
         @Timeout(value = 30, unit = TimeUnit.SECONDS)
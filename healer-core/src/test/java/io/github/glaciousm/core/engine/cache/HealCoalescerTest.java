@@ -0,0 +1,161 @@
+package io.github.glaciousm.core.engine.cache;
+
+import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.model.HealResult;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HealCoalescer")
+class HealCoalescerTest {
+
+    private HealCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new HealCoalescer();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static CacheKey key(String locator) {
+        return CacheKey.builder()
+                .pageUrl("https://example.com/login")
+                .originalLocator(new LocatorInfo("id", locator))
+                .actionType(ActionType.UNKNOWN)
+                .build();
+    }
+
+    @Test
+    @DisplayName("should run concurrent heals of the same key once")
+    void coalescesConcurrentHeals() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        HealResult healed = HealResult.success(0, 0.9, "healed", "id=login-button");
+
+        List<Future<HealResult>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> coalescer.execute(key("login"), () -> {
+                runs.incrementAndGet();
+                await(release);
+                return healed;
+            })));
+        }
+        awaitInFlight();
+        // Give the other threads time to attach to the running heal
+        Thread.sleep(100);
+        release.countDown();
+
+        int coalesced = 0;
+        for (Future<HealResult> result : results) {
+            HealResult r = result.get(5, TimeUnit.SECONDS);
+            assertEquals("id=login-button", r.getHealedLocator().orElse(null));
+            if (r.isCoalesced()) {
+                coalesced++;
+                assertNotEquals(healed.getId(), r.getId());
+            }
+        }
+
+        HealCoalescer.CoalescingStats stats = coalescer.getStats();
+        assertEquals(runs.get(), stats.executed());
+        assertEquals(coalesced, stats.coalesced());
+        assertEquals(8, stats.executed() + stats.coalesced());
+        assertTrue(stats.coalesced() > 0);
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    @DisplayName("should not coalesce heals of different keys")
+    void differentKeysRunIndependently() {
+        coalescer.execute(key("login"), () -> HealResult.failed("none"));
+        HealResult result = coalescer.execute(key("logout"), () -> HealResult.success(0, 0.9, "ok", "id=out"));
+
+        assertFalse(result.isCoalesced());
+        assertEquals(2, coalescer.getStats().executed());
+        assertEquals(0, coalescer.getStats().coalesced());
+    }
+
+    @Test
+    @DisplayName("should rerun the heal for waiters when the running heal throws")
+    void failedHealIsNotShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<HealResult> leader = executor.submit(() -> coalescer.execute(key("login"), () -> {
+            await(release);
+            throw new IllegalStateException("driver gone");
+        }));
+        awaitInFlight();
+        Future<HealResult> waiter = executor.submit(() -> coalescer.execute(key("login"),
+                () -> HealResult.success(0, 0.8, "own heal", "id=login")));
+        Thread.sleep(100);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        HealResult result = waiter.get(5, TimeUnit.SECONDS);
+        assertFalse(result.isCoalesced());
+        assertEquals("id=login", result.getHealedLocator().orElse(null));
+        assertEquals(2, coalescer.getStats().executed());
+    }
+
+    @Test
+    @DisplayName("should heal independently once the wait for a concurrent heal expires")
+    void waiterHealsOnItsOwnAfterMaxWait() throws Exception {
+        coalescer = new HealCoalescer(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        Future<HealResult> leader = executor.submit(() -> coalescer.execute(key("login"), () -> {
+            await(release);
+            return HealResult.success(0, 0.9, "slow heal", "id=login-button");
+        }));
+        awaitInFlight();
+
+        HealResult result = coalescer.execute(key("login"),
+                () -> HealResult.success(0, 0.8, "own heal", "id=login"));
+        release.countDown();
+
+        assertFalse(result.isCoalesced());
+        assertEquals("id=login", result.getHealedLocator().orElse(null));
+        assertEquals("id=login-button", leader.get(5, TimeUnit.SECONDS).getHealedLocator().orElse(null));
+        assertEquals(2, coalescer.getStats().executed());
+        assertEquals(0, coalescer.getStats().coalesced());
+    }
+
+    @Test
+    @DisplayName("should run the heal directly without a key")
+    void nullKeyIsNotCoalesced() {
+        HealResult result = coalescer.execute(null, () -> HealResult.failed("no key"));
+
+        assertFalse(result.isCoalesced());
+        assertEquals(1, coalescer.getStats().executed());
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getStats().inFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
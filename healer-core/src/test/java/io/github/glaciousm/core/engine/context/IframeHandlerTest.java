@@ -6,17 +6,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -205,6 +211,117 @@ class IframeHandlerTest {
         verify(operation, atLeastOnce()).execute();
     }
 
+    @Test
+    void findElementAcrossFrames_scriptModeSwitchesOnlyIntoMatchingFrame() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        JavascriptExecutor js = (JavascriptExecutor) jsDriver;
+        By locator = By.cssSelector("button.pay");
+        when(jsDriver.switchTo()).thenReturn(targetLocator);
+        when(js.executeScript(IframeHandler.FRAME_TREE_SCRIPT, "css", "button.pay"))
+                .thenReturn(Map.of("found", List.of(1L, 0L), "blocked", List.of()));
+        when(js.executeScript(IframeHandler.FRAME_ELEMENT_SCRIPT, 0)).thenReturn(iframe2);
+        when(jsDriver.findElement(locator)).thenReturn(targetElement);
+
+        // When
+        Optional<IframeHandler.ElementInFrame> result = new IframeHandler(jsDriver).findElementAcrossFrames(locator);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().element()).isEqualTo(targetElement);
+        assertThat(result.get().iframe()).isEqualTo(iframe2);
+        assertThat(result.get().framePath()).containsExactly(1, 0);
+        verify(targetLocator).frame(1);
+        verify(targetLocator).frame(iframe2);
+        verify(jsDriver, never()).findElements(any());
+    }
+
+    @Test
+    void findElementAcrossFrames_scriptModeRerunsScriptInsideCrossOriginFrame() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        JavascriptExecutor js = (JavascriptExecutor) jsDriver;
+        By locator = By.id("card-number");
+        when(jsDriver.switchTo()).thenReturn(targetLocator);
+        // Top document has no match and one cross-origin frame; inside it the element is found
+        when(js.executeScript(IframeHandler.FRAME_TREE_SCRIPT, "id", "card-number"))
+                .thenReturn(Map.of("blocked", List.of(List.of(0L))))
+                .thenReturn(Map.of("found", List.of(), "blocked", List.of()));
+        when(js.executeScript(IframeHandler.FRAME_ELEMENT_SCRIPT, 0)).thenReturn(iframe1);
+        when(jsDriver.findElement(locator)).thenReturn(targetElement);
+
+        // When
+        Optional<IframeHandler.ElementInFrame> result = new IframeHandler(jsDriver).findElementAcrossFrames(locator);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().iframe()).isEqualTo(iframe1);
+        assertThat(result.get().framePath()).containsExactly(0);
+        verify(targetLocator).frame(iframe1);
+        verify(js, times(2)).executeScript(IframeHandler.FRAME_TREE_SCRIPT, "id", "card-number");
+    }
+
+    @Test
+    void findElementAcrossFrames_scriptFailureFallsBackWithoutImplicitWait() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        WebDriver.Timeouts timeouts = mock(WebDriver.Timeouts.class);
+        By locator = By.xpath("//button");
+        when(jsDriver.switchTo()).thenReturn(targetLocator);
+        when(((JavascriptExecutor) jsDriver).executeScript(eq(IframeHandler.FRAME_TREE_SCRIPT), anyString(), anyString()))
+                .thenThrow(new JavascriptException("blocked"));
+        when(jsDriver.manage()).thenReturn(options);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(timeouts.getImplicitWaitTimeout()).thenReturn(Duration.ofSeconds(10));
+        when(jsDriver.findElement(locator)).thenReturn(targetElement);
+
+        // When
+        Optional<IframeHandler.ElementInFrame> result = new IframeHandler(jsDriver).findElementAcrossFrames(locator);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().framePath()).isEmpty();
+        verify(timeouts).implicitlyWait(Duration.ZERO);
+        verify(timeouts).implicitlyWait(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void findElementAcrossFrames_switchModeNeverRunsScripts() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        By locator = By.id("test-element");
+        when(jsDriver.switchTo()).thenReturn(targetLocator);
+        when(jsDriver.findElement(locator)).thenReturn(targetElement);
+
+        // When
+        Optional<IframeHandler.ElementInFrame> result =
+                new IframeHandler(jsDriver, IframeHandler.SearchMode.SWITCH).findElementAcrossFrames(locator);
+
+        // Then
+        assertThat(result).isPresent();
+        verify((JavascriptExecutor) jsDriver, never()).executeScript(anyString(), any());
+    }
+
+    @Test
+    void frameQuery_mapsStandardLocatorsOnly() {
+        assertThat(IframeHandler.FrameQuery.of(By.name("email")))
+                .contains(new IframeHandler.FrameQuery("name", "email"));
+        assertThat(IframeHandler.FrameQuery.of(By.xpath("//a[@href='/x']")))
+                .contains(new IframeHandler.FrameQuery("xpath", "//a[@href='/x']"));
+        assertThat(IframeHandler.FrameQuery.of(new By() {
+            @Override
+            public List<WebElement> findElements(org.openqa.selenium.SearchContext context) {
+                return List.of();
+            }
+
+            @Override
+            public String toString() {
+                return "By.custom: row";
+            }
+        })).isEmpty();
+    }
+
     @Test
     void iframeInfo_getIdentifier_prefersId() {
         IframeHandler.IframeInfo info = new IframeHandler.IframeInfo(
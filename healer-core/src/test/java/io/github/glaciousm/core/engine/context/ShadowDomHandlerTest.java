@@ -8,10 +8,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.openqa.selenium.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -187,4 +189,121 @@ class ShadowDomHandlerTest {
         assertThat(eis.shadowPath()).hasSize(1);
         assertThat(eis.shadowPath().get(0)).isEqualTo(shadowHost);
     }
+
+    @Test
+    void findElementAcrossShadowRoots_scriptModeUsesOneDeepQuery() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) jsDriver).executeScript(ShadowDomHandler.DEEP_QUERY_SCRIPT, "[id=\"pay\"]", 1, 10))
+                .thenReturn(List.of(Map.of(
+                        "element", targetElement,
+                        "hosts", List.of(shadowHost),
+                        "path", "my-app >> #pay")));
+
+        // When
+        Optional<ShadowDomHandler.ElementInShadow> result =
+                new ShadowDomHandler(jsDriver).findElementAcrossShadowRoots(By.id("pay"));
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().element()).isEqualTo(targetElement);
+        assertThat(result.get().shadowPath()).containsExactly(shadowHost);
+        verify(jsDriver, never()).findElement(any());
+        verify(shadowHost, never()).getShadowRoot();
+    }
+
+    @Test
+    void findElementAcrossShadowRoots_scriptFailureFallsBackToWalk() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        By locator = By.cssSelector("button.pay");
+        when(((JavascriptExecutor) jsDriver).executeScript(eq(ShadowDomHandler.DEEP_QUERY_SCRIPT), any(), any(), any()))
+                .thenThrow(new JavascriptException("blocked"));
+        when(jsDriver.findElement(locator)).thenReturn(targetElement);
+
+        // When
+        Optional<ShadowDomHandler.ElementInShadow> result =
+                new ShadowDomHandler(jsDriver).findElementAcrossShadowRoots(locator);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().shadowPath()).isEmpty();
+    }
+
+    @Test
+    void deepQuery_returnsMatchesWithShadowPath() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) jsDriver).executeScript(ShadowDomHandler.DEEP_QUERY_SCRIPT, "button", 50, 10))
+                .thenReturn(List.of(
+                        Map.of("element", shadowHost, "hosts", List.of(), "path", "button"),
+                        Map.of("element", targetElement, "hosts", List.of(shadowHost), "path", "my-app >> button.pay")));
+
+        // When
+        List<ShadowDomHandler.ShadowMatch> matches = new ShadowDomHandler(jsDriver).deepQuery("button", 50);
+
+        // Then
+        assertThat(matches).extracting(ShadowDomHandler.ShadowMatch::shadowPath)
+                .containsExactly("button", "my-app >> button.pay");
+        assertThat(matches.get(1).hosts()).containsExactly(shadowHost);
+    }
+
+    @Test
+    void findByShadowPath_scriptModeResolvesPathInOneCall() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) jsDriver).executeScript(
+                ShadowDomHandler.SHADOW_PATH_SCRIPT, List.of("my-app", "pay-form", "#pay")))
+                .thenReturn(targetElement);
+
+        // When
+        Optional<WebElement> result = new ShadowDomHandler(jsDriver).findByShadowPath("my-app >> pay-form >> #pay");
+
+        // Then
+        assertThat(result).contains(targetElement);
+        verify(jsDriver, never()).findElement(any());
+    }
+
+    @Test
+    void getAllShadowHosts_scriptModeCollectsHostsInOneCall() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) jsDriver).executeScript(ShadowDomHandler.HOSTS_SCRIPT, 10))
+                .thenReturn(List.of(Map.of("path", List.of(shadowHost), "tag", "my-app", "id", "app",
+                        "cls", "shell", "depth", 0L)));
+
+        // When
+        List<ShadowDomHandler.ShadowHostInfo> hosts = new ShadowDomHandler(jsDriver).getAllShadowHosts();
+
+        // Then
+        assertThat(hosts).hasSize(1);
+        assertThat(hosts.get(0).getSelector()).isEqualTo("#app");
+        assertThat(hosts.get(0).path()).containsExactly(shadowHost);
+        assertThat(hosts.get(0).depth()).isZero();
+    }
+
+    @Test
+    void walkModeNeverRunsDeepQuery() {
+        // Given
+        WebDriver jsDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        By locator = By.id("main-element");
+        when(jsDriver.findElement(locator)).thenReturn(targetElement);
+
+        // When
+        Optional<ShadowDomHandler.ElementInShadow> result =
+                new ShadowDomHandler(jsDriver, ShadowDomHandler.SearchMode.WALK).findElementAcrossShadowRoots(locator);
+
+        // Then
+        assertThat(result).isPresent();
+        verify((JavascriptExecutor) jsDriver, never())
+                .executeScript(eq(ShadowDomHandler.DEEP_QUERY_SCRIPT), any(), any(), any());
+    }
+
+    @Test
+    void toCssSelector_mapsAttributeLocators() {
+        assertThat(ShadowDomHandler.toCssSelector(By.name("q"))).contains("[name=\"q\"]");
+        assertThat(ShadowDomHandler.toCssSelector(By.className("btn"))).contains("[class~=\"btn\"]");
+        assertThat(ShadowDomHandler.toCssSelector(By.cssSelector("my-app button"))).contains("my-app button");
+        assertThat(ShadowDomHandler.toCssSelector(By.xpath("//button"))).isEmpty();
+    }
 }
@@ -1,9 +1,13 @@
 package io.github.glaciousm.core.engine.metrics;
 
+import io.github.glaciousm.core.model.HealStage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.time.Duration;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("HealMetricsCollector")
@@ -41,6 +45,8 @@ class HealMetricsCollectorTest {
         assertEquals(0, summary.successCount());
         assertEquals(1, summary.refusalCount());
         assertEquals(0, summary.failureCount());
+        assertTrue(collector.getLatencySnapshot().isEmpty());
+        assertTrue(summary.stageLatencies().isEmpty());
     }
 
     @Test
@@ -85,6 +91,21 @@ class HealMetricsCollectorTest {
         assertEquals(0.5, collector.getCacheHitRate(), 0.01);
     }
 
+    @Test
+    @DisplayName("should track coalesced heals")
+    void trackCoalescedHeals() {
+        collector.record(createMetrics("SUCCESS"));
+
+        HealMetrics shared = createMetrics("SUCCESS");
+        shared.setCoalesced(true);
+        collector.record(shared);
+        collector.record(shared);
+
+        assertEquals(2, collector.getCoalescedCount());
+        assertEquals(2.0 / 3, collector.getCoalescedRate(), 0.01);
+        assertEquals(2, collector.getSummary().coalescedHeals());
+    }
+
     @Test
     @DisplayName("should track false heals")
     void trackFalseHeals() {
@@ -145,6 +166,52 @@ class HealMetricsCollectorTest {
         assertEquals(0.0, staleStats.get().getSuccessRate(), 0.01);
     }
 
+    @Test
+    @DisplayName("should track latency per stage and per provider")
+    void trackStageAndProviderLatency() {
+        HealMetrics first = createMetrics("SUCCESS");
+        first.setProvider("openai");
+        first.setStageTimings(Map.of(
+                HealStage.SNAPSHOT, Duration.ofMillis(40),
+                HealStage.LLM, Duration.ofMillis(1200)));
+        collector.record(first);
+
+        HealMetrics second = createMetrics("SUCCESS");
+        second.setProvider("ollama");
+        second.setStageTimings(Map.of(
+                HealStage.SNAPSHOT, Duration.ofMillis(60),
+                HealStage.LLM, Duration.ofMillis(8000)));
+        collector.record(second);
+
+        assertEquals(2, collector.getStageLatency(HealStage.SNAPSHOT).getCount());
+        assertEquals(60, collector.getStageLatency(HealStage.SNAPSHOT).getPercentileMillis(100));
+        assertTrue(collector.getStageLatency(HealStage.ACTION).isEmpty());
+        assertEquals(2, collector.getAllStageLatencies().size());
+
+        var openai = collector.getProviderLatency("openai");
+        assertTrue(openai.isPresent());
+        assertEquals(1, openai.get().getCount());
+        assertEquals(1200, openai.get().getPercentileMillis(50), 1200 * 0.04);
+        assertEquals(2, collector.getAllProviderLatencies().size());
+        assertTrue(collector.getProviderLatency("anthropic").isEmpty());
+
+        var summary = collector.getSummary();
+        assertEquals(2, summary.stageLatencies().get(HealStage.LLM).getCount());
+        assertTrue(summary.toString().contains("LLM"));
+    }
+
+    @Test
+    @DisplayName("should track latency per failure kind")
+    void trackFailureKindLatency() {
+        collector.record(createMetrics("SUCCESS"));
+        collector.record(createMetrics("FAILED"));
+
+        var stats = collector.getStatsForFailureKind("ELEMENT_NOT_FOUND");
+        assertTrue(stats.isPresent());
+        assertEquals(2, stats.get().getLatency().getCount());
+        assertEquals(2, collector.getLatencySnapshot().getCount());
+    }
+
     @Test
     @DisplayName("should reset all metrics")
     void resetMetrics() {
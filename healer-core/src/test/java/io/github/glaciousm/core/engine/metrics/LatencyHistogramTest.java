@@ -0,0 +1,130 @@
+package io.github.glaciousm.core.engine.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("should report zero for an empty histogram")
+    void emptyHistogram() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertTrue(snapshot.isEmpty());
+        assertEquals(0, snapshot.getPercentileMicros(99));
+        assertEquals(0.0, snapshot.getMeanMicros());
+    }
+
+    @Test
+    @DisplayName("should count small values exactly")
+    void smallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 10; v++) {
+            histogram.record(v);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10, snapshot.getCount());
+        assertEquals(5, snapshot.getPercentileMicros(50));
+        assertEquals(9, snapshot.getPercentileMicros(90));
+        assertEquals(10, snapshot.getPercentileMicros(100));
+        assertEquals(5.5, snapshot.getMeanMicros(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("should keep percentiles within the bucket precision of the exact value")
+    void percentilesWithinPrecision() {
+        Random random = new Random(7);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100 + (long) Math.abs(random.nextGaussian() * 3_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = snapshot.getPercentileMicros(percentile);
+            assertTrue(reported >= exact, "P" + percentile + " below exact value");
+            assertTrue(reported <= exact * 1.04, "P" + percentile + " off by more than 4%");
+        }
+        assertEquals(values[values.length - 1], snapshot.getMaxMicros());
+    }
+
+    @Test
+    @DisplayName("should place every value in a bucket whose range contains it")
+    void bucketRangesContainValues() {
+        Random random = new Random(11);
+        for (int n = 0; n < 10_000; n++) {
+            long value = random.nextLong(1L << 44);
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestValueInBucket(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueInBucket(index - 1) < value);
+            }
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+    }
+
+    @Test
+    @DisplayName("should merge snapshots into one distribution")
+    void mergeSnapshots() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            fast.record(10, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < 10; i++) {
+            slow.record(2, TimeUnit.SECONDS);
+        }
+
+        LatencyHistogram.Snapshot merged = fast.snapshot().merge(slow.snapshot());
+
+        assertEquals(100, merged.getCount());
+        assertEquals(10, merged.getPercentileMillis(90));
+        assertEquals(2000, merged.getPercentileMillis(99));
+        assertEquals(2_000_000, merged.getMaxMicros());
+        assertEquals(90, fast.snapshot().getCount());
+    }
+
+    @Test
+    @DisplayName("should not lose values recorded concurrently")
+    void concurrentRecording() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        histogram.record(i);
+                    }
+                });
+            }
+        }
+
+        assertEquals(80_000, histogram.snapshot().getCount());
+    }
+
+    @Test
+    @DisplayName("should clear values on reset")
+    void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+
+        histogram.reset();
+
+        assertTrue(histogram.snapshot().isEmpty());
+        assertEquals(0, histogram.snapshot().getMaxMicros());
+    }
+}
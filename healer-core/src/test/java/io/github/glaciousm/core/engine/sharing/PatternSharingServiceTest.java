@@ -0,0 +1,136 @@
+package io.github.glaciousm.core.engine.sharing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.glaciousm.core.engine.sharing.PatternSharingService.*;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PatternSharingService")
+class PatternSharingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PatternSharingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PatternSharingService();
+    }
+
+    private HealPatternData heal(String originalId, String healedCss, String page) {
+        return new HealPatternData(
+                new LocatorInfo("id", originalId),
+                new LocatorInfo("css", healedCss),
+                page,
+                "click the submit button",
+                0.9,
+                true,
+                List.of());
+    }
+
+    private SharedPattern sharedPattern(String patternId, String signature, String page) {
+        return new SharedPattern(patternId, signature, "CSS:#healed", "ID", "CSS", "button",
+                page, "click", 10, 10, 1.0, 0.9, Instant.now(), false, List.of());
+    }
+
+    @Test
+    @DisplayName("should find a local pattern for the same locator and page")
+    void findsLocalPattern() {
+        service.addPattern(heal("submit-btn", "#submit", "/login"));
+        service.addPattern(heal("cancel-link", "#cancel", "/settings"));
+
+        List<PatternMatch> matches = service.findMatchingPatterns(
+                new LocatorInfo("id", "submit-btn"), "https://example.com/login");
+
+        assertEquals(1, matches.size());
+        assertEquals(PatternSource.LOCAL, matches.get(0).source());
+        assertTrue(matches.get(0).pattern().originalSignature().contains("submit-btn"));
+    }
+
+    @Test
+    @DisplayName("should index imported patterns and drop them on clear")
+    void indexesImportedPatterns() throws Exception {
+        PatternExport export = new PatternExport("other-project", Instant.now(),
+                List.of(sharedPattern("p1", "ID:checkout-btn", "/cart")), Map.of());
+        Path file = tempDir.resolve("patterns.json");
+        new ObjectMapper().registerModule(new JavaTimeModule()).writeValue(file.toFile(), export);
+
+        service.importPatterns(file);
+        List<PatternMatch> matches = service.findMatchingPatterns(
+                new LocatorInfo("id", "checkout-btn"), "https://shop.example.com/cart");
+
+        assertEquals(1, matches.size());
+        assertEquals(PatternSource.IMPORTED, matches.get(0).source());
+
+        service.clearImported();
+
+        assertTrue(service.findMatchingPatterns(
+                new LocatorInfo("id", "checkout-btn"), "https://shop.example.com/cart").isEmpty());
+    }
+
+    @Test
+    @DisplayName("index should only shortlist patterns sharing a trigram or page")
+    void shortlistsByGramAndPage() {
+        PatternIndex index = new PatternIndex();
+        index.add(sharedPattern("a", "ID:login-button", "/login"));
+        index.add(sharedPattern("b", "ID:zzzz", "/other"));
+        index.add(sharedPattern("c", "ID:qqqq", "/checkout"));
+
+        assertEquals(List.of("a"), List.copyOf(index.candidates("ID:login-btn", "/nowhere")));
+        assertTrue(index.candidates("ID:xyz", "/checkout").contains("c"));
+
+        index.remove("a");
+        assertFalse(index.candidates("ID:login-btn", null).contains("a"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("bounded edit distance should agree with the full distance within the bound")
+    void boundedDistanceMatchesFullDistance() {
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            String s1 = randomString(random);
+            String s2 = randomString(random);
+            int full = PatternSharingService.boundedLevenshteinDistance(s1, s2, Integer.MAX_VALUE - 1);
+
+            for (int bound = 0; bound <= 12; bound++) {
+                int bounded = PatternSharingService.boundedLevenshteinDistance(s1, s2, bound);
+                if (full <= bound) {
+                    assertEquals(full, bounded, s1 + " / " + s2);
+                } else {
+                    assertEquals(bound + 1, bounded, s1 + " / " + s2);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("string similarity should give up below the required minimum")
+    void similarityEarlyExit() {
+        assertEquals(1.0, PatternSharingService.calculateStringSimilarity("ID:abc", "ID:abc", 0.9));
+        assertEquals(0.75, PatternSharingService.calculateStringSimilarity("abcd", "abcx", 0.5), 1e-9);
+        assertEquals(0.0, PatternSharingService.calculateStringSimilarity("abcd", "wxyz", 0.5));
+    }
+
+    private String randomString(Random random) {
+        int length = random.nextInt(12);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+}
@@ -2,6 +2,8 @@ package io.github.glaciousm.core.exception;
 
 import org.junit.jupiter.api.*;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -188,6 +190,20 @@ class ExceptionHierarchyTest {
             assertThat(ex.getMessage()).contains("Rate limited");
             assertThat(ex.getMessage()).contains("60 seconds");
             assertThat(ex.isRateLimited()).isTrue();
+            assertThat(ex.getRetryAfter()).contains(Duration.ofSeconds(60));
+        }
+
+        @Test
+        @DisplayName("should keep HTTP details and retry hint of a 429 response")
+        void shouldCreateRateLimitedExceptionFromResponse() {
+            LlmException withHint = LlmException.rateLimited("openai", "gpt-4", "OpenAI API error: 429 - slow down", 20);
+            LlmException withoutHint = LlmException.rateLimited("openai", "gpt-4", "OpenAI API error: 429 - slow down", -1);
+
+            assertThat(withHint.getMessage()).contains("429 - slow down").contains("20 seconds");
+            assertThat(withHint.isRateLimited()).isTrue();
+            assertThat(withHint.getRetryAfter()).contains(Duration.ofSeconds(20));
+            assertThat(withoutHint.getMessage()).doesNotContain("Retry after");
+            assertThat(withoutHint.getRetryAfter()).isEmpty();
         }
 
         @Test
@@ -12,8 +12,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -457,6 +459,180 @@ class HealingPipelineIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Pipeline Stages")
+    class PipelineStageTests {
+
+        @Test
+        @DisplayName("should report timings for each stage that ran")
+        void reportStageTimings() {
+            engine.setSnapshotCapture(failure -> createSnapshot(testElements));
+            engine.setLlmEvaluator((failure, snapshot) ->
+                HealDecision.canHeal(0, 0.9, "Found login button"));
+            engine.setActionExecutor((actionType, element, data) -> null);
+
+            FailureContext failure = createFailureContext("Click login");
+            IntentContract intent = IntentContract.defaultContract("Click login");
+
+            HealResult result = engine.attemptHeal(failure, intent);
+
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(result.getStageTimings()).containsOnlyKeys(
+                HealStage.PRE_GUARDRAILS, HealStage.SNAPSHOT, HealStage.PATTERN_LOOKUP,
+                HealStage.LLM, HealStage.POST_GUARDRAILS, HealStage.ACTION);
+            assertThat(result.getStageTimings().values()).noneMatch(Duration::isNegative);
+        }
+
+        @Test
+        @DisplayName("should run the LLM evaluator on the caller thread")
+        void llmRunsOnCallerThread() {
+            Thread caller = Thread.currentThread();
+            AtomicBoolean ranOnCaller = new AtomicBoolean(false);
+            engine.setSnapshotCapture(failure -> createSnapshot(testElements));
+            engine.setLlmEvaluator((failure, snapshot) -> {
+                ranOnCaller.set(Thread.currentThread() == caller);
+                return HealDecision.canHeal(0, 0.9, "Found login button");
+            });
+
+            HealResult result = engine.attemptHeal(
+                createFailureContext("Click login"), IntentContract.defaultContract("Click login"));
+
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(ranOnCaller.get()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should report an LLM evaluator error as a failed heal")
+        void llmErrorFailsHeal() {
+            engine.setSnapshotCapture(failure -> createSnapshot(testElements));
+            engine.setLlmEvaluator((failure, snapshot) -> {
+                throw new IllegalStateException("provider unavailable");
+            });
+
+            HealResult result = engine.attemptHeal(
+                createFailureContext("Click login"), IntentContract.defaultContract("Click login"));
+
+            assertThat(result.isFailed()).isTrue();
+            assertThat(result.getFailureReason()).hasValue("Unexpected error: provider unavailable");
+            assertThat(result.getStageTimings()).containsKey(HealStage.LLM);
+        }
+
+        @Test
+        @DisplayName("should prefer the async LLM evaluator and time its decision")
+        void asyncLlmEvaluatorPreferred() {
+            AtomicBoolean blockingCalled = new AtomicBoolean(false);
+            engine.setSnapshotCapture(failure -> createSnapshot(testElements));
+            engine.setLlmEvaluator((failure, snapshot) -> {
+                blockingCalled.set(true);
+                return HealDecision.cannotHeal("blocking evaluator");
+            });
+            engine.setAsyncLlmEvaluator((failure, snapshot) -> CompletableFuture.supplyAsync(
+                () -> HealDecision.canHeal(0, 0.9, "Found login button")));
+            engine.setActionExecutor((actionType, element, data) -> null);
+
+            HealResult result = engine.attemptHeal(
+                createFailureContext("Click login"), IntentContract.defaultContract("Click login"));
+
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(blockingCalled.get()).isFalse();
+            assertThat(result.getStageTimings()).containsKey(HealStage.LLM);
+        }
+
+        @Test
+        @DisplayName("should report a failed async decision as a failed heal")
+        void asyncLlmErrorFailsHeal() {
+            engine.setSnapshotCapture(failure -> createSnapshot(testElements));
+            engine.setAsyncLlmEvaluator((failure, snapshot) ->
+                CompletableFuture.failedFuture(new IllegalStateException("provider unavailable")));
+
+            HealResult result = engine.attemptHeal(
+                createFailureContext("Click login"), IntentContract.defaultContract("Click login"));
+
+            assertThat(result.isFailed()).isTrue();
+            assertThat(result.getFailureReason()).hasValue("Unexpected error: provider unavailable");
+            assertThat(result.getStageTimings()).containsKey(HealStage.LLM);
+        }
+
+        @Test
+        @DisplayName("should not report timings when healing is disabled")
+        void noTimingsWhenDisabled() {
+            config.setEnabled(false);
+
+            HealResult result = engine.attemptHeal(
+                createFailureContext("Click login"), IntentContract.defaultContract("Click login"));
+
+            assertThat(result.getStageTimings()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Healing")
+    class BatchHealingTests {
+
+        @Test
+        @DisplayName("should decide all targets in one batch call without executing actions")
+        void healBatchInOneCall() {
+            AtomicInteger batchCalls = new AtomicInteger();
+            engine.setBatchLlmEvaluator((targets, snapshot) -> {
+                batchCalls.incrementAndGet();
+                return List.of(
+                    HealDecision.canHeal(0, 0.95, "Login button"),
+                    HealDecision.canHeal(1, 0.95, "Username field"));
+            });
+            AtomicBoolean actionExecuted = new AtomicBoolean(false);
+            engine.setActionExecutor((actionType, element, data) -> {
+                actionExecuted.set(true);
+                return null;
+            });
+
+            List<HealResult> results = engine.attemptHealBatch(List.of(
+                new HealTarget(createFailureContext("Click login"), IntentContract.defaultContract("Click login")),
+                new HealTarget(createFailureContext("Enter username"), IntentContract.defaultContract("Enter username"))),
+                createSnapshot(testElements));
+
+            assertThat(batchCalls.get()).isEqualTo(1);
+            assertThat(results).hasSize(2).allMatch(HealResult::isSuccess);
+            assertThat(results.get(1).getHealedLocator()).hasValue("name=username");
+            assertThat(results.get(0).getStageTimings()).containsKey(HealStage.LLM);
+            assertThat(actionExecuted.get()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should fall back to the LLM evaluator per target without a batch evaluator")
+        void healBatchWithSingleEvaluator() {
+            AtomicInteger calls = new AtomicInteger();
+            engine.setLlmEvaluator((failure, snapshot) -> {
+                calls.incrementAndGet();
+                return HealDecision.canHeal(0, 0.95, "Login button");
+            });
+
+            List<HealResult> results = engine.attemptHealBatch(List.of(
+                new HealTarget(createFailureContext("Click login"), IntentContract.defaultContract("Click login")),
+                new HealTarget(createFailureContext("Press login"), IntentContract.defaultContract("Press login"))),
+                createSnapshot(testElements));
+
+            assertThat(calls.get()).isEqualTo(2);
+            assertThat(results).allMatch(HealResult::isSuccess);
+        }
+
+        @Test
+        @DisplayName("should fail only the targets the batch left undecided")
+        void failUndecidedTargets() {
+            List<HealDecision> decisions = new ArrayList<>();
+            decisions.add(HealDecision.canHeal(0, 0.95, "Login button"));
+            decisions.add(null);
+            engine.setBatchLlmEvaluator((targets, snapshot) -> decisions);
+
+            List<HealResult> results = engine.attemptHealBatch(List.of(
+                new HealTarget(createFailureContext("Click login"), IntentContract.defaultContract("Click login")),
+                new HealTarget(createFailureContext("Click help"), IntentContract.defaultContract("Click help"))),
+                createSnapshot(testElements));
+
+            assertThat(results.get(0).isSuccess()).isTrue();
+            assertThat(results.get(1).isFailed()).isTrue();
+        }
+    }
+
     @Nested
     @DisplayName("Circuit Breaker Integration")
     class CircuitBreakerIntegrationTests {
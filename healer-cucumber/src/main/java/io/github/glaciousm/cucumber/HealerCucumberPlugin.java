@@ -12,7 +12,7 @@ import io.github.glaciousm.cucumber.annotations.Intent;
 import io.github.glaciousm.cucumber.annotations.Outcome;
 import io.github.glaciousm.llm.LlmOrchestrator;
 import io.github.glaciousm.selenium.actions.ActionExecutor;
-import io.github.glaciousm.selenium.snapshot.SnapshotBuilder;
+import io.github.glaciousm.selenium.snapshot.SnapshotSession;
 import io.cucumber.plugin.ConcurrentEventListener;
 import io.cucumber.plugin.event.*;
 import org.openqa.selenium.WebDriver;
@@ -277,11 +277,13 @@ public class HealerCucumberPlugin implements ConcurrentEventListener {
         }
 
         // Configure the healing engine with Selenium components
-        healingEngine.setSnapshotCapture(f ->
-                new SnapshotBuilder(driver, config.getSnapshot()).capture(f));
+        SnapshotSession snapshotSession = SnapshotSession.forDriver(driver, config.getSnapshot());
+        healingEngine.setSnapshotCapture(snapshotSession::capture);
 
         healingEngine.setLlmEvaluator((f, s) ->
                 llmOrchestrator.evaluateCandidates(f, s, intent, config.getLlm()));
+        healingEngine.setAsyncLlmEvaluator((f, s) ->
+                llmOrchestrator.evaluateCandidatesAsync(f, s, intent, config.getLlm()));
 
         healingEngine.setActionExecutor((action, element, data) -> {
             new ActionExecutor(driver, config.getGuardrails()).execute(action, element, data);
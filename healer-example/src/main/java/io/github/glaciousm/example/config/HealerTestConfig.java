@@ -69,6 +69,12 @@ public class HealerTestConfig {
             IntentContract intent = IntentContract.defaultContract(failure.getStepText());
             return llmOrchestrator.evaluateCandidates(failure, snapshot, intent, config.getLlm());
         });
+        healingEngine.setAsyncLlmEvaluator((failure, snapshot) -> {
+            IntentContract intent = IntentContract.defaultContract(failure.getStepText());
+            return llmOrchestrator.evaluateCandidatesAsync(failure, snapshot, intent, config.getLlm());
+        });
+        healingEngine.setBatchLlmEvaluator((targets, snapshot) ->
+                llmOrchestrator.evaluateBatch(targets, snapshot, config.getLlm()));
 
         System.out.println("=".repeat(60));
         System.out.println("HealingWebDriver created successfully");
@@ -0,0 +1,49 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a {@link CacheKey}, which hashes the page URL, locator and action on construction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyBenchmark {
+
+    private List<LocatorInfo> locators;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        locators = Fixtures.locators(1024, 42);
+    }
+
+    @Benchmark
+    public String computeHash() {
+        LocatorInfo locator = locators.get(next++ & 1023);
+        return CacheKey.builder()
+                .pageUrl(Fixtures.PAGE_URL + "?session=" + next)
+                .originalLocator(locator)
+                .actionType(ActionType.CLICK)
+                .build()
+                .getHash();
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.HealPolicy;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.LocatorInfo;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic, deterministic inputs for the microbenchmarks.
+ *
+ * <p>Every generator takes a seed so runs are comparable across machines and commits.
+ * No browser, network or LLM provider is involved.</p>
+ */
+final class Fixtures {
+
+    static final String PAGE_URL = "https://shop.example.com/checkout";
+
+    private static final String[] TAGS = {"button", "a", "input", "select", "textarea"};
+    private static final String[] WORDS = {
+            "submit", "login", "checkout", "cart", "search", "profile", "settings", "save",
+            "cancel", "next", "previous", "email", "password", "address", "coupon", "order"
+    };
+
+    private Fixtures() {
+    }
+
+    /**
+     * A failed click on a renamed checkout button.
+     */
+    static FailureContext failure() {
+        return FailureContext.builder()
+                .featureName("Checkout")
+                .scenarioName("Place an order")
+                .stepText("I click the place order button")
+                .exceptionType("NoSuchElementException")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "place-order-btn"))
+                .actionType(ActionType.CLICK)
+                .build();
+    }
+
+    static IntentContract intent() {
+        return IntentContract.builder()
+                .action("click")
+                .description("Place the order")
+                .policy(HealPolicy.AUTO_SAFE)
+                .build();
+    }
+
+    /**
+     * A snapshot with {@code count} interactive elements, the intended target at the middle index.
+     */
+    static UiSnapshot snapshot(int count, long seed) {
+        Random random = new Random(seed);
+        List<ElementSnapshot> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(i == count / 2 ? target(i) : element(i, random));
+        }
+        return UiSnapshot.builder()
+                .url(PAGE_URL)
+                .title("Checkout")
+                .interactiveElements(elements)
+                .build();
+    }
+
+    private static ElementSnapshot target(int index) {
+        return ElementSnapshot.builder()
+                .index(index)
+                .tagName("button")
+                .type("submit")
+                .id("place-order-button")
+                .classes(List.of("btn", "btn-primary"))
+                .text("Place order")
+                .ariaLabel("Place order")
+                .container("form#checkout")
+                .visible(true)
+                .enabled(true)
+                .build();
+    }
+
+    private static ElementSnapshot element(int index, Random random) {
+        String tag = TAGS[random.nextInt(TAGS.length)];
+        String label = word(random) + " " + word(random);
+        return ElementSnapshot.builder()
+                .index(index)
+                .tagName(tag)
+                .type(tag.equals("input") ? "text" : null)
+                .id(word(random) + "-" + index)
+                .name(tag.equals("input") ? word(random) : null)
+                .classes(List.of("c-" + word(random), "c-" + word(random)))
+                .text(tag.equals("input") ? null : label)
+                .placeholder(tag.equals("input") ? label : null)
+                .container("section#" + word(random))
+                .nearbyLabels(List.of(word(random)))
+                .dataAttributes(Map.of("data-testid", word(random) + "-" + index))
+                .visible(random.nextInt(10) > 0)
+                .enabled(true)
+                .build();
+    }
+
+    /**
+     * An HTML page with {@code count} interactive elements nested in a few layout containers.
+     */
+    static String html(int count, long seed) {
+        Random random = new Random(seed);
+        StringBuilder html = new StringBuilder(count * 160);
+        html.append("<!DOCTYPE html><html><head><title>Checkout</title></head><body>");
+        for (int i = 0; i < count; i++) {
+            if (i % 20 == 0) {
+                if (i > 0) {
+                    html.append("</div></section>");
+                }
+                html.append("<section class=\"panel\"><div class=\"row\"><h2>")
+                        .append(word(random)).append("</h2>");
+            }
+            String label = word(random) + " " + word(random);
+            switch (random.nextInt(4)) {
+                case 0 -> html.append("<button id=\"btn-").append(i).append("\" class=\"btn ")
+                        .append(word(random)).append("\">").append(label).append("</button>");
+                case 1 -> html.append("<a href=\"/").append(word(random)).append("\" data-testid=\"link-")
+                        .append(i).append("\">").append(label).append("</a>");
+                case 2 -> html.append("<label for=\"in-").append(i).append("\">").append(label)
+                        .append("</label><input id=\"in-").append(i).append("\" name=\"").append(word(random))
+                        .append("\" placeholder=\"").append(label).append("\">");
+                default -> html.append("<div role=\"button\" aria-label=\"").append(label).append("\">")
+                        .append(label).append("</div>");
+            }
+            html.append("<p>").append(word(random)).append(' ').append(word(random)).append("</p>");
+        }
+        if (count > 0) {
+            html.append("</div></section>");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    /**
+     * Original locators of varying shape, as seen by the cache and the pattern store.
+     */
+    static List<LocatorInfo> locators(int count, long seed) {
+        Random random = new Random(seed);
+        List<LocatorInfo> locators = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            locators.add(switch (i % 4) {
+                case 0 -> new LocatorInfo(LocatorInfo.LocatorStrategy.ID, word(random) + "-" + i);
+                case 1 -> new LocatorInfo(LocatorInfo.LocatorStrategy.CSS,
+                        "#" + word(random) + " ." + word(random) + "-" + i);
+                case 2 -> new LocatorInfo(LocatorInfo.LocatorStrategy.XPATH,
+                        "//div[@class='" + word(random) + "']/button[" + i + "]");
+                default -> new LocatorInfo(LocatorInfo.LocatorStrategy.NAME, word(random) + i);
+            });
+        }
+        return locators;
+    }
+
+    /**
+     * A well-formed heal decision as a provider returns it.
+     */
+    static String cleanResponse() {
+        return """
+                {"can_heal": true, "confidence": 0.92, "selected_element_index": 12,
+                 "reasoning": "The button text 'Place order' matches the step intent and is the only submit button in the checkout form.",
+                 "alternative_indices": [3, 40], "warnings": [], "refusal_reason": null}""";
+    }
+
+    /**
+     * The same decision wrapped in prose and a markdown fence.
+     */
+    static String fencedResponse() {
+        return "Looking at the candidates, the checkout form has a single submit button.\n\n```json\n"
+                + cleanResponse() + "\n```\n\nLet me know if you need anything else.";
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.config.GuardrailConfig;
+import io.github.glaciousm.core.engine.guardrails.GuardrailChecker;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.GuardrailResult;
+import io.github.glaciousm.core.model.HealDecision;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three {@link GuardrailChecker} checks run on every heal, with the default forbidden keywords
+ * and a handful of forbidden URL patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuardrailCheckerBenchmark {
+
+    private GuardrailChecker checker;
+    private FailureContext failure;
+    private IntentContract intent;
+    private HealDecision decision;
+    private ElementSnapshot chosen;
+    private UiSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        GuardrailConfig config = new GuardrailConfig();
+        config.setForbiddenUrlPatterns(List.of(".*/admin/.*", ".*/payment/confirm.*", ".*/account/delete.*"));
+        checker = new GuardrailChecker(config);
+
+        failure = Fixtures.failure();
+        intent = Fixtures.intent();
+        snapshot = Fixtures.snapshot(50, 7);
+        chosen = snapshot.getInteractiveElements().get(25);
+        decision = HealDecision.canHeal(chosen.getIndex(), 0.92, "Matches the place order button");
+    }
+
+    @Benchmark
+    public GuardrailResult checkPreLlm() {
+        return checker.checkPreLlm(failure, intent);
+    }
+
+    @Benchmark
+    public GuardrailResult checkPostLlm() {
+        return checker.checkPostLlm(decision, chosen, snapshot);
+    }
+
+    @Benchmark
+    public GuardrailResult checkUrl() {
+        return checker.checkUrl(Fixtures.PAGE_URL);
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.config.CacheConfig;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
+import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HealCache} lookups and inserts against a cache filled to capacity, so inserts of
+ * new keys pay for eviction. Persistence stays disabled to measure the in-memory path only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealCacheBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"SEGMENTED_LRU", "W_TINY_LFU"})
+    public CacheConfig.EvictionPolicyType policy;
+
+    private HealCache cache;
+    private CacheKey[] residentKeys;
+    private CacheKey[] freshKeys;
+    private LocatorInfo healed;
+
+    @Setup
+    public void setUp() {
+        CacheConfig config = new CacheConfig();
+        config.setMaxSize(size);
+        config.setEvictionPolicy(policy);
+        cache = new HealCache(config);
+        healed = new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, "#place-order-button");
+
+        residentKeys = keys(Fixtures.locators(size, 1));
+        for (CacheKey key : residentKeys) {
+            cache.put(key, healed, 0.9, "seed");
+        }
+        freshKeys = keys(Fixtures.locators(size, 2));
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.shutdown();
+    }
+
+    private static CacheKey[] keys(List<LocatorInfo> locators) {
+        CacheKey[] keys = new CacheKey[locators.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = CacheKey.builder()
+                    .pageUrl(Fixtures.PAGE_URL + "/" + i)
+                    .originalLocator(locators.get(i))
+                    .actionType(ActionType.CLICK)
+                    .build();
+        }
+        return keys;
+    }
+
+    /**
+     * Per-thread cursor so concurrent threads walk different keys.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = (int) Thread.currentThread().threadId() * 7919;
+
+        int next(int bound) {
+            next = (next + 1) % bound;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public Optional<LocatorInfo> getHit(Cursor cursor) {
+        return cache.get(residentKeys[cursor.next(residentKeys.length)]);
+    }
+
+    @Benchmark
+    public Optional<LocatorInfo> getMiss(Cursor cursor) {
+        return cache.get(freshKeys[cursor.next(freshKeys.length)]);
+    }
+
+    @Benchmark
+    public void putUpdate(Cursor cursor) {
+        cache.put(residentKeys[cursor.next(residentKeys.length)], healed, 0.9, "update");
+    }
+
+    /**
+     * Alternates two disjoint key sets, so most puts insert an absent key into a full cache.
+     */
+    @Benchmark
+    public void putEvicting(Cursor cursor) {
+        int i = cursor.next(freshKeys.length);
+        cache.put(freshKeys[i], healed, 0.9, "insert");
+        cache.put(residentKeys[i], healed, 0.9, "insert");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<LocatorInfo> getHitContended(Cursor cursor) {
+        return cache.get(residentKeys[cursor.next(residentKeys.length)]);
+    }
+}
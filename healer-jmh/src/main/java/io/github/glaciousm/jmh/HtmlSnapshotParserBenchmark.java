@@ -0,0 +1,46 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.benchmark.HtmlSnapshotParser;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HtmlSnapshotParser#parse} on generated pages, from a small form up to a large listing page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HtmlSnapshotParserBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int elements;
+
+    private HtmlSnapshotParser parser;
+    private String html;
+
+    @Setup
+    public void setUp() {
+        parser = new HtmlSnapshotParser();
+        html = Fixtures.html(elements, 5);
+    }
+
+    @Benchmark
+    public UiSnapshot parse() {
+        return parser.parse(html, Fixtures.PAGE_URL);
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.engine.LocatorRecommender;
+import io.github.glaciousm.core.engine.LocatorRecommender.Recommendation;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LocatorRecommender#analyzeLocator} across ID, CSS, XPath and name locators.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorRecommenderBenchmark {
+
+    private LocatorRecommender recommender;
+    private List<LocatorInfo> locators;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        recommender = new LocatorRecommender();
+        locators = Fixtures.locators(256, 6);
+    }
+
+    @Benchmark
+    public List<Recommendation> analyzeLocator() {
+        LocatorInfo locator = locators.get(next++ & 255);
+        return recommender.analyzeLocator(locator.getValue(), locator.getStrategy());
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.glaciousm.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the microbenchmarks from Maven and writes the results as JSON.
+ *
+ * <p>Usage: {@code mvn exec:java -pl healer-jmh -Dexec.args="[include-regex] [result-file]"}.
+ * The include pattern defaults to every benchmark in this package and the result file to
+ * {@code target/jmh-result.json}. For stable numbers prefer the forked {@code benchmarks.jar}.</p>
+ */
+public class MicrobenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = "io\\.github\\.glaciousm\\.jmh\\..*";
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        String result = args.length > 1 ? args[1] : DEFAULT_RESULT;
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.engine.sharing.PatternSharingService;
+import io.github.glaciousm.core.engine.sharing.PatternSharingService.HealPatternData;
+import io.github.glaciousm.core.engine.sharing.PatternSharingService.PatternMatch;
+import io.github.glaciousm.core.model.LocatorInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PatternSharingService#findMatchingPatterns} over a store of locally learned patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternMatchingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int patterns;
+
+    private PatternSharingService service;
+    private List<LocatorInfo> stored;
+    private LocatorInfo known;
+    private String knownPage;
+    private LocatorInfo unknown;
+
+    @Setup
+    public void setUp() {
+        service = new PatternSharingService();
+        stored = Fixtures.locators(patterns, 3);
+        for (int i = 0; i < stored.size(); i++) {
+            service.addPattern(new HealPatternData(
+                    stored.get(i),
+                    new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, "[data-testid='healed-" + i + "']"),
+                    "/page-" + (i % 50),
+                    "click the button",
+                    0.9,
+                    true,
+                    List.of()));
+        }
+        int target = stored.size() / 2;
+        known = stored.get(target);
+        knownPage = "https://example.com/page-" + (target % 50);
+        unknown = new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "zz-never-seen-qq");
+    }
+
+    @Benchmark
+    public List<PatternMatch> knownLocator() {
+        return service.findMatchingPatterns(known, knownPage);
+    }
+
+    @Benchmark
+    public List<PatternMatch> unknownLocator() {
+        return service.findMatchingPatterns(unknown, "https://example.com/unvisited");
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.llm.PromptBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PromptBuilder#buildHealingPrompt} for a typical and a very large page, in the
+ * markdown and the token-budgeted compact encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBuilderBenchmark {
+
+    @Param({"50", "500"})
+    public int elements;
+
+    private PromptBuilder promptBuilder;
+    private FailureContext failure;
+    private UiSnapshot snapshot;
+    private IntentContract intent;
+    private LlmConfig compactConfig;
+
+    @Setup
+    public void setUp() {
+        promptBuilder = new PromptBuilder();
+        failure = Fixtures.failure();
+        snapshot = Fixtures.snapshot(elements, 4);
+        intent = Fixtures.intent();
+        compactConfig = new LlmConfig();
+        compactConfig.setPromptEncoding(LlmConfig.PromptEncoding.COMPACT);
+    }
+
+    @Benchmark
+    public String buildHealingPrompt() {
+        return promptBuilder.buildHealingPrompt(failure, snapshot, intent);
+    }
+
+    @Benchmark
+    public String buildCompactHealingPrompt() {
+        return promptBuilder.buildHealingPrompt(failure, snapshot, intent, compactConfig);
+    }
+}
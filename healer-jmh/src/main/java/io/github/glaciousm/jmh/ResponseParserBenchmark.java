@@ -0,0 +1,49 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.model.HealDecision;
+import io.github.glaciousm.llm.ResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ResponseParser#parseHealDecision} for bare JSON and for JSON wrapped in prose and a markdown fence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParserBenchmark {
+
+    private ResponseParser parser;
+    private String clean;
+    private String fenced;
+
+    @Setup
+    public void setUp() {
+        parser = new ResponseParser();
+        clean = Fixtures.cleanResponse();
+        fenced = Fixtures.fencedResponse();
+    }
+
+    @Benchmark
+    public HealDecision cleanJson() {
+        return parser.parseHealDecision(clean);
+    }
+
+    @Benchmark
+    public HealDecision fencedJson() {
+        return parser.parseHealDecision(fenced);
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.glaciousm.jmh;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.ElementRect;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.llm.vision.PreparedScreenshot;
+import io.github.glaciousm.llm.vision.ScreenshotPreprocessor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScreenshotPreprocessor#prepare} on a 1920x6000 full-page screenshot with 20 candidates.
+ * The payload size of each mode is reported next to the timing as the {@link Payload} counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreenshotPreprocessorBenchmark {
+
+    @Param({"HIGHLIGHT", "DOWNSCALE_JPEG", "CROP_JPEG"})
+    public String mode;
+
+    private ScreenshotPreprocessor preprocessor;
+    private String screenshot;
+    private List<ElementSnapshot> candidates;
+    private LlmConfig.VisionConfig config;
+
+    @Setup
+    public void setUp() throws IOException {
+        preprocessor = new ScreenshotPreprocessor();
+        Random random = new Random(7);
+        screenshot = screenshot(1920, 6000, random);
+        candidates = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            candidates.add(ElementSnapshot.builder()
+                    .index(i)
+                    .tagName("button")
+                    .rect(new ElementRect(200 + random.nextInt(1200), 2400 + random.nextInt(600), 120, 36))
+                    .visible(true)
+                    .enabled(true)
+                    .build());
+        }
+
+        config = new LlmConfig.VisionConfig();
+        switch (mode) {
+            case "DOWNSCALE_JPEG" -> {
+                config.setMaxImageSize(1568);
+                config.setImageFormat(LlmConfig.ImageFormat.JPEG);
+            }
+            case "CROP_JPEG" -> {
+                config.setCropToCandidates(true);
+                config.setMaxImageSize(1568);
+                config.setImageFormat(LlmConfig.ImageFormat.JPEG);
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Bytes of the screenshot sent and of the captured screenshot, for the last operation.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long sentBytes;
+        public long originalBytes;
+    }
+
+    @Benchmark
+    public PreparedScreenshot prepare(Payload payload) {
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot, candidates, config);
+        payload.sentBytes = prepared.bytes();
+        payload.originalBytes = prepared.originalBytes();
+        return prepared;
+    }
+
+    private static String screenshot(int width, int height, Random random) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        for (int i = 0; i < 4000; i++) {
+            g.setColor(new Color(random.nextInt(0xffffff)));
+            g.drawString("Lorem ipsum dolor " + i, random.nextInt(width - 100), random.nextInt(height));
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+}
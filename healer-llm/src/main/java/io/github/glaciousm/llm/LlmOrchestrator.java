@@ -1,31 +1,89 @@
 package io.github.glaciousm.llm;
 
 import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.engine.CostProjector;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.cache.DecisionCache;
+import io.github.glaciousm.llm.cache.DecisionFingerprint;
+import io.github.glaciousm.llm.hedging.ProviderLatencyTracker;
+import io.github.glaciousm.llm.prompt.TokenEstimator;
 import io.github.glaciousm.llm.providers.AnthropicProvider;
 import io.github.glaciousm.llm.providers.AzureOpenAiProvider;
 import io.github.glaciousm.llm.providers.BedrockProvider;
 import io.github.glaciousm.llm.providers.MockLlmProvider;
 import io.github.glaciousm.llm.providers.OllamaProvider;
 import io.github.glaciousm.llm.providers.OpenAiProvider;
+import io.github.glaciousm.llm.ratelimit.AdmissionController;
+import io.github.glaciousm.llm.ratelimit.AdmissionStats;
+import io.github.glaciousm.llm.ranking.CandidateRanker;
+import io.github.glaciousm.llm.ranking.HeuristicCandidateRanker;
+import io.github.glaciousm.llm.ranking.RankedCandidate;
+import io.github.glaciousm.llm.util.AsyncCalls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
  * Orchestrates LLM calls with fallback support and error handling.
+ *
+ * <p>Before any provider is called, a {@link CandidateRanker} scores the captured elements
+ * locally (see {@code llm.pre_ranking}). Only the top-ranked elements are sent to the LLM,
+ * and with {@code skip_llm} enabled a clear enough winner is returned without an LLM call.</p>
+ *
+ * <p>Provider answers are kept in a {@link DecisionCache} (see {@code llm.decision_cache}),
+ * so the same failure on the same candidates is only paid for once.</p>
+ *
+ * <p>The latency of every provider is tracked. With {@code llm.hedging} enabled, a provider
+ * that has not answered within its usual latency is raced against the next fallback provider,
+ * and the first decision wins; the slower call is cancelled.</p>
+ *
+ * <p>With {@code llm.rate_limit} enabled, every call waits for a turn from its provider's
+ * {@link AdmissionController}, so parallel suites queue instead of running into rate limits.</p>
+ *
+ * <p>{@link #evaluateCandidatesAsync} does the same without holding a thread while the
+ * provider answers: admission waits run on virtual threads, rate-limit backoff is scheduled
+ * rather than slept, and each provider's own async call is used.</p>
  */
 public class LlmOrchestrator {
 
     private static final Logger logger = LoggerFactory.getLogger(LlmOrchestrator.class);
+    private static final Set<String> LOCAL_PROVIDERS = Set.of("ollama", "local", "mock");
+    private static final int RESPONSE_OVERHEAD_TOKENS = 60;
+    private static final long BASE_RETRY_DELAY_MS = 1000; // Start with 1 second
+    private static final long MAX_RETRY_DELAY_MS = 32000; // Cap at 32 seconds
+    private static final long MAX_RETRY_AFTER_MS = 60000;
 
     private final Map<String, LlmProvider> providers = new HashMap<>();
     private final PromptBuilder promptBuilder;
     private final ResponseParser responseParser;
+    private final CostProjector costProjector = new CostProjector();
+    private volatile CandidateRanker candidateRanker = new HeuristicCandidateRanker();
+    private volatile DecisionCache decisionCache;
+    private final ProviderLatencyTracker latencyTracker = new ProviderLatencyTracker();
+    private final Map<String, AdmissionController> admissionControllers = new ConcurrentHashMap<>();
+    private final ExecutorService hedgeExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-hedge-", 0).factory());
 
     public LlmOrchestrator() {
         this.promptBuilder = new PromptBuilder();
@@ -52,6 +110,44 @@ public class LlmOrchestrator {
         providers.put(name.toLowerCase(), provider);
     }
 
+    /**
+     * Replace the candidate ranker used for pre-ranking.
+     */
+    public void setCandidateRanker(CandidateRanker candidateRanker) {
+        this.candidateRanker = candidateRanker != null ? candidateRanker : new HeuristicCandidateRanker();
+    }
+
+    /**
+     * Get the decision cache, or null if none has been created yet. The cache is created from
+     * {@code llm.decision_cache} on the first evaluation with caching enabled.
+     */
+    public DecisionCache getDecisionCache() {
+        return decisionCache;
+    }
+
+    /**
+     * Use the given decision cache, e.g. to share one between orchestrators.
+     */
+    public void setDecisionCache(DecisionCache decisionCache) {
+        this.decisionCache = decisionCache;
+    }
+
+    /**
+     * Get the latency recorded for each provider, which drives the hedge delay.
+     */
+    public ProviderLatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+
+    /**
+     * Get the concurrency limit, in-flight calls and queue depth of each rate limited provider.
+     */
+    public Map<String, AdmissionStats> getAdmissionStats() {
+        Map<String, AdmissionStats> stats = new TreeMap<>();
+        admissionControllers.forEach((name, controller) -> stats.put(name, controller.getStats()));
+        return stats;
+    }
+
     /**
      * Check if a provider is available (has required API keys, etc.).
      *
@@ -85,19 +181,266 @@ public class LlmOrchestrator {
      */
     public HealDecision evaluateCandidates(
             FailureContext failure,
-            UiSnapshot snapshot,
+            UiSnapshot fullSnapshot,
+            IntentContract intent,
+            LlmConfig config) {
+
+        PreparedHeal heal = prepareHeal(failure, fullSnapshot, intent, config);
+        if (heal.settled() != null) {
+            return heal.settled();
+        }
+
+        ProviderDecision answer = callProviders(failure, heal.candidates(), intent, config);
+        if (heal.fingerprint() != null) {
+            storeDecision(heal.cache(), heal.fingerprint(), answer, failure, heal.candidates(), intent, config);
+        }
+        return answer.decision();
+    }
+
+    /**
+     * Evaluate candidates like {@link #evaluateCandidates}, without blocking the calling thread.
+     *
+     * <p>Pre-ranking and the decision cache are checked before this returns. Hedged calls run
+     * on a virtual thread. Cancelling the returned future cancels the provider call in flight.</p>
+     *
+     * @return the pending decision, failing with an {@link LlmException} if every provider failed
+     */
+    public CompletableFuture<HealDecision> evaluateCandidatesAsync(
+            FailureContext failure,
+            UiSnapshot fullSnapshot,
+            IntentContract intent,
+            LlmConfig config) {
+
+        PreparedHeal heal;
+        try {
+            heal = prepareHeal(failure, fullSnapshot, intent, config);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (heal.settled() != null) {
+            return CompletableFuture.completedFuture(heal.settled());
+        }
+
+        CompletableFuture<ProviderDecision> answer = callProvidersAsync(failure, heal.candidates(), intent, config);
+        return AsyncCalls.linked(answer, answer.thenApply(decided -> {
+            if (heal.fingerprint() != null) {
+                storeDecision(heal.cache(), heal.fingerprint(), decided, failure, heal.candidates(), intent, config);
+            }
+            return decided.decision();
+        }));
+    }
+
+    /**
+     * Rank candidates locally, which may settle the heal or shrink the prompt, then look for
+     * a decision already paid for with the same inputs.
+     */
+    private PreparedHeal prepareHeal(FailureContext failure, UiSnapshot fullSnapshot,
+                                     IntentContract intent, LlmConfig config) {
+        UiSnapshot candidates = fullSnapshot;
+        LlmConfig.PreRankingConfig ranking = config.getPreRanking();
+        if (ranking != null && ranking.isEnabled()) {
+            List<RankedCandidate> ranked = rankCandidates(failure, fullSnapshot, intent);
+            if (!ranked.isEmpty()) {
+                Optional<HealDecision> localDecision = decideWithoutLlm(ranked, ranking);
+                if (localDecision.isPresent()) {
+                    return new PreparedHeal(localDecision.get(), fullSnapshot, null, null);
+                }
+                candidates = shortlist(fullSnapshot, ranked, ranking.getTopK());
+            }
+        }
+
+        DecisionCache cache = decisionCacheFor(config);
+        String fingerprint = cache != null ? fingerprint(failure, candidates, intent, config) : null;
+        if (fingerprint != null) {
+            Optional<HealDecision> cached = cache.get(fingerprint);
+            if (cached.isPresent()) {
+                logger.info("Using cached LLM decision {}", fingerprint.substring(0, 12));
+                return new PreparedHeal(cached.get(), candidates, cache, fingerprint);
+            }
+        }
+        return new PreparedHeal(null, candidates, cache, fingerprint);
+    }
+
+    /**
+     * Evaluate several broken locators on the same page, deciding as many as possible per request.
+     *
+     * <p>Targets settled by local pre-ranking or found in the decision cache skip the LLM. The
+     * rest are sent in batches of at most {@code max_batch_size}, each listing the page's
+     * elements once. With pre-ranking, the elements listed are the union of every target's
+     * shortlist. Targets whose batch failed on every provider, or that a response left out,
+     * fall back to one {@link #evaluateCandidates} call each.</p>
+     *
+     * @return one decision per target, in order
+     */
+    public List<HealDecision> evaluateBatch(List<HealTarget> targets, UiSnapshot fullSnapshot, LlmConfig config) {
+        HealDecision[] decisions = new HealDecision[targets.size()];
+        List<Integer> pending = new ArrayList<>();
+
+        // Rank candidates locally per target; shortlist the union of what the LLM still needs to see
+        LlmConfig.PreRankingConfig ranking = config.getPreRanking();
+        boolean shortlisting = ranking != null && ranking.isEnabled();
+        Set<Integer> kept = new HashSet<>();
+        Map<Integer, Integer> bestRank = new HashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            HealTarget target = targets.get(i);
+            if (ranking != null && ranking.isEnabled()) {
+                List<RankedCandidate> ranked = rankCandidates(target.getFailure(), fullSnapshot, target.getIntent());
+                if (ranked.isEmpty()) {
+                    shortlisting = false;
+                } else {
+                    Optional<HealDecision> localDecision = decideWithoutLlm(ranked, ranking);
+                    if (localDecision.isPresent()) {
+                        decisions[i] = localDecision.get();
+                        continue;
+                    }
+                    ranked.stream().limit(Math.max(0, ranking.getTopK()))
+                            .forEach(candidate -> kept.add(candidate.element().getIndex()));
+                    for (int rank = 0; rank < ranked.size(); rank++) {
+                        bestRank.merge(ranked.get(rank).element().getIndex(), rank, Math::min);
+                    }
+                }
+            }
+            pending.add(i);
+        }
+        // An element's relevance for the batch is its best rank across the targets
+        List<Integer> relevanceOrder = bestRank.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        UiSnapshot candidates = shortlisting
+                ? shortlist(fullSnapshot, ranking.getTopK() > 0 ? kept : null, relevanceOrder)
+                : fullSnapshot;
+
+        // Reuse decisions already paid for with the same inputs
+        DecisionCache cache = decisionCacheFor(config);
+        String[] fingerprints = new String[targets.size()];
+        if (cache != null) {
+            pending.removeIf(i -> {
+                fingerprints[i] = fingerprint(targets.get(i).getFailure(), candidates, targets.get(i).getIntent(), config);
+                Optional<HealDecision> cached = fingerprints[i] != null ? cache.get(fingerprints[i]) : Optional.empty();
+                cached.ifPresent(decision -> decisions[i] = decision);
+                return cached.isPresent();
+            });
+        }
+
+        int batchSize = Math.max(1, config.getMaxBatchSize());
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Integer> batch = pending.subList(from, Math.min(pending.size(), from + batchSize));
+            if (batch.size() == 1) {
+                int i = batch.get(0);
+                decisions[i] = evaluateCandidates(targets.get(i).getFailure(), fullSnapshot, targets.get(i).getIntent(), config);
+                continue;
+            }
+
+            List<HealTarget> batchTargets = batch.stream().map(targets::get).toList();
+            BatchAnswer answer = null;
+            try {
+                answer = callBatchProviders(batchTargets, candidates, config);
+            } catch (LlmException e) {
+                logger.warn("Batch of {} heals failed on every provider, deciding them one by one: {}",
+                        batch.size(), e.getMessage());
+            }
+
+            for (int b = 0; b < batch.size(); b++) {
+                int i = batch.get(b);
+                HealTarget target = targets.get(i);
+                HealDecision decision = answer != null ? answer.decisions().get(b) : null;
+                if (decision == null) {
+                    decisions[i] = evaluateCandidates(target.getFailure(), fullSnapshot, target.getIntent(), config);
+                    continue;
+                }
+                decisions[i] = decision;
+                if (fingerprints[i] != null) {
+                    storeDecision(cache, fingerprints[i], new ProviderDecision(decision, answer.provider(), answer.model()),
+                            target.getFailure(), candidates, target.getIntent(), config);
+                }
+            }
+        }
+        return List.of(decisions);
+    }
+
+    /**
+     * Send one batch to the primary provider, then to each fallback in turn.
+     */
+    private BatchAnswer callBatchProviders(List<HealTarget> targets, UiSnapshot candidates, LlmConfig config) {
+        List<LlmConfig> chain = new ArrayList<>();
+        chain.add(config);
+        for (LlmConfig.FallbackProvider fallbackConfig : config.getFallback()) {
+            chain.add(createFallbackConfig(config, fallbackConfig));
+        }
+
+        for (LlmConfig attempt : chain) {
+            LlmProvider provider = getProvider(attempt.getProvider());
+            if (provider == null) {
+                continue;
+            }
+            try {
+                List<HealDecision> decisions = executeWithRetry(
+                        () -> batchOnce(provider, targets, candidates, attempt),
+                        attempt.getMaxRetries(),
+                        attempt.getProvider());
+                long answered = decisions.stream().filter(Objects::nonNull).count();
+                logger.info("Batch LLM call to {}/{} decided {} of {} heals",
+                        attempt.getProvider(), attempt.getModel(), answered, targets.size());
+                return new BatchAnswer(decisions, attempt.getProvider(), attempt.getModel());
+            } catch (LlmException e) {
+                logger.warn("LLM provider {} failed on a batch: {}", attempt.getProvider(), e.getMessage());
+            }
+        }
+        throw new LlmException("All LLM providers failed", config.getProvider(), config.getModel());
+    }
+
+    /**
+     * Make a single batch call once its admission controller allows it. Batch latency is not
+     * recorded: it would make single calls look slow to hedging and admission control.
+     */
+    private List<HealDecision> batchOnce(LlmProvider provider, List<HealTarget> targets, UiSnapshot candidates,
+                                         LlmConfig config) {
+        AdmissionController admission = admissionFor(config);
+        AdmissionController.Permit permit = admission != null
+                ? admission.acquire(estimateBatchTokens(targets, candidates, config))
+                : null;
+
+        try {
+            List<HealDecision> decisions = provider.evaluateBatch(targets, candidates, config);
+            if (decisions == null || decisions.size() != targets.size()) {
+                throw LlmException.invalidResponse(config.getProvider(), config.getModel(),
+                        "expected " + targets.size() + " batch decisions");
+            }
+            return decisions;
+        } catch (LlmException e) {
+            if (permit != null && e.isRateLimited()) {
+                permit.rateLimited(e.getRetryAfter().orElse(null));
+            }
+            throw e;
+        } finally {
+            if (permit != null) {
+                permit.failed();
+            }
+        }
+    }
+
+    private ProviderDecision callProviders(
+            FailureContext failure,
+            UiSnapshot candidates,
             IntentContract intent,
             LlmConfig config) {
 
+        LlmConfig.HedgingConfig hedging = config.getHedging();
+        if (hedging != null && hedging.isEnabled() && !config.getFallback().isEmpty()) {
+            return callHedged(failure, candidates, intent, config, hedging);
+        }
+
         // Try primary provider with retry
         LlmProvider primaryProvider = getProvider(config.getProvider());
         if (primaryProvider != null) {
             try {
-                return executeWithRetry(
-                        () -> primaryProvider.evaluateCandidates(failure, snapshot, intent, config),
+                HealDecision decision = executeWithRetry(
+                        () -> callOnce(primaryProvider, failure, candidates, intent, config),
                         config.getMaxRetries(),
                         config.getProvider()
                 );
+                return new ProviderDecision(decision, config.getProvider(), config.getModel());
             } catch (LlmException e) {
                 logger.warn("Primary LLM provider failed after retries: {}", e.getMessage());
                 // Fall through to try fallbacks
@@ -113,11 +456,12 @@ public class LlmOrchestrator {
                             fallbackConfig.getProvider(), fallbackConfig.getModel());
 
                     LlmConfig fallbackLlmConfig = createFallbackConfig(config, fallbackConfig);
-                    return executeWithRetry(
-                            () -> fallbackProvider.evaluateCandidates(failure, snapshot, intent, fallbackLlmConfig),
+                    HealDecision decision = executeWithRetry(
+                            () -> callOnce(fallbackProvider, failure, candidates, intent, fallbackLlmConfig),
                             fallbackLlmConfig.getMaxRetries(),
                             fallbackConfig.getProvider()
                     );
+                    return new ProviderDecision(decision, fallbackConfig.getProvider(), fallbackConfig.getModel());
                 } catch (LlmException e) {
                     logger.warn("Fallback provider {} failed: {}",
                             fallbackConfig.getProvider(), e.getMessage());
@@ -129,6 +473,423 @@ public class LlmOrchestrator {
         throw new LlmException("All LLM providers failed", config.getProvider(), config.getModel());
     }
 
+    /**
+     * Call the providers in fallback order, starting the next one as soon as the current one
+     * fails or has taken longer than its hedge delay. The first decision wins and every other
+     * call still running is cancelled.
+     */
+    private ProviderDecision callHedged(
+            FailureContext failure,
+            UiSnapshot candidates,
+            IntentContract intent,
+            LlmConfig config,
+            LlmConfig.HedgingConfig hedging) {
+
+        List<LlmConfig> chain = new ArrayList<>();
+        chain.add(config);
+        for (LlmConfig.FallbackProvider fallbackConfig : config.getFallback()) {
+            chain.add(createFallbackConfig(config, fallbackConfig));
+        }
+
+        CompletionService<ProviderDecision> race = new ExecutorCompletionService<>(hedgeExecutor);
+        List<Future<ProviderDecision>> started = new ArrayList<>();
+        int next = 0;
+        int running = 0;
+        LlmConfig latest = null;
+        long hedgeAt = 0;
+
+        try {
+            while (true) {
+                if (running == 0) {
+                    // Nothing in flight: start the next provider right away, as plain fallback does
+                    next = skipUnknownProviders(chain, next);
+                    if (next >= chain.size()) {
+                        break;
+                    }
+                    LlmConfig attempt = chain.get(next++);
+                    started.add(race.submit(() -> callProvider(failure, candidates, intent, attempt)));
+                    running++;
+                    latest = attempt;
+                    hedgeAt = System.nanoTime() + hedgeDelay(attempt, hedging).toNanos();
+                    continue;
+                }
+
+                Future<ProviderDecision> done;
+                if (skipUnknownProviders(chain, next) < chain.size()) {
+                    done = race.poll(Math.max(0, hedgeAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        next = skipUnknownProviders(chain, next);
+                        LlmConfig hedge = chain.get(next++);
+                        logger.info("LLM provider {} is slower than usual, hedging with {}/{}",
+                                latest.getProvider(), hedge.getProvider(), hedge.getModel());
+                        started.add(race.submit(() -> callProvider(failure, candidates, intent, hedge)));
+                        running++;
+                        latest = hedge;
+                        hedgeAt = System.nanoTime() + hedgeDelay(hedge, hedging).toNanos();
+                        continue;
+                    }
+                } else {
+                    done = race.take();
+                }
+
+                running--;
+                try {
+                    ProviderDecision answer = done.get();
+                    if (started.size() > 1) {
+                        logger.info("Hedged LLM call answered by {}/{}", answer.provider(), answer.model());
+                    }
+                    return answer;
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof LlmException failed)) {
+                        throw e.getCause() instanceof RuntimeException runtime
+                                ? runtime
+                                : new LlmException("LLM call failed", e.getCause(), config.getProvider(), config.getModel());
+                    }
+                    logger.warn("LLM provider {} failed: {}", failed.getProvider(), failed.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Interrupted while waiting for LLM providers", e, config.getProvider(), config.getModel());
+        } finally {
+            for (Future<ProviderDecision> call : started) {
+                call.cancel(true);
+            }
+        }
+
+        throw new LlmException("All LLM providers failed", config.getProvider(), config.getModel());
+    }
+
+    private ProviderDecision callProvider(FailureContext failure, UiSnapshot candidates,
+                                          IntentContract intent, LlmConfig config) {
+        LlmProvider provider = getProvider(config.getProvider());
+        HealDecision decision = executeWithRetry(
+                () -> callOnce(provider, failure, candidates, intent, config),
+                config.getMaxRetries(),
+                config.getProvider()
+        );
+        if (decision == null) {
+            throw LlmException.invalidResponse(config.getProvider(), config.getModel(), "no decision returned");
+        }
+        return new ProviderDecision(decision, config.getProvider(), config.getModel());
+    }
+
+    /**
+     * Call the primary provider, then each fallback in turn, as {@link #callProviders} does.
+     */
+    private CompletableFuture<ProviderDecision> callProvidersAsync(
+            FailureContext failure,
+            UiSnapshot candidates,
+            IntentContract intent,
+            LlmConfig config) {
+
+        LlmConfig.HedgingConfig hedging = config.getHedging();
+        if (hedging != null && hedging.isEnabled() && !config.getFallback().isEmpty()) {
+            return AsyncCalls.blocking(() -> callHedged(failure, candidates, intent, config, hedging));
+        }
+
+        List<LlmConfig> chain = new ArrayList<>();
+        chain.add(config);
+        for (LlmConfig.FallbackProvider fallbackConfig : config.getFallback()) {
+            chain.add(createFallbackConfig(config, fallbackConfig));
+        }
+        chain.removeIf(attempt -> getProvider(attempt.getProvider()) == null);
+        if (chain.isEmpty()) {
+            return CompletableFuture.failedFuture(
+                    new LlmException("All LLM providers failed", config.getProvider(), config.getModel()));
+        }
+
+        CompletableFuture<ProviderDecision> answer = AsyncCalls.retry(
+                index -> callProviderAsync(failure, candidates, intent, chain.get(index)),
+                (index, error) -> {
+                    if (!(error instanceof LlmException failed)) {
+                        return null;
+                    }
+                    logger.warn("LLM provider {} failed: {}", chain.get(index).getProvider(), failed.getMessage());
+                    if (index + 1 >= chain.size()) {
+                        return null;
+                    }
+                    LlmConfig fallback = chain.get(index + 1);
+                    logger.info("Trying fallback provider: {}/{}", fallback.getProvider(), fallback.getModel());
+                    return Duration.ZERO;
+                });
+        return AsyncCalls.linked(answer, answer.exceptionallyCompose(error -> {
+            Throwable cause = AsyncCalls.unwrap(error);
+            return CompletableFuture.failedFuture(cause instanceof LlmException
+                    ? new LlmException("All LLM providers failed", config.getProvider(), config.getModel())
+                    : cause);
+        }));
+    }
+
+    private CompletableFuture<ProviderDecision> callProviderAsync(FailureContext failure, UiSnapshot candidates,
+                                                                  IntentContract intent, LlmConfig config) {
+        LlmProvider provider = getProvider(config.getProvider());
+        int maxAttempts = Math.max(1, config.getMaxRetries() + 1);
+        CompletableFuture<HealDecision> decided = AsyncCalls.retry(
+                attempt -> callOnceAsync(provider, failure, candidates, intent, config),
+                (attempt, error) -> retryDelay(error, attempt + 1, maxAttempts, config.getProvider()));
+        return AsyncCalls.linked(decided, decided.thenApply(decision -> {
+            if (decision == null) {
+                throw LlmException.invalidResponse(config.getProvider(), config.getModel(), "no decision returned");
+            }
+            return new ProviderDecision(decision, config.getProvider(), config.getModel());
+        }));
+    }
+
+    /**
+     * Make a single async provider call as {@link #callOnce} does. The admission wait runs on a
+     * virtual thread, and a permit granted after the call was cancelled is handed back.
+     */
+    private CompletableFuture<HealDecision> callOnceAsync(LlmProvider provider, FailureContext failure,
+                                                          UiSnapshot candidates, IntentContract intent,
+                                                          LlmConfig config) {
+        AdmissionController admission = admissionFor(config);
+        if (admission == null) {
+            return startCall(null, provider, failure, candidates, intent, config);
+        }
+
+        CompletableFuture<AdmissionController.Permit> admitted = new CompletableFuture<>();
+        AsyncCalls.blockingExecutor().execute(() -> {
+            try {
+                AdmissionController.Permit permit = admission.acquire(estimateTokens(failure, candidates, intent, config));
+                if (!admitted.complete(permit)) {
+                    permit.failed();
+                }
+            } catch (RuntimeException e) {
+                admitted.completeExceptionally(e);
+            }
+        });
+        return AsyncCalls.compose(admitted, permit -> startCall(permit, provider, failure, candidates, intent, config));
+    }
+
+    private CompletableFuture<HealDecision> startCall(AdmissionController.Permit permit, LlmProvider provider,
+                                                      FailureContext failure, UiSnapshot candidates,
+                                                      IntentContract intent, LlmConfig config) {
+        long start = System.nanoTime();
+        CompletableFuture<HealDecision> call;
+        try {
+            call = provider.evaluateCandidatesAsync(failure, candidates, intent, config);
+            if (call == null) {
+                call = CompletableFuture.failedFuture(
+                        LlmException.invalidResponse(config.getProvider(), config.getModel(), "no decision returned"));
+            }
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((decision, error) -> {
+            if (error == null) {
+                latencyTracker.record(config.getProvider(), config.getModel(), Duration.ofNanos(System.nanoTime() - start));
+                if (permit != null) {
+                    permit.succeeded();
+                }
+            } else if (permit != null) {
+                if (AsyncCalls.unwrap(error) instanceof LlmException e && e.isRateLimited()) {
+                    permit.rateLimited(e.getRetryAfter().orElse(null));
+                } else {
+                    permit.failed();
+                }
+            }
+        });
+        return call;
+    }
+
+    private int skipUnknownProviders(List<LlmConfig> chain, int from) {
+        int index = from;
+        while (index < chain.size() && getProvider(chain.get(index).getProvider()) == null) {
+            index++;
+        }
+        return index;
+    }
+
+    private Duration hedgeDelay(LlmConfig config, LlmConfig.HedgingConfig hedging) {
+        return latencyTracker.hedgeDelay(config.getProvider(), config.getModel(), hedging);
+    }
+
+    /**
+     * Make a single provider call once its admission controller allows it, recording its
+     * latency if it succeeds.
+     */
+    private HealDecision callOnce(LlmProvider provider, FailureContext failure, UiSnapshot candidates,
+                                  IntentContract intent, LlmConfig config) {
+        AdmissionController admission = admissionFor(config);
+        AdmissionController.Permit permit = admission != null
+                ? admission.acquire(estimateTokens(failure, candidates, intent, config))
+                : null;
+
+        long start = System.nanoTime();
+        try {
+            HealDecision decision = provider.evaluateCandidates(failure, candidates, intent, config);
+            latencyTracker.record(config.getProvider(), config.getModel(), Duration.ofNanos(System.nanoTime() - start));
+            if (permit != null) {
+                permit.succeeded();
+            }
+            return decision;
+        } catch (LlmException e) {
+            if (permit != null && e.isRateLimited()) {
+                permit.rateLimited(e.getRetryAfter().orElse(null));
+            }
+            throw e;
+        } finally {
+            if (permit != null) {
+                permit.failed();
+            }
+        }
+    }
+
+    private AdmissionController admissionFor(LlmConfig config) {
+        LlmConfig.RateLimitConfig rateLimit = config.getRateLimit();
+        if (rateLimit == null || !rateLimit.isEnabled() || config.getProvider() == null) {
+            return null;
+        }
+        return admissionControllers.computeIfAbsent(config.getProvider().toLowerCase(),
+                name -> new AdmissionController(name, rateLimit));
+    }
+
+    /**
+     * Tokens a call is expected to use: the prompt plus the completion budget. Only computed
+     * when a tokens-per-minute limit needs it.
+     */
+    private int estimateTokens(FailureContext failure, UiSnapshot candidates, IntentContract intent, LlmConfig config) {
+        if (config.getRateLimit().getTokensPerMinute() <= 0) {
+            return 0;
+        }
+        return TokenEstimator.estimate(promptBuilder.buildHealingPrompt(failure, candidates, intent, config))
+                + config.getMaxTokensPerRequest();
+    }
+
+    private int estimateBatchTokens(List<HealTarget> targets, UiSnapshot candidates, LlmConfig config) {
+        if (config.getRateLimit().getTokensPerMinute() <= 0) {
+            return 0;
+        }
+        return TokenEstimator.estimate(promptBuilder.buildBatchHealingPrompt(targets, candidates, config))
+                + config.getMaxTokensPerRequest();
+    }
+
+    private DecisionCache decisionCacheFor(LlmConfig config) {
+        LlmConfig.DecisionCacheConfig cacheConfig = config.getDecisionCache();
+        if (cacheConfig == null || !cacheConfig.isEnabled()) {
+            return null;
+        }
+        DecisionCache cache = decisionCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = decisionCache;
+                if (cache == null) {
+                    cache = new DecisionCache(cacheConfig);
+                    decisionCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private String fingerprint(FailureContext failure, UiSnapshot candidates, IntentContract intent, LlmConfig config) {
+        try {
+            return DecisionFingerprint.of(failure, candidates, intent, config);
+        } catch (RuntimeException e) {
+            logger.debug("Cannot fingerprint heal inputs, bypassing decision cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Cache a provider decision with its estimated usage. Providers do not report token counts
+     * through {@link LlmProvider#evaluateCandidates}, so usage is estimated from the prompt and
+     * reasoning length, and cost from {@link CostProjector} pricing (zero for local models).
+     */
+    private void storeDecision(DecisionCache cache, String fingerprint, ProviderDecision answer,
+                               FailureContext failure, UiSnapshot candidates, IntentContract intent,
+                               LlmConfig config) {
+        try {
+            // Estimate the prompt as sent, in the configured encoding
+            int inputTokens = TokenEstimator.estimate(promptBuilder.buildHealingPrompt(failure, candidates, intent, config));
+            String reasoning = answer.decision().getReasoning();
+            int outputTokens = RESPONSE_OVERHEAD_TOKENS + (reasoning != null ? TokenEstimator.estimate(reasoning) : 0);
+            double cost = answer.provider() == null || answer.model() == null
+                    || LOCAL_PROVIDERS.contains(answer.provider().toLowerCase())
+                    ? 0.0
+                    : costProjector.estimateHealCost(answer.model(), inputTokens, outputTokens);
+            cache.put(fingerprint, answer.decision(), answer.provider(), answer.model(), inputTokens, outputTokens, cost);
+        } catch (RuntimeException e) {
+            logger.debug("Failed to cache LLM decision: {}", e.getMessage());
+        }
+    }
+
+    private List<RankedCandidate> rankCandidates(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
+        try {
+            return candidateRanker.rank(failure, snapshot, intent);
+        } catch (RuntimeException e) {
+            logger.warn("Candidate pre-ranking failed, sending all candidates: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Accept the top candidate without an LLM call if skipping is enabled and it scores at
+     * least {@code skip_llm_min_score}, leading the runner-up by {@code skip_llm_margin}.
+     */
+    private Optional<HealDecision> decideWithoutLlm(List<RankedCandidate> ranked, LlmConfig.PreRankingConfig ranking) {
+        if (!ranking.isSkipLlm()) {
+            return Optional.empty();
+        }
+        RankedCandidate best = ranked.get(0);
+        double runnerUp = ranked.size() > 1 ? ranked.get(1).score() : 0;
+        if (best.score() < ranking.getSkipLlmMinScore() || best.score() - runnerUp < ranking.getSkipLlmMargin()) {
+            return Optional.empty();
+        }
+
+        logger.info("Pre-ranking selected element {} with score {} (runner-up {}), skipping LLM",
+                best.element().getIndex(), "%.2f".formatted(best.score()), "%.2f".formatted(runnerUp));
+        return Optional.of(HealDecision.canHeal(
+                best.element().getIndex(),
+                best.score(),
+                "Selected locally by pre-ranking: <%s> scored %.2f against the original locator and step (runner-up %.2f)"
+                        .formatted(best.element().getTagName(), best.score(), runnerUp)));
+    }
+
+    /**
+     * Keep the top-K ranked elements, in their original page order and with their original
+     * indices so the LLM's answer still refers to the full snapshot. The ranking travels with
+     * the snapshot so a token budget can drop the least relevant elements first.
+     */
+    private UiSnapshot shortlist(UiSnapshot snapshot, List<RankedCandidate> ranked, int topK) {
+        List<Integer> relevanceOrder = ranked.stream()
+                .map(candidate -> candidate.element().getIndex())
+                .toList();
+        Set<Integer> kept = null;
+        if (topK > 0 && snapshot.getInteractiveElements().size() > topK) {
+            kept = new HashSet<>(relevanceOrder.subList(0, Math.min(topK, relevanceOrder.size())));
+        }
+        return shortlist(snapshot, kept, relevanceOrder);
+    }
+
+    /**
+     * Keep the elements with the given indices, in their original page order, and attach the
+     * relevance order. A {@code null} set keeps every element.
+     */
+    private UiSnapshot shortlist(UiSnapshot snapshot, Set<Integer> kept, List<Integer> relevanceOrder) {
+        List<ElementSnapshot> elements = snapshot.getInteractiveElements();
+        List<ElementSnapshot> shortlisted = elements;
+        if (kept != null && !elements.stream().allMatch(e -> kept.contains(e.getIndex()))) {
+            shortlisted = elements.stream()
+                    .filter(e -> kept.contains(e.getIndex()))
+                    .toList();
+            logger.debug("Pre-ranking kept {} of {} candidates", shortlisted.size(), elements.size());
+        }
+
+        return UiSnapshot.builder()
+                .url(snapshot.getUrl())
+                .title(snapshot.getTitle())
+                .detectedLanguage(snapshot.getDetectedLanguage())
+                .interactiveElements(shortlisted)
+                .timestamp(snapshot.getTimestamp())
+                .screenshotBase64(snapshot.getScreenshotBase64().orElse(null))
+                .domSnapshot(snapshot.getDomSnapshot().orElse(null))
+                .viewport(snapshot.getViewport().orElse(null))
+                .relevanceOrder(relevanceOrder)
+                .build();
+    }
+
     /**
      * Validate outcome using LLM reasoning.
      */
@@ -147,6 +908,24 @@ public class LlmOrchestrator {
         return provider.validateOutcome(expectedOutcome, before, after, config);
     }
 
+    /**
+     * Validate outcome without blocking the calling thread.
+     */
+    public CompletableFuture<OutcomeResult> validateOutcomeAsync(
+            String expectedOutcome,
+            UiSnapshot before,
+            UiSnapshot after,
+            LlmConfig config) {
+
+        LlmProvider provider = getProvider(config.getProvider());
+        if (provider == null) {
+            return CompletableFuture.failedFuture(new LlmException("Unknown provider: " + config.getProvider(),
+                    config.getProvider(), config.getModel()));
+        }
+
+        return provider.validateOutcomeAsync(expectedOutcome, before, after, config);
+    }
+
     /**
      * Get the prompt builder for external use.
      */
@@ -175,6 +954,11 @@ public class LlmOrchestrator {
         config.setConfidenceThreshold(original.getConfidenceThreshold());
         config.setMaxTokensPerRequest(original.getMaxTokensPerRequest());
         config.setRequireReasoning(original.isRequireReasoning());
+        config.setStreaming(original.isStreaming());
+        config.setPromptEncoding(original.getPromptEncoding());
+        config.setMaxBatchSize(original.getMaxBatchSize());
+        config.setRateLimit(original.getRateLimit());
+        config.setPromptCache(original.getPromptCache());
         return config;
     }
 
@@ -190,8 +974,6 @@ public class LlmOrchestrator {
     private <T> T executeWithRetry(Supplier<T> operation, int maxRetries, String providerName) {
         int attempts = 0;
         int maxAttempts = Math.max(1, maxRetries + 1); // At least 1 attempt
-        long baseDelayMs = 1000; // Start with 1 second
-        long maxDelayMs = 32000; // Cap at 32 seconds
         LlmException lastException = null;
 
         while (attempts < maxAttempts) {
@@ -201,27 +983,13 @@ public class LlmOrchestrator {
                 lastException = e;
                 attempts++;
 
-                // Only retry on rate limiting errors
-                if (!isRetryable(e)) {
-                    logger.debug("Non-retryable error from {}: {}", providerName, e.getMessage());
-                    throw e;
-                }
-
-                if (attempts >= maxAttempts) {
-                    logger.warn("All {} retry attempts exhausted for {}", maxAttempts, providerName);
+                Duration delay = retryDelay(e, attempts, maxAttempts, providerName);
+                if (delay == null) {
                     throw e;
                 }
 
-                // Calculate exponential backoff delay with jitter
-                long delay = Math.min(baseDelayMs * (1L << (attempts - 1)), maxDelayMs);
-                long jitter = (long) (delay * 0.1 * Math.random()); // Add 0-10% jitter
-                delay += jitter;
-
-                logger.info("Rate limited by {}. Attempt {}/{}, retrying in {}ms...",
-                        providerName, attempts, maxAttempts, delay);
-
                 try {
-                    Thread.sleep(delay);
+                    Thread.sleep(delay.toMillis());
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     throw new LlmException("Retry interrupted", ie, providerName, "unknown");
@@ -234,6 +1002,43 @@ public class LlmOrchestrator {
                 new LlmException("Operation failed with no exception", providerName, "unknown");
     }
 
+    /**
+     * How long to wait before retrying a failed call, or null if it should not be retried.
+     * Backoff is exponential with jitter, and at least as long as the provider asked for.
+     *
+     * @param attempts the number of attempts made so far
+     */
+    private Duration retryDelay(Throwable error, int attempts, int maxAttempts, String providerName) {
+        if (!(error instanceof LlmException e)) {
+            return null;
+        }
+
+        // Only retry on rate limiting errors
+        if (!isRetryable(e)) {
+            logger.debug("Non-retryable error from {}: {}", providerName, e.getMessage());
+            return null;
+        }
+
+        if (attempts >= maxAttempts) {
+            logger.warn("All {} retry attempts exhausted for {}", maxAttempts, providerName);
+            return null;
+        }
+
+        // Calculate exponential backoff delay with jitter
+        long delay = Math.min(BASE_RETRY_DELAY_MS * (1L << (attempts - 1)), MAX_RETRY_DELAY_MS);
+        long jitter = (long) (delay * 0.1 * Math.random()); // Add 0-10% jitter
+        delay += jitter;
+
+        // Wait at least as long as the provider asked to
+        if (e.getRetryAfter().isPresent()) {
+            delay = Math.max(delay, Math.min(e.getRetryAfter().get().toMillis(), MAX_RETRY_AFTER_MS));
+        }
+
+        logger.info("Rate limited by {}. Attempt {}/{}, retrying in {}ms...",
+                providerName, attempts, maxAttempts, delay);
+        return Duration.ofMillis(delay);
+    }
+
     /**
      * Determines if an exception is retryable (rate limiting or transient errors).
      */
@@ -255,4 +1060,23 @@ public class LlmOrchestrator {
         }
         return false;
     }
+
+    /**
+     * Decisions of one batch call, with the provider and model that answered.
+     */
+    private record BatchAnswer(List<HealDecision> decisions, String provider, String model) {
+    }
+
+    /**
+     * A decision together with the provider and model that produced it.
+     */
+    private record ProviderDecision(HealDecision decision, String provider, String model) {
+    }
+
+    /**
+     * A heal after local ranking and the cache lookup: either settled without the LLM, or the
+     * candidates to send and where to cache the answer.
+     */
+    private record PreparedHeal(HealDecision settled, UiSnapshot candidates, DecisionCache cache, String fingerprint) {
+    }
 }
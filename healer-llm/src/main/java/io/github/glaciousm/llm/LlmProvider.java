@@ -2,10 +2,19 @@ package io.github.glaciousm.llm;
 
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.util.AsyncCalls;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for LLM provider implementations.
  * Providers communicate with external LLM services to make healing decisions.
+ *
+ * <p>The asynchronous variants return futures that fail with the {@link
+ * io.github.glaciousm.core.exception.LlmException} the synchronous call would throw.
+ * Cancelling one cancels its request where the provider supports it.</p>
  */
 public interface LlmProvider {
 
@@ -24,6 +33,46 @@ public interface LlmProvider {
             IntentContract intent,
             LlmConfig config);
 
+    /**
+     * Evaluate candidate elements without blocking the calling thread.
+     *
+     * <p>This default runs {@link #evaluateCandidates} on a virtual thread. Providers that
+     * can send their request asynchronously override it so no thread waits on the network.</p>
+     *
+     * @return The pending heal decision
+     */
+    default CompletableFuture<HealDecision> evaluateCandidatesAsync(
+            FailureContext failure,
+            UiSnapshot snapshot,
+            IntentContract intent,
+            LlmConfig config) {
+        return AsyncCalls.blocking(() -> evaluateCandidates(failure, snapshot, intent, config));
+    }
+
+    /**
+     * Evaluate candidate elements for several broken locators on the same page.
+     *
+     * <p>Providers that can answer in one request list the shared elements once and return
+     * every decision from a single response. This default makes one
+     * {@link #evaluateCandidates} call per target.</p>
+     *
+     * @param targets  The broken locators with their step intents
+     * @param snapshot The current UI snapshot, shared by all targets
+     * @param config   LLM configuration
+     * @return One decision per target, in order; an entry is null if the response did not
+     *         cover that target
+     */
+    default List<HealDecision> evaluateBatch(
+            List<HealTarget> targets,
+            UiSnapshot snapshot,
+            LlmConfig config) {
+        List<HealDecision> decisions = new ArrayList<>(targets.size());
+        for (HealTarget target : targets) {
+            decisions.add(evaluateCandidates(target.getFailure(), snapshot, target.getIntent(), config));
+        }
+        return decisions;
+    }
+
     /**
      * Validate outcome using LLM reasoning.
      *
@@ -39,6 +88,20 @@ public interface LlmProvider {
             UiSnapshot after,
             LlmConfig config);
 
+    /**
+     * Validate outcome without blocking the calling thread.
+     * This default runs {@link #validateOutcome} on a virtual thread.
+     *
+     * @return The pending outcome validation
+     */
+    default CompletableFuture<OutcomeResult> validateOutcomeAsync(
+            String expectedOutcome,
+            UiSnapshot before,
+            UiSnapshot after,
+            LlmConfig config) {
+        return AsyncCalls.blocking(() -> validateOutcome(expectedOutcome, before, after, config));
+    }
+
     /**
      * Get the name of this provider.
      */
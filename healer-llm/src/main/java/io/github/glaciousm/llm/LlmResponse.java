@@ -11,6 +11,8 @@ public final class LlmResponse {
     private final String errorMessage;
     private final int promptTokens;
     private final int completionTokens;
+    private final int cacheReadTokens;
+    private final int cacheWriteTokens;
     private final long latencyMs;
 
     private LlmResponse(Builder builder) {
@@ -19,6 +21,8 @@ public final class LlmResponse {
         this.errorMessage = builder.errorMessage;
         this.promptTokens = builder.promptTokens;
         this.completionTokens = builder.completionTokens;
+        this.cacheReadTokens = builder.cacheReadTokens;
+        this.cacheWriteTokens = builder.cacheWriteTokens;
         this.latencyMs = builder.latencyMs;
     }
 
@@ -42,6 +46,21 @@ public final class LlmResponse {
         return completionTokens;
     }
 
+    /**
+     * Prompt tokens served from the provider's prompt cache. Included in {@link #getPromptTokens()}.
+     */
+    public int getCacheReadTokens() {
+        return cacheReadTokens;
+    }
+
+    /**
+     * Prompt tokens written to the provider's prompt cache by this request. Included in
+     * {@link #getPromptTokens()}.
+     */
+    public int getCacheWriteTokens() {
+        return cacheWriteTokens;
+    }
+
     public int getTotalTokens() {
         return promptTokens + completionTokens;
     }
@@ -74,6 +93,8 @@ public final class LlmResponse {
         private String errorMessage;
         private int promptTokens;
         private int completionTokens;
+        private int cacheReadTokens;
+        private int cacheWriteTokens;
         private long latencyMs;
         private String model;
 
@@ -104,6 +125,16 @@ public final class LlmResponse {
             return this;
         }
 
+        public Builder cacheReadTokens(int cacheReadTokens) {
+            this.cacheReadTokens = cacheReadTokens;
+            return this;
+        }
+
+        public Builder cacheWriteTokens(int cacheWriteTokens) {
+            this.cacheWriteTokens = cacheWriteTokens;
+            return this;
+        }
+
         public Builder latencyMs(long latencyMs) {
             this.latencyMs = latencyMs;
             return this;
@@ -1,21 +1,87 @@
 package io.github.glaciousm.llm;
 
+import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.model.ElementRect;
 import io.github.glaciousm.core.model.ElementSnapshot;
 import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.HealTarget;
 import io.github.glaciousm.core.model.IntentContract;
 import io.github.glaciousm.core.model.UiSnapshot;
-
+import io.github.glaciousm.llm.prompt.CompactElementEncoder;
+import io.github.glaciousm.llm.prompt.PromptEncodingReport;
+import io.github.glaciousm.llm.prompt.PromptParts;
+import io.github.glaciousm.llm.prompt.TokenEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Builds prompts for LLM healing requests.
+ *
+ * <p>Candidate elements are written as markdown blocks by default. With
+ * {@link LlmConfig.PromptEncoding#COMPACT} they are written as a compact table instead, and
+ * as many elements as fit in {@code max_tokens_per_request} are included, in the order given
+ * (most relevant first once the orchestrator has pre-ranked them).</p>
+ *
+ * <p>The healing prompt starts with its instructions, which do not depend on the failure,
+ * followed by the page and then the failure, so providers that cache prompt prefixes only
+ * process the failure-specific end in full (see {@link #buildHealingPromptParts}).</p>
  */
 public class PromptBuilder {
 
+    private static final Logger logger = LoggerFactory.getLogger(PromptBuilder.class);
     private static final int MAX_ELEMENTS_IN_PROMPT = 50;
     private static final int MAX_TEXT_LENGTH = 100;
 
+    /**
+     * Instructions of the healing prompt. Kept free of per-failure content so that providers
+     * can cache it as the prompt prefix.
+     */
+    private static final String HEALING_INSTRUCTIONS = """
+            You are an expert test automation engineer analyzing a UI test failure.
+
+            ## Your Task
+
+            Analyze the current page state and the failed test step's intent, both given below. Determine if there is an element on the current page that serves the same purpose as the original target.
+
+            **Important Guidelines:**
+            - Focus on SEMANTIC PURPOSE, not exact text matching
+            - Consider that the UI may be in any language
+            - The element's purpose matters more than its appearance
+            - If multiple candidates could work, choose the most likely based on context
+            - If no element clearly matches the intent, respond that healing is not possible
+            - NEVER suggest elements that could cause destructive actions (delete, remove, cancel) unless the original intent was destructive
+
+            ## Response Format
+
+            Respond with ONLY a JSON object in this exact format:
+
+            ```json
+            {
+              "can_heal": true|false,
+              "confidence": 0.0-1.0,
+              "selected_element_index": <index>|null,
+              "reasoning": "<2-3 sentences explaining your decision>",
+              "alternative_indices": [<other possible indices>],
+              "warnings": ["<any concerns about this heal>"],
+              "refusal_reason": "<if can_heal is false, explain why>"|null
+            }
+            ```
+
+            Confidence guide:
+            - 0.95+: Nearly certain match (same text, clear purpose)
+            - 0.85-0.94: High confidence (semantic match, clear context)
+            - 0.75-0.84: Moderate confidence (likely match, some ambiguity)
+            - Below 0.75: Do not heal, set can_heal to false
+            """;
+
+    private final CompactElementEncoder compactEncoder = new CompactElementEncoder();
+
     /**
      * Build the system prompt for healing operations.
      */
@@ -31,13 +97,177 @@ public class PromptBuilder {
         return buildHealingPrompt(failure, snapshot, intent);
     }
 
+    /**
+     * Build the healing prompt in the encoding the configuration asks for.
+     * Alias for buildHealingPrompt.
+     */
+    public String buildEvaluationPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                        LlmConfig config) {
+        return buildHealingPrompt(failure, snapshot, intent, config);
+    }
+
     /**
      * Build the healing prompt from failure context and UI snapshot.
      */
     public String buildHealingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
-        return """
-            You are an expert test automation engineer analyzing a UI test failure.
+        return healingPrompt(failure, snapshot, intent, formatElementsForPrompt(snapshot.getInteractiveElements())).full();
+    }
+
+    /**
+     * Build the healing prompt in the encoding the configuration asks for.
+     */
+    public String buildHealingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                     LlmConfig config) {
+        return buildHealingPromptParts(failure, snapshot, intent, config).full();
+    }
+
+    /**
+     * Build the healing prompt in the encoding the configuration asks for, split into the
+     * instructions, the page and the failure so that providers can cache the stable parts.
+     */
+    public PromptParts buildHealingPromptParts(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                               LlmConfig config) {
+        if (config == null || config.getPromptEncoding() != LlmConfig.PromptEncoding.COMPACT) {
+            return healingPrompt(failure, snapshot, intent, formatElementsForPrompt(snapshot.getInteractiveElements()));
+        }
+        PromptParts prompt = buildCompactHealingPrompt(failure, snapshot, intent, config.getMaxTokensPerRequest());
+        if (logger.isDebugEnabled()) {
+            int compactTokens = TokenEstimator.estimate(prompt.full());
+            int markdownTokens = TokenEstimator.estimate(buildHealingPrompt(failure, snapshot, intent));
+            logger.debug("Compact healing prompt: ~{} tokens, ~{} as markdown", compactTokens, markdownTokens);
+        }
+        return prompt;
+    }
+
+    /**
+     * Build one prompt that asks for a decision on each of several broken locators on the
+     * same page. The page's elements are listed once, in the encoding the configuration asks
+     * for, and the response is expected to hold one decision per target in order.
+     */
+    public String buildBatchHealingPrompt(List<HealTarget> targets, UiSnapshot snapshot, LlmConfig config) {
+        String failures = formatBatchTargets(targets);
+        List<ElementSnapshot> elements = snapshot.getInteractiveElements();
+        String elementsSection;
+        if (config != null && config.getPromptEncoding() == LlmConfig.PromptEncoding.COMPACT) {
+            elementsSection = fitCompactElements(snapshot, availableTokens(config.getMaxTokensPerRequest(),
+                    batchPrompt(snapshot, "", failures))).text();
+        } else {
+            elementsSection = formatElementsForPrompt(elements);
+        }
+        return batchPrompt(snapshot, elementsSection, failures);
+    }
+
+    /**
+     * Compare the estimated input tokens of the markdown and compact encodings of the same
+     * healing prompt.
+     */
+    public PromptEncodingReport compareEncodings(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                                 LlmConfig config) {
+        List<ElementSnapshot> elements = snapshot.getInteractiveElements();
+        int total = elements != null ? elements.size() : 0;
+        CompactSection compact = fitCompactElements(snapshot,
+                availableTokens(config.getMaxTokensPerRequest(), healingPrompt(failure, snapshot, intent, "").full()));
+        return new PromptEncodingReport(
+                TokenEstimator.estimate(buildHealingPrompt(failure, snapshot, intent)),
+                TokenEstimator.estimate(healingPrompt(failure, snapshot, intent, compact.text()).full()),
+                Math.min(total, MAX_ELEMENTS_IN_PROMPT),
+                compact.included(),
+                total);
+    }
+
+    private PromptParts buildCompactHealingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                                  int tokenBudget) {
+        return healingPrompt(failure, snapshot, intent, fitCompactElements(snapshot,
+                availableTokens(tokenBudget, healingPrompt(failure, snapshot, intent, "").full())).text());
+    }
+
+    /**
+     * Tokens left for the elements once the rest of the prompt is counted, or
+     * {@link Integer#MAX_VALUE} when there is no budget.
+     */
+    private static int availableTokens(int tokenBudget, String promptWithoutElements) {
+        return tokenBudget <= 0 ? Integer.MAX_VALUE : tokenBudget - TokenEstimator.estimate(promptWithoutElements);
+    }
+
+    /**
+     * Encode as many elements as fit in the available tokens, keeping at least one. When the
+     * snapshot carries a relevance order the most relevant elements are kept; the kept rows are
+     * still listed in page order.
+     */
+    private CompactSection fitCompactElements(UiSnapshot snapshot, int available) {
+        List<ElementSnapshot> elements = snapshot.getInteractiveElements();
+        if (elements == null || elements.isEmpty()) {
+            return new CompactSection("No interactive elements found on the page.", 0);
+        }
+        if (available == Integer.MAX_VALUE) {
+            return new CompactSection(compactEncoder.encode(elements), elements.size());
+        }
+
+        boolean ranked = !snapshot.getRelevanceOrder().isEmpty();
+        List<ElementSnapshot> byRelevance = byRelevance(elements, snapshot.getRelevanceOrder());
+        CompactSection best = compactSection(byRelevance, 1, ranked);
+        int low = 2;
+        int high = byRelevance.size();
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            CompactSection candidate = compactSection(byRelevance, mid, ranked);
+            if (TokenEstimator.estimate(candidate.text()) <= available) {
+                best = candidate;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Order elements most relevant first. Elements missing from the order follow in page order.
+     */
+    private static List<ElementSnapshot> byRelevance(List<ElementSnapshot> elements, List<Integer> relevanceOrder) {
+        if (relevanceOrder.isEmpty()) {
+            return elements;
+        }
+        Map<Integer, Integer> position = new HashMap<>();
+        for (int i = 0; i < relevanceOrder.size(); i++) {
+            position.putIfAbsent(relevanceOrder.get(i), i);
+        }
+        List<ElementSnapshot> sorted = new ArrayList<>(elements);
+        sorted.sort(Comparator.comparingInt(e -> position.getOrDefault(e.getIndex(), Integer.MAX_VALUE)));
+        return sorted;
+    }
 
+    private CompactSection compactSection(List<ElementSnapshot> byRelevance, int count, boolean ranked) {
+        List<ElementSnapshot> kept = new ArrayList<>(byRelevance.subList(0, count));
+        kept.sort(Comparator.comparingInt(ElementSnapshot::getIndex));
+        String text = compactEncoder.encode(kept);
+        int omitted = byRelevance.size() - count;
+        if (omitted > 0) {
+            text += (ranked ? "\n... and %d less relevant elements omitted" : "\n... and %d more elements omitted")
+                    .formatted(omitted);
+        }
+        return new CompactSection(text, count);
+    }
+
+    private PromptParts healingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                      String elementsSection) {
+        String page = """
+            ## Current Page State
+
+            **URL:** %s
+            **Title:** %s
+            **Detected Language:** %s
+
+            ## Available Interactive Elements
+
+            %s
+            """.formatted(
+                nullSafe(snapshot.getUrl()),
+                nullSafe(snapshot.getTitle()),
+                nullSafe(snapshot.getDetectedLanguage()),
+                elementsSection
+        );
+        String failureSection = """
             ## Test Context
 
             **Feature:** %s
@@ -51,6 +281,44 @@ public class PromptBuilder {
             **Exception:** %s
             **Original Locator:** %s (strategy: %s)
             **Action:** %s
+            """.formatted(
+                nullSafe(failure.getFeatureName()),
+                nullSafe(failure.getScenarioName()),
+                nullSafe(failure.getStepKeyword()),
+                nullSafe(failure.getStepText()),
+                nullSafe(intent.getAction()),
+                nullSafe(intent.getDescription()),
+                nullSafe(failure.getExceptionType()),
+                failure.getOriginalLocator() != null ? failure.getOriginalLocator().getValue() : "unknown",
+                failure.getOriginalLocator() != null ? failure.getOriginalLocator().getStrategy() : "unknown",
+                failure.getActionType()
+        );
+        return new PromptParts(HEALING_INSTRUCTIONS, page, failureSection);
+    }
+
+    private String formatBatchTargets(List<HealTarget> targets) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < targets.size(); i++) {
+            FailureContext failure = targets.get(i).getFailure();
+            IntentContract intent = targets.get(i).getIntent();
+            sb.append("### Failure %d\n\n".formatted(i));
+            if (failure.getScenarioName() != null) {
+                sb.append("**Scenario:** %s\n".formatted(failure.getScenarioName()));
+            }
+            sb.append("**Step:** %s %s\n".formatted(nullSafe(failure.getStepKeyword()), nullSafe(failure.getStepText())));
+            sb.append("**Intent:** %s - %s\n".formatted(nullSafe(intent.getAction()), nullSafe(intent.getDescription())));
+            sb.append("**Original Locator:** %s (strategy: %s)\n".formatted(
+                    failure.getOriginalLocator() != null ? failure.getOriginalLocator().getValue() : "unknown",
+                    failure.getOriginalLocator() != null ? failure.getOriginalLocator().getStrategy() : "unknown"));
+            sb.append("**Action:** %s\n\n".formatted(failure.getActionType()));
+        }
+        return sb.toString().stripTrailing();
+    }
+
+    private String batchPrompt(UiSnapshot snapshot, String elementsSection, String failures) {
+        return """
+            You are an expert test automation engineer analyzing UI test failures.
+            Several locators stopped matching on the same page. Decide each failure on its own.
 
             ## Current Page State
 
@@ -62,31 +330,39 @@ public class PromptBuilder {
 
             %s
 
+            ## Failures
+
+            %s
+
             ## Your Task
 
-            Analyze the test step's intent and the current page state. Determine if there is an element on the current page that serves the same purpose as the original target.
+            For each failure, determine if there is an element on the current page that serves the same purpose as the original target.
 
             **Important Guidelines:**
             - Focus on SEMANTIC PURPOSE, not exact text matching
             - Consider that the UI may be in any language
-            - The element's purpose matters more than its appearance
-            - If multiple candidates could work, choose the most likely based on context
-            - If no element clearly matches the intent, respond that healing is not possible
+            - Two failures should only select the same element if they clearly target the same control
+            - If no element clearly matches a failure's intent, respond that healing is not possible for it
             - NEVER suggest elements that could cause destructive actions (delete, remove, cancel) unless the original intent was destructive
 
             ## Response Format
 
-            Respond with ONLY a JSON object in this exact format:
+            Respond with ONLY a JSON object in this exact format, with one decision per failure, in order:
 
             ```json
             {
-              "can_heal": true|false,
-              "confidence": 0.0-1.0,
-              "selected_element_index": <index>|null,
-              "reasoning": "<2-3 sentences explaining your decision>",
-              "alternative_indices": [<other possible indices>],
-              "warnings": ["<any concerns about this heal>"],
-              "refusal_reason": "<if can_heal is false, explain why>"|null
+              "decisions": [
+                {
+                  "failure": <failure number>,
+                  "can_heal": true|false,
+                  "confidence": 0.0-1.0,
+                  "selected_element_index": <index>|null,
+                  "reasoning": "<one sentence explaining your decision>",
+                  "alternative_indices": [<other possible indices>],
+                  "warnings": ["<any concerns about this heal>"],
+                  "refusal_reason": "<if can_heal is false, explain why>"|null
+                }
+              ]
             }
             ```
 
@@ -96,20 +372,11 @@ public class PromptBuilder {
             - 0.75-0.84: Moderate confidence (likely match, some ambiguity)
             - Below 0.75: Do not heal, set can_heal to false
             """.formatted(
-                nullSafe(failure.getFeatureName()),
-                nullSafe(failure.getScenarioName()),
-                nullSafe(failure.getStepKeyword()),
-                nullSafe(failure.getStepText()),
-                nullSafe(intent.getAction()),
-                nullSafe(intent.getDescription()),
-                nullSafe(failure.getExceptionType()),
-                failure.getOriginalLocator() != null ? failure.getOriginalLocator().getValue() : "unknown",
-                failure.getOriginalLocator() != null ? failure.getOriginalLocator().getStrategy() : "unknown",
-                failure.getActionType(),
                 nullSafe(snapshot.getUrl()),
                 nullSafe(snapshot.getTitle()),
                 nullSafe(snapshot.getDetectedLanguage()),
-                formatElementsForPrompt(snapshot.getInteractiveElements())
+                elementsSection,
+                failures
         );
     }
 
@@ -118,9 +385,18 @@ public class PromptBuilder {
      * This prompt works alongside a screenshot for visual analysis.
      */
     public String buildVisionHealingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
+        return buildVisionHealingPrompt(failure, snapshot, intent, (LlmConfig.VisionConfig) null);
+    }
+
+    /**
+     * Build a vision-enhanced healing prompt that describes how the screenshot was prepared:
+     * cropped to the candidates and/or marked with their indices.
+     */
+    public String buildVisionHealingPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                           LlmConfig.VisionConfig vision) {
         return """
             You are an expert test automation engineer analyzing a UI test failure.
-            You have been provided with a screenshot of the current page state.
+            You have been provided with a screenshot of the current page state.%s
 
             ## Test Context
 
@@ -188,6 +464,7 @@ public class PromptBuilder {
             - 0.75-0.84: Moderate confidence (likely match, some visual ambiguity)
             - Below 0.75: Do not heal, set can_heal to false
             """.formatted(
+                describeScreenshot(vision, snapshot),
                 nullSafe(failure.getFeatureName()),
                 nullSafe(failure.getScenarioName()),
                 nullSafe(failure.getStepKeyword()),
@@ -204,6 +481,36 @@ public class PromptBuilder {
         );
     }
 
+    /**
+     * Elements listed in the vision prompt, in order. The screenshot is cropped to and marked
+     * with these elements.
+     */
+    public List<ElementSnapshot> getVisionPromptElements(UiSnapshot snapshot) {
+        List<ElementSnapshot> elements = snapshot.getInteractiveElements();
+        if (elements == null) {
+            return List.of();
+        }
+        return elements.subList(0, Math.min(elements.size(), MAX_ELEMENTS_IN_PROMPT));
+    }
+
+    /**
+     * Sentence on how the screenshot was prepared, or empty when it is sent as captured.
+     */
+    private String describeScreenshot(LlmConfig.VisionConfig vision, UiSnapshot snapshot) {
+        if (vision == null || getVisionPromptElements(snapshot).stream().noneMatch(el -> el.getRect() != null)) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        if (vision.isCropToCandidates()) {
+            sb.append(" The screenshot is cropped to the area around the candidate elements;")
+                    .append(" element positions below are page coordinates.");
+        }
+        if (vision.isHighlightCandidates()) {
+            sb.append(" Candidate elements are outlined in red and labelled with their index, as in the list below.");
+        }
+        return sb.toString();
+    }
+
     /**
      * Format elements with visual position info for vision prompts.
      */
@@ -422,4 +729,7 @@ public class PromptBuilder {
     private String nullSafe(String value) {
         return value != null ? value : "unknown";
     }
+
+    private record CompactSection(String text, int included) {
+    }
 }
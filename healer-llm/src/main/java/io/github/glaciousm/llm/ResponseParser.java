@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +48,52 @@ public class ResponseParser {
         return parseHealDecisionFromJson(json, provider, model);
     }
 
+    /**
+     * Parse the decisions of a batch healing response.
+     *
+     * <p>Each decision is matched to its target by its {@code failure} number, or by its
+     * position when the number is missing. Decisions that cannot be parsed or matched are
+     * skipped.</p>
+     *
+     * @param count number of targets in the batch
+     * @return one decision per target, in order; an entry is null if the response did not cover it
+     */
+    public List<HealDecision> parseBatchDecisions(String response, int count, String provider, String model) {
+        if (response == null || response.isEmpty()) {
+            throw LlmException.invalidResponse(provider, model, "Empty response");
+        }
+
+        String jsonContent = JsonUtils.extractJsonFromMarkdown(response);
+        Optional<JsonNode> jsonOpt = JsonUtils.tryParseJson(jsonContent);
+        if (jsonOpt.isEmpty()) {
+            logger.warn("Failed to parse batch LLM response as JSON: {}", truncate(response, 200));
+            throw LlmException.invalidResponse(provider, model, "Invalid JSON: " + truncate(response, 100));
+        }
+
+        JsonNode json = jsonOpt.get();
+        JsonNode entries = json.isArray() ? json : json.path("decisions");
+        if (!entries.isArray()) {
+            throw LlmException.invalidResponse(provider, model, "Missing 'decisions' array");
+        }
+
+        List<HealDecision> decisions = new ArrayList<>(Collections.nCopies(count, (HealDecision) null));
+        int position = 0;
+        for (JsonNode entry : entries) {
+            int target = entry.path("failure").canConvertToInt() ? entry.path("failure").asInt() : position;
+            position++;
+            if (target < 0 || target >= count || decisions.get(target) != null) {
+                logger.debug("Ignoring batch decision for failure {} of {}", target, count);
+                continue;
+            }
+            try {
+                decisions.set(target, parseHealDecisionFromJson(entry, provider, model));
+            } catch (LlmException e) {
+                logger.debug("Ignoring malformed batch decision for failure {}: {}", target, e.getMessage());
+            }
+        }
+        return decisions;
+    }
+
     private HealDecision parseHealDecisionFromJson(JsonNode json, String provider, String model) {
         HealDecision.Builder builder = HealDecision.builder();
 
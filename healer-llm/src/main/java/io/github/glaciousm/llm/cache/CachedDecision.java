@@ -0,0 +1,65 @@
+package io.github.glaciousm.llm.cache;
+
+import io.github.glaciousm.core.model.HealDecision;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A stored LLM heal decision with the usage it cost to obtain.
+ *
+ * @param fingerprint          {@link DecisionFingerprint} of the prompt inputs
+ * @param canHeal              whether the LLM found a heal
+ * @param confidence           decision confidence
+ * @param selectedElementIndex chosen element index, or null
+ * @param reasoning            LLM reasoning
+ * @param alternativeIndices   other candidate indices
+ * @param warnings             LLM warnings
+ * @param refusalReason        reason for refusing, or null
+ * @param provider             provider that answered
+ * @param model                model that answered
+ * @param inputTokens          estimated prompt tokens of the original call
+ * @param outputTokens         estimated completion tokens of the original call
+ * @param costUsd              estimated cost of the original call
+ * @param createdAt            when the decision was stored
+ */
+public record CachedDecision(
+        String fingerprint,
+        boolean canHeal,
+        double confidence,
+        Integer selectedElementIndex,
+        String reasoning,
+        List<Integer> alternativeIndices,
+        List<String> warnings,
+        String refusalReason,
+        String provider,
+        String model,
+        int inputTokens,
+        int outputTokens,
+        double costUsd,
+        Instant createdAt
+) {
+
+    static CachedDecision of(String fingerprint, HealDecision decision, String provider, String model,
+                             int inputTokens, int outputTokens, double costUsd, Instant createdAt) {
+        return new CachedDecision(fingerprint, decision.canHeal(), decision.getConfidence(),
+                decision.getSelectedElementIndex(), decision.getReasoning(), decision.getAlternativeIndices(),
+                decision.getWarnings(), decision.getRefusalReason(), provider, model,
+                inputTokens, outputTokens, costUsd, createdAt);
+    }
+
+    /**
+     * Rebuild the heal decision.
+     */
+    public HealDecision toDecision() {
+        return HealDecision.builder()
+                .canHeal(canHeal)
+                .confidence(confidence)
+                .selectedElementIndex(selectedElementIndex)
+                .reasoning(reasoning)
+                .alternativeIndices(alternativeIndices)
+                .warnings(warnings)
+                .refusalReason(refusalReason)
+                .build();
+    }
+}
@@ -0,0 +1,317 @@
+package io.github.glaciousm.llm.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.HealDecision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed cache of LLM heal decisions.
+ *
+ * <p>Decisions are keyed by {@link DecisionFingerprint}, so a retried test, a parallel fork on
+ * the same page or a nightly rerun that would send the LLM the same inputs gets the stored
+ * decision instead of a new call. Entries live in an in-memory LRU bounded by
+ * {@code max_entries} and expire after {@code ttl_hours}.</p>
+ *
+ * <p>With persistence enabled every decision is also written to its own file,
+ * {@code <persistence_dir>/<fingerprint>.json}. Files are written atomically and never
+ * rewritten in place, so several JVMs can share the directory. On a memory miss the file
+ * is read back; on startup the directory is pruned to {@code max_entries} files.</p>
+ */
+public class DecisionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecisionCache.class);
+    private static final Pattern FINGERPRINT = Pattern.compile("[0-9a-f]{64}");
+
+    private final LlmConfig.DecisionCacheConfig config;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Path storeDir;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CachedDecision> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder tokensSaved = new LongAdder();
+    private final DoubleAdder costSavedUsd = new DoubleAdder();
+
+    public DecisionCache(LlmConfig.DecisionCacheConfig config) {
+        this(config, Clock.systemUTC());
+    }
+
+    DecisionCache(LlmConfig.DecisionCacheConfig config, Clock clock) {
+        this.config = config;
+        this.clock = clock;
+        this.ttl = Duration.ofHours(Math.max(0, config.getTtlHours()));
+        this.storeDir = config.isPersistenceEnabled() ? Paths.get(config.getPersistenceDir()) : null;
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        int maxEntries = Math.max(1, config.getMaxEntries());
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedDecision> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        if (storeDir != null) {
+            initStore();
+        }
+    }
+
+    /**
+     * Look up a decision by fingerprint, falling back to the on-disk store.
+     */
+    public Optional<HealDecision> get(String fingerprint) {
+        CachedDecision entry;
+        synchronized (entries) {
+            entry = entries.get(fingerprint);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(fingerprint);
+                entry = null;
+            }
+        }
+
+        if (entry == null && storeDir != null) {
+            entry = readFromStore(fingerprint);
+            if (entry != null) {
+                diskHits.increment();
+                synchronized (entries) {
+                    entries.put(fingerprint, entry);
+                }
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        tokensSaved.add(entry.inputTokens() + entry.outputTokens());
+        costSavedUsd.add(entry.costUsd());
+        return Optional.of(entry.toDecision());
+    }
+
+    /**
+     * Store a decision obtained from a provider.
+     *
+     * @param inputTokens  estimated prompt tokens of the call
+     * @param outputTokens estimated completion tokens of the call
+     * @param costUsd      estimated cost of the call, credited as saved on every hit
+     */
+    public void put(String fingerprint, HealDecision decision, String provider, String model,
+                    int inputTokens, int outputTokens, double costUsd) {
+        CachedDecision entry = CachedDecision.of(fingerprint, decision, provider, model,
+                inputTokens, outputTokens, costUsd, clock.instant());
+        synchronized (entries) {
+            entries.put(fingerprint, entry);
+        }
+        stores.increment();
+
+        if (storeDir != null) {
+            writeToStore(entry);
+        }
+    }
+
+    /**
+     * Number of decisions held in memory.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Drop all decisions, including the on-disk store.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        if (storeDir != null) {
+            for (Path file : storeFiles()) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.debug("Could not delete cached decision {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Get hit, miss and savings statistics.
+     */
+    public DecisionCacheStats getStats() {
+        return new DecisionCacheStats(
+                hits.sum(),
+                diskHits.sum(),
+                misses.sum(),
+                stores.sum(),
+                evictions.sum(),
+                size(),
+                tokensSaved.sum(),
+                costSavedUsd.sum());
+    }
+
+    private boolean isExpired(CachedDecision entry) {
+        return entry.createdAt() == null || entry.createdAt().plus(ttl).isBefore(clock.instant());
+    }
+
+    private CachedDecision readFromStore(String fingerprint) {
+        if (!FINGERPRINT.matcher(fingerprint).matches()) {
+            return null;
+        }
+        Path file = storeDir.resolve(fingerprint + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            CachedDecision entry = objectMapper.readValue(file.toFile(), CachedDecision.class);
+            if (isExpired(entry) || !fingerprint.equals(entry.fingerprint())) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            return entry;
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable cached decision {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToStore(CachedDecision entry) {
+        Path file = storeDir.resolve(entry.fingerprint() + ".json");
+        try {
+            Path tmp = Files.createTempFile(storeDir, entry.fingerprint(), ".tmp");
+            objectMapper.writeValue(tmp.toFile(), entry);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to persist LLM decision: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Create the store directory and prune it to the expiry and size bounds.
+     */
+    private void initStore() {
+        try {
+            Files.createDirectories(storeDir);
+        } catch (IOException e) {
+            logger.warn("Cannot create LLM decision cache directory {}: {}", storeDir, e.getMessage());
+            return;
+        }
+
+        Instant cutoff = clock.instant().minus(ttl);
+        List<Path> files = new ArrayList<>(storeFiles());
+        files.sort(Comparator.comparing(DecisionCache::lastModified).reversed());
+        int kept = 0;
+        int removed = 0;
+        for (Path file : files) {
+            if (kept < config.getMaxEntries() && lastModified(file).toInstant().isAfter(cutoff)) {
+                kept++;
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file);
+                removed++;
+            } catch (IOException e) {
+                logger.debug("Could not prune cached decision {}: {}", file, e.getMessage());
+            }
+        }
+        logger.debug("LLM decision store {}: {} entries, {} pruned", storeDir, kept, removed);
+    }
+
+    private List<Path> storeFiles() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(storeDir, "*.json")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            logger.debug("Cannot list LLM decision store {}: {}", storeDir, e.getMessage());
+        }
+        return files;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Decision cache statistics.
+     *
+     * @param hits         lookups answered from memory or disk
+     * @param diskHits     lookups answered from the on-disk store
+     * @param misses       lookups that went to a provider
+     * @param stores       decisions stored
+     * @param evictions    decisions evicted from memory by the size bound
+     * @param size         decisions currently in memory
+     * @param tokensSaved  estimated tokens not sent thanks to hits
+     * @param costSavedUsd estimated dollars not spent thanks to hits
+     */
+    public record DecisionCacheStats(
+            long hits,
+            long diskHits,
+            long misses,
+            long stores,
+            long evictions,
+            int size,
+            long tokensSaved,
+            double costSavedUsd
+    ) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total > 0 ? (double) hits / total : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("DecisionCacheStats{hits=%d (disk %d), misses=%d, hitRate=%.1f%%, "
+                            + "size=%d, evictions=%d, tokensSaved=%d, costSaved=$%.4f}",
+                    hits, diskHits, misses, hitRate() * 100, size, evictions, tokensSaved, costSavedUsd);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.glaciousm.llm.cache;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Stable fingerprint of the inputs that decide an LLM heal: provider and model, original
+ * locator, step text, action, intent and the candidate elements as the prompt shows them.
+ *
+ * <p>Inputs are normalized so that heals which would produce the same prompt content share a
+ * fingerprint: whitespace is collapsed, class lists are sorted, and test names, timestamps,
+ * element geometry and URL query strings are left out. When vision is enabled the screenshot
+ * is part of the fingerprint, since the provider sees it.</p>
+ */
+public final class DecisionFingerprint {
+
+    private static final char FIELD = '\u001f';
+    private static final char RECORD = '\u001e';
+
+    private DecisionFingerprint() {
+    }
+
+    /**
+     * Compute the fingerprint as a lowercase hex SHA-256 digest.
+     */
+    public static String of(FailureContext failure, UiSnapshot snapshot, IntentContract intent, LlmConfig config) {
+        StringBuilder canonical = new StringBuilder(256 + snapshot.getInteractiveElements().size() * 128);
+
+        field(canonical, config.getProvider() != null ? config.getProvider().toLowerCase() : null);
+        field(canonical, config.getModel());
+        if (failure.getOriginalLocator() != null) {
+            field(canonical, failure.getOriginalLocator().getStrategy().name());
+            field(canonical, failure.getOriginalLocator().getValue());
+        } else {
+            field(canonical, null);
+            field(canonical, null);
+        }
+        field(canonical, normalize(failure.getStepText()));
+        field(canonical, failure.getActionType() != null ? failure.getActionType().name() : null);
+        field(canonical, intent != null ? normalize(intent.getAction()) : null);
+        field(canonical, intent != null ? normalize(intent.getDescription()) : null);
+        field(canonical, stripQuery(snapshot.getUrl()));
+        field(canonical, normalize(snapshot.getTitle()));
+        canonical.append(RECORD);
+
+        for (ElementSnapshot element : snapshot.getInteractiveElements()) {
+            appendElement(canonical, element);
+        }
+
+        if (config.isVisionEnabled()) {
+            field(canonical, snapshot.getScreenshotBase64().orElse(null));
+        }
+
+        return sha256(canonical.toString());
+    }
+
+    private static void appendElement(StringBuilder canonical, ElementSnapshot element) {
+        field(canonical, Integer.toString(element.getIndex()));
+        field(canonical, element.getTagName());
+        field(canonical, element.getId());
+        field(canonical, element.getName());
+        field(canonical, element.getType());
+        field(canonical, sortedJoin(element.getClasses()));
+        field(canonical, normalize(element.getText()));
+        field(canonical, normalize(element.getAriaLabel()));
+        field(canonical, element.getAriaRole());
+        field(canonical, normalize(element.getPlaceholder()));
+        field(canonical, normalize(element.getTitle()));
+        field(canonical, element.getContainer());
+        field(canonical, element.getNearbyLabels() != null
+                ? String.join("|", element.getNearbyLabels().stream().map(DecisionFingerprint::normalize).toList())
+                : null);
+        field(canonical, element.isVisible() ? "v" : "h");
+        field(canonical, element.isEnabled() ? "e" : "d");
+        canonical.append(RECORD);
+    }
+
+    private static void field(StringBuilder canonical, String value) {
+        if (value != null) {
+            canonical.append(value);
+        }
+        canonical.append(FIELD);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String collapsed = value.strip().replaceAll("\\s+", " ");
+        return collapsed.isEmpty() ? null : collapsed;
+    }
+
+    private static String sortedJoin(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return String.join(" ", values.stream().sorted().toList());
+    }
+
+    private static String stripQuery(String url) {
+        if (url == null) {
+            return null;
+        }
+        int end = url.length();
+        int query = url.indexOf('?');
+        int fragment = url.indexOf('#');
+        if (query >= 0) {
+            end = query;
+        }
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        return url.substring(0, end);
+    }
+
+    private static String sha256(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
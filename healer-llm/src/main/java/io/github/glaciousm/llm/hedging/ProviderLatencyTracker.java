@@ -0,0 +1,70 @@
+package io.github.glaciousm.llm.hedging;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.engine.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how long each provider and model takes to return a decision.
+ *
+ * <p>Only successful calls are recorded, so the latency reflects how long a healthy answer
+ * takes. The hedge delay for a provider is a percentile of its own latency, which lets a fast
+ * local model hedge after a few hundred milliseconds while a slow hosted model is given the
+ * seconds it usually needs.</p>
+ */
+public class ProviderLatencyTracker {
+
+    private final ConcurrentHashMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Record the latency of a successful call.
+     */
+    public void record(String provider, String model, Duration latency) {
+        latencies.computeIfAbsent(key(provider, model), k -> new LatencyHistogram())
+                .record(latency.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Latency recorded for a provider and model.
+     */
+    public LatencyHistogram.Snapshot getLatency(String provider, String model) {
+        LatencyHistogram histogram = latencies.get(key(provider, model));
+        return histogram != null ? histogram.snapshot() : LatencyHistogram.Snapshot.empty();
+    }
+
+    /**
+     * Latency of every provider and model, keyed by {@code provider/model}.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getLatencies() {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        latencies.forEach((key, histogram) -> result.put(key, histogram.snapshot()));
+        return result;
+    }
+
+    /**
+     * How long to wait for a provider before hedging to the next one: the configured
+     * percentile of its latency once it has enough samples, otherwise the initial delay,
+     * bounded by the minimum and maximum delay.
+     */
+    public Duration hedgeDelay(String provider, String model, LlmConfig.HedgingConfig config) {
+        LatencyHistogram.Snapshot latency = getLatency(provider, model);
+        long delayMs = latency.getCount() >= Math.max(1, config.getMinSamples())
+                ? latency.getPercentileMillis(config.getPercentile())
+                : config.getInitialDelayMs();
+        long bounded = Math.max(config.getMinDelayMs(), Math.min(config.getMaxDelayMs(), delayMs));
+        return Duration.ofMillis(bounded);
+    }
+
+    public void reset() {
+        latencies.clear();
+    }
+
+    private static String key(String provider, String model) {
+        return (provider != null ? provider.toLowerCase() : "unknown") + "/" + model;
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.glaciousm.llm.prompt;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes interactive elements as a compact table for the healing prompt.
+ *
+ * <p>Each element is one {@code |}-separated row under a single header line, instead of a
+ * markdown block per element. Columns that are empty for every element are left out, empty
+ * cells and trailing separators are dropped, and the visible/enabled state is only written
+ * when it differs from the default. Class lists and containers that occur more than once are
+ * written once in a dictionary and referenced as {@code @c1}, {@code @k1} and so on.</p>
+ */
+public class CompactElementEncoder {
+
+    private static final int MAX_TEXT_LENGTH = 100;
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("i", el -> String.valueOf(el.getIndex()), null),
+            new Column("tag", ElementSnapshot::getTagName, null),
+            new Column("id", ElementSnapshot::getId, null),
+            new Column("name", ElementSnapshot::getName, null),
+            new Column("type", ElementSnapshot::getType, null),
+            new Column("text", el -> truncate(el.getText()), null),
+            new Column("aria", ElementSnapshot::getAriaLabel, null),
+            new Column("role", ElementSnapshot::getAriaRole, null),
+            new Column("ph", ElementSnapshot::getPlaceholder, null),
+            new Column("title", ElementSnapshot::getTitle, null),
+            new Column("cls", el -> join(el.getClasses(), " "), "c"),
+            new Column("ctr", ElementSnapshot::getContainer, "k"),
+            new Column("lbl", el -> join(el.getNearbyLabels(), "; "), null),
+            new Column("st", CompactElementEncoder::state, null)
+    );
+
+    /**
+     * Encode the elements, in the given order.
+     */
+    public String encode(List<ElementSnapshot> elements) {
+        List<String[]> rows = new ArrayList<>(elements.size());
+        boolean[] used = new boolean[COLUMNS.size()];
+        for (ElementSnapshot el : elements) {
+            String[] row = new String[COLUMNS.size()];
+            for (int c = 0; c < row.length; c++) {
+                row[c] = clean(COLUMNS.get(c).value().apply(el));
+                used[c] |= !row[c].isEmpty();
+            }
+            rows.add(row);
+        }
+
+        Map<String, Map<String, String>> dictionaries = buildDictionaries(rows, used);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("One row per element. Columns: ");
+        appendRow(sb, COLUMNS.stream().map(Column::name).toArray(String[]::new), used);
+        sb.append("\nEmpty cells are unset.");
+        if (used[COLUMNS.size() - 1]) {
+            sb.append(" st is empty for visible, enabled elements.");
+        }
+        if (!dictionaries.isEmpty()) {
+            sb.append(" Values starting with @ are defined here:");
+            dictionaries.values().forEach(dictionary -> dictionary.forEach(
+                    (value, ref) -> sb.append('\n').append(ref).append('=').append(value)));
+        }
+        sb.append('\n');
+
+        for (String[] row : rows) {
+            for (int c = 0; c < row.length; c++) {
+                Map<String, String> dictionary = dictionaries.get(COLUMNS.get(c).name());
+                if (dictionary != null && dictionary.containsKey(row[c])) {
+                    row[c] = dictionary.get(row[c]);
+                }
+            }
+            sb.append('\n');
+            appendRow(sb, row, used);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Dictionary per deduplicated column, mapping each value that occurs more than once
+     * to its reference, in first-seen order.
+     */
+    private Map<String, Map<String, String>> buildDictionaries(List<String[]> rows, boolean[] used) {
+        Map<String, Map<String, String>> dictionaries = new LinkedHashMap<>();
+        for (int c = 0; c < COLUMNS.size(); c++) {
+            String prefix = COLUMNS.get(c).dictionaryPrefix();
+            if (prefix == null || !used[c]) {
+                continue;
+            }
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (String[] row : rows) {
+                if (!row[c].isEmpty()) {
+                    counts.merge(row[c], 1, Integer::sum);
+                }
+            }
+            Map<String, String> dictionary = new LinkedHashMap<>();
+            counts.forEach((value, count) -> {
+                if (count > 1) {
+                    dictionary.put(value, "@" + prefix + (dictionary.size() + 1));
+                }
+            });
+            if (!dictionary.isEmpty()) {
+                dictionaries.put(COLUMNS.get(c).name(), dictionary);
+            }
+        }
+        return dictionaries;
+    }
+
+    private static void appendRow(StringBuilder sb, String[] cells, boolean[] used) {
+        int start = sb.length();
+        int end = start;
+        boolean first = true;
+        for (int c = 0; c < cells.length; c++) {
+            if (!used[c]) {
+                continue;
+            }
+            if (!first) {
+                sb.append('|');
+            }
+            first = false;
+            sb.append(cells[c]);
+            if (!cells[c].isEmpty()) {
+                end = sb.length();
+            }
+        }
+        // Drop trailing empty cells
+        sb.setLength(Math.max(start, end));
+    }
+
+    private static String state(ElementSnapshot el) {
+        if (el.isVisible() && el.isEnabled()) {
+            return "";
+        }
+        if (!el.isVisible() && !el.isEnabled()) {
+            return "hidden,disabled";
+        }
+        return el.isVisible() ? "disabled" : "hidden";
+    }
+
+    private static String clean(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        return value.replace('|', '/').replaceAll("\\s+", " ").trim();
+    }
+
+    private static String truncate(String text) {
+        if (text == null || text.length() <= MAX_TEXT_LENGTH) {
+            return text;
+        }
+        return text.substring(0, MAX_TEXT_LENGTH - 3) + "...";
+    }
+
+    private static String join(List<String> values, String separator) {
+        return values == null || values.isEmpty() ? null : String.join(separator, values);
+    }
+
+    private record Column(String name, Function<ElementSnapshot, String> value, String dictionaryPrefix) {
+    }
+}
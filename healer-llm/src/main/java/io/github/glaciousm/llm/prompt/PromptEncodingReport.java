@@ -0,0 +1,33 @@
+package io.github.glaciousm.llm.prompt;
+
+/**
+ * Estimated input tokens of the same healing prompt in the markdown and compact encodings.
+ *
+ * @param markdownTokens   estimated tokens of the markdown prompt
+ * @param compactTokens    estimated tokens of the compact prompt
+ * @param markdownElements elements included by the markdown prompt
+ * @param compactElements  elements included by the compact prompt within the token budget
+ * @param totalElements    elements on the snapshot
+ */
+public record PromptEncodingReport(
+        int markdownTokens,
+        int compactTokens,
+        int markdownElements,
+        int compactElements,
+        int totalElements
+) {
+
+    /**
+     * Fraction of markdown tokens saved by the compact encoding, between 0 and 1
+     * (negative if the compact prompt is larger).
+     */
+    public double getReduction() {
+        return markdownTokens > 0 ? 1.0 - (double) compactTokens / markdownTokens : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("~%d tokens as markdown (%d elements), ~%d compact (%d elements), %.0f%% fewer",
+                markdownTokens, markdownElements, compactTokens, compactElements, getReduction() * 100);
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.glaciousm.llm.prompt;
+
+/**
+ * A healing prompt split into parts ordered from most to least stable, so providers can
+ * cache the longest possible prefix across requests.
+ *
+ * <p>The instructions are the same for every failure. The page part (URL, title and elements)
+ * is the same for failures on the same page and is usually the largest part. Only the
+ * failure part is specific to one request.</p>
+ *
+ * @param instructions task, guidelines and response format, identical across failures
+ * @param page         current page state and its interactive elements
+ * @param failure      test context and failure details
+ */
+public record PromptParts(String instructions, String page, String failure) {
+
+    /**
+     * Everything after the instructions: the page, then the failure.
+     */
+    public String suffix() {
+        return page + "\n" + failure;
+    }
+
+    /**
+     * The whole prompt as one text.
+     */
+    public String full() {
+        return instructions + "\n" + suffix();
+    }
+}
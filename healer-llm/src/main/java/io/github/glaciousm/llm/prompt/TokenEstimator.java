@@ -0,0 +1,45 @@
+package io.github.glaciousm.llm.prompt;
+
+/**
+ * Local estimate of how many tokens a prompt uses, without a provider tokenizer.
+ *
+ * <p>Runs of ASCII letters and digits count one token per four characters, every other
+ * non-whitespace character counts one token, and whitespace is free. This slightly
+ * overestimates typical BPE tokenizers on English and markup, which is the safe side for a
+ * budget.</p>
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_WORD_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * Estimate the tokens in a text.
+     */
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int word = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                word++;
+                continue;
+            }
+            tokens += wordTokens(word);
+            word = 0;
+            if (!Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        return tokens + wordTokens(word);
+    }
+
+    private static int wordTokens(int length) {
+        return (length + CHARS_PER_WORD_TOKEN - 1) / CHARS_PER_WORD_TOKEN;
+    }
+}
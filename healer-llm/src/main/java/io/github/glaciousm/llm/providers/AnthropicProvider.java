@@ -8,18 +8,36 @@ import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
+import io.github.glaciousm.llm.LlmResponse;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.prompt.PromptParts;
+import io.github.glaciousm.llm.streaming.CompletionStream;
+import io.github.glaciousm.llm.streaming.StreamingDecisionParser;
+import io.github.glaciousm.llm.util.AsyncCalls;
 import io.github.glaciousm.llm.util.HttpClientFactory;
+import io.github.glaciousm.llm.util.RetryAfter;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import io.github.glaciousm.llm.vision.PreparedScreenshot;
+import io.github.glaciousm.llm.vision.ScreenshotPreprocessor;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Anthropic Claude LLM provider implementation.
+ *
+ * <p>With {@code llm.streaming} enabled, heal decisions are requested as a server-sent event
+ * stream and the connection is closed as soon as the decision fields have arrived.</p>
+ *
+ * <p>With {@code llm.prompt_cache} enabled, text-only heal requests mark the instructions and
+ * the page as cache breakpoints, so heals on the same page only pay full price for the
+ * failure details.</p>
  */
 public class AnthropicProvider implements LlmProvider {
 
@@ -30,6 +48,7 @@ public class AnthropicProvider implements LlmProvider {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final PromptBuilder promptBuilder = new PromptBuilder();
+    private final ScreenshotPreprocessor screenshotPreprocessor = new ScreenshotPreprocessor();
     private final ResponseParser responseParser = new ResponseParser();
 
     @Override
@@ -39,28 +58,32 @@ public class AnthropicProvider implements LlmProvider {
             IntentContract intent,
             LlmConfig config) {
 
-        String apiKey = getApiKey(config);
-        if (apiKey == null || apiKey.isEmpty()) {
-            throw new LlmException(
-                "Anthropic API key not configured. Set ANTHROPIC_API_KEY environment variable or 'api_key_env' in healer-config.yml.",
-                getProviderName(), config.getModel());
-        }
+        HealCall call = prepareHeal(failure, snapshot, intent, config, requireApiKey(config));
+        return execute(call.request(), config, call.handler());
+    }
 
-        // Build prompt - use vision-enhanced prompt if vision is enabled
-        String prompt;
-        String screenshotBase64 = null;
+    @Override
+    public CompletableFuture<HealDecision> evaluateCandidatesAsync(
+            FailureContext failure,
+            UiSnapshot snapshot,
+            IntentContract intent,
+            LlmConfig config) {
 
-        if (config.isVisionEnabled() && isVisionModel(config.getModel()) && snapshot.getScreenshotBase64().isPresent()) {
-            prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent);
-            screenshotBase64 = snapshot.getScreenshotBase64().orElse(null);
-            logger.debug("Using vision-enhanced healing with Anthropic model: {}", config.getModel());
-        } else {
-            prompt = promptBuilder.buildHealingPrompt(failure, snapshot, intent);
-            logger.debug("Using text-only healing with Anthropic model: {}", config.getModel());
+        HealCall call;
+        try {
+            call = prepareHeal(failure, snapshot, intent, config, requireApiKey(config));
+        } catch (LlmException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        return executeAsync(call.request(), config, call.handler());
+    }
 
-        String response = callApi(prompt, screenshotBase64, config, apiKey);
-        return responseParser.parseHealDecision(response, getProviderName(), config.getModel());
+    @Override
+    public List<HealDecision> evaluateBatch(List<HealTarget> targets, UiSnapshot snapshot, LlmConfig config) {
+        String apiKey = requireApiKey(config);
+        String prompt = promptBuilder.buildBatchHealingPrompt(targets, snapshot, config);
+        String response = callApi(prompt, config, apiKey);
+        return responseParser.parseBatchDecisions(response, targets.size(), getProviderName(), config.getModel());
     }
 
     @Override
@@ -77,6 +100,24 @@ public class AnthropicProvider implements LlmProvider {
         return responseParser.parseOutcomeResult(response, getProviderName(), config.getModel());
     }
 
+    @Override
+    public CompletableFuture<OutcomeResult> validateOutcomeAsync(
+            String expectedOutcome,
+            UiSnapshot before,
+            UiSnapshot after,
+            LlmConfig config) {
+
+        Request request;
+        try {
+            String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
+            request = buildRequest(buildRequestBody(prompt, null, config), config, getApiKey(config));
+        } catch (LlmException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return executeAsync(request, config, response -> responseParser.parseOutcomeResult(
+                extractContentFromResponse(response.body().string()), getProviderName(), config.getModel()));
+    }
+
     @Override
     public String getProviderName() {
         return "anthropic";
@@ -106,10 +147,104 @@ public class AnthropicProvider implements LlmProvider {
         return callApi(prompt, null, config, apiKey);
     }
 
-    private String callApi(String prompt, String screenshotBase64, LlmConfig config, String apiKey) {
-        String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
-        String url = baseUrl + "/messages";
+    private String callApi(String prompt, PreparedScreenshot screenshot, LlmConfig config, String apiKey) {
+        Request request = buildRequest(buildRequestBody(prompt, screenshot, config), config, apiKey);
+        return execute(request, config, response -> extractContentFromResponse(response.body().string()));
+    }
+
+    /**
+     * Build the request for a heal decision and the handler that reads the decision from its
+     * response, streaming it when {@code llm.streaming} is enabled.
+     */
+    private HealCall prepareHeal(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                 LlmConfig config, String apiKey) {
+        // Build prompt - use vision-enhanced prompt if vision is enabled
+        ObjectNode requestBody;
+
+        if (config.isVisionEnabled() && isVisionModel(config.getModel()) && snapshot.getScreenshotBase64().isPresent()) {
+            String prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent, config.getVision());
+            PreparedScreenshot screenshot = screenshotPreprocessor.prepare(snapshot.getScreenshotBase64().get(),
+                    promptBuilder.getVisionPromptElements(snapshot), snapshot.getViewport().orElse(null),
+                    config.getVision());
+            logger.debug("Prepared screenshot: {}", screenshot);
+            logger.debug("Using vision-enhanced healing with Anthropic model: {}", config.getModel());
+            requestBody = buildRequestBody(prompt, screenshot, config);
+        } else {
+            logger.debug("Using text-only healing with Anthropic model: {}", config.getModel());
+            requestBody = buildRequestBody(promptBuilder.buildHealingPromptParts(failure, snapshot, intent, config), config);
+        }
+
+        if (config.isStreaming()) {
+            requestBody.put("stream", true);
+            return new HealCall(buildRequest(requestBody, config, apiKey), response -> streamDecision(response, config));
+        }
+        return new HealCall(buildRequest(requestBody, config, apiKey), response -> responseParser.parseHealDecision(
+                extractContentFromResponse(response.body().string()), getProviderName(), config.getModel()));
+    }
+
+    /**
+     * Read the streamed completion and stop once the decision is known.
+     */
+    private HealDecision streamDecision(Response response, LlmConfig config) throws IOException {
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+        if (CompletionStream.consume(response.body().charStream(), CompletionStream.Format.SSE,
+                event -> streamedText(event, config), parser)) {
+            logger.debug("Anthropic decision resolved before the stream ended, closing it");
+        }
+        return parser.finish(responseParser, getProviderName(), config.getModel());
+    }
+
+    /**
+     * Text delta carried by a streamed event, or an empty string for other event types.
+     */
+    private String streamedText(JsonNode event, LlmConfig config) {
+        String type = event.path("type").asText();
+        if ("error".equals(type)) {
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage(
+                    "Anthropic stream error: " + event.path("error").path("message").asText()),
+                    getProviderName(), config.getModel());
+        }
+        if ("message_start".equals(type)) {
+            logUsage(event.path("message").path("usage"));
+        }
+        if ("content_block_delta".equals(type)) {
+            return event.path("delta").path("text").asText("");
+        }
+        return "";
+    }
 
+    /**
+     * Request body for a text-only heal. With {@code llm.prompt_cache} enabled the instructions
+     * are sent as the system prompt and the page as its own content block, each marked as a
+     * cache breakpoint, followed by the failure details.
+     */
+    private ObjectNode buildRequestBody(PromptParts prompt, LlmConfig config) {
+        if (!config.getPromptCache().isEnabled()) {
+            return buildRequestBody(prompt.full(), null, config);
+        }
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.put("model", config.getModel());
+        requestBody.put("max_tokens", config.getMaxTokensPerRequest());
+        addCachedText(requestBody.putArray("system"), prompt.instructions());
+
+        ObjectNode userMessage = requestBody.putArray("messages").addObject();
+        userMessage.put("role", "user");
+        ArrayNode content = userMessage.putArray("content");
+        addCachedText(content, prompt.page());
+        ObjectNode failureContent = content.addObject();
+        failureContent.put("type", "text");
+        failureContent.put("text", prompt.failure());
+        return requestBody;
+    }
+
+    private static void addCachedText(ArrayNode blocks, String text) {
+        ObjectNode block = blocks.addObject();
+        block.put("type", "text");
+        block.put("text", text);
+        block.putObject("cache_control").put("type", "ephemeral");
+    }
+
+    private ObjectNode buildRequestBody(String prompt, PreparedScreenshot screenshot, LlmConfig config) {
         ObjectNode requestBody = objectMapper.createObjectNode();
         requestBody.put("model", config.getModel());
         requestBody.put("max_tokens", config.getMaxTokensPerRequest());
@@ -119,8 +254,8 @@ public class AnthropicProvider implements LlmProvider {
         userMessage.put("role", "user");
 
         // Check if we should use vision (multimodal) format
-        boolean useVision = screenshotBase64 != null &&
-                           !screenshotBase64.isEmpty() &&
+        boolean useVision = screenshot != null &&
+                           !screenshot.base64().isEmpty() &&
                            config.isVisionEnabled() &&
                            isVisionModel(config.getModel());
 
@@ -133,8 +268,8 @@ public class AnthropicProvider implements LlmProvider {
             imageContent.put("type", "image");
             ObjectNode source = imageContent.putObject("source");
             source.put("type", "base64");
-            source.put("media_type", "image/png");
-            source.put("data", screenshotBase64);
+            source.put("media_type", screenshot.mediaType());
+            source.put("data", screenshot.base64());
 
             // Add text content
             ObjectNode textContent = contentArray.addObject();
@@ -146,15 +281,25 @@ public class AnthropicProvider implements LlmProvider {
             // Standard text-only message
             userMessage.put("content", prompt);
         }
+        return requestBody;
+    }
 
-        Request request = new Request.Builder()
-                .url(url)
+    private Request buildRequest(ObjectNode requestBody, LlmConfig config, String apiKey) {
+        String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
+        return new Request.Builder()
+                .url(baseUrl + "/messages")
                 .addHeader("x-api-key", apiKey)
                 .addHeader("anthropic-version", API_VERSION)
                 .addHeader("Content-Type", "application/json")
                 .post(RequestBody.create(requestBody.toString(), JSON))
                 .build();
+    }
 
+    /**
+     * Send the request, retrying server errors and I/O failures, and hand the successful
+     * response to the handler. The response is closed when the handler returns.
+     */
+    private <T> T execute(Request request, LlmConfig config, ResponseHandler<T> handler) {
         int retries = 0;
         int maxRetries = config.getMaxRetries();
         Exception lastException = null;
@@ -165,19 +310,7 @@ public class AnthropicProvider implements LlmProvider {
         while (retries <= maxRetries) {
             try {
                 try (Response response = client.newCall(request).execute()) {
-                    if (!response.isSuccessful()) {
-                        String errorBody = response.body() != null ? response.body().string() : "unknown";
-                        int statusCode = response.code();
-                        // Retry on server errors (5xx), throw immediately on client errors (4xx)
-                        if (statusCode >= 500) {
-                            throw new IOException("Server error: " + statusCode + " - " + errorBody);
-                        }
-                        throw new LlmException(SecurityUtils.sanitizeErrorMessage("Anthropic API error: " + statusCode + " - " + errorBody),
-                                getProviderName(), config.getModel());
-                    }
-
-                    String responseBody = response.body().string();
-                    return extractContentFromResponse(responseBody);
+                    return handler.handle(checkResponse(response, config));
                 }
             } catch (IOException e) {
                 lastException = e;
@@ -197,14 +330,86 @@ public class AnthropicProvider implements LlmProvider {
         throw LlmException.unavailable(getProviderName(), config.getModel(), lastException);
     }
 
+    /**
+     * Send the request without blocking, retrying server errors and I/O failures after a
+     * scheduled backoff, and hand the successful response to the handler.
+     */
+    private <T> CompletableFuture<T> executeAsync(Request request, LlmConfig config, ResponseHandler<T> handler) {
+        OkHttpClient client = HttpClientFactory.getClientWithReadTimeout(config.getTimeoutSeconds());
+        int maxRetries = config.getMaxRetries();
+
+        CompletableFuture<T> sent = AsyncCalls.retry(
+                attempt -> AsyncCalls.enqueue(client, request, response -> handler.handle(checkResponse(response, config))),
+                (attempt, error) -> {
+                    int retries = attempt + 1;
+                    if (!(error instanceof IOException) || retries > maxRetries) {
+                        return null;
+                    }
+                    logger.warn("Anthropic request failed, retrying ({}/{}): {}", retries, maxRetries, SecurityUtils.sanitizeErrorMessage(error.getMessage()));
+                    return Duration.ofSeconds(retries);
+                });
+        return AsyncCalls.linked(sent, sent.exceptionallyCompose(error -> {
+            Throwable cause = AsyncCalls.unwrap(error);
+            return CompletableFuture.failedFuture(cause instanceof IOException
+                    ? LlmException.unavailable(getProviderName(), config.getModel(), cause)
+                    : cause);
+        }));
+    }
+
+    /**
+     * Throw for an error response: an IOException for server errors, which are retried,
+     * otherwise an LlmException.
+     */
+    private Response checkResponse(Response response, LlmConfig config) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "unknown";
+            int statusCode = response.code();
+            // Retry on server errors (5xx), throw immediately on client errors (4xx)
+            if (statusCode >= 500) {
+                throw new IOException("Server error: " + statusCode + " - " + errorBody);
+            }
+            if (statusCode == 429) {
+                throw LlmException.rateLimited(getProviderName(), config.getModel(),
+                        SecurityUtils.sanitizeErrorMessage("Anthropic API error: " + statusCode + " - " + errorBody),
+                        RetryAfter.parseSeconds(response.header("Retry-After")));
+            }
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Anthropic API error: " + statusCode + " - " + errorBody),
+                    getProviderName(), config.getModel());
+        }
+        return response;
+    }
+
     private String extractContentFromResponse(String responseBody) {
+        LlmResponse response = parseResponse(responseBody);
+        logger.debug("Anthropic usage: {} prompt tokens ({} from cache, {} written to cache), {} completion tokens",
+                response.getPromptTokens(), response.getCacheReadTokens(), response.getCacheWriteTokens(),
+                response.getCompletionTokens());
+        return response.getContent().orElseThrow();
+    }
+
+    /**
+     * Read the text and token usage of a Messages API response. Anthropic counts cached
+     * prompt tokens separately from {@code input_tokens}; they are added to the prompt tokens.
+     */
+    LlmResponse parseResponse(String responseBody) {
         try {
             JsonNode json = objectMapper.readTree(responseBody);
             JsonNode content = json.get("content");
             if (content != null && content.isArray() && content.size() > 0) {
                 JsonNode firstContent = content.get(0);
                 if (firstContent.has("text")) {
-                    return firstContent.get("text").asText();
+                    JsonNode usage = json.path("usage");
+                    int cacheRead = usage.path("cache_read_input_tokens").asInt();
+                    int cacheWrite = usage.path("cache_creation_input_tokens").asInt();
+                    return LlmResponse.builder()
+                            .success(true)
+                            .content(firstContent.get("text").asText())
+                            .promptTokens(usage.path("input_tokens").asInt() + cacheRead + cacheWrite)
+                            .completionTokens(usage.path("output_tokens").asInt())
+                            .cacheReadTokens(cacheRead)
+                            .cacheWriteTokens(cacheWrite)
+                            .model(json.path("model").asText(null))
+                            .build();
                 }
             }
             throw new LlmException("Invalid Anthropic response structure",
@@ -215,6 +420,34 @@ public class AnthropicProvider implements LlmProvider {
         }
     }
 
+    /**
+     * Log the prompt cache usage reported at the start of a streamed response.
+     */
+    private void logUsage(JsonNode usage) {
+        if (!usage.isMissingNode()) {
+            logger.debug("Anthropic prompt cache: {} tokens read, {} written",
+                    usage.path("cache_read_input_tokens").asInt(), usage.path("cache_creation_input_tokens").asInt());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    private record HealCall(Request request, ResponseHandler<HealDecision> handler) {
+    }
+
+    private String requireApiKey(LlmConfig config) {
+        String apiKey = getApiKey(config);
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new LlmException(
+                "Anthropic API key not configured. Set ANTHROPIC_API_KEY environment variable or 'api_key_env' in healer-config.yml.",
+                getProviderName(), config.getModel());
+        }
+        return apiKey;
+    }
+
     private String getApiKey(LlmConfig config) {
         // Try config-specified env var, fall back to ANTHROPIC_API_KEY
         String envVar = "ANTHROPIC_API_KEY";
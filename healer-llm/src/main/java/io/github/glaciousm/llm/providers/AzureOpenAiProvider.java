@@ -10,6 +10,11 @@ import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.prompt.PromptParts;
+import io.github.glaciousm.llm.streaming.CompletionStream;
+import io.github.glaciousm.llm.streaming.StreamingDecisionParser;
+import io.github.glaciousm.llm.util.AsyncCalls;
+import io.github.glaciousm.llm.util.RetryAfter;
 import io.github.glaciousm.llm.util.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,10 +25,24 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * LLM provider implementation for Azure OpenAI Service.
  * Uses Azure-specific endpoints and authentication.
+ *
+ * <p>With {@code llm.streaming} enabled, heal decisions are requested as a server-sent event
+ * stream and the connection is closed as soon as the decision fields have arrived.</p>
+ *
+ * <p>The async variants send with {@link HttpClient#sendAsync}; streamed decisions, which read
+ * the body line by line, are read on a virtual thread.</p>
+ *
+ * <p>With {@code llm.prompt_cache} enabled, the heal instructions are sent in the system
+ * message ahead of the page and failure, so Azure OpenAI's automatic prompt caching can reuse
+ * the shared prefix.</p>
  */
 public class AzureOpenAiProvider implements LlmProvider {
 
@@ -79,14 +98,18 @@ public class AzureOpenAiProvider implements LlmProvider {
         long startTime = System.currentTimeMillis();
 
         try {
-            String prompt = promptBuilder.buildEvaluationPrompt(failure, snapshot, intent);
-            String systemPrompt = promptBuilder.buildSystemPrompt();
+            HealMessages messages = buildHealMessages(failure, snapshot, intent, config);
 
-            AzureResponse response = callAzure(systemPrompt, prompt, config);
+            if (config != null && config.isStreaming()) {
+                return streamDecision(messages.system(), messages.user(), config);
+            }
+
+            AzureResponse response = callAzure(messages.system(), messages.user(), config);
 
             HealDecision decision = responseParser.parseHealDecision(response.content);
-            logger.debug("Azure OpenAI response: latency={}ms, tokens={}/{}",
-                    System.currentTimeMillis() - startTime, response.promptTokens, response.completionTokens);
+            logger.debug("Azure OpenAI response: latency={}ms, tokens={}/{} ({} from cache)",
+                    System.currentTimeMillis() - startTime, response.promptTokens, response.completionTokens,
+                    response.cachedTokens);
 
             return decision;
 
@@ -98,6 +121,46 @@ public class AzureOpenAiProvider implements LlmProvider {
         }
     }
 
+    @Override
+    public CompletableFuture<HealDecision> evaluateCandidatesAsync(
+            FailureContext failure,
+            UiSnapshot snapshot,
+            IntentContract intent,
+            LlmConfig config) {
+
+        if (config != null && config.isStreaming()) {
+            return AsyncCalls.blocking(() -> evaluateCandidates(failure, snapshot, intent, config));
+        }
+
+        long startTime = System.currentTimeMillis();
+        HealMessages messages = buildHealMessages(failure, snapshot, intent, config);
+        CompletableFuture<AzureResponse> call = callAzureAsync(messages.system(), messages.user(), config);
+        return AsyncCalls.linked(call, call.thenApply(response -> {
+            logger.debug("Azure OpenAI response: latency={}ms, tokens={}/{} ({} from cache)",
+                    System.currentTimeMillis() - startTime, response.promptTokens, response.completionTokens,
+                    response.cachedTokens);
+            return responseParser.parseHealDecision(response.content);
+        }));
+    }
+
+    @Override
+    public List<HealDecision> evaluateBatch(List<HealTarget> targets, UiSnapshot snapshot, LlmConfig config) {
+        try {
+            String prompt = promptBuilder.buildBatchHealingPrompt(targets, snapshot, config);
+            AzureResponse response = callAzure(promptBuilder.buildSystemPrompt(), prompt, config);
+            logger.debug("Azure OpenAI batch of {}: tokens={}/{}",
+                    targets.size(), response.promptTokens, response.completionTokens);
+            return responseParser.parseBatchDecisions(response.content, targets.size(), getProviderName(),
+                    config != null ? config.getModel() : "unknown");
+
+        } catch (IOException e) {
+            throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw LlmException.connectionError(getProviderName(), "Request interrupted");
+        }
+    }
+
     @Override
     public OutcomeResult validateOutcome(
             String expectedOutcome,
@@ -121,9 +184,157 @@ public class AzureOpenAiProvider implements LlmProvider {
         }
     }
 
+    @Override
+    public CompletableFuture<OutcomeResult> validateOutcomeAsync(
+            String expectedOutcome,
+            UiSnapshot before,
+            UiSnapshot after,
+            LlmConfig config) {
+
+        String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
+        String systemPrompt = "You are a test outcome validator. Determine if the expected outcome was achieved.";
+
+        CompletableFuture<AzureResponse> call = callAzureAsync(systemPrompt, prompt, config);
+        return AsyncCalls.linked(call, call.thenApply(response -> responseParser.parseOutcomeResult(response.content)));
+    }
+
+    /**
+     * System and user message of a heal request. With {@code llm.prompt_cache} enabled the
+     * instructions move into the system message, so every heal request starts the same way.
+     */
+    private HealMessages buildHealMessages(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                           LlmConfig config) {
+        PromptParts prompt = promptBuilder.buildHealingPromptParts(failure, snapshot, intent, config);
+        String systemPrompt = promptBuilder.buildSystemPrompt();
+        if (config == null || !config.getPromptCache().isEnabled()) {
+            return new HealMessages(systemPrompt, prompt.full());
+        }
+        return new HealMessages(systemPrompt + "\n\n" + prompt.instructions(), prompt.suffix());
+    }
+
     private AzureResponse callAzure(String systemPrompt, String userPrompt, LlmConfig config)
             throws IOException, InterruptedException {
 
+        HttpRequest request = buildRequest(systemPrompt, userPrompt, config, false);
+        HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return toAzureResponse(httpResponse, getDeployment(config));
+    }
+
+    /**
+     * Send the request without blocking. The future fails with an {@link LlmException}.
+     */
+    private CompletableFuture<AzureResponse> callAzureAsync(String systemPrompt, String userPrompt, LlmConfig config) {
+        String deployment = getDeployment(config);
+        CompletableFuture<HttpResponse<String>> sent;
+        try {
+            HttpRequest request = buildRequest(systemPrompt, userPrompt, config, false);
+            sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException | LlmException e) {
+            return CompletableFuture.failedFuture(toLlmException(e));
+        }
+        return AsyncCalls.linked(sent, sent.handle((httpResponse, error) -> {
+            if (error != null) {
+                throw toLlmException(AsyncCalls.unwrap(error));
+            }
+            try {
+                return toAzureResponse(httpResponse, deployment);
+            } catch (IOException e) {
+                throw toLlmException(e);
+            }
+        }));
+    }
+
+    private LlmException toLlmException(Throwable error) {
+        if (error instanceof LlmException llmException) {
+            return llmException;
+        }
+        return LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(error.getMessage()));
+    }
+
+    private AzureResponse toAzureResponse(HttpResponse<String> httpResponse, String deployment) throws IOException {
+        if (httpResponse.statusCode() != 200) {
+            logger.error("Azure OpenAI API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
+            throwIfRateLimited(httpResponse, deployment);
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Azure OpenAI API error: " + httpResponse.statusCode()),
+                    getProviderName(), deployment);
+        }
+
+        JsonNode responseJson = objectMapper.readTree(httpResponse.body());
+
+        AzureResponse response = new AzureResponse();
+
+        // Extract content
+        JsonNode choices = responseJson.get("choices");
+        if (choices != null && choices.isArray() && !choices.isEmpty()) {
+            JsonNode message = choices.get(0).get("message");
+            if (message != null) {
+                response.content = message.get("content").asText();
+            }
+        }
+
+        // Extract usage
+        JsonNode usage = responseJson.get("usage");
+        if (usage != null) {
+            response.promptTokens = usage.has("prompt_tokens") ? usage.get("prompt_tokens").asInt() : 0;
+            response.completionTokens = usage.has("completion_tokens") ? usage.get("completion_tokens").asInt() : 0;
+            response.cachedTokens = usage.path("prompt_tokens_details").path("cached_tokens").asInt();
+        }
+
+        return response;
+    }
+
+    /**
+     * Stream the completion and stop reading once the decision is known.
+     * Closing the line stream early cancels the rest of the response.
+     */
+    private HealDecision streamDecision(String systemPrompt, String userPrompt, LlmConfig config)
+            throws IOException, InterruptedException {
+
+        String deployment = getDeployment(config);
+        HttpRequest request = buildRequest(systemPrompt, userPrompt, config, true);
+        HttpResponse<Stream<String>> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+
+        try (Stream<String> lines = httpResponse.body()) {
+            if (httpResponse.statusCode() != 200) {
+                String body = lines.collect(Collectors.joining("\n"));
+                logger.error("Azure OpenAI API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(body));
+                throwIfRateLimited(httpResponse, deployment);
+                throw new LlmException(SecurityUtils.sanitizeErrorMessage("Azure OpenAI API error: " + httpResponse.statusCode()),
+                        getProviderName(), deployment);
+            }
+
+            StreamingDecisionParser parser = new StreamingDecisionParser();
+            if (CompletionStream.consume(lines.iterator(), CompletionStream.Format.SSE,
+                    chunk -> streamedText(chunk, deployment), parser)) {
+                logger.debug("Azure OpenAI decision resolved before the stream ended, closing it");
+            }
+            return parser.finish(responseParser, getProviderName(), deployment);
+        }
+    }
+
+    /**
+     * Text delta carried by a streamed chunk.
+     */
+    private String streamedText(JsonNode chunk, String deployment) {
+        if (chunk.has("error")) {
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage(
+                    "Azure OpenAI stream error: " + chunk.path("error").path("message").asText()),
+                    getProviderName(), deployment);
+        }
+        return chunk.path("choices").path(0).path("delta").path("content").asText("");
+    }
+
+    private void throwIfRateLimited(HttpResponse<?> httpResponse, String deployment) {
+        if (httpResponse.statusCode() == 429) {
+            throw LlmException.rateLimited(getProviderName(), deployment,
+                    "Azure OpenAI API error: " + httpResponse.statusCode(),
+                    RetryAfter.parseSeconds(httpResponse.headers().firstValue("Retry-After").orElse(null)));
+        }
+    }
+
+    private HttpRequest buildRequest(String systemPrompt, String userPrompt, LlmConfig config, boolean stream)
+            throws IOException {
+
         String endpoint = getEndpoint(config);
         String apiKey = getApiKey(config);
         String deployment = getDeployment(config);
@@ -164,49 +375,22 @@ public class AzureOpenAiProvider implements LlmProvider {
         if (config != null && config.getMaxTokensPerRequest() > 0) {
             requestBody.put("max_tokens", config.getMaxTokensPerRequest());
         }
+        if (stream) {
+            requestBody.put("stream", true);
+        }
 
         String requestJson = objectMapper.writeValueAsString(requestBody);
         int timeoutSeconds = config != null && config.getTimeoutSeconds() > 0 ? config.getTimeoutSeconds() : 30;
 
         logger.debug("Azure OpenAI request to deployment: {}", deployment);
 
-        HttpRequest request = HttpRequest.newBuilder()
+        return HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .header("Content-Type", "application/json")
                 .header("api-key", apiKey)
                 .timeout(Duration.ofSeconds(timeoutSeconds))
                 .POST(HttpRequest.BodyPublishers.ofString(requestJson))
                 .build();
-
-        HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (httpResponse.statusCode() != 200) {
-            logger.error("Azure OpenAI API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
-            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Azure OpenAI API error: " + httpResponse.statusCode()),
-                    getProviderName(), deployment);
-        }
-
-        JsonNode responseJson = objectMapper.readTree(httpResponse.body());
-
-        AzureResponse response = new AzureResponse();
-
-        // Extract content
-        JsonNode choices = responseJson.get("choices");
-        if (choices != null && choices.isArray() && !choices.isEmpty()) {
-            JsonNode message = choices.get(0).get("message");
-            if (message != null) {
-                response.content = message.get("content").asText();
-            }
-        }
-
-        // Extract usage
-        JsonNode usage = responseJson.get("usage");
-        if (usage != null) {
-            response.promptTokens = usage.has("prompt_tokens") ? usage.get("prompt_tokens").asInt() : 0;
-            response.completionTokens = usage.has("completion_tokens") ? usage.get("completion_tokens").asInt() : 0;
-        }
-
-        return response;
     }
 
     private String getEndpoint(LlmConfig config) {
@@ -275,5 +459,9 @@ public class AzureOpenAiProvider implements LlmProvider {
         String content;
         int promptTokens;
         int completionTokens;
+        int cachedTokens;
+    }
+
+    private record HealMessages(String system, String user) {
     }
 }
@@ -10,6 +10,8 @@ import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.util.AsyncCalls;
+import io.github.glaciousm.llm.util.RetryAfter;
 import io.github.glaciousm.llm.util.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,10 +30,14 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * LLM provider implementation for AWS Bedrock.
  * Supports Claude and other models through AWS Bedrock service.
+ *
+ * <p>The async variants send the signed request with {@link HttpClient#sendAsync}.</p>
  */
 public class BedrockProvider implements LlmProvider {
 
@@ -78,7 +84,7 @@ public class BedrockProvider implements LlmProvider {
         long startTime = System.currentTimeMillis();
 
         try {
-            String prompt = promptBuilder.buildEvaluationPrompt(failure, snapshot, intent);
+            String prompt = promptBuilder.buildEvaluationPrompt(failure, snapshot, intent, config);
             String systemPrompt = promptBuilder.buildSystemPrompt();
 
             BedrockResponse response = invokeModel(systemPrompt, prompt, config);
@@ -89,6 +95,42 @@ public class BedrockProvider implements LlmProvider {
 
             return decision;
 
+        } catch (LlmException e) {
+            throw e;
+        } catch (Exception e) {
+            throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
+        }
+    }
+
+    @Override
+    public CompletableFuture<HealDecision> evaluateCandidatesAsync(
+            FailureContext failure,
+            UiSnapshot snapshot,
+            IntentContract intent,
+            LlmConfig config) {
+
+        long startTime = System.currentTimeMillis();
+        String prompt = promptBuilder.buildEvaluationPrompt(failure, snapshot, intent, config);
+
+        CompletableFuture<BedrockResponse> call = invokeModelAsync(promptBuilder.buildSystemPrompt(), prompt, config);
+        return AsyncCalls.linked(call, call.thenApply(response -> {
+            logger.debug("Bedrock response: latency={}ms, tokens={}/{}",
+                    System.currentTimeMillis() - startTime, response.inputTokens, response.outputTokens);
+            return responseParser.parseHealDecision(response.content);
+        }));
+    }
+
+    @Override
+    public List<HealDecision> evaluateBatch(List<HealTarget> targets, UiSnapshot snapshot, LlmConfig config) {
+        try {
+            String prompt = promptBuilder.buildBatchHealingPrompt(targets, snapshot, config);
+            BedrockResponse response = invokeModel(promptBuilder.buildSystemPrompt(), prompt, config);
+            logger.debug("Bedrock batch of {}: tokens={}/{}", targets.size(), response.inputTokens, response.outputTokens);
+            return responseParser.parseBatchDecisions(response.content, targets.size(), getProviderName(),
+                    config.getModel());
+
+        } catch (LlmException e) {
+            throw e;
         } catch (Exception e) {
             throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
         }
@@ -114,9 +156,65 @@ public class BedrockProvider implements LlmProvider {
         }
     }
 
+    @Override
+    public CompletableFuture<OutcomeResult> validateOutcomeAsync(
+            String expectedOutcome,
+            UiSnapshot before,
+            UiSnapshot after,
+            LlmConfig config) {
+
+        String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
+        String systemPrompt = "You are a test outcome validator. Determine if the expected outcome was achieved.";
+
+        CompletableFuture<BedrockResponse> call = invokeModelAsync(systemPrompt, prompt, config);
+        return AsyncCalls.linked(call, call.thenApply(response -> responseParser.parseOutcomeResult(response.content)));
+    }
+
     private BedrockResponse invokeModel(String systemPrompt, String userPrompt, LlmConfig config)
             throws IOException, InterruptedException {
 
+        HttpRequest request = buildInvokeRequest(systemPrompt, userPrompt, config);
+        HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return toBedrockResponse(httpResponse, getModel(config));
+    }
+
+    /**
+     * Send the request without blocking. The future fails with an {@link LlmException}.
+     */
+    private CompletableFuture<BedrockResponse> invokeModelAsync(String systemPrompt, String userPrompt, LlmConfig config) {
+        String modelId = getModel(config);
+        CompletableFuture<HttpResponse<String>> sent;
+        try {
+            HttpRequest request = buildInvokeRequest(systemPrompt, userPrompt, config);
+            sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(toLlmException(e));
+        }
+        return AsyncCalls.linked(sent, sent.handle((httpResponse, error) -> {
+            if (error != null) {
+                throw toLlmException(AsyncCalls.unwrap(error));
+            }
+            try {
+                return toBedrockResponse(httpResponse, modelId);
+            } catch (Exception e) {
+                throw toLlmException(e);
+            }
+        }));
+    }
+
+    private LlmException toLlmException(Throwable error) {
+        if (error instanceof LlmException llmException) {
+            return llmException;
+        }
+        return LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(error.getMessage()));
+    }
+
+    /**
+     * Build the request for the configured model, signed with AWS Signature V4.
+     */
+    private HttpRequest buildInvokeRequest(String systemPrompt, String userPrompt, LlmConfig config)
+            throws IOException {
+
         String region = getRegion(config);
         String modelId = getModel(config);
 
@@ -191,11 +289,17 @@ public class BedrockProvider implements LlmProvider {
             requestBuilder.header("X-Amz-Security-Token", sessionToken);
         }
 
-        HttpRequest request = requestBuilder.build();
-        HttpResponse<String> httpResponse = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return requestBuilder.build();
+    }
 
+    private BedrockResponse toBedrockResponse(HttpResponse<String> httpResponse, String modelId) throws IOException {
         if (httpResponse.statusCode() != 200) {
             logger.error("Bedrock API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
+            if (httpResponse.statusCode() == 429) {
+                throw LlmException.rateLimited(getProviderName(), modelId,
+                        "Bedrock API error: " + httpResponse.statusCode(),
+                        RetryAfter.parseSeconds(httpResponse.headers().firstValue("Retry-After").orElse(null)));
+            }
             throw new LlmException(SecurityUtils.sanitizeErrorMessage("Bedrock API error: " + httpResponse.statusCode()),
                     getProviderName(), modelId);
         }
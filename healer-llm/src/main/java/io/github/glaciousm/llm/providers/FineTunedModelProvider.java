@@ -127,7 +127,7 @@ public class FineTunedModelProvider implements LlmProvider {
         PromptBuilder promptBuilder = new PromptBuilder();
 
         // Build a healing prompt
-        String prompt = promptBuilder.buildHealingPrompt(failure, snapshot, intent);
+        String prompt = promptBuilder.buildHealingPrompt(failure, snapshot, intent, config);
 
         // Create an LlmRequest with the prompt
         LlmRequest request = LlmRequest.builder()
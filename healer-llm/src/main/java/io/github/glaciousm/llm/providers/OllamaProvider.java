@@ -1,6 +1,7 @@
 package io.github.glaciousm.llm.providers;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,7 +11,13 @@ import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.prompt.PromptParts;
+import io.github.glaciousm.llm.streaming.CompletionStream;
+import io.github.glaciousm.llm.streaming.StreamingDecisionParser;
+import io.github.glaciousm.llm.util.AsyncCalls;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import io.github.glaciousm.llm.vision.PreparedScreenshot;
+import io.github.glaciousm.llm.vision.ScreenshotPreprocessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,10 +29,23 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * LLM provider implementation for Ollama (local models).
  * Supports running models locally without API keys.
+ *
+ * <p>With {@code llm.streaming} enabled, heal decisions are read from Ollama's line-delimited
+ * stream and the connection is closed as soon as the decision fields have arrived.</p>
+ *
+ * <p>The async variants send with {@link HttpClient#sendAsync}; streamed decisions, which read
+ * the body line by line, are read on a virtual thread.</p>
+ *
+ * <p>With {@code llm.prompt_cache} enabled, the heal instructions are sent in the system
+ * prompt ahead of the page and failure, and {@code keep_alive} keeps the model loaded between
+ * requests, so Ollama can reuse the already processed start of the prompt.</p>
  */
 public class OllamaProvider implements LlmProvider {
 
@@ -45,6 +65,7 @@ public class OllamaProvider implements LlmProvider {
     private final ObjectMapper objectMapper;
     private final PromptBuilder promptBuilder;
     private final ResponseParser responseParser;
+    private final ScreenshotPreprocessor screenshotPreprocessor;
 
     public OllamaProvider() {
         this.httpClient = HttpClient.newBuilder()
@@ -53,6 +74,7 @@ public class OllamaProvider implements LlmProvider {
         this.objectMapper = new ObjectMapper();
         this.promptBuilder = new PromptBuilder();
         this.responseParser = new ResponseParser();
+        this.screenshotPreprocessor = new ScreenshotPreprocessor();
     }
 
     @Override
@@ -107,31 +129,87 @@ public class OllamaProvider implements LlmProvider {
         String model = getModel(config);
 
         try {
-            // Build prompt - use vision-enhanced prompt if vision is enabled
-            String prompt;
-            String screenshotBase64 = null;
-
-            if (config.isVisionEnabled() && isVisionModel(model) && snapshot.getScreenshotBase64().isPresent()) {
-                prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent);
-                screenshotBase64 = snapshot.getScreenshotBase64().orElse(null);
-                logger.debug("Using vision-enhanced healing with Ollama model: {}", model);
-            } else {
-                prompt = promptBuilder.buildEvaluationPrompt(failure, snapshot, intent);
-            }
+            HealPrompt heal = buildHealPrompt(failure, snapshot, intent, config, model);
 
-            String systemPrompt = promptBuilder.buildSystemPrompt();
+            if (config.isStreaming()) {
+                HealDecision decision = streamDecision(endpoint, model, heal.prompt(), heal.system(), heal.screenshotBase64(), config);
+                logger.debug("Ollama streamed response: latency={}ms", System.currentTimeMillis() - startTime);
+                return decision;
+            }
 
             // Make API call
-            OllamaResponse response = callOllama(endpoint, model, prompt, systemPrompt, screenshotBase64, config);
+            OllamaResponse response = callOllama(endpoint, model, heal.prompt(), heal.system(), heal.screenshotBase64(), config);
+            return toHealDecision(response, startTime);
+
+        } catch (IOException e) {
+            throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw LlmException.connectionError(getProviderName(), "Request interrupted");
+        }
+    }
+
+    @Override
+    public CompletableFuture<HealDecision> evaluateCandidatesAsync(
+            FailureContext failure,
+            UiSnapshot snapshot,
+            IntentContract intent,
+            LlmConfig config) {
+
+        if (config.isStreaming()) {
+            return AsyncCalls.blocking(() -> evaluateCandidates(failure, snapshot, intent, config));
+        }
+
+        long startTime = System.currentTimeMillis();
+        String endpoint = getEndpoint(config);
+        String model = getModel(config);
+        HealPrompt heal = buildHealPrompt(failure, snapshot, intent, config, model);
 
-            // Parse response
-            HealDecision decision = responseParser.parseHealDecision(response.response);
-            int promptTokens = response.promptEvalCount != null ? response.promptEvalCount : 0;
-            int completionTokens = response.evalCount != null ? response.evalCount : 0;
-            logger.debug("Ollama response: latency={}ms, tokens={}/{}",
-                    System.currentTimeMillis() - startTime, promptTokens, completionTokens);
+        CompletableFuture<OllamaResponse> call = callOllamaAsync(
+                endpoint, model, heal.prompt(), heal.system(), heal.screenshotBase64(), config);
+        return AsyncCalls.linked(call, call.thenApply(response -> toHealDecision(response, startTime)));
+    }
 
-            return decision;
+    /**
+     * Build the healing prompt, using the vision-enhanced prompt if vision is enabled. With
+     * {@code llm.prompt_cache} enabled the text prompt's instructions go in the system prompt.
+     */
+    private HealPrompt buildHealPrompt(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                       LlmConfig config, String model) {
+        if (config.isVisionEnabled() && isVisionModel(model) && snapshot.getScreenshotBase64().isPresent()) {
+            String prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent, config.getVision());
+            PreparedScreenshot screenshot = screenshotPreprocessor.prepare(snapshot.getScreenshotBase64().get(),
+                    promptBuilder.getVisionPromptElements(snapshot), snapshot.getViewport().orElse(null),
+                    config.getVision());
+            logger.debug("Prepared screenshot: {}", screenshot);
+            logger.debug("Using vision-enhanced healing with Ollama model: {}", model);
+            return new HealPrompt(promptBuilder.buildSystemPrompt(), prompt, screenshot.base64());
+        }
+        PromptParts prompt = promptBuilder.buildHealingPromptParts(failure, snapshot, intent, config);
+        if (!config.getPromptCache().isEnabled()) {
+            return new HealPrompt(promptBuilder.buildSystemPrompt(), prompt.full(), null);
+        }
+        return new HealPrompt(promptBuilder.buildSystemPrompt() + "\n\n" + prompt.instructions(), prompt.suffix(), null);
+    }
+
+    private HealDecision toHealDecision(OllamaResponse response, long startTime) {
+        HealDecision decision = responseParser.parseHealDecision(response.response);
+        int promptTokens = response.promptEvalCount != null ? response.promptEvalCount : 0;
+        int completionTokens = response.evalCount != null ? response.evalCount : 0;
+        logger.debug("Ollama response: latency={}ms, tokens={}/{}",
+                System.currentTimeMillis() - startTime, promptTokens, completionTokens);
+        return decision;
+    }
+
+    @Override
+    public List<HealDecision> evaluateBatch(List<HealTarget> targets, UiSnapshot snapshot, LlmConfig config) {
+        String endpoint = getEndpoint(config);
+        String model = getModel(config);
+
+        try {
+            String prompt = promptBuilder.buildBatchHealingPrompt(targets, snapshot, config);
+            OllamaResponse response = callOllama(endpoint, model, prompt, promptBuilder.buildSystemPrompt(), null, config);
+            return responseParser.parseBatchDecisions(response.response, targets.size(), getProviderName(), model);
 
         } catch (IOException e) {
             throw LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(e.getMessage()));
@@ -167,6 +245,21 @@ public class OllamaProvider implements LlmProvider {
         }
     }
 
+    @Override
+    public CompletableFuture<OutcomeResult> validateOutcomeAsync(
+            String expectedOutcome,
+            UiSnapshot before,
+            UiSnapshot after,
+            LlmConfig config) {
+
+        String model = getModel(config);
+        String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
+        String systemPrompt = "You are a test outcome validator. Determine if the expected outcome was achieved.";
+
+        CompletableFuture<OllamaResponse> call = callOllamaAsync(getEndpoint(config), model, prompt, systemPrompt, null, config);
+        return AsyncCalls.linked(call, call.thenApply(response -> responseParser.parseOutcomeResult(response.response)));
+    }
+
     private OllamaResponse callOllama(
             String endpoint,
             String model,
@@ -175,14 +268,121 @@ public class OllamaProvider implements LlmProvider {
             String screenshotBase64,
             LlmConfig config) throws IOException, InterruptedException {
 
+        HttpRequest httpRequest = buildRequest(endpoint, model, prompt, systemPrompt, screenshotBase64, config, false);
+        HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        return toOllamaResponse(httpResponse, model);
+    }
+
+    /**
+     * Send the request without blocking. The future fails with an {@link LlmException}.
+     */
+    private CompletableFuture<OllamaResponse> callOllamaAsync(
+            String endpoint,
+            String model,
+            String prompt,
+            String systemPrompt,
+            String screenshotBase64,
+            LlmConfig config) {
+
+        CompletableFuture<HttpResponse<String>> sent;
+        try {
+            HttpRequest httpRequest = buildRequest(endpoint, model, prompt, systemPrompt, screenshotBase64, config, false);
+            sent = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(toLlmException(e));
+        }
+        return AsyncCalls.linked(sent, sent.handle((httpResponse, error) -> {
+            if (error != null) {
+                throw toLlmException(AsyncCalls.unwrap(error));
+            }
+            try {
+                return toOllamaResponse(httpResponse, model);
+            } catch (IOException e) {
+                throw toLlmException(e);
+            }
+        }));
+    }
+
+    private LlmException toLlmException(Throwable error) {
+        if (error instanceof LlmException llmException) {
+            return llmException;
+        }
+        return LlmException.connectionError(getProviderName(), SecurityUtils.sanitizeErrorMessage(error.getMessage()));
+    }
+
+    private OllamaResponse toOllamaResponse(HttpResponse<String> httpResponse, String model) throws IOException {
+        if (httpResponse.statusCode() != 200) {
+            logger.error("Ollama API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Ollama API error: " + httpResponse.statusCode()),
+                    getProviderName(), model);
+        }
+
+        return objectMapper.readValue(httpResponse.body(), OllamaResponse.class);
+    }
+
+    /**
+     * Stream the completion and stop reading once the decision is known.
+     * Closing the line stream early cancels the rest of the generation.
+     */
+    private HealDecision streamDecision(
+            String endpoint,
+            String model,
+            String prompt,
+            String systemPrompt,
+            String screenshotBase64,
+            LlmConfig config) throws IOException, InterruptedException {
+
+        HttpRequest httpRequest = buildRequest(endpoint, model, prompt, systemPrompt, screenshotBase64, config, true);
+        HttpResponse<Stream<String>> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofLines());
+
+        try (Stream<String> lines = httpResponse.body()) {
+            if (httpResponse.statusCode() != 200) {
+                String body = lines.collect(Collectors.joining("\n"));
+                logger.error("Ollama API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(body));
+                throw new LlmException(SecurityUtils.sanitizeErrorMessage("Ollama API error: " + httpResponse.statusCode()),
+                        getProviderName(), model);
+            }
+
+            StreamingDecisionParser parser = new StreamingDecisionParser();
+            if (CompletionStream.consume(lines.iterator(), CompletionStream.Format.NDJSON,
+                    chunk -> streamedText(chunk, model), parser)) {
+                logger.debug("Ollama decision resolved before the stream ended, closing it");
+            }
+            return parser.finish(responseParser, getProviderName(), model);
+        }
+    }
+
+    /**
+     * Text delta carried by a streamed chunk.
+     */
+    private String streamedText(JsonNode chunk, String model) {
+        if (chunk.has("error")) {
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage(
+                    "Ollama stream error: " + chunk.path("error").asText()), getProviderName(), model);
+        }
+        return chunk.path("response").asText("");
+    }
+
+    private HttpRequest buildRequest(
+            String endpoint,
+            String model,
+            String prompt,
+            String systemPrompt,
+            String screenshotBase64,
+            LlmConfig config,
+            boolean stream) throws IOException {
+
         OllamaRequest request = new OllamaRequest();
         request.model = model;
         request.prompt = prompt;
         request.system = systemPrompt;
-        request.stream = false;
+        request.stream = stream;
         request.options = new OllamaOptions();
         request.options.temperature = config != null && config.getTemperature() > 0
                 ? config.getTemperature() : 0.1;
+        if (config != null && config.getPromptCache().isEnabled()) {
+            request.keepAlive = config.getPromptCache().getKeepAlive();
+        }
 
         // Add image for vision models
         if (screenshotBase64 != null && !screenshotBase64.isEmpty() && isVisionModel(model)) {
@@ -196,22 +396,12 @@ public class OllamaProvider implements LlmProvider {
 
         logger.debug("Ollama request to {}: model={}", endpoint, model);
 
-        HttpRequest httpRequest = HttpRequest.newBuilder()
+        return HttpRequest.newBuilder()
                 .uri(URI.create(endpoint + "/api/generate"))
                 .header("Content-Type", "application/json")
                 .timeout(Duration.ofSeconds(timeoutSeconds))
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
-
-        HttpResponse<String> httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-
-        if (httpResponse.statusCode() != 200) {
-            logger.error("Ollama API error: {} - {}", httpResponse.statusCode(), SecurityUtils.sanitizeErrorMessage(httpResponse.body()));
-            throw new LlmException(SecurityUtils.sanitizeErrorMessage("Ollama API error: " + httpResponse.statusCode()),
-                    getProviderName(), model);
-        }
-
-        return objectMapper.readValue(httpResponse.body(), OllamaResponse.class);
     }
 
     /**
@@ -294,6 +484,9 @@ public class OllamaProvider implements LlmProvider {
 
     // Request/Response DTOs
 
+    private record HealPrompt(String system, String prompt, String screenshotBase64) {
+    }
+
     private static class OllamaRequest {
         public String model;
         public String prompt;
@@ -301,6 +494,10 @@ public class OllamaProvider implements LlmProvider {
         public boolean stream;
         public OllamaOptions options;
         public List<String> images;  // Base64 encoded images for vision models
+
+        @JsonProperty("keep_alive")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public String keepAlive;
     }
 
     private static class OllamaOptions {
@@ -8,18 +8,36 @@ import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
 import io.github.glaciousm.llm.LlmProvider;
+import io.github.glaciousm.llm.LlmResponse;
 import io.github.glaciousm.llm.PromptBuilder;
 import io.github.glaciousm.llm.ResponseParser;
+import io.github.glaciousm.llm.prompt.PromptParts;
+import io.github.glaciousm.llm.streaming.CompletionStream;
+import io.github.glaciousm.llm.streaming.StreamingDecisionParser;
+import io.github.glaciousm.llm.util.AsyncCalls;
 import io.github.glaciousm.llm.util.HttpClientFactory;
+import io.github.glaciousm.llm.util.RetryAfter;
 import io.github.glaciousm.llm.util.SecurityUtils;
+import io.github.glaciousm.llm.vision.PreparedScreenshot;
+import io.github.glaciousm.llm.vision.ScreenshotPreprocessor;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * OpenAI LLM provider implementation.
+ *
+ * <p>With {@code llm.streaming} enabled, heal decisions are requested as a server-sent event
+ * stream and the connection is closed as soon as the decision fields have arrived.</p>
+ *
+ * <p>With {@code llm.prompt_cache} enabled, text-only heal requests send the instructions as
+ * a system message ahead of the page and failure, so OpenAI's automatic prompt caching can
+ * reuse the shared prefix.</p>
  */
 public class OpenAiProvider implements LlmProvider {
 
@@ -29,6 +47,7 @@ public class OpenAiProvider implements LlmProvider {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final PromptBuilder promptBuilder = new PromptBuilder();
+    private final ScreenshotPreprocessor screenshotPreprocessor = new ScreenshotPreprocessor();
     private final ResponseParser responseParser = new ResponseParser();
 
     @Override
@@ -38,28 +57,32 @@ public class OpenAiProvider implements LlmProvider {
             IntentContract intent,
             LlmConfig config) {
 
-        String apiKey = getApiKey(config);
-        if (apiKey == null || apiKey.isEmpty()) {
-            throw new LlmException(
-                "OpenAI API key not configured. Set OPENAI_API_KEY environment variable or 'api_key_env' in healer-config.yml.",
-                getProviderName(), config.getModel());
-        }
+        HealCall call = prepareHeal(failure, snapshot, intent, config, requireApiKey(config));
+        return execute(call.request(), config, call.handler());
+    }
 
-        // Build prompt - use vision-enhanced prompt if vision is enabled
-        String prompt;
-        String screenshotBase64 = null;
+    @Override
+    public CompletableFuture<HealDecision> evaluateCandidatesAsync(
+            FailureContext failure,
+            UiSnapshot snapshot,
+            IntentContract intent,
+            LlmConfig config) {
 
-        if (config.isVisionEnabled() && isVisionModel(config.getModel()) && snapshot.getScreenshotBase64().isPresent()) {
-            prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent);
-            screenshotBase64 = snapshot.getScreenshotBase64().orElse(null);
-            logger.debug("Using vision-enhanced healing with OpenAI model: {}", config.getModel());
-        } else {
-            prompt = promptBuilder.buildHealingPrompt(failure, snapshot, intent);
-            logger.debug("Using text-only healing with OpenAI model: {}", config.getModel());
+        HealCall call;
+        try {
+            call = prepareHeal(failure, snapshot, intent, config, requireApiKey(config));
+        } catch (LlmException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        return executeAsync(call.request(), config, call.handler());
+    }
 
-        String response = callApi(prompt, screenshotBase64, config, apiKey);
-        return responseParser.parseHealDecision(response, getProviderName(), config.getModel());
+    @Override
+    public List<HealDecision> evaluateBatch(List<HealTarget> targets, UiSnapshot snapshot, LlmConfig config) {
+        String apiKey = requireApiKey(config);
+        String prompt = promptBuilder.buildBatchHealingPrompt(targets, snapshot, config);
+        String response = callApi(prompt, config, apiKey);
+        return responseParser.parseBatchDecisions(response, targets.size(), getProviderName(), config.getModel());
     }
 
     @Override
@@ -76,6 +99,24 @@ public class OpenAiProvider implements LlmProvider {
         return responseParser.parseOutcomeResult(response, getProviderName(), config.getModel());
     }
 
+    @Override
+    public CompletableFuture<OutcomeResult> validateOutcomeAsync(
+            String expectedOutcome,
+            UiSnapshot before,
+            UiSnapshot after,
+            LlmConfig config) {
+
+        Request request;
+        try {
+            String prompt = promptBuilder.buildOutcomeValidationPrompt(expectedOutcome, before, after);
+            request = buildRequest(buildRequestBody(prompt, null, config), config, getApiKey(config));
+        } catch (LlmException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return executeAsync(request, config, response -> responseParser.parseOutcomeResult(
+                extractContentFromResponse(response.body().string()), getProviderName(), config.getModel()));
+    }
+
     @Override
     public String getProviderName() {
         return "openai";
@@ -106,10 +147,89 @@ public class OpenAiProvider implements LlmProvider {
         return callApi(prompt, null, config, apiKey);
     }
 
-    private String callApi(String prompt, String screenshotBase64, LlmConfig config, String apiKey) {
-        String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
-        String url = baseUrl + "/chat/completions";
+    private String callApi(String prompt, PreparedScreenshot screenshot, LlmConfig config, String apiKey) {
+        Request request = buildRequest(buildRequestBody(prompt, screenshot, config), config, apiKey);
+        return execute(request, config, response -> extractContentFromResponse(response.body().string()));
+    }
+
+    /**
+     * Build the request for a heal decision and the handler that reads the decision from its
+     * response, streaming it when {@code llm.streaming} is enabled.
+     */
+    private HealCall prepareHeal(FailureContext failure, UiSnapshot snapshot, IntentContract intent,
+                                 LlmConfig config, String apiKey) {
+        // Build prompt - use vision-enhanced prompt if vision is enabled
+        ObjectNode requestBody;
+
+        if (config.isVisionEnabled() && isVisionModel(config.getModel()) && snapshot.getScreenshotBase64().isPresent()) {
+            String prompt = promptBuilder.buildVisionHealingPrompt(failure, snapshot, intent, config.getVision());
+            PreparedScreenshot screenshot = screenshotPreprocessor.prepare(snapshot.getScreenshotBase64().get(),
+                    promptBuilder.getVisionPromptElements(snapshot), snapshot.getViewport().orElse(null),
+                    config.getVision());
+            logger.debug("Prepared screenshot: {}", screenshot);
+            logger.debug("Using vision-enhanced healing with OpenAI model: {}", config.getModel());
+            requestBody = buildRequestBody(prompt, screenshot, config);
+        } else {
+            logger.debug("Using text-only healing with OpenAI model: {}", config.getModel());
+            requestBody = buildRequestBody(promptBuilder.buildHealingPromptParts(failure, snapshot, intent, config), config);
+        }
+
+        if (config.isStreaming()) {
+            requestBody.put("stream", true);
+            return new HealCall(buildRequest(requestBody, config, apiKey), response -> streamDecision(response, config));
+        }
+        return new HealCall(buildRequest(requestBody, config, apiKey), response -> responseParser.parseHealDecision(
+                extractContentFromResponse(response.body().string()), getProviderName(), config.getModel()));
+    }
+
+    /**
+     * Read the streamed completion and stop once the decision is known.
+     */
+    private HealDecision streamDecision(Response response, LlmConfig config) throws IOException {
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+        if (CompletionStream.consume(response.body().charStream(), CompletionStream.Format.SSE,
+                event -> streamedText(event, config), parser)) {
+            logger.debug("OpenAI decision resolved before the stream ended, closing it");
+        }
+        return parser.finish(responseParser, getProviderName(), config.getModel());
+    }
 
+    /**
+     * Text delta carried by a streamed chunk.
+     */
+    private String streamedText(JsonNode chunk, LlmConfig config) {
+        if (chunk.has("error")) {
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage(
+                    "OpenAI stream error: " + chunk.path("error").path("message").asText()),
+                    getProviderName(), config.getModel());
+        }
+        return chunk.path("choices").path(0).path("delta").path("content").asText("");
+    }
+
+    /**
+     * Request body for a text-only heal. With {@code llm.prompt_cache} enabled the instructions
+     * are sent as a system message, which keeps the start of every heal request identical.
+     */
+    private ObjectNode buildRequestBody(PromptParts prompt, LlmConfig config) {
+        if (!config.getPromptCache().isEnabled()) {
+            return buildRequestBody(prompt.full(), null, config);
+        }
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.put("model", config.getModel());
+        requestBody.put("temperature", config.getTemperature());
+        requestBody.put("max_tokens", config.getMaxTokensPerRequest());
+
+        ArrayNode messages = requestBody.putArray("messages");
+        ObjectNode systemMessage = messages.addObject();
+        systemMessage.put("role", "system");
+        systemMessage.put("content", prompt.instructions());
+        ObjectNode userMessage = messages.addObject();
+        userMessage.put("role", "user");
+        userMessage.put("content", prompt.suffix());
+        return requestBody;
+    }
+
+    private ObjectNode buildRequestBody(String prompt, PreparedScreenshot screenshot, LlmConfig config) {
         ObjectNode requestBody = objectMapper.createObjectNode();
         requestBody.put("model", config.getModel());
         requestBody.put("temperature", config.getTemperature());
@@ -120,8 +240,8 @@ public class OpenAiProvider implements LlmProvider {
         userMessage.put("role", "user");
 
         // Check if we should use vision (multimodal) format
-        boolean useVision = screenshotBase64 != null &&
-                           !screenshotBase64.isEmpty() &&
+        boolean useVision = screenshot != null &&
+                           !screenshot.base64().isEmpty() &&
                            config.isVisionEnabled() &&
                            isVisionModel(config.getModel());
 
@@ -138,7 +258,7 @@ public class OpenAiProvider implements LlmProvider {
             ObjectNode imageContent = contentArray.addObject();
             imageContent.put("type", "image_url");
             ObjectNode imageUrl = imageContent.putObject("image_url");
-            imageUrl.put("url", "data:image/png;base64," + screenshotBase64);
+            imageUrl.put("url", "data:" + screenshot.mediaType() + ";base64," + screenshot.base64());
 
             // Set image detail level based on config
             String detail = config.getVision() != null ? config.getVision().getImageQuality() : "auto";
@@ -149,14 +269,24 @@ public class OpenAiProvider implements LlmProvider {
             // Standard text-only message
             userMessage.put("content", prompt);
         }
+        return requestBody;
+    }
 
-        Request request = new Request.Builder()
-                .url(url)
+    private Request buildRequest(ObjectNode requestBody, LlmConfig config, String apiKey) {
+        String baseUrl = config.getBaseUrl() != null ? config.getBaseUrl() : DEFAULT_BASE_URL;
+        return new Request.Builder()
+                .url(baseUrl + "/chat/completions")
                 .addHeader("Authorization", "Bearer " + apiKey)
                 .addHeader("Content-Type", "application/json")
                 .post(RequestBody.create(requestBody.toString(), JSON))
                 .build();
+    }
 
+    /**
+     * Send the request, retrying server errors and I/O failures, and hand the successful
+     * response to the handler. The response is closed when the handler returns.
+     */
+    private <T> T execute(Request request, LlmConfig config, ResponseHandler<T> handler) {
         int retries = 0;
         int maxRetries = config.getMaxRetries();
         Exception lastException = null;
@@ -167,19 +297,7 @@ public class OpenAiProvider implements LlmProvider {
         while (retries <= maxRetries) {
             try {
                 try (Response response = client.newCall(request).execute()) {
-                    if (!response.isSuccessful()) {
-                        String errorBody = response.body() != null ? response.body().string() : "unknown";
-                        int statusCode = response.code();
-                        // Retry on server errors (5xx), throw immediately on client errors (4xx)
-                        if (statusCode >= 500) {
-                            throw new IOException("Server error: " + statusCode + " - " + errorBody);
-                        }
-                        throw new LlmException(SecurityUtils.sanitizeErrorMessage("OpenAI API error: " + statusCode + " - " + errorBody),
-                                getProviderName(), config.getModel());
-                    }
-
-                    String responseBody = response.body().string();
-                    return extractContentFromResponse(responseBody);
+                    return handler.handle(checkResponse(response, config));
                 }
             } catch (IOException e) {
                 lastException = e;
@@ -199,14 +317,83 @@ public class OpenAiProvider implements LlmProvider {
         throw LlmException.unavailable(getProviderName(), config.getModel(), lastException);
     }
 
+    /**
+     * Send the request without blocking, retrying server errors and I/O failures after a
+     * scheduled backoff, and hand the successful response to the handler.
+     */
+    private <T> CompletableFuture<T> executeAsync(Request request, LlmConfig config, ResponseHandler<T> handler) {
+        OkHttpClient client = HttpClientFactory.getClientWithReadTimeout(config.getTimeoutSeconds());
+        int maxRetries = config.getMaxRetries();
+
+        CompletableFuture<T> sent = AsyncCalls.retry(
+                attempt -> AsyncCalls.enqueue(client, request, response -> handler.handle(checkResponse(response, config))),
+                (attempt, error) -> {
+                    int retries = attempt + 1;
+                    if (!(error instanceof IOException) || retries > maxRetries) {
+                        return null;
+                    }
+                    logger.warn("OpenAI request failed, retrying ({}/{}): {}", retries, maxRetries, SecurityUtils.sanitizeErrorMessage(error.getMessage()));
+                    return Duration.ofSeconds(retries);
+                });
+        return AsyncCalls.linked(sent, sent.exceptionallyCompose(error -> {
+            Throwable cause = AsyncCalls.unwrap(error);
+            return CompletableFuture.failedFuture(cause instanceof IOException
+                    ? LlmException.unavailable(getProviderName(), config.getModel(), cause)
+                    : cause);
+        }));
+    }
+
+    /**
+     * Throw for an error response: an IOException for server errors, which are retried,
+     * otherwise an LlmException.
+     */
+    private Response checkResponse(Response response, LlmConfig config) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "unknown";
+            int statusCode = response.code();
+            // Retry on server errors (5xx), throw immediately on client errors (4xx)
+            if (statusCode >= 500) {
+                throw new IOException("Server error: " + statusCode + " - " + errorBody);
+            }
+            if (statusCode == 429) {
+                throw LlmException.rateLimited(getProviderName(), config.getModel(),
+                        SecurityUtils.sanitizeErrorMessage("OpenAI API error: " + statusCode + " - " + errorBody),
+                        RetryAfter.parseSeconds(response.header("Retry-After")));
+            }
+            throw new LlmException(SecurityUtils.sanitizeErrorMessage("OpenAI API error: " + statusCode + " - " + errorBody),
+                    getProviderName(), config.getModel());
+        }
+        return response;
+    }
+
     private String extractContentFromResponse(String responseBody) {
+        LlmResponse response = parseResponse(responseBody);
+        logger.debug("OpenAI usage: {} prompt tokens ({} from cache), {} completion tokens",
+                response.getPromptTokens(), response.getCacheReadTokens(), response.getCompletionTokens());
+        return response.getContent().orElseThrow();
+    }
+
+    /**
+     * Read the text and token usage of a chat completion. OpenAI caches prompt prefixes
+     * automatically and reports the cached part in {@code prompt_tokens_details}; it does not
+     * report cache writes.
+     */
+    LlmResponse parseResponse(String responseBody) {
         try {
             JsonNode json = objectMapper.readTree(responseBody);
             JsonNode choices = json.get("choices");
             if (choices != null && choices.isArray() && choices.size() > 0) {
                 JsonNode message = choices.get(0).get("message");
                 if (message != null && message.has("content")) {
-                    return message.get("content").asText();
+                    JsonNode usage = json.path("usage");
+                    return LlmResponse.builder()
+                            .success(true)
+                            .content(message.get("content").asText())
+                            .promptTokens(usage.path("prompt_tokens").asInt())
+                            .completionTokens(usage.path("completion_tokens").asInt())
+                            .cacheReadTokens(usage.path("prompt_tokens_details").path("cached_tokens").asInt())
+                            .model(json.path("model").asText(null))
+                            .build();
                 }
             }
             throw new LlmException("Invalid OpenAI response structure",
@@ -217,6 +404,24 @@ public class OpenAiProvider implements LlmProvider {
         }
     }
 
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    private record HealCall(Request request, ResponseHandler<HealDecision> handler) {
+    }
+
+    private String requireApiKey(LlmConfig config) {
+        String apiKey = getApiKey(config);
+        if (apiKey == null || apiKey.isEmpty()) {
+            throw new LlmException(
+                "OpenAI API key not configured. Set OPENAI_API_KEY environment variable or 'api_key_env' in healer-config.yml.",
+                getProviderName(), config.getModel());
+        }
+        return apiKey;
+    }
+
     private String getApiKey(LlmConfig config) {
         String envVar = config.getApiKeyEnv() != null ? config.getApiKeyEnv() : "OPENAI_API_KEY";
         // Check environment variable first, then system property (for tests)
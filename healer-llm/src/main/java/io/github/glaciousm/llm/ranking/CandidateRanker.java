@@ -0,0 +1,22 @@
+package io.github.glaciousm.llm.ranking;
+
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.IntentContract;
+import io.github.glaciousm.core.model.UiSnapshot;
+
+import java.util.List;
+
+/**
+ * Scores captured elements locally so only the most likely candidates are sent to the LLM.
+ * Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface CandidateRanker {
+
+    /**
+     * Score every element in the snapshot against the failed locator, step text and intent.
+     *
+     * @return all elements with scores between 0 and 1, highest score first
+     */
+    List<RankedCandidate> rank(FailureContext failure, UiSnapshot snapshot, IntentContract intent);
+}
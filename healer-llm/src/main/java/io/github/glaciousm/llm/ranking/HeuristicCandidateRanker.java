@@ -0,0 +1,381 @@
+package io.github.glaciousm.llm.ranking;
+
+import io.github.glaciousm.core.model.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Default {@link CandidateRanker}, scoring each element on three signals:
+ * <ul>
+ *   <li>Locator (50%): the failed locator's value against the element's id, name, test id,
+ *       classes and labels, by character bigrams and by shared words</li>
+ *   <li>Text (30%): words from the step text and intent found in the element's visible
+ *       text, ARIA label, placeholder, title and nearby labels</li>
+ *   <li>Role (20%): whether the element is the kind of control the step names
+ *       ("button", "link", "checkbox"...) or the action type implies</li>
+ * </ul>
+ * Words are split on camelCase and punctuation, and common abbreviations such as
+ * {@code btn} are expanded. Hidden and disabled elements are penalized, not dropped.
+ */
+public class HeuristicCandidateRanker implements CandidateRanker {
+
+    private static final double LOCATOR_WEIGHT = 0.5;
+    private static final double TEXT_WEIGHT = 0.3;
+    private static final double ROLE_WEIGHT = 0.2;
+
+    private static final double EXPLICIT_ROLE_MATCH = 1.0;
+    private static final double RELATED_ROLE_MATCH = 0.5;
+    private static final double ACTION_ROLE_MATCH = 0.7;
+    private static final double NEUTRAL_ROLE = 0.5;
+
+    private static final double PARTIAL_WORD_MATCH = 0.75;
+    private static final int MIN_PARTIAL_LENGTH = 3;
+
+    private static final Pattern WORD_SPLIT = Pattern.compile("(?<=[a-z])(?=[A-Z])|[^A-Za-z0-9]+");
+    private static final Pattern SIMPLE_CSS = Pattern.compile("^[#.]?[A-Za-z0-9_-]+$");
+
+    private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+            Map.entry("btn", "button"),
+            Map.entry("txt", "text"),
+            Map.entry("lbl", "label"),
+            Map.entry("img", "image"),
+            Map.entry("pwd", "password"),
+            Map.entry("passwd", "password"),
+            Map.entry("usr", "user"),
+            Map.entry("msg", "message"),
+            Map.entry("chk", "checkbox"),
+            Map.entry("cb", "checkbox"),
+            Map.entry("ddl", "dropdown"),
+            Map.entry("nav", "navigation"),
+            Map.entry("num", "number"),
+            Map.entry("qty", "quantity"),
+            Map.entry("addr", "address"),
+            Map.entry("desc", "description"));
+
+    private static final Map<String, Role> ROLE_WORDS = Map.ofEntries(
+            Map.entry("button", Role.BUTTON),
+            Map.entry("link", Role.LINK),
+            Map.entry("checkbox", Role.CHECKBOX),
+            Map.entry("radio", Role.RADIO),
+            Map.entry("dropdown", Role.DROPDOWN),
+            Map.entry("combobox", Role.DROPDOWN),
+            Map.entry("listbox", Role.DROPDOWN),
+            Map.entry("field", Role.TEXT_INPUT),
+            Map.entry("input", Role.TEXT_INPUT),
+            Map.entry("textbox", Role.TEXT_INPUT),
+            Map.entry("textarea", Role.TEXT_INPUT));
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "an", "to", "on", "in", "of", "for", "and", "or", "with", "into", "from", "at", "by",
+            "it", "is", "be", "my", "this", "that", "should", "user", "page", "when", "then", "given",
+            "click", "clicks", "press", "presses", "tap", "enter", "enters", "type", "types", "fill",
+            "fills", "select", "selects", "choose", "chooses", "check", "checks", "find", "element");
+
+    // Syntax and structural words that appear in CSS and XPath locators
+    private static final Set<String> LOCATOR_NOISE = Set.of(
+            "contains", "text", "normalize", "space", "starts", "with", "and", "or", "not", "div",
+            "span", "li", "ul", "tr", "td", "class", "id", "name", "type", "value", "nth", "child",
+            "last", "first", "by", "css", "xpath");
+
+    @Override
+    public List<RankedCandidate> rank(FailureContext failure, UiSnapshot snapshot, IntentContract intent) {
+        Query query = buildQuery(failure, intent);
+
+        List<RankedCandidate> ranked = new ArrayList<>();
+        for (ElementSnapshot element : snapshot.getInteractiveElements()) {
+            ranked.add(new RankedCandidate(element, score(element, query)));
+        }
+        // Stable sort keeps DOM order among equal scores
+        ranked.sort(Comparator.comparingDouble(RankedCandidate::score).reversed());
+        return ranked;
+    }
+
+    private Query buildQuery(FailureContext failure, IntentContract intent) {
+        Set<Role> roleHints = EnumSet.noneOf(Role.class);
+
+        String locatorValue = null;
+        Set<String> locatorWords = new HashSet<>();
+        LocatorInfo locator = failure.getOriginalLocator();
+        if (locator != null && locator.getValue() != null) {
+            String value = locator.getValue();
+            boolean simple = locator.getStrategy() == LocatorInfo.LocatorStrategy.ID
+                    || locator.getStrategy() == LocatorInfo.LocatorStrategy.NAME
+                    || SIMPLE_CSS.matcher(value).matches();
+            if (simple) {
+                locatorValue = value.replaceFirst("^[#.]", "").toLowerCase();
+            }
+            for (String word : words(value)) {
+                if (!LOCATOR_NOISE.contains(word)) {
+                    addWord(word, locatorWords, roleHints);
+                }
+            }
+        }
+
+        Set<String> textWords = new HashSet<>();
+        List<String> sentences = new ArrayList<>();
+        sentences.add(failure.getStepText());
+        if (intent != null) {
+            sentences.add(intent.getDescription());
+        }
+        for (String sentence : sentences) {
+            for (String word : words(sentence)) {
+                if (!STOP_WORDS.contains(word)) {
+                    addWord(word, textWords, roleHints);
+                }
+            }
+        }
+
+        return new Query(locatorValue, locatorWords, textWords, roleHints, failure.getActionType());
+    }
+
+    /**
+     * Add a word to a query word set, diverting role words into role hints.
+     */
+    private static void addWord(String word, Set<String> target, Set<Role> roleHints) {
+        Role role = ROLE_WORDS.get(word);
+        if (role != null) {
+            roleHints.add(role);
+        } else {
+            target.add(word);
+        }
+    }
+
+    private double score(ElementSnapshot element, Query query) {
+        double score = LOCATOR_WEIGHT * locatorScore(element, query)
+                + TEXT_WEIGHT * textScore(element, query)
+                + ROLE_WEIGHT * roleScore(element, query);
+
+        if (!element.isVisible()) {
+            score *= 0.5;
+        }
+        if (!element.isEnabled()) {
+            score *= 0.8;
+        }
+        return Math.max(0, Math.min(1, score));
+    }
+
+    private double locatorScore(ElementSnapshot element, Query query) {
+        double best = 0;
+        if (query.locatorValue() != null) {
+            best = Math.max(best, bigramSimilarity(query.locatorValue(), element.getId()));
+            best = Math.max(best, bigramSimilarity(query.locatorValue(), element.getName()));
+            best = Math.max(best, bigramSimilarity(query.locatorValue(), element.getDataTestId()));
+        }
+
+        Set<String> identity = new HashSet<>();
+        collectWords(element.getId(), identity);
+        collectWords(element.getName(), identity);
+        collectWords(element.getDataTestId(), identity);
+        if (element.getClasses() != null) {
+            element.getClasses().forEach(c -> collectWords(c, identity));
+        }
+        collectLabelWords(element, identity);
+
+        return Math.max(best, coverage(query.locatorWords(), identity));
+    }
+
+    private double textScore(ElementSnapshot element, Query query) {
+        Set<String> labels = new HashSet<>();
+        collectLabelWords(element, labels);
+        return coverage(query.textWords(), labels);
+    }
+
+    private double roleScore(ElementSnapshot element, Query query) {
+        Set<Role> roles = rolesOf(element);
+
+        if (!query.roleHints().isEmpty()) {
+            for (Role role : roles) {
+                if (query.roleHints().contains(role)) {
+                    return EXPLICIT_ROLE_MATCH;
+                }
+            }
+            // Buttons styled as links and links styled as buttons are common
+            boolean wantsClickable = query.roleHints().contains(Role.BUTTON) || query.roleHints().contains(Role.LINK);
+            boolean isClickable = roles.contains(Role.BUTTON) || roles.contains(Role.LINK);
+            return wantsClickable && isClickable ? RELATED_ROLE_MATCH : 0;
+        }
+
+        Set<Role> afforded = switch (query.actionType() != null ? query.actionType() : ActionType.UNKNOWN) {
+            case CLICK, DOUBLE_CLICK, RIGHT_CLICK, SUBMIT -> EnumSet.of(Role.BUTTON, Role.LINK, Role.CHECKBOX, Role.RADIO);
+            case TYPE, CLEAR -> EnumSet.of(Role.TEXT_INPUT);
+            case SELECT -> EnumSet.of(Role.DROPDOWN, Role.RADIO);
+            case HOVER, UNKNOWN -> EnumSet.noneOf(Role.class);
+        };
+        if (afforded.isEmpty()) {
+            return NEUTRAL_ROLE;
+        }
+        for (Role role : roles) {
+            if (afforded.contains(role)) {
+                return ACTION_ROLE_MATCH;
+            }
+        }
+        return 0;
+    }
+
+    private static Set<Role> rolesOf(ElementSnapshot element) {
+        String tag = lower(element.getTagName());
+        String type = lower(element.getType());
+        String ariaRole = lower(element.getAriaRole());
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+
+        if (tag.equals("button") || ariaRole.equals("button")
+                || (tag.equals("input") && (type.equals("submit") || type.equals("button") || type.equals("reset")))) {
+            roles.add(Role.BUTTON);
+        }
+        if (tag.equals("a") || ariaRole.equals("link")) {
+            roles.add(Role.LINK);
+        }
+        if (type.equals("checkbox") || ariaRole.equals("checkbox")) {
+            roles.add(Role.CHECKBOX);
+        }
+        if (type.equals("radio") || ariaRole.equals("radio")) {
+            roles.add(Role.RADIO);
+        }
+        if (tag.equals("select") || ariaRole.equals("listbox") || ariaRole.equals("combobox")) {
+            roles.add(Role.DROPDOWN);
+        }
+        if (tag.equals("textarea") || ariaRole.equals("textbox") || (tag.equals("input") && isTextType(type))) {
+            roles.add(Role.TEXT_INPUT);
+        }
+        return roles;
+    }
+
+    private static boolean isTextType(String type) {
+        return switch (type) {
+            case "", "text", "email", "password", "search", "tel", "url", "number" -> true;
+            default -> false;
+        };
+    }
+
+    private static void collectLabelWords(ElementSnapshot element, Set<String> target) {
+        collectWords(element.getText(), target);
+        collectWords(element.getAriaLabel(), target);
+        collectWords(element.getPlaceholder(), target);
+        collectWords(element.getTitle(), target);
+        collectWords(element.getValue(), target);
+        if (element.getNearbyLabels() != null) {
+            element.getNearbyLabels().forEach(label -> collectWords(label, target));
+        }
+    }
+
+    private static void collectWords(String text, Set<String> target) {
+        List<String> words = words(text);
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            if (!ROLE_WORDS.containsKey(word)) {
+                target.add(word);
+            }
+            // Joined pairs, so "Log in" matches "login" and "user_name" matches "username"
+            if (i > 0) {
+                target.add(words.get(i - 1) + word);
+            }
+        }
+    }
+
+    /**
+     * Split into lowercase words on camelCase and punctuation, expanding abbreviations.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        for (String part : WORD_SPLIT.split(text)) {
+            if (part.length() < 2) {
+                continue;
+            }
+            String word = part.toLowerCase();
+            words.add(ABBREVIATIONS.getOrDefault(word, word));
+        }
+        return words;
+    }
+
+    /**
+     * Fraction of the query words present in the element's words. A word that only
+     * contains, or is contained in, an element word counts as a partial match.
+     */
+    private static double coverage(Set<String> query, Set<String> present) {
+        if (query.isEmpty()) {
+            return 0;
+        }
+        double found = 0;
+        for (String word : query) {
+            if (present.contains(word)) {
+                found += 1;
+            } else if (word.length() >= MIN_PARTIAL_LENGTH && hasPartialMatch(word, present)) {
+                found += PARTIAL_WORD_MATCH;
+            }
+        }
+        return found / query.size();
+    }
+
+    private static boolean hasPartialMatch(String word, Set<String> present) {
+        for (String candidate : present) {
+            if (candidate.length() >= MIN_PARTIAL_LENGTH && (candidate.contains(word) || word.contains(candidate))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Dice coefficient over character bigrams, tolerant of renames like
+     * {@code login-btn} to {@code login-button}.
+     */
+    static double bigramSimilarity(String a, String b) {
+        if (a == null || b == null || a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        String s1 = a.toLowerCase();
+        String s2 = b.toLowerCase();
+        if (s1.equals(s2)) {
+            return 1;
+        }
+        if (s1.length() < 2 || s2.length() < 2) {
+            return 0;
+        }
+
+        Map<Integer, Integer> bigrams = new HashMap<>();
+        for (int i = 0; i < s1.length() - 1; i++) {
+            bigrams.merge(bigram(s1, i), 1, Integer::sum);
+        }
+        int shared = 0;
+        for (int i = 0; i < s2.length() - 1; i++) {
+            Integer count = bigrams.get(bigram(s2, i));
+            if (count != null && count > 0) {
+                bigrams.put(bigram(s2, i), count - 1);
+                shared++;
+            }
+        }
+        return 2.0 * shared / ((s1.length() - 1) + (s2.length() - 1));
+    }
+
+    private static int bigram(String s, int i) {
+        return (s.charAt(i) << 16) | s.charAt(i + 1);
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase() : "";
+    }
+
+    private enum Role {
+        BUTTON,
+        LINK,
+        CHECKBOX,
+        RADIO,
+        DROPDOWN,
+        TEXT_INPUT
+    }
+
+    private record Query(String locatorValue, Set<String> locatorWords, Set<String> textWords,
+                         Set<Role> roleHints, ActionType actionType) {
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.glaciousm.llm.ranking;
+
+import io.github.glaciousm.core.model.ElementSnapshot;
+
+/**
+ * An element with its local ranking score.
+ *
+ * @param element the captured element
+ * @param score   match score between 0 (unrelated) and 1 (certain match)
+ */
+public record RankedCandidate(ElementSnapshot element, double score) {
+}
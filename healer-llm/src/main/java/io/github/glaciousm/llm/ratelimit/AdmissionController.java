@@ -0,0 +1,267 @@
+package io.github.glaciousm.llm.ratelimit;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.exception.LlmException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for the calls made to one LLM provider.
+ *
+ * <p>A call is admitted when all of these allow it:</p>
+ * <ul>
+ *   <li>a requests-per-minute token bucket,</li>
+ *   <li>a tokens-per-minute token bucket charged with the call's estimated tokens,</li>
+ *   <li>an adaptive concurrency limit, and</li>
+ *   <li>any pause requested by the provider through {@code Retry-After}.</li>
+ * </ul>
+ *
+ * <p>The concurrency limit follows AIMD: it grows by about one for every limit's worth of
+ * successful calls made while the limit was reached, is cut by 10% when a call takes longer
+ * than {@code latency_tolerance} times the usual latency, and is halved on a rate limit
+ * response.</p>
+ *
+ * <p>Callers queue in arrival order, so no test thread is starved by others, and give up with
+ * an {@link LlmException} after {@code max_queue_wait_ms}, which lets the orchestrator move on
+ * to a fallback provider.</p>
+ */
+public class AdmissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionController.class);
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final double RATE_LIMIT_BACKOFF = 0.5;
+    private static final double LATENCY_SMOOTHING = 0.1;
+
+    private final String provider;
+    private final LlmConfig.RateLimitConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private long pausedUntil;
+    private double usualLatencyNanos;
+    private long admitted;
+    private long rejected;
+    private long throttled;
+
+    public AdmissionController(String provider, LlmConfig.RateLimitConfig config) {
+        this.provider = provider;
+        this.config = config;
+        this.requestBucket = config.getRequestsPerMinute() > 0 ? new TokenBucket(config.getRequestsPerMinute()) : null;
+        this.tokenBucket = config.getTokensPerMinute() > 0 ? new TokenBucket(config.getTokensPerMinute()) : null;
+        this.limit = clamp(config.getInitialConcurrency());
+    }
+
+    /**
+     * Wait for a turn to call the provider.
+     *
+     * @param estimatedTokens prompt plus completion tokens the call is expected to use
+     * @return a permit that must be completed exactly once when the call ends
+     * @throws LlmException if no turn comes within the maximum queue wait, or the thread is interrupted
+     */
+    public Permit acquire(int estimatedTokens) {
+        Object ticket = new Object();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getMaxQueueWaitMs());
+
+        lock.lock();
+        try {
+            queue.addLast(ticket);
+            while (true) {
+                long now = System.nanoTime();
+                long wait = queue.peekFirst() == ticket ? admissionDelay(estimatedTokens, now) : Long.MAX_VALUE;
+                if (wait == 0) {
+                    return admit(estimatedTokens, now);
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    rejected++;
+                    throw new LlmException("No " + provider + " request slot within " + config.getMaxQueueWaitMs()
+                            + "ms (" + queue.size() + " queued, limit " + (int) limit + ")", provider, "unknown");
+                }
+                changed.awaitNanos(Math.min(wait, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmException("Interrupted while waiting for a " + provider + " request slot", e, provider, "unknown");
+        } finally {
+            if (queue.remove(ticket)) {
+                changed.signalAll();
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the current limit, load and counters.
+     */
+    public AdmissionStats getStats() {
+        lock.lock();
+        try {
+            return new AdmissionStats(provider, (int) limit, inFlight, queue.size(), admitted, rejected, throttled);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Nanoseconds until the head of the queue may be admitted, or 0 if it may be admitted now.
+     * Waiting for a free concurrency slot returns {@link Long#MAX_VALUE}; a release signals it.
+     */
+    private long admissionDelay(int estimatedTokens, long now) {
+        long delay = Math.max(0, pausedUntil - now);
+        if (inFlight >= (int) limit) {
+            return Long.MAX_VALUE;
+        }
+        if (requestBucket != null) {
+            delay = Math.max(delay, requestBucket.delayFor(1, now));
+        }
+        if (tokenBucket != null) {
+            delay = Math.max(delay, tokenBucket.delayFor(estimatedTokens, now));
+        }
+        return delay;
+    }
+
+    private Permit admit(int estimatedTokens, long now) {
+        queue.pollFirst();
+        if (requestBucket != null) {
+            requestBucket.take(1, now);
+        }
+        if (tokenBucket != null) {
+            tokenBucket.take(estimatedTokens, now);
+        }
+        inFlight++;
+        admitted++;
+        // Let the next caller check for a free slot
+        changed.signalAll();
+        return new Permit(inFlight >= (int) limit);
+    }
+
+    private void release(Permit permit, Duration latency, Duration retryAfter, boolean rateLimited) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (rateLimited) {
+                throttled++;
+                limit = clamp(limit * RATE_LIMIT_BACKOFF);
+                if (retryAfter != null) {
+                    pausedUntil = Math.max(pausedUntil, System.nanoTime() + retryAfter.toNanos());
+                }
+                logger.info("Rate limited by {}, concurrency limit now {}{}", provider, (int) limit,
+                        retryAfter != null ? ", pausing " + retryAfter.toMillis() + "ms" : "");
+            } else if (latency != null) {
+                onSuccess(permit, latency.toNanos());
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(Permit permit, long latencyNanos) {
+        if (usualLatencyNanos > 0 && latencyNanos > usualLatencyNanos * config.getLatencyTolerance()) {
+            limit = clamp(limit * LATENCY_BACKOFF);
+            logger.debug("{} call took {}ms, over {}x the usual {}ms; concurrency limit now {}", provider,
+                    TimeUnit.NANOSECONDS.toMillis(latencyNanos), config.getLatencyTolerance(),
+                    TimeUnit.NANOSECONDS.toMillis((long) usualLatencyNanos), (int) limit);
+        } else if (permit.saturated) {
+            limit = clamp(limit + 1.0 / limit);
+        }
+        usualLatencyNanos = usualLatencyNanos == 0
+                ? latencyNanos
+                : usualLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - usualLatencyNanos);
+    }
+
+    private double clamp(double value) {
+        int min = Math.max(1, config.getMinConcurrency());
+        int max = Math.max(min, config.getMaxConcurrency());
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Permission to make one call. Complete it exactly once with {@link #succeeded},
+     * {@link #rateLimited} or {@link #failed}.
+     */
+    public final class Permit {
+        private final boolean saturated;
+        private final long startNanos = System.nanoTime();
+        private boolean completed;
+
+        private Permit(boolean saturated) {
+            this.saturated = saturated;
+        }
+
+        /**
+         * The call returned a decision; its latency feeds the concurrency limit.
+         */
+        public void succeeded() {
+            complete(Duration.ofNanos(System.nanoTime() - startNanos), null, false);
+        }
+
+        /**
+         * The provider rejected the call for rate limiting.
+         *
+         * @param retryAfter how long the provider asked to wait, or null
+         */
+        public void rateLimited(Duration retryAfter) {
+            complete(null, retryAfter, true);
+        }
+
+        /**
+         * The call failed for another reason; the slot is freed without adjusting the limit.
+         */
+        public void failed() {
+            complete(null, null, false);
+        }
+
+        private void complete(Duration latency, Duration retryAfter, boolean rateLimited) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            release(this, latency, retryAfter, rateLimited);
+        }
+    }
+
+    /**
+     * Token bucket refilled continuously up to one minute's budget. Guarded by the controller lock.
+     */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double perNano;
+        private double available;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int perMinute) {
+            this.capacity = perMinute;
+            this.perNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.available = perMinute;
+        }
+
+        long delayFor(double amount, long now) {
+            refill(now);
+            double needed = Math.min(amount, capacity) - available;
+            return needed <= 0 ? 0 : Math.max(1, (long) Math.ceil(needed / perNano));
+        }
+
+        void take(double amount, long now) {
+            refill(now);
+            available -= Math.min(amount, capacity);
+        }
+
+        private void refill(long now) {
+            available = Math.min(capacity, available + (now - refilledAt) * perNano);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.glaciousm.llm.ratelimit;
+
+/**
+ * Admission control state of one provider, for monitoring.
+ *
+ * @param provider   the provider name
+ * @param limit      current concurrency limit
+ * @param inFlight   calls running right now
+ * @param queueDepth heals waiting for a turn
+ * @param admitted   calls admitted so far
+ * @param rejected   heals that gave up after the maximum queue wait
+ * @param throttled  calls the provider rejected for rate limiting
+ */
+public record AdmissionStats(
+        String provider,
+        int limit,
+        int inFlight,
+        int queueDepth,
+        long admitted,
+        long rejected,
+        long throttled
+) {
+}
@@ -0,0 +1,101 @@
+package io.github.glaciousm.llm.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Reads a streamed completion line by line and feeds its text to a {@link StreamingDecisionParser}.
+ *
+ * <p>Providers stream either server-sent events ({@code data: {...}} lines, ended by
+ * {@code data: [DONE]} or the end of the body) or newline-delimited JSON. Each event is parsed
+ * and handed to a provider-specific function that returns its text delta, or throws if the
+ * event reports an error.</p>
+ */
+public final class CompletionStream {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    /**
+     * Wire format of a streamed completion.
+     */
+    public enum Format {
+        /** Server-sent events, as sent by Anthropic, OpenAI and Azure OpenAI. */
+        SSE,
+        /** One JSON object per line, as sent by Ollama. */
+        NDJSON
+    }
+
+    private CompletionStream() {
+    }
+
+    /**
+     * Consume a streamed body until the decision resolves or the stream ends.
+     * The caller closes the body; closing it early cancels the rest of the completion.
+     *
+     * @return true if the decision resolved before the stream ended
+     */
+    public static boolean consume(Reader body, Format format, Function<JsonNode, String> deltaOf,
+                                  StreamingDecisionParser parser) throws IOException {
+        BufferedReader reader = body instanceof BufferedReader buffered ? buffered : new BufferedReader(body);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Boolean resolved = onLine(line, format, deltaOf, parser);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Consume streamed lines until the decision resolves or the stream ends.
+     *
+     * @return true if the decision resolved before the stream ended
+     */
+    public static boolean consume(Iterator<String> lines, Format format, Function<JsonNode, String> deltaOf,
+                                  StreamingDecisionParser parser) throws IOException {
+        try {
+            while (lines.hasNext()) {
+                Boolean resolved = onLine(lines.next(), format, deltaOf, parser);
+                if (resolved != null) {
+                    return resolved;
+                }
+            }
+            return false;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return true if resolved, false if the stream signalled its end, null to keep reading
+     */
+    private static Boolean onLine(String line, Format format, Function<JsonNode, String> deltaOf,
+                                  StreamingDecisionParser parser) throws IOException {
+        String payload = line.trim();
+        if (format == Format.SSE) {
+            if (!payload.startsWith(DATA_PREFIX)) {
+                return null;
+            }
+            payload = payload.substring(DATA_PREFIX.length()).trim();
+            if (DONE.equals(payload)) {
+                return false;
+            }
+        }
+        if (payload.isEmpty()) {
+            return null;
+        }
+
+        JsonNode event = objectMapper.readTree(payload);
+        return parser.append(deltaOf.apply(event)) ? Boolean.TRUE : null;
+    }
+}
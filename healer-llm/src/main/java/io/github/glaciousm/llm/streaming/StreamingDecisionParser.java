@@ -0,0 +1,211 @@
+package io.github.glaciousm.llm.streaming;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import io.github.glaciousm.core.model.HealDecision;
+import io.github.glaciousm.llm.ResponseParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Incrementally parses a heal decision from streamed completion text.
+ *
+ * <p>Text deltas are fed to a non-blocking JSON parser as they arrive, so decision fields are
+ * known as soon as the model has written them. Once {@code can_heal} is true and both
+ * {@code confidence} and {@code selected_element_index} have arrived the decision is
+ * {@link #isResolved() resolved}, even if the reasoning is still being written; the caller can
+ * stop reading. Refusals resolve when the JSON object is complete, so they keep their
+ * {@code refusal_reason}.</p>
+ *
+ * <p>Any text before the opening brace, such as a markdown fence, is skipped. If the text is
+ * not valid incremental JSON, {@link #finish} falls back to {@link ResponseParser} on the full
+ * text.</p>
+ */
+public class StreamingDecisionParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingDecisionParser.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final StringBuilder text = new StringBuilder();
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean started;
+    private boolean broken;
+    private boolean complete;
+    private int depth;
+    private String field;
+
+    private Boolean canHeal;
+    private Double confidence;
+    private Integer selectedElementIndex;
+    private String reasoning;
+    private List<Integer> alternativeIndices;
+    private List<String> warnings;
+    private String refusalReason;
+
+    public StreamingDecisionParser() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create streaming JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feed the next piece of completion text.
+     *
+     * @return true once the decision is resolved and the rest of the stream is not needed
+     */
+    public boolean append(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return isResolved();
+        }
+        text.append(delta);
+        if (broken || complete) {
+            return isResolved();
+        }
+
+        String input = delta;
+        if (!started) {
+            int start = delta.indexOf('{');
+            if (start < 0) {
+                return false;
+            }
+            started = true;
+            input = delta.substring(start);
+        }
+
+        try {
+            byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (!complete && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+                onToken(token);
+            }
+        } catch (IOException e) {
+            logger.debug("Streamed response is not incremental JSON, parsing at end: {}", e.getMessage());
+            broken = true;
+        }
+        return isResolved();
+    }
+
+    /**
+     * Whether the decision is known: the JSON object is complete, or a heal has its element
+     * index and confidence.
+     */
+    public boolean isResolved() {
+        if (broken || canHeal == null) {
+            return false;
+        }
+        return complete || (canHeal && confidence != null && selectedElementIndex != null);
+    }
+
+    /**
+     * The decision, if resolved.
+     */
+    public Optional<HealDecision> getDecision() {
+        return isResolved() ? Optional.of(buildDecision()) : Optional.empty();
+    }
+
+    /**
+     * Completion text received so far.
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    /**
+     * Get the decision once the stream has ended or was abandoned, falling back to parsing
+     * the full text if the decision never resolved incrementally.
+     */
+    public HealDecision finish(ResponseParser responseParser, String provider, String model) {
+        Optional<HealDecision> decision = getDecision();
+        if (decision.isPresent()) {
+            return decision.get();
+        }
+        return responseParser.parseHealDecision(text.toString(), provider, model);
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                depth++;
+                return;
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                if (depth == 0) {
+                    complete = true;
+                }
+                return;
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    field = parser.currentName();
+                }
+                return;
+            }
+            default -> {
+            }
+        }
+
+        if (depth == 1) {
+            onField(token);
+        } else if (depth == 2 && token.isScalarValue()) {
+            onArrayElement(token);
+        }
+    }
+
+    private void onField(JsonToken token) throws IOException {
+        if (field == null) {
+            return;
+        }
+        switch (field) {
+            case "can_heal" -> canHeal = token == JsonToken.VALUE_TRUE
+                    || (token == JsonToken.VALUE_STRING && Boolean.parseBoolean(parser.getText()));
+            case "confidence" -> confidence = token.isNumeric() ? parser.getDoubleValue() : 0.0;
+            case "selected_element_index" ->
+                    selectedElementIndex = token.isNumeric() ? Integer.valueOf(parser.getIntValue()) : null;
+            case "reasoning" -> reasoning = token == JsonToken.VALUE_NULL ? null : parser.getText();
+            case "refusal_reason" -> refusalReason = token == JsonToken.VALUE_NULL ? null : parser.getText();
+            default -> {
+            }
+        }
+    }
+
+    private void onArrayElement(JsonToken token) throws IOException {
+        if ("alternative_indices".equals(field) && token.isNumeric()) {
+            if (alternativeIndices == null) {
+                alternativeIndices = new ArrayList<>();
+            }
+            alternativeIndices.add(parser.getIntValue());
+        } else if ("warnings".equals(field) && token != JsonToken.VALUE_NULL) {
+            if (warnings == null) {
+                warnings = new ArrayList<>();
+            }
+            warnings.add(parser.getText());
+        }
+    }
+
+    private HealDecision buildDecision() {
+        return HealDecision.builder()
+                .canHeal(canHeal)
+                .confidence(confidence != null ? confidence : 0.0)
+                .selectedElementIndex(selectedElementIndex)
+                .reasoning(reasoning)
+                .alternativeIndices(alternativeIndices)
+                .warnings(warnings)
+                .refusalReason(refusalReason)
+                .build();
+    }
+}
@@ -0,0 +1,235 @@
+package io.github.glaciousm.llm.util;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Building blocks for asynchronous LLM calls.
+ *
+ * <p>Futures returned here can be cancelled: cancelling one cancels the request or attempt
+ * still in flight. Work that has to block, such as waiting for an admission slot, runs on a
+ * virtual thread, and retry backoff is scheduled instead of slept.</p>
+ */
+public final class AsyncCalls {
+
+    private static final ExecutorService BLOCKING =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-async-", 0).factory());
+
+    private AsyncCalls() {
+        // Utility class
+    }
+
+    /**
+     * Executor for work that blocks. Virtual threads, so no shutdown needed.
+     */
+    public static Executor blockingExecutor() {
+        return BLOCKING;
+    }
+
+    /**
+     * Run blocking work on a virtual thread.
+     */
+    public static <T> CompletableFuture<T> blocking(Supplier<T> work) {
+        return CompletableFuture.supplyAsync(work, BLOCKING);
+    }
+
+    /**
+     * Send an OkHttp request without blocking and hand the response to the handler, which
+     * runs on an OkHttp dispatcher thread. The response is closed when the handler returns.
+     * Cancelling the future cancels the call.
+     */
+    public static <T> CompletableFuture<T> enqueue(OkHttpClient client, Request request, ResponseHandler<T> handler) {
+        Call call = client.newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Run attempts one after another until one succeeds.
+     *
+     * <p>When attempt {@code n} (counting from 0) fails, {@code next} is given {@code n} and the
+     * failure. It returns how long to wait before the next attempt, or null to give up with that
+     * failure. The wait is scheduled, so no thread is held during backoff.</p>
+     */
+    public static <T> CompletableFuture<T> retry(IntFunction<CompletableFuture<T>> attempt,
+                                                 BiFunction<Integer, Throwable, Duration> next) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> current = new AtomicReference<>();
+        result.whenComplete((value, error) -> {
+            Future<?> inFlight = current.get();
+            if (result.isCancelled() && inFlight != null) {
+                inFlight.cancel(true);
+            }
+        });
+        runAttempt(result, current, attempt, next, 0);
+        return result;
+    }
+
+    private static <T> void runAttempt(CompletableFuture<T> result, AtomicReference<Future<?>> current,
+                                       IntFunction<CompletableFuture<T>> attempt,
+                                       BiFunction<Integer, Throwable, Duration> next, int number) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<T> call = start(() -> attempt.apply(number));
+        current.set(call);
+        if (result.isCancelled()) {
+            call.cancel(true);
+        }
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            Duration delay = result.isDone() || cause instanceof CancellationException
+                    ? null
+                    : next.apply(number, cause);
+            if (delay == null) {
+                result.completeExceptionally(cause);
+            } else if (delay.isZero() || delay.isNegative()) {
+                runAttempt(result, current, attempt, next, number + 1);
+            } else {
+                Executor delayed = CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, BLOCKING);
+                delayed.execute(() -> runAttempt(result, current, attempt, next, number + 1));
+            }
+        });
+    }
+
+    /**
+     * Continue with {@code then} once {@code source} succeeds. Cancelling the returned future
+     * cancels whichever of the two is in flight. {@code then} still runs if the returned future
+     * was cancelled while {@code source} was finishing, so resources it takes over are released
+     * when its own future is cancelled right after.
+     */
+    public static <T, U> CompletableFuture<U> compose(CompletableFuture<T> source,
+                                                      Function<T, CompletableFuture<U>> then) {
+        CompletableFuture<U> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> current = new AtomicReference<>(source);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                current.get().cancel(true);
+            }
+        });
+        source.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            CompletableFuture<U> inner = start(() -> then.apply(value));
+            current.set(inner);
+            if (result.isCancelled()) {
+                inner.cancel(true);
+            }
+            inner.whenComplete((innerValue, innerError) -> {
+                if (innerError != null) {
+                    result.completeExceptionally(unwrap(innerError));
+                } else {
+                    result.complete(innerValue);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Return {@code derived}, cancelling {@code source} when it is cancelled. Use for futures
+     * derived with {@code thenApply} and similar, which do not pass cancellation upstream.
+     */
+    public static <T> CompletableFuture<T> linked(Future<?> source, CompletableFuture<T> derived) {
+        derived.whenComplete((value, error) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+
+    /**
+     * Wait for a future, rethrowing the exception it failed with.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The exception a future failed with, without the wrappers added on the way.
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+        try {
+            CompletableFuture<T> future = call.get();
+            return future != null ? future : CompletableFuture.failedFuture(
+                    new IllegalStateException("Asynchronous call returned no future"));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Handles a successful OkHttp response.
+     */
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+}
@@ -1,9 +1,11 @@
 package io.github.glaciousm.llm.util;
 
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 
 import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -16,13 +18,21 @@ import java.util.concurrent.TimeUnit;
  *
  * This factory provides thread-safe access to shared client instances
  * with configurable timeouts.
+ *
+ * All clients share one dispatcher that runs asynchronous calls on virtual threads. Its
+ * request limits are well above OkHttp's default of 5 per host, so concurrent heals are
+ * limited by admission control rather than queued in the dispatcher.
  */
 public class HttpClientFactory {
 
+    private static final int MAX_REQUESTS = 256;
+    private static final int MAX_REQUESTS_PER_HOST = 128;
+
     private static final ConcurrentHashMap<String, OkHttpClient> clientCache = new ConcurrentHashMap<>();
 
     // Default shared client for most use cases
     private static final OkHttpClient DEFAULT_CLIENT = new OkHttpClient.Builder()
+            .dispatcher(createDispatcher())
             .connectTimeout(30, TimeUnit.SECONDS)
             .readTimeout(60, TimeUnit.SECONDS)
             .writeTimeout(30, TimeUnit.SECONDS)
@@ -33,6 +43,14 @@ public class HttpClientFactory {
         // Utility class
     }
 
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("okhttp-", 0).factory()));
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+
     /**
      * Get the default shared OkHttpClient.
      * This client has standard timeouts suitable for most LLM API calls.
@@ -0,0 +1,41 @@
+package io.github.glaciousm.llm.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the HTTP {@code Retry-After} header sent with 429 and 503 responses.
+ */
+public final class RetryAfter {
+
+    private RetryAfter() {
+    }
+
+    /**
+     * Parse a {@code Retry-After} value, given either as delay seconds or as an HTTP date.
+     *
+     * @param value the header value, may be null
+     * @return seconds to wait (rounded up), or -1 if the value is missing or invalid
+     */
+    public static int parseSeconds(String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        String trimmed = value.trim();
+        try {
+            return (int) Math.max(0, Math.min(Integer.MAX_VALUE, Math.ceil(Double.parseDouble(trimmed))));
+        } catch (NumberFormatException e) {
+            // Not a number, try an HTTP date
+        }
+        try {
+            Instant until = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            long millis = Duration.between(Instant.now(), until).toMillis();
+            return (int) Math.max(0, (millis + 999) / 1000);
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.glaciousm.llm.vision;
+
+import java.time.Duration;
+
+/**
+ * A screenshot ready to be sent to a vision model, with what preparing it cost and saved.
+ *
+ * @param base64        the image to send, Base64-encoded
+ * @param mediaType     MIME type of the image, such as {@code image/jpeg}
+ * @param width         width of the image sent, in pixels
+ * @param height        height of the image sent, in pixels
+ * @param originalBytes size of the captured screenshot
+ * @param bytes         size of the image sent
+ * @param elapsed       time spent preparing the image
+ */
+public record PreparedScreenshot(
+        String base64,
+        String mediaType,
+        int width,
+        int height,
+        long originalBytes,
+        long bytes,
+        Duration elapsed
+) {
+
+    /**
+     * Fraction of the captured screenshot's bytes saved, between 0 and 1
+     * (negative if the image sent is larger).
+     */
+    public double getReduction() {
+        return originalBytes > 0 ? 1.0 - (double) bytes / originalBytes : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%d %s, %d KB of %d KB captured (%.0f%% smaller) in %d ms",
+                width, height, mediaType, bytes / 1024, originalBytes / 1024, getReduction() * 100,
+                elapsed.toMillis());
+    }
+}
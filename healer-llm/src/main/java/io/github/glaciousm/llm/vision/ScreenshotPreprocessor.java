@@ -0,0 +1,314 @@
+package io.github.glaciousm.llm.vision;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.ElementRect;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.ViewportInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Prepares page screenshots for vision prompts.
+ *
+ * <p>A full-page PNG is usually the largest part of a vision request. Depending on the
+ * {@link LlmConfig.VisionConfig}, the screenshot is:</p>
+ * <ul>
+ *   <li>cropped to the union of the candidate elements' rectangles plus a margin,</li>
+ *   <li>scaled down so its longest side fits {@code max_image_size},</li>
+ *   <li>marked with each candidate's index, matching the element list of the vision prompt, and</li>
+ *   <li>re-encoded as JPEG or WebP at the configured compression quality.</li>
+ * </ul>
+ *
+ * <p>Element rectangles are document CSS pixels while the screenshot is the viewport in device
+ * pixels, so each rectangle is mapped with the snapshot's {@link ViewportInfo} first. Candidates
+ * outside the viewport are neither cropped to nor marked, and without viewport information the
+ * screenshot is not cropped or marked at all. A screenshot that needs none of these steps is
+ * sent unchanged, and one that cannot be processed is sent unchanged with a warning rather than
+ * failing the heal.</p>
+ */
+public class ScreenshotPreprocessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPreprocessor.class);
+    private static final Color MARKER_COLOR = new Color(220, 20, 60);
+    private static final int LABEL_FONT_SIZE = 13;
+    private static final int LABEL_PADDING = 2;
+
+    /**
+     * Prepare a screenshot whose pixels match the candidates' rectangles one to one.
+     *
+     * @see #prepare(String, List, ViewportInfo, LlmConfig.VisionConfig)
+     */
+    public PreparedScreenshot prepare(String screenshotBase64, List<ElementSnapshot> candidates,
+                                      LlmConfig.VisionConfig config) {
+        return prepare(screenshotBase64, candidates, ViewportInfo.IDENTITY, config);
+    }
+
+    /**
+     * Prepare a screenshot for the given candidate elements.
+     *
+     * @param screenshotBase64 the captured screenshot, Base64-encoded
+     * @param candidates       the elements listed in the vision prompt
+     * @param viewport         maps the candidates' rectangles onto the screenshot, or null if
+     *                         unknown, in which case candidates are not cropped to or marked
+     * @param config           vision settings, or null to send the screenshot unchanged
+     */
+    public PreparedScreenshot prepare(String screenshotBase64, List<ElementSnapshot> candidates,
+                                      ViewportInfo viewport, LlmConfig.VisionConfig config) {
+        long start = System.nanoTime();
+        byte[] original;
+        try {
+            original = Base64.getDecoder().decode(screenshotBase64);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Screenshot is not valid Base64, sending it unchanged: {}", e.getMessage());
+            return unchanged(screenshotBase64, screenshotBase64.getBytes(), 0, 0, start);
+        }
+        if (config == null) {
+            return unchanged(screenshotBase64, original, 0, 0, start);
+        }
+
+        List<Marker> located = candidates == null || viewport == null ? List.of() : candidates.stream()
+                .filter(el -> el.getRect() != null && el.getRect().getWidth() > 0 && el.getRect().getHeight() > 0)
+                .map(el -> new Marker(el.getIndex(), toRectangle(viewport.toScreenshot(el.getRect()))))
+                .toList();
+        boolean crop = config.isCropToCandidates() && !located.isEmpty();
+        boolean highlight = config.isHighlightCandidates() && !located.isEmpty();
+        boolean reencode = config.getImageFormat() != LlmConfig.ImageFormat.PNG;
+
+        try {
+            if (!crop && !highlight && !reencode) {
+                int[] size = readSize(original);
+                if (size == null || !exceedsMaxSize(size[0], size[1], config.getMaxImageSize())) {
+                    return unchanged(screenshotBase64, original,
+                            size != null ? size[0] : 0, size != null ? size[1] : 0, start);
+                }
+            }
+
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(original));
+            if (image == null) {
+                logger.warn("Screenshot is not in a readable image format, sending it unchanged");
+                return unchanged(screenshotBase64, original, 0, 0, start);
+            }
+
+            // Candidates scrolled out of the viewport are not in the screenshot
+            Rectangle bounds = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+            List<Marker> visible = located.stream()
+                    .filter(marker -> marker.rect().intersects(bounds))
+                    .toList();
+            if (visible.size() < located.size()) {
+                logger.debug("{} of {} candidates are outside the {}x{} screenshot",
+                        located.size() - visible.size(), located.size(), image.getWidth(), image.getHeight());
+            }
+
+            Rectangle region = crop && !visible.isEmpty() ? cropRegion(bounds, visible, config.getCropMargin())
+                    : bounds;
+            double scale = scaleFor(region, config.getMaxImageSize());
+            BufferedImage output = render(image, region, scale);
+            if (highlight && !visible.isEmpty()) {
+                drawMarkers(output, visible, region, scale);
+            }
+
+            LlmConfig.ImageFormat format = writableFormat(config.getImageFormat());
+            byte[] encoded = encode(output, format, config.getCompressionQuality());
+            return new PreparedScreenshot(Base64.getEncoder().encodeToString(encoded), mediaType(format),
+                    output.getWidth(), output.getHeight(), original.length, encoded.length, since(start));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to prepare screenshot, sending it unchanged: {}", e.getMessage());
+            return unchanged(screenshotBase64, original, 0, 0, start);
+        }
+    }
+
+    /**
+     * Union of the candidates' rectangles grown by the margin, within the image bounds.
+     */
+    private static Rectangle cropRegion(Rectangle bounds, List<Marker> candidates, int margin) {
+        Rectangle union = null;
+        for (Marker marker : candidates) {
+            union = union == null ? new Rectangle(marker.rect()) : union.union(marker.rect());
+        }
+        int grow = Math.max(0, margin);
+        union.grow(grow, grow);
+        return union.intersection(bounds);
+    }
+
+    private static double scaleFor(Rectangle region, int maxImageSize) {
+        if (!exceedsMaxSize(region.width, region.height, maxImageSize)) {
+            return 1.0;
+        }
+        return (double) maxImageSize / Math.max(region.width, region.height);
+    }
+
+    private static boolean exceedsMaxSize(int width, int height, int maxImageSize) {
+        return maxImageSize > 0 && Math.max(width, height) > maxImageSize;
+    }
+
+    /**
+     * Copy the region into an opaque image of the scaled size. Opaque, so it can be written as JPEG.
+     */
+    private static BufferedImage render(BufferedImage image, Rectangle region, double scale) {
+        int width = Math.max(1, (int) Math.round(region.width * scale));
+        int height = Math.max(1, (int) Math.round(region.height * scale));
+        BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = output.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(image, 0, 0, width, height,
+                    region.x, region.y, region.x + region.width, region.y + region.height, null);
+        } finally {
+            g.dispose();
+        }
+        return output;
+    }
+
+    /**
+     * Outline each candidate and label it with its index, as {@code [index]} in the vision prompt.
+     */
+    private static void drawMarkers(BufferedImage output, List<Marker> candidates,
+                                    Rectangle region, double scale) {
+        Graphics2D g = output.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setStroke(new BasicStroke(2f));
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, LABEL_FONT_SIZE));
+            FontMetrics metrics = g.getFontMetrics();
+            Rectangle bounds = new Rectangle(0, 0, output.getWidth(), output.getHeight());
+
+            for (Marker marker : candidates) {
+                Rectangle rect = marker.rect();
+                Rectangle mapped = new Rectangle(
+                        (int) Math.round((rect.x - region.x) * scale),
+                        (int) Math.round((rect.y - region.y) * scale),
+                        Math.max(1, (int) Math.round(rect.width * scale)),
+                        Math.max(1, (int) Math.round(rect.height * scale)));
+                if (!mapped.intersects(bounds)) {
+                    continue;
+                }
+                g.setColor(MARKER_COLOR);
+                g.drawRect(mapped.x, mapped.y, mapped.width, mapped.height);
+
+                String label = String.valueOf(marker.index());
+                int labelWidth = metrics.stringWidth(label) + 2 * LABEL_PADDING;
+                int labelHeight = metrics.getAscent() + 2 * LABEL_PADDING;
+                // Above the element, or inside its top edge when there is no room above
+                int labelX = Math.max(0, Math.min(mapped.x, output.getWidth() - labelWidth));
+                int labelY = mapped.y >= labelHeight ? mapped.y - labelHeight : Math.max(0, mapped.y);
+                g.fillRect(labelX, labelY, labelWidth, labelHeight);
+                g.setColor(Color.WHITE);
+                g.drawString(label, labelX + LABEL_PADDING, labelY + LABEL_PADDING + metrics.getAscent());
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static byte[] encode(BufferedImage image, LlmConfig.ImageFormat format, double quality)
+            throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(formatName(format)).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format != LlmConfig.ImageFormat.PNG && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] types = param.getCompressionTypes();
+                if (types != null && types.length > 0) {
+                    param.setCompressionType(Arrays.asList(types).contains("Lossy") ? "Lossy" : types[0]);
+                }
+                param.setCompressionQuality((float) Math.max(0.0, Math.min(1.0, quality)));
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The configured format, or JPEG when no WebP writer is installed.
+     */
+    private static LlmConfig.ImageFormat writableFormat(LlmConfig.ImageFormat format) {
+        if (format == null) {
+            return LlmConfig.ImageFormat.PNG;
+        }
+        if (format == LlmConfig.ImageFormat.WEBP && !ImageIO.getImageWritersByFormatName("webp").hasNext()) {
+            logger.debug("No ImageIO WebP writer available, encoding screenshot as JPEG");
+            return LlmConfig.ImageFormat.JPEG;
+        }
+        return format;
+    }
+
+    /**
+     * Width and height from the image header, without decoding the pixels.
+     */
+    private static int[] readSize(byte[] image) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static Rectangle toRectangle(ElementRect rect) {
+        return new Rectangle(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+    }
+
+    private static String formatName(LlmConfig.ImageFormat format) {
+        return switch (format) {
+            case PNG -> "png";
+            case JPEG -> "jpeg";
+            case WEBP -> "webp";
+        };
+    }
+
+    private static String mediaType(LlmConfig.ImageFormat format) {
+        return "image/" + formatName(format);
+    }
+
+    private static PreparedScreenshot unchanged(String base64, byte[] original, int width, int height, long start) {
+        return new PreparedScreenshot(base64, "image/png", width, height, original.length, original.length,
+                since(start));
+    }
+
+    private static Duration since(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * A candidate's prompt index and its rectangle in screenshot pixels.
+     */
+    private record Marker(int index, Rectangle rect) {}
+}
@@ -3,11 +3,17 @@ package io.github.glaciousm.llm;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.ranking.RankedCandidate;
+import io.github.glaciousm.llm.ratelimit.AdmissionStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -371,8 +377,430 @@ class LlmOrchestratorTest {
                 .hasMessageContaining("All LLM providers failed");
     }
 
+    @Test
+    void evaluateCandidates_withManyElements_sendsOnlyTopRankedCandidates() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setTopK(5);
+
+        FailureContext failure = createLoginFailure();
+        UiSnapshot snapshot = createLoginSnapshot(30);
+        IntentContract intent = createSampleIntent();
+
+        when(mockProvider.evaluateCandidates(eq(failure), any(), eq(intent), eq(config)))
+                .thenReturn(HealDecision.canHeal(1, 0.9, "Found login button"));
+
+        orchestrator.evaluateCandidates(failure, snapshot, intent, config);
+
+        ArgumentCaptor<UiSnapshot> sent = ArgumentCaptor.forClass(UiSnapshot.class);
+        verify(mockProvider).evaluateCandidates(eq(failure), sent.capture(), eq(intent), eq(config));
+        assertThat(sent.getValue().getInteractiveElements()).hasSize(5);
+        assertThat(sent.getValue().getElement(1)).isPresent();
+        assertThat(sent.getValue().getUrl()).isEqualTo(snapshot.getUrl());
+    }
+
+    @Test
+    void evaluateCandidates_withPreRankingDisabled_sendsAllCandidates() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setEnabled(false);
+
+        FailureContext failure = createLoginFailure();
+        UiSnapshot snapshot = createLoginSnapshot(30);
+        IntentContract intent = createSampleIntent();
+
+        when(mockProvider.evaluateCandidates(failure, snapshot, intent, config))
+                .thenReturn(HealDecision.canHeal(1, 0.9, "Found login button"));
+
+        orchestrator.evaluateCandidates(failure, snapshot, intent, config);
+
+        verify(mockProvider).evaluateCandidates(failure, snapshot, intent, config);
+    }
+
+    @Test
+    void evaluateCandidates_withClearLocalWinner_skipsLlmWhenEnabled() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setSkipLlm(true);
+
+        HealDecision result = orchestrator.evaluateCandidates(
+                createLoginFailure(), createLoginSnapshot(30), createSampleIntent(), config);
+
+        assertThat(result.canHeal()).isTrue();
+        assertThat(result.getSelectedElementIndex()).isEqualTo(1);
+        assertThat(result.getConfidence()).isGreaterThanOrEqualTo(0.9);
+        verifyNoInteractions(mockProvider);
+    }
+
+    @Test
+    void evaluateCandidates_withCustomRanker_usesItsShortlist() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setTopK(1);
+        orchestrator.setCandidateRanker((failure, snapshot, intent) -> snapshot.getInteractiveElements().stream()
+                .map(e -> new RankedCandidate(e, e.getIndex() == 7 ? 1.0 : 0.0))
+                .sorted((a, b) -> Double.compare(b.score(), a.score()))
+                .toList());
+
+        FailureContext failure = createLoginFailure();
+        IntentContract intent = createSampleIntent();
+        when(mockProvider.evaluateCandidates(eq(failure), any(), eq(intent), eq(config)))
+                .thenReturn(HealDecision.canHeal(7, 0.9, "Found"));
+
+        orchestrator.evaluateCandidates(failure, createLoginSnapshot(30), intent, config);
+
+        ArgumentCaptor<UiSnapshot> sent = ArgumentCaptor.forClass(UiSnapshot.class);
+        verify(mockProvider).evaluateCandidates(eq(failure), sent.capture(), eq(intent), eq(config));
+        assertThat(sent.getValue().getInteractiveElements())
+                .extracting(ElementSnapshot::getIndex)
+                .containsExactly(7);
+    }
+
+    @Test
+    void evaluateCandidates_withSameInputs_reusesCachedDecision() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        IntentContract intent = createSampleIntent();
+
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any()))
+                .thenReturn(HealDecision.canHeal(0, 0.9, "Found button"));
+
+        HealDecision first = orchestrator.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), intent, config);
+        HealDecision second = orchestrator.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), intent, config);
+
+        assertThat(second).isEqualTo(first);
+        verify(mockProvider, times(1)).evaluateCandidates(any(), any(), any(), any());
+        assertThat(orchestrator.getDecisionCache().getStats().hits()).isEqualTo(1);
+        assertThat(orchestrator.getDecisionCache().getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluateCandidates_withDecisionCacheDisabled_callsProviderEveryTime() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getDecisionCache().setEnabled(false);
+        IntentContract intent = createSampleIntent();
+
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any()))
+                .thenReturn(HealDecision.canHeal(0, 0.9, "Found button"));
+
+        orchestrator.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), intent, config);
+        orchestrator.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), intent, config);
+
+        verify(mockProvider, times(2)).evaluateCandidates(any(), any(), any(), any());
+        assertThat(orchestrator.getDecisionCache()).isNull();
+    }
+
+    @Test
+    void evaluateCandidates_whenProvidersFail_doesNotCacheAnything() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any()))
+                .thenThrow(new LlmException("Provider error", "test-provider", "test-model"));
+
+        assertThatThrownBy(() -> orchestrator.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config))
+                .isInstanceOf(LlmException.class);
+        assertThat(orchestrator.getDecisionCache().size()).isZero();
+    }
+
+    @Test
+    void evaluateCandidates_withSlowPrimaryAndHedging_usesFasterFallback() {
+        orchestrator.registerProvider("primary", mockProvider);
+        orchestrator.registerProvider("fallback", mockFallbackProvider);
+        LlmConfig config = createHedgingConfig("primary", "fallback", 100);
+
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return HealDecision.canHeal(0, 0.9, "Slow primary");
+        });
+        HealDecision fallbackDecision = HealDecision.canHeal(0, 0.85, "Fast fallback");
+        when(mockFallbackProvider.evaluateCandidates(any(), any(), any(), any())).thenReturn(fallbackDecision);
+
+        long start = System.nanoTime();
+        HealDecision result = orchestrator.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(result).isEqualTo(fallbackDecision);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(4));
+        assertThat(orchestrator.getLatencyTracker().getLatency("fallback", "fallback-model").getCount()).isEqualTo(1);
+        assertThat(orchestrator.getLatencyTracker().getLatency("primary", "test-model").getCount()).isZero();
+    }
+
+    @Test
+    void evaluateCandidates_withFastPrimaryAndHedging_doesNotCallFallback() {
+        orchestrator.registerProvider("primary", mockProvider);
+        orchestrator.registerProvider("fallback", mockFallbackProvider);
+        LlmConfig config = createHedgingConfig("primary", "fallback", 2000);
+
+        HealDecision expectedDecision = HealDecision.canHeal(0, 0.9, "Primary");
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any())).thenReturn(expectedDecision);
+
+        HealDecision result = orchestrator.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(result).isEqualTo(expectedDecision);
+        verify(mockFallbackProvider, never()).evaluateCandidates(any(), any(), any(), any());
+        assertThat(orchestrator.getLatencyTracker().getLatency("primary", "test-model").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluateCandidates_withHedgingAndAllProvidersFailing_throwsException() {
+        orchestrator.registerProvider("primary", mockProvider);
+        orchestrator.registerProvider("fallback", mockFallbackProvider);
+        LlmConfig config = createHedgingConfig("primary", "fallback", 2000);
+
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any()))
+                .thenThrow(new LlmException("Primary error", "primary", "test-model"));
+        when(mockFallbackProvider.evaluateCandidates(any(), any(), any(), any()))
+                .thenThrow(new LlmException("Fallback error", "fallback", "fallback-model"));
+
+        assertThatThrownBy(() -> orchestrator.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config))
+                .isInstanceOf(LlmException.class)
+                .hasMessageContaining("All LLM providers failed");
+        verify(mockFallbackProvider, times(1)).evaluateCandidates(any(), any(), any(), any());
+    }
+
+    @Test
+    void evaluateCandidates_withRateLimitEnabled_reportsAdmissionStats() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getRateLimit().setEnabled(true);
+        config.getRateLimit().setInitialConcurrency(4);
+
+        when(mockProvider.evaluateCandidates(any(), any(), any(), any()))
+                .thenThrow(LlmException.rateLimited("test-provider", "test-model", "API error: 429", 0));
+
+        assertThatThrownBy(() -> orchestrator.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config))
+                .isInstanceOf(LlmException.class);
+
+        assertThat(orchestrator.getAdmissionStats()).containsOnlyKeys("test-provider");
+        AdmissionStats stats = orchestrator.getAdmissionStats().get("test-provider");
+        assertThat(stats.admitted()).isEqualTo(1);
+        assertThat(stats.throttled()).isEqualTo(1);
+        assertThat(stats.limit()).isEqualTo(2);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void evaluateCandidatesAsync_withSuccessfulPrimaryProvider_completesWithDecision() throws Exception {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        FailureContext failure = createSampleFailure();
+        UiSnapshot snapshot = createSampleSnapshot();
+        IntentContract intent = createSampleIntent();
+
+        HealDecision expectedDecision = HealDecision.canHeal(1, 0.95, "Found match");
+        when(mockProvider.evaluateCandidatesAsync(failure, snapshot, intent, config))
+                .thenReturn(CompletableFuture.completedFuture(expectedDecision));
+
+        HealDecision result = orchestrator.evaluateCandidatesAsync(failure, snapshot, intent, config)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo(expectedDecision);
+        verify(mockProvider, never()).evaluateCandidates(any(), any(), any(), any());
+    }
+
+    @Test
+    void evaluateCandidatesAsync_withPrimaryProviderFailure_usesFallback() throws Exception {
+        orchestrator.registerProvider("primary", mockProvider);
+        orchestrator.registerProvider("fallback", mockFallbackProvider);
+        LlmConfig config = createTestConfig("primary");
+        LlmConfig.FallbackProvider fallback = new LlmConfig.FallbackProvider();
+        fallback.setProvider("fallback");
+        fallback.setModel("fallback-model");
+        config.setFallback(List.of(fallback));
+
+        when(mockProvider.evaluateCandidatesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new LlmException("Provider unavailable", "primary", "test-model")));
+        HealDecision expectedDecision = HealDecision.canHeal(2, 0.88, "Fallback found match");
+        when(mockFallbackProvider.evaluateCandidatesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(expectedDecision));
+
+        HealDecision result = orchestrator.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config).get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo(expectedDecision);
+        verify(mockProvider, times(1)).evaluateCandidatesAsync(any(), any(), any(), any());
+    }
+
+    @Test
+    void evaluateCandidatesAsync_withAllProvidersFailure_failsWithLlmException() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+
+        when(mockProvider.evaluateCandidatesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new LlmException("Provider unavailable", "test-provider", "test-model")));
+
+        CompletableFuture<HealDecision> result = orchestrator.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(LlmException.class)
+                .hasMessageContaining("All LLM providers failed");
+    }
+
+    @Test
+    void evaluateCandidatesAsync_retriesRateLimitedCallAfterBackoff() throws Exception {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.setMaxRetries(1);
+
+        HealDecision expectedDecision = HealDecision.canHeal(1, 0.9, "Found after retry");
+        when(mockProvider.evaluateCandidatesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(LlmException.rateLimited("test-provider", "test-model", "API error: 429", 0)))
+                .thenReturn(CompletableFuture.completedFuture(expectedDecision));
+
+        HealDecision result = orchestrator.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config).get(10, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo(expectedDecision);
+        verify(mockProvider, times(2)).evaluateCandidatesAsync(any(), any(), any(), any());
+    }
+
+    @Test
+    void evaluateCandidatesAsync_whenCancelled_cancelsProviderCall() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+
+        CompletableFuture<HealDecision> providerCall = new CompletableFuture<>();
+        when(mockProvider.evaluateCandidatesAsync(any(), any(), any(), any())).thenReturn(providerCall);
+
+        CompletableFuture<HealDecision> result = orchestrator.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+        result.cancel(true);
+
+        assertThat(providerCall).isCancelled();
+    }
+
+    @Test
+    void evaluateCandidatesAsync_withRateLimitEnabled_releasesPermit() throws Exception {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getRateLimit().setEnabled(true);
+
+        when(mockProvider.evaluateCandidatesAsync(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(HealDecision.canHeal(1, 0.9, "Found match")));
+
+        orchestrator.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config).get(5, TimeUnit.SECONDS);
+
+        AdmissionStats stats = orchestrator.getAdmissionStats().get("test-provider");
+        assertThat(stats.admitted()).isEqualTo(1);
+        assertThat(stats.inFlight()).isZero();
+    }
+
     // Helper methods
 
+    private LlmConfig createHedgingConfig(String primary, String fallbackProvider, long initialDelayMs) {
+        LlmConfig config = createTestConfig(primary);
+        LlmConfig.FallbackProvider fallback = new LlmConfig.FallbackProvider();
+        fallback.setProvider(fallbackProvider);
+        fallback.setModel("fallback-model");
+        config.setFallback(List.of(fallback));
+        config.getHedging().setEnabled(true);
+        config.getHedging().setInitialDelayMs(initialDelayMs);
+        config.getHedging().setMinDelayMs(10);
+        return config;
+    }
+
+    @Test
+    void evaluateBatch_decidesAllTargetsInOneProviderCall() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setEnabled(false);
+        UiSnapshot snapshot = createLoginSnapshot(10);
+        List<HealTarget> targets = List.of(createTarget("login-btn"), createTarget("cancel-btn"), createTarget("help"));
+
+        List<HealDecision> decisions = List.of(
+                HealDecision.canHeal(1, 0.9, "Log in button"),
+                HealDecision.canHeal(0, 0.9, "Cancel button"),
+                HealDecision.cannotHeal("No help link"));
+        when(mockProvider.evaluateBatch(targets, snapshot, config)).thenReturn(decisions);
+
+        List<HealDecision> result = orchestrator.evaluateBatch(targets, snapshot, config);
+
+        assertThat(result).containsExactlyElementsOf(decisions);
+        verify(mockProvider, times(1)).evaluateBatch(targets, snapshot, config);
+        verify(mockProvider, never()).evaluateCandidates(any(), any(), any(), any());
+    }
+
+    @Test
+    void evaluateBatch_splitsTargetsBeyondMaxBatchSize() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setEnabled(false);
+        config.setMaxBatchSize(2);
+        UiSnapshot snapshot = createLoginSnapshot(10);
+        List<HealTarget> targets = List.of(createTarget("a"), createTarget("b"), createTarget("c"), createTarget("d"));
+
+        when(mockProvider.evaluateBatch(anyList(), eq(snapshot), eq(config)))
+                .thenReturn(List.of(HealDecision.canHeal(1, 0.9, "first"), HealDecision.canHeal(2, 0.9, "second")));
+
+        List<HealDecision> result = orchestrator.evaluateBatch(targets, snapshot, config);
+
+        assertThat(result).hasSize(4);
+        verify(mockProvider).evaluateBatch(eq(targets.subList(0, 2)), eq(snapshot), eq(config));
+        verify(mockProvider).evaluateBatch(eq(targets.subList(2, 4)), eq(snapshot), eq(config));
+    }
+
+    @Test
+    void evaluateBatch_withMissingDecision_decidesThatTargetAlone() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setEnabled(false);
+        UiSnapshot snapshot = createLoginSnapshot(10);
+        HealTarget answered = createTarget("login-btn");
+        HealTarget skipped = createTarget("cancel-btn");
+
+        List<HealDecision> batchDecisions = new ArrayList<>();
+        batchDecisions.add(HealDecision.canHeal(1, 0.9, "Log in button"));
+        batchDecisions.add(null);
+        when(mockProvider.evaluateBatch(anyList(), eq(snapshot), eq(config))).thenReturn(batchDecisions);
+        HealDecision single = HealDecision.canHeal(0, 0.8, "Cancel button");
+        when(mockProvider.evaluateCandidates(skipped.getFailure(), snapshot, skipped.getIntent(), config))
+                .thenReturn(single);
+
+        List<HealDecision> result = orchestrator.evaluateBatch(List.of(answered, skipped), snapshot, config);
+
+        assertThat(result.get(0).getSelectedElementIndex()).isEqualTo(1);
+        assertThat(result.get(1)).isEqualTo(single);
+    }
+
+    @Test
+    void evaluateBatch_withFailingProviders_decidesTargetsOneByOne() {
+        orchestrator.registerProvider("test-provider", mockProvider);
+        LlmConfig config = createTestConfig("test-provider");
+        config.getPreRanking().setEnabled(false);
+        UiSnapshot snapshot = createLoginSnapshot(10);
+        List<HealTarget> targets = List.of(createTarget("a"), createTarget("b"));
+
+        when(mockProvider.evaluateBatch(anyList(), any(), any()))
+                .thenThrow(new LlmException("Batch failed", "test-provider", "test-model"));
+        when(mockProvider.evaluateCandidates(any(), eq(snapshot), any(), eq(config)))
+                .thenReturn(HealDecision.canHeal(1, 0.9, "Found it"));
+
+        List<HealDecision> result = orchestrator.evaluateBatch(targets, snapshot, config);
+
+        assertThat(result).hasSize(2).allMatch(HealDecision::canHeal);
+        verify(mockProvider, times(2)).evaluateCandidates(any(), eq(snapshot), any(), eq(config));
+    }
+
+    private HealTarget createTarget(String id) {
+        FailureContext failure = FailureContext.builder()
+                .stepText("I use " + id)
+                .exceptionType("NoSuchElementException")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, id))
+                .actionType(ActionType.CLICK)
+                .build();
+        return new HealTarget(failure, createSampleIntent());
+    }
+
     private LlmConfig createTestConfig(String provider) {
         LlmConfig config = new LlmConfig();
         config.setProvider(provider);
@@ -412,6 +840,32 @@ class LlmOrchestratorTest {
                 .build();
     }
 
+    private FailureContext createLoginFailure() {
+        return FailureContext.builder()
+                .stepText("I click the login button")
+                .exceptionType("NoSuchElementException")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "login-btn"))
+                .actionType(ActionType.CLICK)
+                .build();
+    }
+
+    private UiSnapshot createLoginSnapshot(int elementCount) {
+        List<ElementSnapshot> elements = new ArrayList<>();
+        elements.add(ElementSnapshot.builder().index(0).tagName("button").id("cancel")
+                .text("Cancel").visible(true).enabled(true).build());
+        elements.add(ElementSnapshot.builder().index(1).tagName("button").id("login-button")
+                .text("Log in").visible(true).enabled(true).build());
+        for (int i = 2; i < elementCount; i++) {
+            elements.add(ElementSnapshot.builder().index(i).tagName("a").text("Item " + i)
+                    .visible(true).enabled(true).build());
+        }
+        return UiSnapshot.builder()
+                .url("https://example.com/login")
+                .title("Login")
+                .interactiveElements(elements)
+                .build();
+    }
+
     private IntentContract createSampleIntent() {
         return IntentContract.builder()
                 .action("click")
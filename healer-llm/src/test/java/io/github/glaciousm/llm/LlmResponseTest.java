@@ -58,6 +58,8 @@ class LlmResponseTest {
             assertThat(response.getPromptTokens()).isZero();
             assertThat(response.getCompletionTokens()).isZero();
             assertThat(response.getLatencyMs()).isZero();
+            assertThat(response.getCacheReadTokens()).isZero();
+            assertThat(response.getCacheWriteTokens()).isZero();
             assertThat(response.getContent()).isEmpty();
             assertThat(response.getErrorMessage()).isEmpty();
         }
@@ -125,6 +127,22 @@ class LlmResponseTest {
 
             assertThat(response.getTotalTokens()).isEqualTo(150000);
         }
+
+        @Test
+        @DisplayName("cache tokens should be reported without changing the total")
+        void cacheTokensShouldNotChangeTotal() {
+            LlmResponse response = LlmResponse.builder()
+                    .success(true)
+                    .promptTokens(1500)
+                    .completionTokens(80)
+                    .cacheReadTokens(1200)
+                    .cacheWriteTokens(200)
+                    .build();
+
+            assertThat(response.getCacheReadTokens()).isEqualTo(1200);
+            assertThat(response.getCacheWriteTokens()).isEqualTo(200);
+            assertThat(response.getTotalTokens()).isEqualTo(1580);
+        }
     }
 
     @Nested
@@ -1,6 +1,10 @@
 package io.github.glaciousm.llm;
 
+import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.prompt.PromptEncodingReport;
+import io.github.glaciousm.llm.prompt.PromptParts;
+import io.github.glaciousm.llm.prompt.TokenEstimator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -299,8 +303,240 @@ class PromptBuilderTest {
         assertThat(prompt).contains("visible: false, enabled: true");
     }
 
+    @Test
+    void buildHealingPrompt_withCompactEncoding_writesOneRowPerElement() {
+        LlmConfig config = compactConfig(2000);
+
+        String prompt = promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), createSnapshotWithMultipleElements(), createSampleIntent(), config);
+
+        assertThat(prompt).contains("Columns: i|tag|id|type|text|ph");
+        assertThat(prompt).contains("0|button|submit-btn||Submit");
+        assertThat(prompt).contains("1|input|username|text||Enter username");
+        assertThat(prompt).doesNotContain("visible: true");
+        assertThat(prompt).contains("can_heal");
+    }
+
+    @Test
+    void buildHealingPrompt_withCompactEncoding_writesOnlyNonDefaultStates() {
+        ElementSnapshot disabled = ElementSnapshot.builder().index(0).tagName("button").text("Pay")
+                .visible(true).enabled(false).build();
+        ElementSnapshot hidden = ElementSnapshot.builder().index(1).tagName("button").text("Back")
+                .visible(false).enabled(true).build();
+        UiSnapshot snapshot = UiSnapshot.builder().url("https://example.com").title("Test")
+                .interactiveElements(List.of(disabled, hidden)).build();
+
+        String prompt = promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), snapshot, createSampleIntent(), compactConfig(2000));
+
+        assertThat(prompt).contains("0|button|Pay|disabled");
+        assertThat(prompt).contains("1|button|Back|hidden");
+    }
+
+    @Test
+    void buildHealingPrompt_withCompactEncoding_deduplicatesClassesAndContainers() {
+        List<ElementSnapshot> elements = new java.util.ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            elements.add(ElementSnapshot.builder().index(i).tagName("a").text("Link " + i)
+                    .classes(List.of("nav-link", "active")).container("nav#main").visible(true).enabled(true).build());
+        }
+        UiSnapshot snapshot = UiSnapshot.builder().url("https://example.com").title("Test")
+                .interactiveElements(elements).build();
+
+        String prompt = promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), snapshot, createSampleIntent(), compactConfig(2000));
+
+        assertThat(prompt).containsOnlyOnce("nav-link active");
+        assertThat(prompt).containsOnlyOnce("nav#main");
+        assertThat(prompt).contains("@c1=nav-link active", "@k1=nav#main", "2|a|Link 2|@c1|@k1");
+    }
+
+    @Test
+    void buildHealingPrompt_withCompactEncoding_fitsElementsIntoTokenBudget() {
+        UiSnapshot snapshot = createSnapshotWithButtons(200);
+        int fixedTokens = TokenEstimator.estimate(promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), UiSnapshot.builder().url("https://example.com").title("Test Page")
+                        .interactiveElements(List.of()).build(), createSampleIntent()));
+        LlmConfig config = compactConfig(fixedTokens + 300);
+
+        String prompt = promptBuilder.buildHealingPrompt(createSampleFailureContext(), snapshot, createSampleIntent(), config);
+
+        assertThat(TokenEstimator.estimate(prompt)).isLessThanOrEqualTo(config.getMaxTokensPerRequest());
+        assertThat(prompt).contains("0|button|Button 0");
+        assertThat(prompt).doesNotContain("199|button|Button 199");
+        assertThat(prompt).containsPattern("\\.\\.\\. and \\d+ more elements omitted");
+    }
+
+    @Test
+    void buildHealingPrompt_withCompactEncoding_keepsMostRelevantElementsWithinBudget() {
+        UiSnapshot pageOrder = createSnapshotWithButtons(200);
+        List<Integer> relevanceOrder = new java.util.ArrayList<>();
+        for (int i = 199; i >= 0; i--) {
+            relevanceOrder.add(i);
+        }
+        UiSnapshot snapshot = UiSnapshot.builder().url(pageOrder.getUrl()).title(pageOrder.getTitle())
+                .interactiveElements(pageOrder.getInteractiveElements()).relevanceOrder(relevanceOrder).build();
+        int fixedTokens = TokenEstimator.estimate(promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), UiSnapshot.builder().url("https://example.com").title("Test Page")
+                        .interactiveElements(List.of()).build(), createSampleIntent()));
+        LlmConfig config = compactConfig(fixedTokens + 300);
+
+        String prompt = promptBuilder.buildHealingPrompt(createSampleFailureContext(), snapshot, createSampleIntent(), config);
+
+        assertThat(TokenEstimator.estimate(prompt)).isLessThanOrEqualTo(config.getMaxTokensPerRequest());
+        assertThat(prompt).contains("199|button|Button 199");
+        assertThat(prompt).doesNotContain("|Button 0|");
+        assertThat(prompt.indexOf("198|button|Button 198")).isLessThan(prompt.indexOf("199|button|Button 199"));
+        assertThat(prompt).containsPattern("\\.\\.\\. and \\d+ less relevant elements omitted");
+    }
+
+    @Test
+    void buildHealingPrompt_withoutConfig_usesMarkdown() {
+        String prompt = promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), createSampleSnapshot(), createSampleIntent(), null);
+
+        assertThat(prompt).isEqualTo(promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), createSampleSnapshot(), createSampleIntent()));
+    }
+
+    @Test
+    void buildHealingPromptParts_keepsInstructionsFreeOfFailureContent() {
+        FailureContext other = FailureContext.builder()
+                .stepText("enter the username")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "user"))
+                .actionType(ActionType.TYPE)
+                .build();
+
+        PromptParts login = promptBuilder.buildHealingPromptParts(
+                createSampleFailureContext(), createSampleSnapshot(), createSampleIntent(), null);
+        PromptParts username = promptBuilder.buildHealingPromptParts(
+                other, createSnapshotWithMultipleElements(), createSampleIntent(), compactConfig(4000));
+
+        assertThat(login.instructions()).isEqualTo(username.instructions());
+        assertThat(login.instructions()).contains("can_heal", "Confidence guide");
+        assertThat(login.instructions()).doesNotContain("#login-btn", "https://example.com/login", "submit-btn");
+        assertThat(login.page()).contains("https://example.com/login", "submit-btn");
+        assertThat(login.failure()).contains("#login-btn", "click the login button");
+    }
+
+    @Test
+    void buildHealingPromptParts_fullPromptPutsPageBeforeFailure() {
+        PromptParts parts = promptBuilder.buildHealingPromptParts(
+                createSampleFailureContext(), createSampleSnapshot(), createSampleIntent(), null);
+
+        String prompt = promptBuilder.buildHealingPrompt(
+                createSampleFailureContext(), createSampleSnapshot(), createSampleIntent());
+
+        assertThat(prompt).isEqualTo(parts.full());
+        assertThat(prompt).startsWith(parts.instructions());
+        assertThat(prompt.indexOf("submit-btn")).isLessThan(prompt.indexOf("#login-btn"));
+    }
+
+    @Test
+    void compareEncodings_reportsInputTokenReduction() {
+        PromptEncodingReport report = promptBuilder.compareEncodings(
+                createSampleFailureContext(), createSnapshotWithButtons(40), createSampleIntent(), compactConfig(4000));
+
+        assertThat(report.compactElements()).isEqualTo(40);
+        assertThat(report.markdownElements()).isEqualTo(40);
+        assertThat(report.compactTokens()).isLessThan(report.markdownTokens());
+        assertThat(report.getReduction()).isGreaterThan(0.3);
+    }
+
+    @Test
+    void buildVisionHealingPrompt_withPreparedScreenshot_describesMarkersAndCrop() {
+        LlmConfig.VisionConfig vision = new LlmConfig.VisionConfig();
+        vision.setCropToCandidates(true);
+        UiSnapshot snapshot = UiSnapshot.builder()
+                .url("https://example.com")
+                .interactiveElements(List.of(ElementSnapshot.builder()
+                        .index(0).tagName("button").text("Submit")
+                        .rect(new ElementRect(100, 200, 80, 30))
+                        .visible(true).enabled(true).build()))
+                .build();
+
+        String prompt = promptBuilder.buildVisionHealingPrompt(
+                createSampleFailureContext(), snapshot, createSampleIntent(), vision);
+
+        assertThat(prompt).contains("cropped to the area around the candidate elements");
+        assertThat(prompt).contains("labelled with their index");
+    }
+
+    @Test
+    void buildVisionHealingPrompt_withoutElementPositions_omitsScreenshotNote() {
+        LlmConfig.VisionConfig vision = new LlmConfig.VisionConfig();
+        UiSnapshot snapshot = createSnapshotWithButtons(3);
+
+        String prompt = promptBuilder.buildVisionHealingPrompt(
+                createSampleFailureContext(), snapshot, createSampleIntent(), vision);
+
+        assertThat(prompt).isEqualTo(promptBuilder.buildVisionHealingPrompt(
+                createSampleFailureContext(), snapshot, createSampleIntent()));
+        assertThat(prompt).doesNotContain("labelled with their index");
+    }
+
+    @Test
+    void buildBatchHealingPrompt_listsElementsOnceAndEveryFailure() {
+        FailureContext other = FailureContext.builder()
+                .stepText("enter the username")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "user"))
+                .actionType(ActionType.TYPE)
+                .build();
+        List<HealTarget> targets = List.of(
+                new HealTarget(createSampleFailureContext(), createSampleIntent()),
+                new HealTarget(other, createSampleIntent()));
+
+        String prompt = promptBuilder.buildBatchHealingPrompt(targets, createSnapshotWithMultipleElements(), null);
+
+        assertThat(prompt).containsOnlyOnce("submit-btn");
+        assertThat(prompt).contains("### Failure 0", "### Failure 1");
+        assertThat(prompt).contains("#login-btn", "click the login button", "enter the username");
+        assertThat(prompt).contains("\"decisions\"", "\"failure\"");
+    }
+
+    @Test
+    void buildBatchHealingPrompt_withCompactEncoding_fitsElementsIntoTokenBudget() {
+        List<HealTarget> targets = List.of(
+                new HealTarget(createSampleFailureContext(), createSampleIntent()),
+                new HealTarget(createSampleFailureContext(), createSampleIntent()));
+        LlmConfig config = compactConfig(1200);
+
+        String prompt = promptBuilder.buildBatchHealingPrompt(targets, createSnapshotWithButtons(200), config);
+
+        assertThat(TokenEstimator.estimate(prompt)).isLessThanOrEqualTo(config.getMaxTokensPerRequest());
+        assertThat(prompt).contains("0|button|Button 0");
+        assertThat(prompt).doesNotContain("199|button|Button 199");
+    }
+
     // Helper methods
 
+    private LlmConfig compactConfig(int maxTokens) {
+        LlmConfig config = new LlmConfig();
+        config.setPromptEncoding(LlmConfig.PromptEncoding.COMPACT);
+        config.setMaxTokensPerRequest(maxTokens);
+        return config;
+    }
+
+    private UiSnapshot createSnapshotWithButtons(int count) {
+        List<ElementSnapshot> elements = new java.util.ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            elements.add(ElementSnapshot.builder()
+                    .index(i)
+                    .tagName("button")
+                    .text("Button " + i)
+                    .classes(List.of("btn", "btn-secondary"))
+                    .container("form#checkout")
+                    .visible(true)
+                    .enabled(true)
+                    .build());
+        }
+        return UiSnapshot.builder()
+                .url("https://example.com")
+                .title("Test Page")
+                .interactiveElements(elements)
+                .build();
+    }
+
     private FailureContext createSampleFailureContext() {
         return FailureContext.builder()
                 .featureName("Login Feature")
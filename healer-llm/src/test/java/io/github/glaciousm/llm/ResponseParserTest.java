@@ -6,6 +6,8 @@ import io.github.glaciousm.core.model.OutcomeResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 class ResponseParserTest {
@@ -433,4 +435,61 @@ class ResponseParserTest {
 
         assertThat(decision.getReasoning()).contains("Match found based on:");
     }
+
+    @Test
+    void parseBatchDecisions_matchesDecisionsByFailureNumber() {
+        String response = """
+            {
+              "decisions": [
+                {"failure": 1, "can_heal": false, "confidence": 0.2, "reasoning": "Not on page", "refusal_reason": "No match"},
+                {"failure": 0, "can_heal": true, "confidence": 0.9, "selected_element_index": 4, "reasoning": "Same label"}
+              ]
+            }
+            """;
+
+        List<HealDecision> decisions = parser.parseBatchDecisions(response, 2, "test", "model");
+
+        assertThat(decisions).hasSize(2);
+        assertThat(decisions.get(0).canHeal()).isTrue();
+        assertThat(decisions.get(0).getSelectedElementIndex()).isEqualTo(4);
+        assertThat(decisions.get(1).canHeal()).isFalse();
+    }
+
+    @Test
+    void parseBatchDecisions_withoutFailureNumbers_matchesByPosition() {
+        String response = """
+            [
+              {"can_heal": true, "confidence": 0.9, "selected_element_index": 1, "reasoning": "First"},
+              {"can_heal": true, "confidence": 0.8, "selected_element_index": 3, "reasoning": "Second"}
+            ]
+            """;
+
+        List<HealDecision> decisions = parser.parseBatchDecisions(response, 2, "test", "model");
+
+        assertThat(decisions).extracting(HealDecision::getSelectedElementIndex).containsExactly(1, 3);
+    }
+
+    @Test
+    void parseBatchDecisions_withMissingOrInvalidEntries_leavesThemNull() {
+        String response = """
+            {"decisions": [
+              {"failure": 0, "can_heal": true, "confidence": 0.9, "selected_element_index": 0, "reasoning": "Ok"},
+              {"failure": 1, "confidence": 0.9},
+              {"failure": 7, "can_heal": true, "confidence": 0.9, "selected_element_index": 2, "reasoning": "Out of range"}
+            ]}
+            """;
+
+        List<HealDecision> decisions = parser.parseBatchDecisions(response, 3, "test", "model");
+
+        assertThat(decisions).hasSize(3);
+        assertThat(decisions.get(0)).isNotNull();
+        assertThat(decisions.get(1)).isNull();
+        assertThat(decisions.get(2)).isNull();
+    }
+
+    @Test
+    void parseBatchDecisions_withoutDecisionArray_throwsException() {
+        assertThatThrownBy(() -> parser.parseBatchDecisions("{\"can_heal\": true}", 2, "test", "model"))
+                .isInstanceOf(LlmException.class);
+    }
 }
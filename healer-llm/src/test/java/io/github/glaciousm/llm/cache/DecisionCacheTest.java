@@ -0,0 +1,150 @@
+package io.github.glaciousm.llm.cache;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.HealDecision;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DecisionCacheTest {
+
+    private static final String KEY_A = "a".repeat(64);
+    private static final String KEY_B = "b".repeat(64);
+    private static final String KEY_C = "c".repeat(64);
+
+    @TempDir
+    Path tempDir;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void get_afterPut_returnsDecisionAndCreditsSavings() {
+        DecisionCache cache = new DecisionCache(config(), clock);
+        HealDecision decision = HealDecision.builder()
+                .canHeal(true)
+                .confidence(0.9)
+                .selectedElementIndex(3)
+                .reasoning("Matches the login button")
+                .alternativeIndices(List.of(5))
+                .build();
+
+        assertThat(cache.get(KEY_A)).isEmpty();
+        cache.put(KEY_A, decision, "openai", "gpt-4", 500, 60, 0.02);
+        Optional<HealDecision> cached = cache.get(KEY_A);
+
+        assertThat(cached).contains(decision);
+        DecisionCache.DecisionCacheStats stats = cache.getStats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+        assertThat(stats.tokensSaved()).isEqualTo(560);
+        assertThat(stats.costSavedUsd()).isCloseTo(0.02, within(1e-9));
+    }
+
+    @Test
+    void get_afterTtl_missesExpiredDecision() {
+        LlmConfig.DecisionCacheConfig config = config();
+        config.setTtlHours(1);
+        DecisionCache cache = new DecisionCache(config, clock);
+        cache.put(KEY_A, HealDecision.cannotHeal("No match"), "openai", "gpt-4", 100, 60, 0.01);
+
+        clock.advance(Duration.ofMinutes(59));
+        assertThat(cache.get(KEY_A)).isPresent();
+
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(cache.get(KEY_A)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_beyondMaxEntries_evictsLeastRecentlyUsed() {
+        LlmConfig.DecisionCacheConfig config = config();
+        config.setMaxEntries(2);
+        DecisionCache cache = new DecisionCache(config, clock);
+
+        cache.put(KEY_A, HealDecision.canHeal(1, 0.9, "a"), "openai", "gpt-4", 1, 1, 0);
+        cache.put(KEY_B, HealDecision.canHeal(2, 0.9, "b"), "openai", "gpt-4", 1, 1, 0);
+        cache.get(KEY_A);
+        cache.put(KEY_C, HealDecision.canHeal(3, 0.9, "c"), "openai", "gpt-4", 1, 1, 0);
+
+        assertThat(cache.get(KEY_A)).isPresent();
+        assertThat(cache.get(KEY_B)).isEmpty();
+        assertThat(cache.getStats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void persistence_sharesDecisionsAcrossInstances() {
+        LlmConfig.DecisionCacheConfig config = config();
+        config.setPersistenceEnabled(true);
+        config.setPersistenceDir(tempDir.toString());
+
+        new DecisionCache(config, clock).put(KEY_A, HealDecision.canHeal(4, 0.88, "Persisted"),
+                "anthropic", "claude-3-haiku", 400, 70, 0.0002);
+        assertThat(tempDir.resolve(KEY_A + ".json")).exists();
+
+        DecisionCache restarted = new DecisionCache(config, clock);
+        Optional<HealDecision> cached = restarted.get(KEY_A);
+
+        assertThat(cached).isPresent();
+        assertThat(cached.get().getSelectedElementIndex()).isEqualTo(4);
+        assertThat(restarted.getStats().diskHits()).isEqualTo(1);
+    }
+
+    @Test
+    void persistence_prunesExpiredAndCorruptFilesSafely() throws Exception {
+        LlmConfig.DecisionCacheConfig config = config();
+        config.setPersistenceEnabled(true);
+        config.setPersistenceDir(tempDir.toString());
+        Files.writeString(tempDir.resolve(KEY_B + ".json"), "{not json");
+
+        DecisionCache cache = new DecisionCache(config, clock);
+        assertThat(cache.get(KEY_B)).isEmpty();
+
+        cache.put(KEY_A, HealDecision.canHeal(1, 0.9, "a"), "openai", "gpt-4", 1, 1, 0);
+        clock.advance(Duration.ofHours(25));
+        assertThat(new DecisionCache(config, clock).get(KEY_A)).isEmpty();
+        assertThat(tempDir.resolve(KEY_A + ".json")).doesNotExist();
+    }
+
+    private LlmConfig.DecisionCacheConfig config() {
+        return new LlmConfig.DecisionCacheConfig();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.glaciousm.llm.cache;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DecisionFingerprintTest {
+
+    private final LlmConfig config = config("openai", "gpt-4o-mini");
+
+    @Test
+    void of_ignoresTestNamesWhitespaceClassOrderAndQueryString() {
+        String first = DecisionFingerprint.of(
+                failure("Login", "I click  the login button"),
+                snapshot("https://example.com/login?session=1", List.of("btn", "primary")),
+                intent(), config);
+        String second = DecisionFingerprint.of(
+                failure("Checkout", " I click the login button"),
+                snapshot("https://example.com/login?session=2", List.of("primary", "btn")),
+                intent(), config);
+
+        assertThat(first).isEqualTo(second).hasSize(64);
+    }
+
+    @Test
+    void of_changesWithLocatorElementsAndModel() {
+        String base = DecisionFingerprint.of(failure("Login", "I click the login button"),
+                snapshot("https://example.com/login", List.of("btn")), intent(), config);
+
+        FailureContext otherLocator = FailureContext.builder()
+                .stepText("I click the login button")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "signin-btn"))
+                .actionType(ActionType.CLICK)
+                .build();
+
+        assertThat(DecisionFingerprint.of(otherLocator,
+                snapshot("https://example.com/login", List.of("btn")), intent(), config))
+                .isNotEqualTo(base);
+        assertThat(DecisionFingerprint.of(failure("Login", "I click the login button"),
+                snapshot("https://example.com/login", List.of("link")), intent(), config))
+                .isNotEqualTo(base);
+        assertThat(DecisionFingerprint.of(failure("Login", "I click the login button"),
+                snapshot("https://example.com/login", List.of("btn")), intent(), config("openai", "gpt-4o")))
+                .isNotEqualTo(base);
+    }
+
+    private FailureContext failure(String feature, String stepText) {
+        return FailureContext.builder()
+                .featureName(feature)
+                .stepText(stepText)
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "login-btn"))
+                .actionType(ActionType.CLICK)
+                .build();
+    }
+
+    private UiSnapshot snapshot(String url, List<String> buttonClasses) {
+        return UiSnapshot.builder()
+                .url(url)
+                .title("Login")
+                .interactiveElements(List.of(
+                        ElementSnapshot.builder().index(0).tagName("a").text("Forgot password?")
+                                .visible(true).enabled(true).build(),
+                        ElementSnapshot.builder().index(1).tagName("button").text("Log in")
+                                .classes(buttonClasses).visible(true).enabled(true).build()))
+                .build();
+    }
+
+    private IntentContract intent() {
+        return IntentContract.builder()
+                .action("click")
+                .description("Submit the login form")
+                .policy(HealPolicy.AUTO_SAFE)
+                .build();
+    }
+
+    private static LlmConfig config(String provider, String model) {
+        LlmConfig config = new LlmConfig();
+        config.setProvider(provider);
+        config.setModel(model);
+        return config;
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.glaciousm.llm.hedging;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProviderLatencyTrackerTest {
+
+    private final ProviderLatencyTracker tracker = new ProviderLatencyTracker();
+
+    @Test
+    void hedgeDelay_withTooFewSamples_usesInitialDelay() {
+        LlmConfig.HedgingConfig config = new LlmConfig.HedgingConfig();
+        config.setInitialDelayMs(4000);
+        tracker.record("openai", "gpt-4o-mini", Duration.ofMillis(800));
+
+        assertThat(tracker.hedgeDelay("openai", "gpt-4o-mini", config)).isEqualTo(Duration.ofMillis(4000));
+    }
+
+    @Test
+    void hedgeDelay_withEnoughSamples_usesProviderPercentile() {
+        LlmConfig.HedgingConfig config = new LlmConfig.HedgingConfig();
+        config.setMinSamples(10);
+        config.setPercentile(90);
+        for (int i = 1; i <= 10; i++) {
+            tracker.record("openai", "gpt-4o-mini", Duration.ofMillis(i * 100L));
+        }
+
+        Duration delay = tracker.hedgeDelay("openai", "gpt-4o-mini", config);
+
+        assertThat(delay.toMillis()).isBetween(870L, 930L);
+    }
+
+    @Test
+    void hedgeDelay_tracksEachProviderSeparately() {
+        LlmConfig.HedgingConfig config = new LlmConfig.HedgingConfig();
+        config.setMinSamples(1);
+        config.setMinDelayMs(10);
+        tracker.record("ollama", "llama3.1", Duration.ofMillis(300));
+        tracker.record("anthropic", "claude-3-haiku-20240307", Duration.ofMillis(2000));
+
+        assertThat(tracker.hedgeDelay("ollama", "llama3.1", config).toMillis()).isLessThan(400);
+        assertThat(tracker.hedgeDelay("Anthropic", "claude-3-haiku-20240307", config).toMillis()).isGreaterThan(1900);
+        assertThat(tracker.getLatencies()).containsOnlyKeys("anthropic/claude-3-haiku-20240307", "ollama/llama3.1");
+    }
+
+    @Test
+    void hedgeDelay_isBoundedByMinAndMaxDelay() {
+        LlmConfig.HedgingConfig config = new LlmConfig.HedgingConfig();
+        config.setMinSamples(1);
+        config.setMinDelayMs(250);
+        config.setMaxDelayMs(15000);
+        tracker.record("mock", "fast", Duration.ofMillis(5));
+        tracker.record("openai", "slow", Duration.ofSeconds(60));
+
+        assertThat(tracker.hedgeDelay("mock", "fast", config)).isEqualTo(Duration.ofMillis(250));
+        assertThat(tracker.hedgeDelay("openai", "slow", config)).isEqualTo(Duration.ofMillis(15000));
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.glaciousm.llm.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenEstimatorTest {
+
+    @Test
+    void estimate_countsWordChunksAndPunctuation() {
+        assertThat(TokenEstimator.estimate("Log in")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("checkout")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("0|button|submit-btn")).isEqualTo(9);
+    }
+
+    @Test
+    void estimate_ignoresWhitespace() {
+        assertThat(TokenEstimator.estimate("  save \n\n  ")).isEqualTo(TokenEstimator.estimate("save"));
+    }
+
+    @Test
+    void estimate_countsEachNonAsciiCharacter() {
+        assertThat(TokenEstimator.estimate("登录")).isEqualTo(2);
+    }
+
+    @Test
+    void estimate_withNullOrEmpty_returnsZero() {
+        assertThat(TokenEstimator.estimate(null)).isZero();
+        assertThat(TokenEstimator.estimate("")).isZero();
+    }
+}
@@ -1,8 +1,11 @@
 package io.github.glaciousm.llm.providers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.LlmResponse;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -17,6 +20,17 @@ import static org.assertj.core.api.Assertions.*;
 
 class AnthropicProviderTest {
 
+    private static final String HEAL_RESPONSE = """
+        {
+          "content": [
+            {
+              "type": "text",
+              "text": "{\\"can_heal\\": true, \\"confidence\\": 0.9, \\"selected_element_index\\": 0, \\"reasoning\\": \\"test\\", \\"alternative_indices\\": [], \\"warnings\\": [], \\"refusal_reason\\": null}"
+            }
+          ]
+        }
+        """;
+
     private MockWebServer mockServer;
     private AnthropicProvider provider;
     private LlmConfig config;
@@ -89,6 +103,57 @@ class AnthropicProviderTest {
         assertThat(requestBody).contains("\"max_tokens\":2000");
     }
 
+    @Test
+    void evaluateCandidates_withStreaming_resolvesDecisionFromEvents() throws InterruptedException {
+        config.setStreaming(true);
+        String events = """
+            event: message_start
+            data: {"type": "message_start", "message": {"id": "msg_1"}}
+
+            event: content_block_delta
+            data: {"type": "content_block_delta", "index": 0, "delta": {"type": "text_delta", "text": "{\\"can_heal\\": true, \\"confidence\\": 0.93, "}}
+
+            event: content_block_delta
+            data: {"type": "content_block_delta", "index": 0, "delta": {"type": "text_delta", "text": "\\"selected_element_index\\": 1, \\"reasoning\\": \\"Same label"}}
+
+            event: content_block_delta
+            data: {"type": "content_block_delta", "index": 0, "delta": {"type": "text_delta", "text": " and role\\"}"}}
+
+            event: message_stop
+            data: {"type": "message_stop"}
+
+            """;
+
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(events)
+                .addHeader("Content-Type", "text/event-stream"));
+
+        HealDecision decision = provider.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(decision.canHeal()).isTrue();
+        assertThat(decision.getConfidence()).isEqualTo(0.93);
+        assertThat(decision.getSelectedElementIndex()).isEqualTo(1);
+
+        String requestBody = mockServer.takeRequest().getBody().readUtf8();
+        assertThat(requestBody).contains("\"stream\":true");
+    }
+
+    @Test
+    void evaluateCandidates_withStreamingErrorEvent_throwsException() {
+        config.setStreaming(true);
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("event: error\ndata: {\"type\": \"error\", \"error\": {\"type\": \"overloaded_error\", \"message\": \"Overloaded\"}}\n\n")
+                .addHeader("Content-Type", "text/event-stream"));
+
+        assertThatThrownBy(() -> provider.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config))
+                .isInstanceOf(LlmException.class)
+                .hasMessageContaining("Overloaded");
+    }
+
     @Test
     void evaluateCandidates_withAuthenticationError_throwsException() {
         mockServer.enqueue(new MockResponse()
@@ -314,6 +379,84 @@ class AnthropicProviderTest {
         assertThat(requestBody).contains("\"model\":\"claude-3-5-sonnet-20241022\"");
     }
 
+    @Test
+    void evaluateCandidates_withPromptCache_marksInstructionsAndPageAsCacheable() throws Exception {
+        config.getPromptCache().setEnabled(true);
+        mockServer.enqueue(new MockResponse().setResponseCode(200).setBody(HEAL_RESPONSE));
+
+        provider.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        JsonNode body = new ObjectMapper().readTree(mockServer.takeRequest().getBody().readUtf8());
+        JsonNode system = body.path("system").path(0);
+        assertThat(system.path("text").asText()).contains("can_heal").doesNotContain("#button");
+        assertThat(system.path("cache_control").path("type").asText()).isEqualTo("ephemeral");
+
+        JsonNode content = body.path("messages").path(0).path("content");
+        assertThat(content.size()).isEqualTo(2);
+        assertThat(content.path(0).path("text").asText()).contains("https://example.com", "Click me");
+        assertThat(content.path(0).path("cache_control").path("type").asText()).isEqualTo("ephemeral");
+        assertThat(content.path(1).path("text").asText()).contains("#button");
+        assertThat(content.path(1).has("cache_control")).isFalse();
+    }
+
+    @Test
+    void evaluateCandidates_withPromptCache_sendsSamePrefixForDifferentFailures() throws Exception {
+        config.getPromptCache().setEnabled(true);
+        mockServer.enqueue(new MockResponse().setResponseCode(200).setBody(HEAL_RESPONSE));
+        mockServer.enqueue(new MockResponse().setResponseCode(200).setBody(HEAL_RESPONSE));
+        FailureContext other = FailureContext.builder()
+                .stepText("user enters the email")
+                .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "email"))
+                .actionType(ActionType.TYPE)
+                .build();
+
+        provider.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+        provider.evaluateCandidates(other, createSampleSnapshot(), createSampleIntent(), config);
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(mockServer.takeRequest().getBody().readUtf8());
+        JsonNode second = mapper.readTree(mockServer.takeRequest().getBody().readUtf8());
+        assertThat(second.get("system")).isEqualTo(first.get("system"));
+        JsonNode firstContent = first.path("messages").path(0).path("content");
+        JsonNode secondContent = second.path("messages").path(0).path("content");
+        assertThat(secondContent.get(0)).isEqualTo(firstContent.get(0));
+        assertThat(secondContent.get(1)).isNotEqualTo(firstContent.get(1));
+    }
+
+    @Test
+    void evaluateCandidates_byDefault_sendsOneUserMessage() throws Exception {
+        mockServer.enqueue(new MockResponse().setResponseCode(200).setBody(HEAL_RESPONSE));
+
+        provider.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        String requestBody = mockServer.takeRequest().getBody().readUtf8();
+        assertThat(requestBody).doesNotContain("cache_control", "\"system\"");
+        JsonNode content = new ObjectMapper().readTree(requestBody).path("messages").path(0).path("content");
+        assertThat(content.asText()).contains("can_heal", "https://example.com", "#button");
+    }
+
+    @Test
+    void parseResponse_readsPromptCacheUsage() {
+        LlmResponse response = provider.parseResponse("""
+            {
+              "model": "claude-3-5-sonnet-20241022",
+              "content": [{"type": "text", "text": "{}"}],
+              "usage": {
+                "input_tokens": 40,
+                "cache_creation_input_tokens": 300,
+                "cache_read_input_tokens": 1200,
+                "output_tokens": 90
+              }
+            }
+            """);
+
+        assertThat(response.getContent()).contains("{}");
+        assertThat(response.getPromptTokens()).isEqualTo(1540);
+        assertThat(response.getCacheReadTokens()).isEqualTo(1200);
+        assertThat(response.getCacheWriteTokens()).isEqualTo(300);
+        assertThat(response.getCompletionTokens()).isEqualTo(90);
+    }
+
     @Test
     void evaluateCandidates_withCustomBaseUrl_usesCorrectUrl() {
         config.setBaseUrl("https://custom.anthropic.com/v1");
@@ -1,8 +1,11 @@
 package io.github.glaciousm.llm.providers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.glaciousm.core.config.LlmConfig;
 import io.github.glaciousm.core.exception.LlmException;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.llm.LlmResponse;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -11,7 +14,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -90,6 +97,53 @@ class OpenAiProviderTest {
         assertThat(requestBody).contains("\"max_tokens\":2000");
     }
 
+    @Test
+    void evaluateCandidates_withStreaming_resolvesDecisionFromChunks() throws InterruptedException {
+        config.setStreaming(true);
+        String chunks = """
+            data: {"choices": [{"index": 0, "delta": {"role": "assistant", "content": ""}}]}
+
+            data: {"choices": [{"index": 0, "delta": {"content": "{\\"can_heal\\": true, \\"confidence\\": 0.88, "}}]}
+
+            data: {"choices": [{"index": 0, "delta": {"content": "\\"selected_element_index\\": 2, \\"reasoning\\": \\"Match"}}]}
+
+            data: {"choices": [{"index": 0, "delta": {"content": "\\"}"}}]}
+
+            data: [DONE]
+
+            """;
+
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(chunks)
+                .addHeader("Content-Type", "text/event-stream"));
+
+        HealDecision decision = provider.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(decision.canHeal()).isTrue();
+        assertThat(decision.getConfidence()).isEqualTo(0.88);
+        assertThat(decision.getSelectedElementIndex()).isEqualTo(2);
+
+        String requestBody = mockServer.takeRequest().getBody().readUtf8();
+        assertThat(requestBody).contains("\"stream\":true");
+    }
+
+    @Test
+    void evaluateCandidates_withRateLimitError_keepsRetryAfter() {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .addHeader("Retry-After", "7")
+                .setBody("{\"error\": {\"message\": \"Rate limit exceeded\"}}"));
+
+        assertThatThrownBy(() -> provider.evaluateCandidates(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config))
+                .isInstanceOfSatisfying(LlmException.class, e -> {
+                    assertThat(e.isRateLimited()).isTrue();
+                    assertThat(e.getRetryAfter()).contains(Duration.ofSeconds(7));
+                });
+    }
+
     @Test
     void evaluateCandidates_withAuthenticationError_throwsException() {
         mockServer.enqueue(new MockResponse()
@@ -182,6 +236,124 @@ class OpenAiProviderTest {
                 .isInstanceOf(LlmException.class);
     }
 
+    @Test
+    void evaluateCandidatesAsync_withSuccessfulResponse_completesWithDecision() throws Exception {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                    {
+                      "choices": [
+                        {
+                          "message": {
+                            "content": "{\"can_heal\": true, \"confidence\": 0.9, \"selected_element_index\": 1, \"reasoning\": \"Match\", \"alternative_indices\": [], \"warnings\": [], \"refusal_reason\": null}"
+                          }
+                        }
+                      ]
+                    }
+                    """));
+
+        HealDecision decision = provider.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config).get(5, TimeUnit.SECONDS);
+
+        assertThat(decision.canHeal()).isTrue();
+        assertThat(decision.getSelectedElementIndex()).isEqualTo(1);
+        assertThat(mockServer.takeRequest().getHeader("Authorization")).isEqualTo("Bearer test-key-123");
+    }
+
+    @Test
+    void evaluateCandidatesAsync_withServerError_retriesAfterBackoff() throws Exception {
+        config.setMaxRetries(1);
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                    {
+                      "choices": [
+                        {
+                          "message": {
+                            "content": "{\"can_heal\": false, \"confidence\": 0.2, \"refusal_reason\": \"No match\"}"
+                          }
+                        }
+                      ]
+                    }
+                    """));
+
+        HealDecision decision = provider.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config).get(10, TimeUnit.SECONDS);
+
+        assertThat(decision.canHeal()).isFalse();
+        assertThat(mockServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void evaluateCandidatesAsync_withRateLimitError_failsWithRetryAfter() {
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(429)
+                .addHeader("Retry-After", "7")
+                .setBody("{\"error\": {\"message\": \"Rate limit exceeded\"}}"));
+
+        CompletableFuture<HealDecision> decision = provider.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThatThrownBy(() -> decision.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(LlmException.class, e -> {
+                    assertThat(e.isRateLimited()).isTrue();
+                    assertThat(e.getRetryAfter()).contains(Duration.ofSeconds(7));
+                });
+    }
+
+    @Test
+    void evaluateCandidatesAsync_withMissingApiKey_returnsFailedFuture() {
+        config.setApiKeyEnv("NONEXISTENT_API_KEY_FOR_TEST");
+
+        CompletableFuture<HealDecision> decision = provider.evaluateCandidatesAsync(
+                createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        assertThat(decision).isCompletedExceptionally();
+        assertThat(mockServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void evaluateCandidates_withPromptCache_sendsInstructionsAsSystemMessage() throws Exception {
+        config.getPromptCache().setEnabled(true);
+        mockServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("""
+                    {"choices": [{"message": {"content": "{\\"can_heal\\": false, \\"confidence\\": 0.0}"}}]}
+                    """));
+
+        provider.evaluateCandidates(createSampleFailure(), createSampleSnapshot(), createSampleIntent(), config);
+
+        JsonNode messages = new ObjectMapper().readTree(mockServer.takeRequest().getBody().readUtf8()).path("messages");
+        assertThat(messages.size()).isEqualTo(2);
+        assertThat(messages.path(0).path("role").asText()).isEqualTo("system");
+        assertThat(messages.path(0).path("content").asText()).contains("can_heal").doesNotContain("#button");
+        assertThat(messages.path(1).path("role").asText()).isEqualTo("user");
+        assertThat(messages.path(1).path("content").asText()).contains("https://example.com", "#button");
+    }
+
+    @Test
+    void parseResponse_readsCachedPromptTokens() {
+        LlmResponse response = provider.parseResponse("""
+            {
+              "model": "gpt-4o",
+              "choices": [{"message": {"content": "{}"}}],
+              "usage": {
+                "prompt_tokens": 1800,
+                "completion_tokens": 70,
+                "prompt_tokens_details": {"cached_tokens": 1536}
+              }
+            }
+            """);
+
+        assertThat(response.getPromptTokens()).isEqualTo(1800);
+        assertThat(response.getCacheReadTokens()).isEqualTo(1536);
+        assertThat(response.getCacheWriteTokens()).isZero();
+        assertThat(response.getCompletionTokens()).isEqualTo(70);
+    }
+
     @Test
     void validateOutcome_withSuccessfulResponse_returnsResult() throws InterruptedException {
         String responseBody = """
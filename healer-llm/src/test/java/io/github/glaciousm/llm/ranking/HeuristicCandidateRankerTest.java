@@ -0,0 +1,109 @@
+package io.github.glaciousm.llm.ranking;
+
+import io.github.glaciousm.core.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HeuristicCandidateRankerTest {
+
+    private final HeuristicCandidateRanker ranker = new HeuristicCandidateRanker();
+
+    @Test
+    void rank_renamedIdOutranksOtherButtons() {
+        FailureContext failure = failure("I click the login button", ActionType.CLICK,
+                new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "login-btn"));
+
+        List<RankedCandidate> ranked = ranker.rank(failure, snapshot(), null);
+
+        assertThat(ranked.get(0).element().getIndex()).isEqualTo(1);
+        assertThat(ranked.get(0).score()).isGreaterThan(0.9);
+        assertThat(ranked.get(0).score() - ranked.get(1).score()).isGreaterThan(0.5);
+    }
+
+    @Test
+    void rank_typeStepPrefersTextInput() {
+        FailureContext failure = failure("I enter the username", ActionType.TYPE,
+                new LocatorInfo(LocatorInfo.LocatorStrategy.XPATH, "//input[@id='user-name']"));
+
+        List<RankedCandidate> ranked = ranker.rank(failure, snapshot(), null);
+
+        assertThat(ranked.get(0).element().getIndex()).isEqualTo(2);
+    }
+
+    @Test
+    void rank_returnsEveryElementHighestFirst() {
+        FailureContext failure = failure("I click the login button", ActionType.CLICK,
+                new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, "#login-btn"));
+
+        List<RankedCandidate> ranked = ranker.rank(failure, snapshot(), null);
+
+        assertThat(ranked).hasSize(snapshot().getElementCount());
+        assertThat(ranked).extracting(RankedCandidate::score)
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a))
+                .allSatisfy(score -> assertThat(score).isBetween(0.0, 1.0));
+    }
+
+    @Test
+    void rank_penalizesHiddenElements() {
+        List<ElementSnapshot> elements = List.of(
+                ElementSnapshot.builder().index(0).tagName("button").id("login-button")
+                        .text("Log in").visible(false).enabled(true).build(),
+                ElementSnapshot.builder().index(1).tagName("button").id("login-button")
+                        .text("Log in").visible(true).enabled(true).build());
+        UiSnapshot snapshot = UiSnapshot.builder().url("https://example.com").title("Login")
+                .interactiveElements(elements).build();
+
+        List<RankedCandidate> ranked = ranker.rank(failure("I click the login button", ActionType.CLICK,
+                new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "login-btn")), snapshot, null);
+
+        assertThat(ranked.get(0).element().getIndex()).isEqualTo(1);
+        assertThat(ranked.get(1).score()).isLessThan(ranked.get(0).score());
+    }
+
+    @Test
+    void words_splitsCamelCaseAndExpandsAbbreviations() {
+        assertThat(HeuristicCandidateRanker.words("submitBtn_primary")).containsExactly("submit", "button", "primary");
+        assertThat(HeuristicCandidateRanker.words("#user-pwd")).containsExactly("user", "password");
+        assertThat(HeuristicCandidateRanker.words(null)).isEmpty();
+    }
+
+    @Test
+    void bigramSimilarity_toleratesRenames() {
+        assertThat(HeuristicCandidateRanker.bigramSimilarity("login-btn", "login-btn")).isEqualTo(1.0);
+        assertThat(HeuristicCandidateRanker.bigramSimilarity("login-btn", "login-button")).isGreaterThan(0.6);
+        assertThat(HeuristicCandidateRanker.bigramSimilarity("login-btn", "cancel")).isLessThan(0.2);
+        assertThat(HeuristicCandidateRanker.bigramSimilarity("login", null)).isZero();
+    }
+
+    private FailureContext failure(String stepText, ActionType actionType, LocatorInfo locator) {
+        return FailureContext.builder()
+                .stepText(stepText)
+                .actionType(actionType)
+                .exceptionType("NoSuchElementException")
+                .originalLocator(locator)
+                .build();
+    }
+
+    private UiSnapshot snapshot() {
+        List<ElementSnapshot> elements = new ArrayList<>();
+        elements.add(ElementSnapshot.builder().index(0).tagName("button").id("cancel")
+                .text("Cancel").visible(true).enabled(true).build());
+        elements.add(ElementSnapshot.builder().index(1).tagName("button").id("login-button")
+                .text("Log in").visible(true).enabled(true).build());
+        elements.add(ElementSnapshot.builder().index(2).tagName("input").type("text").name("username")
+                .placeholder("Username").visible(true).enabled(true).build());
+        for (int i = 3; i < 10; i++) {
+            elements.add(ElementSnapshot.builder().index(i).tagName("a").text("Item " + i)
+                    .visible(true).enabled(true).build());
+        }
+        return UiSnapshot.builder()
+                .url("https://example.com/login")
+                .title("Login")
+                .interactiveElements(elements)
+                .build();
+    }
+}
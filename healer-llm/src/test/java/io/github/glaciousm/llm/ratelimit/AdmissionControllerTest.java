@@ -0,0 +1,136 @@
+package io.github.glaciousm.llm.ratelimit;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.exception.LlmException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(6);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acquire_neverExceedsConcurrencyLimit() throws Exception {
+        LlmConfig.RateLimitConfig config = config();
+        config.setInitialConcurrency(2);
+        config.setMaxConcurrency(2);
+        AdmissionController controller = new AdmissionController("openai", config);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(executor.submit(() -> {
+                AdmissionController.Permit permit = controller.acquire(0);
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(50);
+                running.decrementAndGet();
+                permit.succeeded();
+                return null;
+            }));
+        }
+        for (Future<?> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+        AdmissionStats stats = controller.getStats();
+        assertThat(stats.admitted()).isEqualTo(6);
+        assertThat(stats.inFlight()).isZero();
+        assertThat(stats.queueDepth()).isZero();
+    }
+
+    @Test
+    void acquire_withRequestsPerMinuteExhausted_givesUpAfterMaxWait() {
+        LlmConfig.RateLimitConfig config = config();
+        config.setRequestsPerMinute(1);
+        config.setMaxQueueWaitMs(100);
+        AdmissionController controller = new AdmissionController("anthropic", config);
+
+        controller.acquire(0).succeeded();
+
+        assertThatThrownBy(() -> controller.acquire(0))
+                .isInstanceOf(LlmException.class)
+                .hasMessageContaining("No anthropic request slot");
+        assertThat(controller.getStats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_withTokensPerMinuteExhausted_givesUpAfterMaxWait() {
+        LlmConfig.RateLimitConfig config = config();
+        config.setTokensPerMinute(1000);
+        config.setMaxQueueWaitMs(100);
+        AdmissionController controller = new AdmissionController("openai", config);
+
+        controller.acquire(900).succeeded();
+
+        assertThatThrownBy(() -> controller.acquire(900)).isInstanceOf(LlmException.class);
+        assertThat(controller.acquire(50)).isNotNull();
+    }
+
+    @Test
+    void rateLimited_halvesLimitAndHonoursRetryAfter() {
+        LlmConfig.RateLimitConfig config = config();
+        config.setInitialConcurrency(8);
+        AdmissionController controller = new AdmissionController("azure-openai", config);
+
+        controller.acquire(0).rateLimited(Duration.ofMillis(200));
+        long start = System.nanoTime();
+        controller.acquire(0).succeeded();
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(150));
+        AdmissionStats stats = controller.getStats();
+        assertThat(stats.limit()).isEqualTo(4);
+        assertThat(stats.throttled()).isEqualTo(1);
+    }
+
+    @Test
+    void succeeded_atTheLimit_raisesLimitAdditively() {
+        LlmConfig.RateLimitConfig config = config();
+        config.setInitialConcurrency(1);
+        config.setMaxConcurrency(4);
+        AdmissionController controller = new AdmissionController("ollama", config);
+
+        controller.acquire(0).succeeded();
+
+        assertThat(controller.getStats().limit()).isEqualTo(2);
+    }
+
+    @Test
+    void succeeded_muchSlowerThanUsual_lowersLimit() throws InterruptedException {
+        LlmConfig.RateLimitConfig config = config();
+        config.setInitialConcurrency(10);
+        config.setLatencyTolerance(2.0);
+        AdmissionController controller = new AdmissionController("openai", config);
+
+        controller.acquire(0).succeeded();
+        AdmissionController.Permit slow = controller.acquire(0);
+        Thread.sleep(50);
+        slow.succeeded();
+
+        assertThat(controller.getStats().limit()).isEqualTo(9);
+    }
+
+    private static LlmConfig.RateLimitConfig config() {
+        LlmConfig.RateLimitConfig config = new LlmConfig.RateLimitConfig();
+        config.setEnabled(true);
+        config.setMaxQueueWaitMs(5000);
+        return config;
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.glaciousm.llm.streaming;
+
+import io.github.glaciousm.core.exception.LlmException;
+import io.github.glaciousm.core.model.HealDecision;
+import io.github.glaciousm.llm.ResponseParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StreamingDecisionParserTest {
+
+    private static final String HEAL = """
+            {"can_heal": true, "confidence": 0.92, "selected_element_index": 3, \
+            "reasoning": "The button text and position match the original", \
+            "alternative_indices": [1, 2], "warnings": ["Moved container"], "refusal_reason": null}""";
+
+    private static final String REFUSAL = """
+            {"can_heal": false, "confidence": 0.3, "selected_element_index": null, \
+            "reasoning": "Two candidates match", "warnings": [], "refusal_reason": "Ambiguous match"}""";
+
+    private final ResponseParser responseParser = new ResponseParser();
+
+    @Test
+    void append_resolvesHealBeforeReasoningArrives() {
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+        int reasoningStart = HEAL.indexOf("\"reasoning\"");
+
+        int fed = feedUntilResolved(parser, HEAL, 3);
+
+        assertThat(fed).isLessThanOrEqualTo(reasoningStart + 3);
+        HealDecision decision = parser.getDecision().orElseThrow();
+        assertThat(decision.canHeal()).isTrue();
+        assertThat(decision.getConfidence()).isEqualTo(0.92);
+        assertThat(decision.getSelectedElementIndex()).isEqualTo(3);
+        assertThat(decision.getReasoning()).isNull();
+    }
+
+    @Test
+    void append_waitsForCompleteObjectOnRefusal() {
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+
+        int fed = feedUntilResolved(parser, REFUSAL, 1);
+
+        assertThat(fed).isEqualTo(REFUSAL.length());
+        HealDecision decision = parser.getDecision().orElseThrow();
+        assertThat(decision.canHeal()).isFalse();
+        assertThat(decision.getRefusalReason()).isEqualTo("Ambiguous match");
+        assertThat(decision.getReasoning()).isEqualTo("Two candidates match");
+    }
+
+    @Test
+    void append_skipsMarkdownFence() {
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+
+        feedUntilResolved(parser, "```json\n" + HEAL + "\n```", 5);
+
+        assertThat(parser.getDecision()).hasValueSatisfying(d -> assertThat(d.getSelectedElementIndex()).isEqualTo(3));
+    }
+
+    @Test
+    void finish_withHealMissingIndex_resolvesWhenObjectCompletes() {
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+        parser.append("{\"can_heal\": true, \"confidence\": 0.9, ");
+        parser.append("\"reasoning\": \"No index given\"}");
+
+        HealDecision decision = parser.finish(responseParser, "test", "model");
+
+        assertThat(parser.isResolved()).isTrue();
+        assertThat(decision.canHeal()).isTrue();
+        assertThat(decision.getSelectedElementIndex()).isNull();
+        assertThat(decision.getReasoning()).isEqualTo("No index given");
+    }
+
+    @Test
+    void finish_withTruncatedStream_throwsInvalidResponse() {
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+        parser.append("{\"can_heal\": true, \"confid");
+
+        assertThat(parser.isResolved()).isFalse();
+        assertThatThrownBy(() -> parser.finish(responseParser, "test", "model"))
+                .isInstanceOf(LlmException.class);
+    }
+
+    @Test
+    void consume_stopsReadingServerSentEventsOnceResolved() throws Exception {
+        String events = """
+                event: message_start
+                data: {"type": "message_start"}
+
+                data: {"type": "content_block_delta", "delta": {"text": "{\\"can_heal\\": true, \\"confidence\\": 0.9, "}}
+
+                data: {"type": "content_block_delta", "delta": {"text": "\\"selected_element_index\\": 4, \\"reasoning\\": \\"Sa"}}
+
+                data: {"type": "content_block_delta", "delta": {"text": "me label\\"}"}}
+
+                data: [DONE]
+                """;
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+
+        boolean early = CompletionStream.consume(new StringReader(events), CompletionStream.Format.SSE,
+                event -> event.path("delta").path("text").asText(""), parser);
+
+        assertThat(early).isTrue();
+        assertThat(parser.getText()).doesNotContain("me label");
+        assertThat(parser.getDecision()).hasValueSatisfying(d -> assertThat(d.getSelectedElementIndex()).isEqualTo(4));
+    }
+
+    @Test
+    void consume_readsLineDelimitedJsonToTheEnd() throws Exception {
+        String lines = """
+                {"response": "{\\"can_heal\\": false, ", "done": false}
+                {"response": "\\"confidence\\": 0.2, \\"refusal_reason\\": \\"Not found\\"}", "done": false}
+                {"response": "", "done": true}
+                """;
+        StreamingDecisionParser parser = new StreamingDecisionParser();
+
+        boolean early = CompletionStream.consume(lines.lines().iterator(), CompletionStream.Format.NDJSON,
+                chunk -> chunk.path("response").asText(""), parser);
+
+        assertThat(early).isTrue();
+        assertThat(parser.finish(responseParser, "ollama", "llama3.1").getRefusalReason()).isEqualTo("Not found");
+    }
+
+    private static int feedUntilResolved(StreamingDecisionParser parser, String text, int chunkSize) {
+        int fed = 0;
+        while (fed < text.length()) {
+            int end = Math.min(text.length(), fed + chunkSize);
+            boolean resolved = parser.append(text.substring(fed, end));
+            fed = end;
+            if (resolved) {
+                break;
+            }
+        }
+        return fed;
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.glaciousm.llm.util;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AsyncCallsTest {
+
+    @Test
+    void retry_retriesAfterScheduledDelayUntilSuccess() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = AsyncCalls.retry(
+                attempt -> attempts.incrementAndGet() < 3
+                        ? CompletableFuture.failedFuture(new IOException("attempt " + attempt))
+                        : CompletableFuture.completedFuture("done"),
+                (attempt, error) -> Duration.ofMillis(10));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void retry_returnsWithoutWaitingForBackoff() {
+        CompletableFuture<String> result = AsyncCalls.retry(
+                attempt -> attempt == 0
+                        ? CompletableFuture.failedFuture(new IOException("first"))
+                        : CompletableFuture.completedFuture("second"),
+                (attempt, error) -> Duration.ofSeconds(30));
+
+        assertThat(result).isNotDone();
+        result.cancel(true);
+    }
+
+    @Test
+    void retry_givesUpWithTheLastFailure() {
+        List<Integer> seen = new ArrayList<>();
+
+        CompletableFuture<String> result = AsyncCalls.retry(
+                attempt -> CompletableFuture.failedFuture(new IllegalStateException("attempt " + attempt)),
+                (attempt, error) -> {
+                    seen.add(attempt);
+                    return attempt < 1 ? Duration.ZERO : null;
+                });
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("attempt 1");
+        assertThat(seen).containsExactly(0, 1);
+    }
+
+    @Test
+    void retry_whenCancelled_cancelsAttemptInFlight() {
+        CompletableFuture<String> attempt = new CompletableFuture<>();
+
+        CompletableFuture<String> result = AsyncCalls.retry(number -> attempt, (number, error) -> Duration.ZERO);
+        result.cancel(true);
+
+        assertThat(attempt).isCancelled();
+    }
+
+    @Test
+    void compose_runsNextStepAndPassesCancellationOn() {
+        CompletableFuture<Integer> source = CompletableFuture.completedFuture(1);
+        CompletableFuture<String> next = new CompletableFuture<>();
+
+        CompletableFuture<String> result = AsyncCalls.compose(source, value -> next);
+        result.cancel(true);
+
+        assertThat(next).isCancelled();
+    }
+
+    @Test
+    void join_rethrowsTheOriginalException() {
+        CompletableFuture<String> failed = CompletableFuture.failedFuture(new IllegalArgumentException("bad input"));
+
+        assertThatThrownBy(() -> AsyncCalls.join(failed))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bad input");
+    }
+
+    @Test
+    void enqueue_handsResponseToHandler() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(200).setBody("hello"));
+            server.start();
+            Request request = new Request.Builder().url(server.url("/")).build();
+
+            CompletableFuture<String> body = AsyncCalls.enqueue(
+                    new OkHttpClient(), request, response -> response.body().string());
+
+            assertThat(body.get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.glaciousm.llm.vision;
+
+import io.github.glaciousm.core.config.LlmConfig;
+import io.github.glaciousm.core.model.ElementRect;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.model.ViewportInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ScreenshotPreprocessorTest {
+
+    private ScreenshotPreprocessor preprocessor;
+    private LlmConfig.VisionConfig config;
+    private String screenshot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        preprocessor = new ScreenshotPreprocessor();
+        config = new LlmConfig.VisionConfig();
+        config.setHighlightCandidates(false);
+        screenshot = createScreenshot(1200, 3000);
+    }
+
+    @Test
+    void prepare_withNothingToDo_returnsScreenshotUnchanged() {
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot, List.of(button(0, 100, 100)), config);
+
+        assertThat(prepared.base64()).isSameAs(screenshot);
+        assertThat(prepared.mediaType()).isEqualTo("image/png");
+        assertThat(prepared.width()).isEqualTo(1200);
+        assertThat(prepared.height()).isEqualTo(3000);
+        assertThat(prepared.bytes()).isEqualTo(prepared.originalBytes());
+    }
+
+    @Test
+    void prepare_withCrop_keepsCandidatesAndMargin() throws IOException {
+        config.setCropToCandidates(true);
+        config.setCropMargin(20);
+
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot,
+                List.of(button(0, 100, 1000), button(1, 300, 1100)), config);
+
+        // Union is (100,1000)-(380,1130), plus 20px on each side
+        assertThat(prepared.width()).isEqualTo(320);
+        assertThat(prepared.height()).isEqualTo(170);
+        assertThat(decode(prepared).getWidth()).isEqualTo(320);
+        assertThat(prepared.bytes()).isLessThan(prepared.originalBytes());
+    }
+
+    @Test
+    void prepare_withMaxImageSize_scalesLongestSide() {
+        config.setMaxImageSize(1000);
+
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot, List.of(), config);
+
+        assertThat(prepared.height()).isEqualTo(1000);
+        assertThat(prepared.width()).isEqualTo(400);
+    }
+
+    @Test
+    void prepare_withJpeg_reencodesAtQuality() throws IOException {
+        config.setImageFormat(LlmConfig.ImageFormat.JPEG);
+        config.setCompressionQuality(0.9);
+        PreparedScreenshot high = preprocessor.prepare(screenshot, List.of(), config);
+        config.setCompressionQuality(0.3);
+
+        PreparedScreenshot low = preprocessor.prepare(screenshot, List.of(), config);
+
+        assertThat(low.mediaType()).isEqualTo("image/jpeg");
+        assertThat(decode(low).getHeight()).isEqualTo(3000);
+        assertThat(low.bytes()).isLessThan(high.bytes());
+    }
+
+    @Test
+    void prepare_withHighlight_outlinesCandidates() throws IOException {
+        config.setHighlightCandidates(true);
+
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot, List.of(button(7, 400, 500)), config);
+
+        BufferedImage image = decode(prepared);
+        Color edge = new Color(image.getRGB(400, 515));
+        assertThat(edge.getRed()).isGreaterThan(180);
+        assertThat(edge.getGreen()).isLessThan(80);
+    }
+
+    @Test
+    void prepare_withCandidatesOutsideScreenshot_doesNotCrop() {
+        config.setCropToCandidates(true);
+
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot, List.of(button(0, 5000, 5000)), config);
+
+        assertThat(prepared.width()).isEqualTo(1200);
+        assertThat(prepared.height()).isEqualTo(3000);
+    }
+
+    @Test
+    void prepare_withScrollAndDevicePixelRatio_cropsToViewportPosition() {
+        config.setCropToCandidates(true);
+        config.setCropMargin(20);
+        // 1200x3000 device pixels is a 600x1500 CSS viewport at DPR 2, scrolled 2000px down
+        ViewportInfo viewport = new ViewportInfo(0, 2000, 2.0);
+
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot,
+                List.of(button(0, 100, 2100), button(1, 100, 500)), viewport, config);
+
+        // Button 0 maps to (200,200) 160x60; button 1 is scrolled out of view and ignored
+        assertThat(prepared.width()).isEqualTo(200);
+        assertThat(prepared.height()).isEqualTo(100);
+    }
+
+    @Test
+    void prepare_withScrollAndDevicePixelRatio_marksViewportPosition() throws IOException {
+        config.setHighlightCandidates(true);
+        ViewportInfo viewport = new ViewportInfo(0, 2000, 2.0);
+
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot,
+                List.of(button(7, 300, 2250)), viewport, config);
+
+        // Document (300,2250) 80x30 is screenshot (600,500) 160x60
+        BufferedImage image = decode(prepared);
+        Color left = new Color(image.getRGB(600, 530));
+        Color right = new Color(image.getRGB(760, 530));
+        assertThat(left.getRed()).isGreaterThan(180);
+        assertThat(left.getGreen()).isLessThan(80);
+        assertThat(right.getRed()).isGreaterThan(180);
+        assertThat(right.getGreen()).isLessThan(80);
+    }
+
+    @Test
+    void prepare_withoutViewport_doesNotCropOrMark() {
+        config.setCropToCandidates(true);
+        config.setHighlightCandidates(true);
+
+        PreparedScreenshot prepared = preprocessor.prepare(screenshot, List.of(button(0, 100, 100)), null, config);
+
+        assertThat(prepared.base64()).isSameAs(screenshot);
+        assertThat(prepared.width()).isEqualTo(1200);
+        assertThat(prepared.height()).isEqualTo(3000);
+    }
+
+    @Test
+    void prepare_withUnreadableImage_returnsItUnchanged() {
+        config.setImageFormat(LlmConfig.ImageFormat.JPEG);
+        String notAnImage = Base64.getEncoder().encodeToString("not an image".getBytes());
+
+        PreparedScreenshot prepared = preprocessor.prepare(notAnImage, List.of(), config);
+
+        assertThat(prepared.base64()).isSameAs(notAnImage);
+    }
+
+    private static ElementSnapshot button(int index, int x, int y) {
+        return ElementSnapshot.builder()
+                .index(index)
+                .tagName("button")
+                .rect(new ElementRect(x, y, 80, 30))
+                .visible(true)
+                .enabled(true)
+                .build();
+    }
+
+    private static String createScreenshot(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            g.setColor(new Color(random.nextInt(0xffffff)));
+            g.fillRect(random.nextInt(width), random.nextInt(height), 12, 4);
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private static BufferedImage decode(PreparedScreenshot prepared) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(prepared.base64())));
+    }
+}
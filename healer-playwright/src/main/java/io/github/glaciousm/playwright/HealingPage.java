@@ -3,6 +3,7 @@ package io.github.glaciousm.playwright;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.*;
 import io.github.glaciousm.core.config.HealerConfig;
+import io.github.glaciousm.core.config.SnapshotConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
 import io.github.glaciousm.core.engine.HealingSummary;
 import io.github.glaciousm.core.model.*;
@@ -50,7 +51,7 @@ public class HealingPage {
         this.delegate = delegate;
         this.healingEngine = healingEngine;
         this.config = config;
-        this.snapshotBuilderHolder = ThreadLocal.withInitial(() -> new PlaywrightSnapshotBuilder(delegate));
+        this.snapshotBuilderHolder = ThreadLocal.withInitial(this::createSnapshotBuilder);
         this.stackTraceAnalyzer = new StackTraceAnalyzer();
     }
 
@@ -90,6 +91,16 @@ public class HealingPage {
         return snapshotBuilderHolder.get();
     }
 
+    private PlaywrightSnapshotBuilder createSnapshotBuilder() {
+        PlaywrightSnapshotBuilder builder = new PlaywrightSnapshotBuilder(delegate);
+        SnapshotConfig snapshotConfig = config != null ? config.getSnapshot() : null;
+        if (snapshotConfig != null) {
+            builder.captureMode(snapshotConfig.getCaptureMode())
+                    .includeFrames(snapshotConfig.isIncludeFrames());
+        }
+        return builder;
+    }
+
     // ==================== Locator Methods ====================
 
     /**
@@ -0,0 +1,259 @@
+package io.github.glaciousm.playwright;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import io.github.glaciousm.core.model.ElementRect;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Captures every {@link ElementSnapshot} field for all interactive elements with a single
+ * {@link Page#evaluate} call. Each element is returned once even if it matches several
+ * selectors, and elements are ordered by position (top to bottom, left to right) in the page
+ * before the element limit is applied.
+ */
+final class PlaywrightBulkCapture {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaywrightBulkCapture.class);
+
+    /**
+     * Called with {selector, max, maxText, includeHidden, includeFrames}. Container, label and
+     * data attribute logic mirrors the Selenium bulk capture so both produce the same snapshots.
+     * Same-origin frames are searched when includeFrames is set; their elements get page
+     * coordinates and a container prefixed with the frame.
+     */
+    static final String SCRIPT = """
+            ({ selector, max, maxText, includeHidden, includeFrames }) => {
+                const attr = (el, name) => {
+                    const v = el.getAttribute(name);
+                    return v === null ? undefined : v;
+                };
+
+                const describe = (el) => el.tagName + (el.id ? '#' + el.id : '') +
+                        (typeof el.className === 'string' && el.className ? '.' + el.className.split(' ')[0] : '');
+
+                const containerOf = (el) => {
+                    while (el.parentElement) {
+                        el = el.parentElement;
+                        if (el.tagName === 'FORM' || el.tagName === 'DIALOG' ||
+                            el.tagName === 'SECTION' || el.tagName === 'NAV' ||
+                            el.getAttribute('role') === 'dialog' ||
+                            el.getAttribute('role') === 'form') {
+                            return describe(el);
+                        }
+                    }
+                    return 'body';
+                };
+
+                const labelsOf = (el) => {
+                    const doc = el.ownerDocument;
+                    const labels = [];
+                    if (el.id) {
+                        const label = doc.querySelector('label[for="' + CSS.escape(el.id) + '"]');
+                        if (label) labels.push(label.textContent.trim());
+                    }
+                    const parentLabel = el.closest('label');
+                    if (parentLabel) labels.push(parentLabel.textContent.trim());
+                    const labelledBy = el.getAttribute('aria-labelledby');
+                    if (labelledBy) {
+                        labelledBy.split(' ').forEach(id => {
+                            const labelEl = doc.getElementById(id);
+                            if (labelEl) labels.push(labelEl.textContent.trim());
+                        });
+                    }
+                    const container = el.closest('div, fieldset, section') || el.parentElement;
+                    if (container) {
+                        const nearbyText = container.querySelector('h1, h2, h3, h4, legend, p');
+                        if (nearbyText) labels.push(nearbyText.textContent.trim());
+                    }
+                    return [...new Set(labels)].slice(0, 5);
+                };
+
+                const found = [];
+                const collect = (doc, offsetX, offsetY, frame) => {
+                    const win = doc.defaultView;
+                    for (const el of doc.querySelectorAll(selector)) {
+                        const rect = el.getBoundingClientRect();
+                        const style = win.getComputedStyle(el);
+                        const visible = rect.width > 0 && rect.height > 0 &&
+                                style.visibility !== 'hidden' && style.display !== 'none';
+                        if (!visible && !includeHidden) continue;
+                        found.push({ el, visible, frame,
+                                     x: Math.round(rect.left + offsetX), y: Math.round(rect.top + offsetY),
+                                     w: Math.round(rect.width), h: Math.round(rect.height) });
+                    }
+                    if (!includeFrames) return;
+                    for (const frameEl of doc.querySelectorAll('iframe, frame')) {
+                        let inner = null;
+                        try {
+                            inner = frameEl.contentDocument;
+                        } catch (e) {
+                            // Cross-origin
+                        }
+                        if (!inner) continue;
+                        const rect = frameEl.getBoundingClientRect();
+                        collect(inner, offsetX + rect.left + frameEl.clientLeft, offsetY + rect.top + frameEl.clientTop,
+                                (frame ? frame + ' > ' : '') + describe(frameEl));
+                    }
+                };
+                collect(document, window.scrollX, window.scrollY, null);
+
+                found.sort((a, b) => a.y - b.y || a.x - b.x);
+
+                return JSON.stringify(found.slice(0, max).map(({ el, visible, frame, x, y, w, h }) => {
+                    let text = (el.innerText || el.textContent || '').trim().replace(/\\s+/g, ' ');
+                    if (text.length > maxText) text = text.substring(0, maxText - 3) + '...';
+
+                    const data = {};
+                    for (const a of el.attributes) {
+                        if (a.name.startsWith('data-')) data[a.name.substring(5)] = a.value;
+                    }
+                    if (data.testid === undefined && (data.test !== undefined || data.cy !== undefined)) {
+                        data.testid = data.test !== undefined ? data.test : data.cy;
+                    }
+                    if (el.hasAttribute('href')) data.href = el.getAttribute('href');
+
+                    const container = containerOf(el);
+                    return {
+                        tag: el.tagName.toLowerCase(),
+                        id: attr(el, 'id'),
+                        name: attr(el, 'name'),
+                        type: attr(el, 'type'),
+                        cls: attr(el, 'class'),
+                        text: text,
+                        value: typeof el.value === 'string' ? el.value : attr(el, 'value'),
+                        ph: attr(el, 'placeholder'),
+                        al: attr(el, 'aria-label'),
+                        alb: attr(el, 'aria-labelledby'),
+                        adb: attr(el, 'aria-describedby'),
+                        role: attr(el, 'role'),
+                        title: attr(el, 'title'),
+                        vis: visible,
+                        en: !el.disabled,
+                        sel: !!(el.checked || el.selected),
+                        rect: [x, y, w, h],
+                        ctr: frame ? frame + ' > ' + container : container,
+                        lbl: labelsOf(el),
+                        data: data
+                    };
+                }));
+            }
+            """;
+
+    private final Page page;
+
+    PlaywrightBulkCapture(Page page) {
+        this.page = page;
+    }
+
+    /**
+     * Capture the elements matching the selector.
+     *
+     * @return the captured elements, or empty if the page could not run the script
+     *         or returned an unexpected payload
+     */
+    Optional<List<ElementSnapshot>> capture(String selector, int maxElements, int maxTextLength,
+                                            boolean includeHidden, boolean includeFrames) {
+        Map<String, Object> arg = new LinkedHashMap<>();
+        arg.put("selector", selector);
+        arg.put("max", maxElements);
+        arg.put("maxText", maxTextLength);
+        arg.put("includeHidden", includeHidden);
+        arg.put("includeFrames", includeFrames);
+
+        Object result;
+        try {
+            result = page.evaluate(SCRIPT, arg);
+        } catch (PlaywrightException e) {
+            logger.debug("Bulk capture script failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (!(result instanceof String json)) {
+            logger.debug("Bulk capture returned unexpected payload type: {}",
+                    result == null ? "null" : result.getClass().getSimpleName());
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(parse(JsonUtils.getMapper().readTree(json)));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            logger.debug("Bulk capture returned malformed payload: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static List<ElementSnapshot> parse(JsonNode root) {
+        if (root == null || !root.isArray()) {
+            throw new IllegalArgumentException("Expected a JSON array of elements");
+        }
+
+        List<ElementSnapshot> snapshots = new ArrayList<>(root.size());
+        int index = 0;
+        for (JsonNode node : root) {
+            String className = text(node, "cls");
+            ElementSnapshot.Builder builder = ElementSnapshot.builder()
+                    .index(index++)
+                    .tagName(text(node, "tag"))
+                    .id(text(node, "id"))
+                    .name(text(node, "name"))
+                    .type(text(node, "type"))
+                    .classes(className != null && !className.isBlank()
+                            ? Arrays.asList(className.trim().split("\\s+"))
+                            : Collections.emptyList())
+                    .text(text(node, "text"))
+                    .value(text(node, "value"))
+                    .placeholder(text(node, "ph"))
+                    .ariaLabel(text(node, "al"))
+                    .ariaLabelledBy(text(node, "alb"))
+                    .ariaDescribedBy(text(node, "adb"))
+                    .ariaRole(text(node, "role"))
+                    .title(text(node, "title"))
+                    .visible(node.path("vis").asBoolean(true))
+                    .enabled(node.path("en").asBoolean(true))
+                    .selected(node.path("sel").asBoolean(false))
+                    .container(text(node, "ctr"));
+
+            JsonNode rect = node.get("rect");
+            if (rect != null && rect.isArray() && rect.size() == 4) {
+                builder.rect(new ElementRect(rect.get(0).asInt(), rect.get(1).asInt(),
+                        rect.get(2).asInt(), rect.get(3).asInt()));
+            }
+
+            List<String> labels = new ArrayList<>();
+            for (JsonNode label : node.path("lbl")) {
+                labels.add(label.asText());
+            }
+            builder.nearbyLabels(labels);
+
+            Map<String, String> dataAttributes = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.path("data").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                dataAttributes.put(field.getKey(), field.getValue().asText());
+            }
+            builder.dataAttributes(dataAttributes);
+
+            snapshots.add(builder.build());
+        }
+        return snapshots;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
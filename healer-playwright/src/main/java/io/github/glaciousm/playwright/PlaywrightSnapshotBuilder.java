@@ -3,9 +3,11 @@ package io.github.glaciousm.playwright;
 import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import io.github.glaciousm.core.config.SnapshotConfig;
 import io.github.glaciousm.core.model.ElementRect;
 import io.github.glaciousm.core.model.ElementSnapshot;
 import io.github.glaciousm.core.model.UiSnapshot;
+import io.github.glaciousm.core.model.ViewportInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +22,7 @@ public class PlaywrightSnapshotBuilder {
     private static final Logger logger = LoggerFactory.getLogger(PlaywrightSnapshotBuilder.class);
 
     private static final int DEFAULT_MAX_ELEMENTS = 100;
+    private static final int MAX_TEXT_LENGTH = 100;
     private static final String[] INTERACTIVE_SELECTORS = {
             "button", "a", "input", "select", "textarea",
             "[role='button']", "[role='link']", "[role='textbox']",
@@ -31,6 +34,8 @@ public class PlaywrightSnapshotBuilder {
     private int maxElements = DEFAULT_MAX_ELEMENTS;
     private boolean includeHidden = false;
     private boolean captureScreenshot = true;
+    private SnapshotConfig.CaptureMode captureMode = SnapshotConfig.CaptureMode.BULK;
+    private boolean includeFrames = false;
 
     public PlaywrightSnapshotBuilder(Page page) {
         this.page = page;
@@ -60,10 +65,66 @@ public class PlaywrightSnapshotBuilder {
         return this;
     }
 
+    /**
+     * How to collect elements. BULK captures everything with one page evaluation and
+     * falls back to PER_ELEMENT if the script cannot run.
+     */
+    public PlaywrightSnapshotBuilder captureMode(SnapshotConfig.CaptureMode mode) {
+        this.captureMode = mode != null ? mode : SnapshotConfig.CaptureMode.BULK;
+        return this;
+    }
+
+    /**
+     * Whether to also capture elements inside same-origin iframes (BULK mode only).
+     */
+    public PlaywrightSnapshotBuilder includeFrames(boolean include) {
+        this.includeFrames = include;
+        return this;
+    }
+
     /**
      * Capture a complete UI snapshot of the current page.
      */
     public UiSnapshot captureAll() {
+        Optional<List<ElementSnapshot>> bulk = captureMode == SnapshotConfig.CaptureMode.BULK
+                ? captureBulk()
+                : Optional.empty();
+        List<ElementSnapshot> elements = bulk.orElseGet(this::capturePerElement);
+
+        String screenshotBase64 = null;
+        ViewportInfo viewport = null;
+        if (captureScreenshot) {
+            // Bulk rectangles are document coordinates; boundingBox() is already viewport-relative
+            viewport = captureViewport(bulk.isPresent());
+            screenshotBase64 = captureScreenshotBase64();
+        }
+
+        return UiSnapshot.builder()
+                .url(page.url())
+                .title(page.title())
+                .interactiveElements(elements)
+                .screenshotBase64(screenshotBase64)
+                .viewport(viewport)
+                .build();
+    }
+
+    /**
+     * Capture all interactive elements, deduplicated and sorted, with a single page evaluation.
+     */
+    private Optional<List<ElementSnapshot>> captureBulk() {
+        Optional<List<ElementSnapshot>> elements = new PlaywrightBulkCapture(page).capture(
+                String.join(", ", INTERACTIVE_SELECTORS), maxElements, MAX_TEXT_LENGTH,
+                includeHidden, includeFrames);
+        if (elements.isEmpty()) {
+            logger.debug("Bulk capture unavailable, falling back to per-element capture");
+        }
+        return elements;
+    }
+
+    /**
+     * Capture interactive elements one selector and one element at a time.
+     */
+    private List<ElementSnapshot> capturePerElement() {
         List<ElementSnapshot> elements = new ArrayList<>();
 
         try {
@@ -82,17 +143,7 @@ public class PlaywrightSnapshotBuilder {
             logger.warn("Error capturing elements: {}", e.getMessage());
         }
 
-        String screenshotBase64 = null;
-        if (captureScreenshot) {
-            screenshotBase64 = captureScreenshotBase64();
-        }
-
-        return UiSnapshot.builder()
-                .url(page.url())
-                .title(page.title())
-                .interactiveElements(elements)
-                .screenshotBase64(screenshotBase64)
-                .build();
+        return elements;
     }
 
     /**
@@ -224,8 +275,8 @@ public class PlaywrightSnapshotBuilder {
             if (text != null) {
                 text = text.trim();
                 // Limit text length
-                if (text.length() > 100) {
-                    text = text.substring(0, 100) + "...";
+                if (text.length() > MAX_TEXT_LENGTH) {
+                    text = text.substring(0, MAX_TEXT_LENGTH) + "...";
                 }
             }
             return text != null && !text.isEmpty() ? text : null;
@@ -234,6 +285,26 @@ public class PlaywrightSnapshotBuilder {
         }
     }
 
+    /**
+     * Scroll offset and device pixel ratio for mapping element rectangles onto the viewport
+     * screenshot. The scroll offset is left at zero when the rectangles are viewport-relative.
+     */
+    private ViewportInfo captureViewport(boolean documentCoordinates) {
+        try {
+            Object result = page.evaluate("() => [window.scrollX, window.scrollY, window.devicePixelRatio || 1]");
+            if (result instanceof List<?> values && values.size() == 3
+                    && values.stream().allMatch(Number.class::isInstance)) {
+                double dpr = ((Number) values.get(2)).doubleValue();
+                return documentCoordinates
+                        ? new ViewportInfo(((Number) values.get(0)).doubleValue(), ((Number) values.get(1)).doubleValue(), dpr)
+                        : new ViewportInfo(0, 0, dpr);
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to capture viewport: {}", e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Capture screenshot as Base64 string.
      */
@@ -2,17 +2,22 @@ package io.github.glaciousm.playwright;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
 import com.microsoft.playwright.options.BoundingBox;
+import io.github.glaciousm.core.config.SnapshotConfig;
 import io.github.glaciousm.core.model.ElementSnapshot;
 import io.github.glaciousm.core.model.UiSnapshot;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -709,4 +714,107 @@ class PlaywrightSnapshotBuilderTest {
             return element;
         }
     }
+
+    @Nested
+    @DisplayName("Bulk Capture")
+    class BulkCaptureTests {
+
+        private static final String PAYLOAD = """
+                [{"tag":"input","id":"email","name":"email","type":"email","cls":"form-control wide",
+                  "text":"","value":"","ph":"Email","al":"Email address","role":"textbox",
+                  "vis":true,"en":true,"sel":false,"rect":[10,20,200,30],"ctr":"FORM#login",
+                  "lbl":["Email"],"data":{"testid":"email-input","qa":"login-email"}},
+                 {"tag":"button","id":"submit","text":"Sign in","vis":true,"en":false,"sel":false,
+                  "rect":[10,80,100,40],"ctr":"IFRAME#checkout > body","lbl":[],"data":{}}]
+                """;
+
+        @Test
+        @DisplayName("should capture all elements with a single page evaluation")
+        void shouldCaptureAllElementsWithSinglePageEvaluation() {
+            when(page.url()).thenReturn("https://example.com");
+            when(page.title()).thenReturn("Login");
+            when(page.evaluate(anyString(), any())).thenReturn(PAYLOAD);
+
+            UiSnapshot snapshot = builder.captureScreenshot(false).captureAll();
+
+            assertThat(snapshot.getInteractiveElements()).hasSize(2);
+            ElementSnapshot email = snapshot.getInteractiveElements().get(0);
+            assertThat(email.getIndex()).isEqualTo(0);
+            assertThat(email.getTagName()).isEqualTo("input");
+            assertThat(email.getId()).isEqualTo("email");
+            assertThat(email.getClasses()).containsExactly("form-control", "wide");
+            assertThat(email.getPlaceholder()).isEqualTo("Email");
+            assertThat(email.getAriaLabel()).isEqualTo("Email address");
+            assertThat(email.getContainer()).isEqualTo("FORM#login");
+            assertThat(email.getNearbyLabels()).containsExactly("Email");
+            assertThat(email.getDataAttributes())
+                    .containsEntry("testid", "email-input")
+                    .containsEntry("qa", "login-email");
+            assertThat(email.getRect().getY()).isEqualTo(20);
+
+            ElementSnapshot submit = snapshot.getInteractiveElements().get(1);
+            assertThat(submit.getIndex()).isEqualTo(1);
+            assertThat(submit.getText()).isEqualTo("Sign in");
+            assertThat(submit.isEnabled()).isFalse();
+            assertThat(submit.getContainer()).isEqualTo("IFRAME#checkout > body");
+
+            verify(page, times(1)).evaluate(anyString(), any());
+            verify(page, never()).locator(anyString());
+        }
+
+        @Test
+        @DisplayName("should pass limits and frame option to the capture script")
+        @SuppressWarnings("unchecked")
+        void shouldPassLimitsAndFrameOptionToScript() {
+            when(page.evaluate(anyString(), any())).thenReturn("[]");
+
+            builder.maxElements(25).includeHidden(true).includeFrames(true)
+                    .captureScreenshot(false).captureAll();
+
+            ArgumentCaptor<Object> arg = ArgumentCaptor.forClass(Object.class);
+            verify(page).evaluate(anyString(), arg.capture());
+            Map<String, Object> options = (Map<String, Object>) arg.getValue();
+            assertThat(options)
+                    .containsEntry("max", 25)
+                    .containsEntry("includeHidden", true)
+                    .containsEntry("includeFrames", true);
+            assertThat((String) options.get("selector")).contains("button", "[data-testid]");
+        }
+
+        @Test
+        @DisplayName("should fall back to per-element capture when the script fails")
+        void shouldFallBackToPerElementCaptureWhenScriptFails() {
+            when(page.evaluate(anyString(), any())).thenThrow(new PlaywrightException("Execution context was destroyed"));
+            when(page.locator(anyString())).thenReturn(locator);
+            when(locator.count()).thenReturn(0);
+
+            UiSnapshot snapshot = builder.captureScreenshot(false).captureAll();
+
+            assertThat(snapshot.getInteractiveElements()).isEmpty();
+            verify(page, atLeastOnce()).locator(anyString());
+        }
+
+        @Test
+        @DisplayName("should fall back to per-element capture on malformed payload")
+        void shouldFallBackToPerElementCaptureOnMalformedPayload() {
+            when(page.evaluate(anyString(), any())).thenReturn("{\"not\":\"an array\"}");
+            when(page.locator(anyString())).thenReturn(locator);
+            when(locator.count()).thenReturn(0);
+
+            builder.captureScreenshot(false).captureAll();
+
+            verify(page, atLeastOnce()).locator(anyString());
+        }
+
+        @Test
+        @DisplayName("should skip the script in per-element mode")
+        void shouldSkipScriptInPerElementMode() {
+            when(page.locator(anyString())).thenReturn(locator);
+            when(locator.count()).thenReturn(0);
+
+            builder.captureMode(SnapshotConfig.CaptureMode.PER_ELEMENT).captureScreenshot(false).captureAll();
+
+            verify(page, never()).evaluate(anyString(), any());
+        }
+    }
 }
@@ -3,19 +3,30 @@ package io.github.glaciousm.selenium.driver;
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
 import io.github.glaciousm.core.engine.HealingSummary;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
 import io.github.glaciousm.core.model.*;
+import io.github.glaciousm.core.util.ImplicitWaits;
 import io.github.glaciousm.core.util.StackTraceAnalyzer;
-import io.github.glaciousm.selenium.snapshot.SnapshotBuilder;
+import io.github.glaciousm.selenium.snapshot.SnapshotSession;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Interactive;
 import org.openqa.selenium.interactions.Sequence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * WebDriver wrapper that provides automatic healing capabilities.
@@ -26,7 +37,8 @@ import java.util.Set;
  * <ul>
  *   <li>The delegate WebDriver reference is immutable (final)</li>
  *   <li>Intent context is stored per-thread using {@link ThreadLocal}</li>
- *   <li>Snapshot capture uses per-thread {@link SnapshotBuilder} instances</li>
+ *   <li>Snapshot capture goes through a per-driver {@link SnapshotSession}, which serializes
+ *       captures and reuses them while the page is unchanged</li>
  * </ul>
  *
  * <p><strong>Important:</strong> While this wrapper is thread-safe, the underlying
@@ -40,6 +52,9 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
 
     private static final Logger logger = LoggerFactory.getLogger(HealingWebDriver.class);
 
+    /** Encodes screenshots while the heal continues. Virtual threads, so no shutdown needed. */
+    private static final ExecutorService SCREENSHOT_ENCODER = Executors.newVirtualThreadPerTaskExecutor();
+
     /** The underlying WebDriver instance. Immutable after construction. */
     private final WebDriver delegate;
 
@@ -52,11 +67,8 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
     /** Analyzer for extracting source locations from stack traces. Thread-safe. */
     private final StackTraceAnalyzer stackTraceAnalyzer;
 
-    /**
-     * Per-thread snapshot builder to avoid concurrent access issues.
-     * Each thread gets its own SnapshotBuilder instance.
-     */
-    private final ThreadLocal<SnapshotBuilder> snapshotBuilderHolder;
+    /** Snapshot session shared by all heal attempts on this driver. Thread-safe. */
+    private final SnapshotSession snapshotSession;
 
     /** Current intent context for healing (thread-safe, per-thread isolation). */
     private final ThreadLocal<IntentContract> currentIntent = new ThreadLocal<>();
@@ -75,15 +87,15 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
         this.delegate = delegate;
         this.healingEngine = healingEngine;
         this.config = config;
-        this.snapshotBuilderHolder = ThreadLocal.withInitial(() -> new SnapshotBuilder(delegate));
+        this.snapshotSession = new SnapshotSession(delegate, config != null ? config.getSnapshot() : null);
         this.stackTraceAnalyzer = new StackTraceAnalyzer();
     }
 
     /**
-     * Gets the per-thread SnapshotBuilder instance.
+     * Gets the snapshot session used for heal attempts on this driver.
      */
-    private SnapshotBuilder getSnapshotBuilder() {
-        return snapshotBuilderHolder.get();
+    public SnapshotSession getSnapshotSession() {
+        return snapshotSession;
     }
 
     /**
@@ -111,7 +123,97 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
     public void cleanupThreadResources() {
         this.currentIntent.remove();
         this.currentStepText.remove();
-        this.snapshotBuilderHolder.remove();
+    }
+
+    /**
+     * Heal the given locators that no longer match the current page, deciding them together
+     * in one LLM request instead of one request per failure.
+     *
+     * <p>Call it after navigating to a page whose locators are known to have changed, for
+     * example with a page object's locators. Healed locators are stored in the heal cache, so
+     * later lookups of the broken locators are served from it without another LLM call.
+     * Locators that still match, or whose cached heal still matches, are not sent to the LLM.</p>
+     *
+     * @return the working locator for each broken locator that was healed or found in the cache
+     */
+    public Map<By, By> preHeal(Collection<By> locators) {
+        IntentContract intent = currentIntent.get();
+        if (healingEngine == null || (intent != null && !intent.isHealingAllowed())) {
+            return new LinkedHashMap<>();
+        }
+        // Probes of locators that match nothing should not wait out the implicit wait
+        return ImplicitWaits.withoutImplicitWait(delegate, () -> preHealBroken(locators, intent));
+    }
+
+    private Map<By, By> preHealBroken(Collection<By> locators, IntentContract intent) {
+        Map<By, By> healed = new LinkedHashMap<>();
+        String stepText = currentStepText.get();
+        List<By> broken = new ArrayList<>();
+        List<CacheKey> cacheKeys = new ArrayList<>();
+        List<HealTarget> targets = new ArrayList<>();
+        for (By by : new LinkedHashSet<>(locators)) {
+            if (matchesAny(by)) {
+                continue;
+            }
+            CacheKey cacheKey = buildCacheKey(by);
+            Optional<By> cachedBy = lookupCachedLocator(cacheKey);
+            if (cachedBy.isPresent()) {
+                boolean stillMatches = matchesAny(cachedBy.get());
+                recordCacheOutcome(cacheKey, stillMatches);
+                if (stillMatches) {
+                    healed.put(by, cachedBy.get());
+                    continue;
+                }
+            }
+
+            String effectiveStepText = stepText != null ? stepText : "find element: " + by;
+            FailureContext failureContext = FailureContext.builder()
+                    .exceptionType(NoSuchElementException.class.getSimpleName())
+                    .exceptionMessage("No element matches " + by)
+                    .originalLocator(byToLocatorInfo(by))
+                    .stepText(effectiveStepText)
+                    .build();
+            IntentContract intentToUse = intent != null
+                    ? intent
+                    : IntentContract.defaultContract(stepText != null ? stepText : "find element");
+
+            broken.add(by);
+            cacheKeys.add(cacheKey);
+            targets.add(new HealTarget(failureContext, intentToUse));
+        }
+        if (targets.isEmpty()) {
+            return healed;
+        }
+
+        logger.info("Pre-healing {} broken locators in one batch", targets.size());
+        List<HealResult> results = healingEngine.attemptHealBatch(targets, snapshotSession.captureAll());
+        for (int i = 0; i < results.size(); i++) {
+            HealResult result = results.get(i);
+            if (result == null || !result.isSuccess() || result.getHealedLocator().isEmpty()) {
+                continue;
+            }
+            LocatorInfo healedLocator = parseLocatorString(result.getHealedLocator().get());
+            By healedBy = locatorInfoToBy(healedLocator);
+            if (!matchesAny(healedBy)) {
+                logger.debug("Pre-healed locator {} matches nothing, not caching it", healedBy);
+                continue;
+            }
+            By by = broken.get(i);
+            logger.info("Pre-healed locator: {} -> {}", by, healedBy);
+            HealingSummary.getInstance().recordHeal(targets.get(i).getFailure().getStepText(),
+                    by.toString(), healedBy.toString(), result.getConfidence());
+            cacheHeal(cacheKeys.get(i), healedLocator, result);
+            healed.put(by, healedBy);
+        }
+        return healed;
+    }
+
+    private boolean matchesAny(By by) {
+        try {
+            return !delegate.findElements(by).isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
     }
 
     @Override
@@ -247,12 +349,26 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
             throw originalException;
         }
 
-        // Capture screenshot BEFORE healing attempt (for visual evidence)
-        String beforeScreenshotBase64 = captureScreenshotBase64();
+        // Try a previously cached heal before paying for a snapshot or LLM call
+        CacheKey cacheKey = buildCacheKey(by);
+        Optional<By> cachedBy = lookupCachedLocator(cacheKey);
+        if (cachedBy.isPresent()) {
+            try {
+                WebElement element = delegate.findElement(cachedBy.get());
+                recordCacheOutcome(cacheKey, true);
+                logger.info("Healed locator from cache: {} -> {}", by, cachedBy.get());
+                return wrapElement(element, cachedBy.get());
+            } catch (WebDriverException e) {
+                recordCacheOutcome(cacheKey, false);
+                logger.debug("Cached locator {} failed, healing again: {}", cachedBy.get(), e.getMessage());
+            }
+        }
+
+        // Capture screenshot BEFORE healing attempt (for visual evidence), encoding it during the heal
+        CompletableFuture<String> beforeScreenshot = captureScreenshotAsync();
 
         try {
             LocatorInfo originalLocator = byToLocatorInfo(by);
-            UiSnapshot snapshot = getSnapshotBuilder().captureAll();
 
             String stepText = currentStepText.get();
             IntentContract intent = currentIntent.get();
@@ -281,7 +397,9 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
                     ? intent
                     : IntentContract.defaultContract(stepText != null ? stepText : "find element");
 
-            HealResult result = healingEngine.attemptHeal(failureContext, intentToUse);
+            // Threads failing on the same locator share one heal; the result is checked below
+            HealResult result = healingEngine.attemptHeal(cacheKey, failureContext, intentToUse,
+                    snapshotSession::captureAll);
 
             if (result != null && result.isSuccess() && result.getHealedLocator().isPresent()) {
                 String healedLocatorStr = result.getHealedLocator().get();
@@ -299,11 +417,13 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
                     healedBy.toString(),
                     result.getConfidence(),
                     sourceLocation,
-                    beforeScreenshotBase64,
+                    beforeScreenshot.join(),
                     afterScreenshotBase64
                 );
 
-                return wrapElement(delegate.findElement(healedBy), healedBy);
+                WebElement healedElement = delegate.findElement(healedBy);
+                cacheHeal(cacheKey, healedLocator, result);
+                return wrapElement(healedElement, healedBy);
             }
 
         } catch (Exception healException) {
@@ -313,24 +433,101 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
         throw originalException;
     }
 
+    /**
+     * Build the heal cache key for a locator on the current page.
+     */
+    private CacheKey buildCacheKey(By by) {
+        String pageUrl;
+        try {
+            pageUrl = delegate.getCurrentUrl();
+        } catch (WebDriverException e) {
+            pageUrl = null;
+        }
+        return CacheKey.builder()
+                .pageUrl(pageUrl)
+                .originalLocator(byToLocatorInfo(by))
+                .actionType(ActionType.UNKNOWN)
+                .build();
+    }
+
+    /**
+     * Look up a cached healed locator for the key.
+     */
+    private Optional<By> lookupCachedLocator(CacheKey key) {
+        HealCache healCache = getHealCache();
+        if (healCache == null) {
+            return Optional.empty();
+        }
+        return healCache.get(key).map(this::locatorInfoToBy);
+    }
+
+    /**
+     * Record whether a cached locator still worked, so stale entries drain from the cache.
+     */
+    private void recordCacheOutcome(CacheKey key, boolean success) {
+        HealCache healCache = getHealCache();
+        if (healCache == null) {
+            return;
+        }
+        if (success) {
+            healCache.recordSuccess(key);
+        } else {
+            healCache.recordFailure(key);
+        }
+    }
+
+    /**
+     * Store a successful heal so later failures of the same locator skip the LLM.
+     */
+    private void cacheHeal(CacheKey key, LocatorInfo healedLocator, HealResult result) {
+        HealCache healCache = getHealCache();
+        if (healCache != null) {
+            healCache.put(key, healedLocator, result.getConfidence(), result.getReasoning().orElse(null));
+        }
+    }
+
+    private HealCache getHealCache() {
+        return healingEngine != null ? healingEngine.getHealCache() : null;
+    }
+
     /**
      * Capture a screenshot and return it as a Base64-encoded string.
      * Returns null if screenshot capture fails or is not supported.
      */
     private String captureScreenshotBase64() {
+        return encodeScreenshot(takeScreenshot());
+    }
+
+    /**
+     * Capture a screenshot now and Base64-encode it in the background.
+     * Only the encoding is overlapped: driver commands stay on the calling thread, since
+     * WebDriver sessions are not thread-safe. Completes with null if capture fails.
+     */
+    private CompletableFuture<String> captureScreenshotAsync() {
+        byte[] screenshotBytes = takeScreenshot();
+        if (screenshotBytes == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> encodeScreenshot(screenshotBytes), SCREENSHOT_ENCODER);
+    }
+
+    private byte[] takeScreenshot() {
         if (!(delegate instanceof TakesScreenshot)) {
             return null;
         }
 
         try {
-            byte[] screenshotBytes = ((TakesScreenshot) delegate).getScreenshotAs(OutputType.BYTES);
-            return Base64.getEncoder().encodeToString(screenshotBytes);
+            return ((TakesScreenshot) delegate).getScreenshotAs(OutputType.BYTES);
         } catch (Exception e) {
             logger.debug("Failed to capture screenshot: {}", e.getMessage());
             return null;
         }
     }
 
+    private static String encodeScreenshot(byte[] screenshotBytes) {
+        return screenshotBytes != null ? Base64.getEncoder().encodeToString(screenshotBytes) : null;
+    }
+
     /**
      * Handle a failed findElements call by attempting to heal.
      */
@@ -339,12 +536,31 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
             throw originalException;
         }
 
-        // Capture screenshot BEFORE healing attempt
-        String beforeScreenshotBase64 = captureScreenshotBase64();
+        // Try a previously cached heal before paying for a snapshot or LLM call
+        CacheKey cacheKey = buildCacheKey(by);
+        Optional<By> cachedBy = lookupCachedLocator(cacheKey);
+        if (cachedBy.isPresent()) {
+            List<WebElement> elements;
+            try {
+                elements = delegate.findElements(cachedBy.get());
+            } catch (WebDriverException e) {
+                logger.debug("Cached locator {} failed: {}", cachedBy.get(), e.getMessage());
+                elements = List.of();
+            }
+            if (!elements.isEmpty()) {
+                recordCacheOutcome(cacheKey, true);
+                logger.info("Healed locator from cache: {} -> {}", by, cachedBy.get());
+                return wrapElements(elements, cachedBy.get());
+            }
+            recordCacheOutcome(cacheKey, false);
+            logger.debug("Cached locator {} no longer matches, healing again", cachedBy.get());
+        }
+
+        // Capture screenshot BEFORE healing attempt, encoding it during the heal
+        CompletableFuture<String> beforeScreenshot = captureScreenshotAsync();
 
         try {
             LocatorInfo originalLocator = byToLocatorInfo(by);
-            UiSnapshot snapshot = getSnapshotBuilder().captureAll();
 
             String stepText = currentStepText.get();
             IntentContract intent = currentIntent.get();
@@ -373,7 +589,9 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
                     ? intent
                     : IntentContract.defaultContract(stepText != null ? stepText : "find elements");
 
-            HealResult result = healingEngine.attemptHeal(failureContext, intentToUse);
+            // Threads failing on the same locator share one heal; the result is checked below
+            HealResult result = healingEngine.attemptHeal(cacheKey, failureContext, intentToUse,
+                    snapshotSession::captureAll);
 
             if (result != null && result.isSuccess() && result.getHealedLocator().isPresent()) {
                 String healedLocatorStr = result.getHealedLocator().get();
@@ -391,11 +609,15 @@ public class HealingWebDriver implements WebDriver, JavascriptExecutor, TakesScr
                     healedBy.toString(),
                     result.getConfidence(),
                     sourceLocation,
-                    beforeScreenshotBase64,
+                    beforeScreenshot.join(),
                     afterScreenshotBase64
                 );
 
-                return wrapElements(delegate.findElements(healedBy), healedBy);
+                List<WebElement> healedElements = delegate.findElements(healedBy);
+                if (!healedElements.isEmpty()) {
+                    cacheHeal(cacheKey, healedLocator, result);
+                }
+                return wrapElements(healedElements, healedBy);
             }
 
         } catch (Exception healException) {
@@ -0,0 +1,243 @@
+package io.github.glaciousm.selenium.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.glaciousm.core.config.SnapshotConfig;
+import io.github.glaciousm.core.model.ElementRect;
+import io.github.glaciousm.core.model.ElementSnapshot;
+import io.github.glaciousm.core.util.JsonUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Captures every {@link ElementSnapshot} field for all matching elements in a single
+ * script execution. The page returns a compact JSON payload, so the cost of a capture
+ * is one round trip regardless of how many elements are on the page.
+ *
+ * <p>With {@link SnapshotConfig#isIncludeShadowDom()} the same script also walks open
+ * shadow roots, so elements inside web components cost no extra round trips.</p>
+ */
+final class BulkElementCapture {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkElementCapture.class);
+
+    /**
+     * Arguments: selector, max elements, max text length, skip hidden inputs, include shadow DOM.
+     * Container, label and data attribute logic mirrors the per-element scripts in
+     * {@link SnapshotBuilder} so both modes produce the same snapshots. Elements inside shadow
+     * roots come after the light DOM and their container starts with the {@code >>} host path
+     * used by {@code ShadowDomHandler}.
+     */
+    static final String SCRIPT = """
+            const selector = arguments[0];
+            const max = arguments[1];
+            const maxText = arguments[2];
+            const skipHiddenInputs = arguments[3];
+            const includeShadow = arguments[4];
+
+            const attr = (el, name) => {
+                const v = el.getAttribute(name);
+                return v === null ? undefined : v;
+            };
+
+            const containerOf = (el) => {
+                while (el.parentElement) {
+                    el = el.parentElement;
+                    if (el.tagName === 'FORM' || el.tagName === 'DIALOG' ||
+                        el.tagName === 'SECTION' || el.tagName === 'NAV' ||
+                        el.getAttribute('role') === 'dialog' ||
+                        el.getAttribute('role') === 'form') {
+                        return el.tagName + (el.id ? '#' + el.id : '') +
+                               (typeof el.className === 'string' && el.className ? '.' + el.className.split(' ')[0] : '');
+                    }
+                }
+                return 'body';
+            };
+
+            const hostSelector = (el) => {
+                if (el.id) return '#' + el.id;
+                const tag = el.tagName.toLowerCase();
+                const cls = typeof el.className === 'string' ? el.className.trim().split(/\\s+/)[0] : '';
+                return cls ? tag + '.' + cls : tag;
+            };
+
+            const labelsOf = (el) => {
+                const root = el.getRootNode();
+                const labels = [];
+                if (el.id) {
+                    const label = root.querySelector('label[for="' + CSS.escape(el.id) + '"]');
+                    if (label) labels.push(label.textContent.trim());
+                }
+                const parentLabel = el.closest('label');
+                if (parentLabel) labels.push(parentLabel.textContent.trim());
+                const labelledBy = el.getAttribute('aria-labelledby');
+                if (labelledBy) {
+                    labelledBy.split(' ').forEach(id => {
+                        const labelEl = root.getElementById(id);
+                        if (labelEl) labels.push(labelEl.textContent.trim());
+                    });
+                }
+                const container = el.closest('div, fieldset, section') || el.parentElement;
+                if (container) {
+                    const nearbyText = container.querySelector('h1, h2, h3, h4, legend, p');
+                    if (nearbyText) labels.push(nearbyText.textContent.trim());
+                }
+                return [...new Set(labels)].slice(0, 5);
+            };
+
+            const result = [];
+            const collect = (root, hosts, depth) => {
+                for (const el of root.querySelectorAll(selector)) {
+                    if (result.length >= max) return;
+                    const rect = el.getBoundingClientRect();
+                    const style = window.getComputedStyle(el);
+                    if (rect.width <= 0 || rect.height <= 0 || style.visibility === 'hidden' || style.display === 'none') continue;
+                    if (skipHiddenInputs && el.type === 'hidden') continue;
+
+                    let text = (el.innerText || '').trim().replace(/\\s+/g, ' ');
+                    if (text.length > maxText) text = text.substring(0, maxText - 3) + '...';
+
+                    const data = {};
+                    for (const a of el.attributes) {
+                        if (a.name.startsWith('data-')) data[a.name.substring(5)] = a.value;
+                    }
+
+                    result.push({
+                        tag: el.tagName.toLowerCase(),
+                        id: attr(el, 'id'),
+                        name: attr(el, 'name'),
+                        type: attr(el, 'type'),
+                        cls: attr(el, 'class'),
+                        text: text,
+                        value: typeof el.value === 'string' ? el.value : attr(el, 'value'),
+                        ph: attr(el, 'placeholder'),
+                        al: attr(el, 'aria-label'),
+                        alb: attr(el, 'aria-labelledby'),
+                        adb: attr(el, 'aria-describedby'),
+                        role: attr(el, 'role'),
+                        title: attr(el, 'title'),
+                        en: !el.disabled,
+                        sel: !!(el.checked || el.selected),
+                        rect: [Math.round(rect.left + window.scrollX), Math.round(rect.top + window.scrollY),
+                               Math.round(rect.width), Math.round(rect.height)],
+                        ctr: hosts.length ? hosts.join(' >> ') + ' >> ' + containerOf(el) : containerOf(el),
+                        lbl: labelsOf(el),
+                        data: data
+                    });
+                }
+                if (!includeShadow || depth >= 10) return;
+                for (const host of root.querySelectorAll('*')) {
+                    if (result.length >= max) return;
+                    if (host.shadowRoot) collect(host.shadowRoot, hosts.concat(hostSelector(host)), depth + 1);
+                }
+            };
+            collect(document, [], 0);
+            return JSON.stringify(result);
+            """;
+
+    private final JavascriptExecutor executor;
+    private final SnapshotConfig config;
+
+    BulkElementCapture(JavascriptExecutor executor, SnapshotConfig config) {
+        this.executor = executor;
+        this.config = config;
+    }
+
+    /**
+     * Capture all visible elements matching the selector.
+     *
+     * @return the captured elements, or empty if the page could not run the script
+     *         or returned an unexpected payload
+     */
+    Optional<List<ElementSnapshot>> capture(String selector, boolean skipHiddenInputs) {
+        Object result;
+        try {
+            result = executor.executeScript(SCRIPT, selector, config.getMaxElements(),
+                    config.getMaxTextLength(), skipHiddenInputs, config.isIncludeShadowDom());
+        } catch (WebDriverException e) {
+            logger.debug("Bulk capture script failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (!(result instanceof String json)) {
+            logger.debug("Bulk capture returned unexpected payload type: {}",
+                    result == null ? "null" : result.getClass().getSimpleName());
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(parse(JsonUtils.getMapper().readTree(json)));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            logger.debug("Bulk capture returned malformed payload: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static List<ElementSnapshot> parse(JsonNode root) {
+        if (root == null || !root.isArray()) {
+            throw new IllegalArgumentException("Expected a JSON array of elements");
+        }
+
+        List<ElementSnapshot> snapshots = new ArrayList<>(root.size());
+        int index = 0;
+        for (JsonNode node : root) {
+            ElementSnapshot.Builder builder = ElementSnapshot.builder()
+                    .index(index++)
+                    .tagName(text(node, "tag"))
+                    .id(text(node, "id"))
+                    .name(text(node, "name"))
+                    .type(text(node, "type"))
+                    .classes(SnapshotBuilder.parseClasses(text(node, "cls")))
+                    .text(text(node, "text"))
+                    .value(text(node, "value"))
+                    .placeholder(text(node, "ph"))
+                    .ariaLabel(text(node, "al"))
+                    .ariaLabelledBy(text(node, "alb"))
+                    .ariaDescribedBy(text(node, "adb"))
+                    .ariaRole(text(node, "role"))
+                    .title(text(node, "title"))
+                    // Only rendered elements pass the page-side filter
+                    .visible(true)
+                    .enabled(node.path("en").asBoolean(true))
+                    .selected(node.path("sel").asBoolean(false))
+                    .container(text(node, "ctr"));
+
+            JsonNode rect = node.get("rect");
+            if (rect != null && rect.isArray() && rect.size() == 4) {
+                builder.rect(new ElementRect(rect.get(0).asInt(), rect.get(1).asInt(),
+                        rect.get(2).asInt(), rect.get(3).asInt()));
+            }
+
+            List<String> labels = new ArrayList<>();
+            for (JsonNode label : node.path("lbl")) {
+                labels.add(label.asText());
+            }
+            builder.nearbyLabels(labels);
+
+            Map<String, String> dataAttributes = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.path("data").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                dataAttributes.put(field.getKey(), field.getValue().asText());
+            }
+            builder.dataAttributes(dataAttributes);
+
+            snapshots.add(builder.build());
+        }
+        return snapshots;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
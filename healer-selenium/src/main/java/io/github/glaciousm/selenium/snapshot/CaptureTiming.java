@@ -0,0 +1,64 @@
+package io.github.glaciousm.selenium.snapshot;
+
+import io.github.glaciousm.core.config.SnapshotConfig.CaptureMode;
+
+import java.time.Duration;
+
+/**
+ * Timing information for a single element capture pass.
+ * Used to compare bulk and per-element capture on real pages.
+ */
+public final class CaptureTiming {
+
+    /** WebDriver calls made per element by the per-element capture path. */
+    static final int PER_ELEMENT_CALLS = 20;
+
+    private final CaptureMode mode;
+    private final int elementCount;
+    private final Duration duration;
+    private final boolean fallback;
+
+    public CaptureTiming(CaptureMode mode, int elementCount, Duration duration, boolean fallback) {
+        this.mode = mode;
+        this.elementCount = elementCount;
+        this.duration = duration;
+        this.fallback = fallback;
+    }
+
+    /**
+     * The mode that actually produced the elements.
+     */
+    public CaptureMode getMode() {
+        return mode;
+    }
+
+    public int getElementCount() {
+        return elementCount;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Whether bulk capture was requested but failed and the per-element path was used.
+     */
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    /**
+     * Approximate number of browser round trips spent on this capture.
+     */
+    public int getEstimatedRoundTrips() {
+        int roundTrips = mode == CaptureMode.BULK ? 1 : 1 + elementCount * PER_ELEMENT_CALLS;
+        return fallback ? roundTrips + 1 : roundTrips;
+    }
+
+    @Override
+    public String toString() {
+        return "CaptureTiming{mode=" + mode + ", elements=" + elementCount +
+               ", durationMs=" + duration.toMillis() + ", roundTrips~" + getEstimatedRoundTrips() +
+               ", fallback=" + fallback + "}";
+    }
+}
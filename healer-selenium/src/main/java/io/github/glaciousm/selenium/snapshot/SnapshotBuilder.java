@@ -1,23 +1,45 @@
 package io.github.glaciousm.selenium.snapshot;
 
 import io.github.glaciousm.core.config.SnapshotConfig;
+import io.github.glaciousm.core.config.SnapshotConfig.CaptureMode;
 import io.github.glaciousm.core.model.*;
 import org.openqa.selenium.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 
 /**
  * Builds UI snapshots from Selenium WebDriver state.
+ *
+ * <p>By default all element fields are collected in a single script round trip
+ * ({@link CaptureMode#BULK}). The per-element WebDriver path is kept as a fallback
+ * and can be forced with {@link CaptureMode#PER_ELEMENT}.</p>
+ *
+ * <p>With {@link SnapshotConfig#isIncludeShadowDom()} bulk capture also walks open shadow
+ * roots in the same script; the per-element path only sees the light DOM.</p>
  */
 public class SnapshotBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(SnapshotBuilder.class);
 
+    private static final String CLICKABLE_SELECTOR =
+            "button, a, [role=\"button\"], [role=\"link\"], input[type=\"submit\"], input[type=\"button\"], " +
+            "[onclick], [ng-click], [data-action], [tabindex]";
+    private static final String INPUT_SELECTOR =
+            "input:not([type=\"hidden\"]):not([type=\"submit\"]):not([type=\"button\"]), textarea, " +
+            "[contenteditable=\"true\"]";
+    private static final String SELECT_SELECTOR =
+            "select, [role=\"listbox\"], [role=\"combobox\"]";
+    private static final String INTERACTIVE_SELECTOR =
+            "button, a, input, select, textarea, [role=\"button\"], [role=\"link\"], [role=\"listbox\"], " +
+            "[role=\"combobox\"], [onclick], [tabindex]:not([tabindex=\"-1\"])";
+
     private final WebDriver driver;
     private final SnapshotConfig config;
+    private volatile CaptureTiming lastCaptureTiming;
 
     public SnapshotBuilder(WebDriver driver, SnapshotConfig config) {
         this.driver = Objects.requireNonNull(driver, "driver cannot be null");
@@ -50,6 +72,7 @@ public class SnapshotBuilder {
 
         // Capture artifacts if configured
         if (config.isCaptureScreenshot()) {
+            builder.viewport(captureViewport());
             builder.screenshotBase64(captureScreenshot());
         }
         if (config.isCaptureDom()) {
@@ -80,53 +103,68 @@ public class SnapshotBuilder {
     }
 
     private List<ElementSnapshot> captureClickableElements() {
-        String script = """
-            return Array.from(document.querySelectorAll('button, a, [role="button"], [role="link"], input[type="submit"], input[type="button"], [onclick], [ng-click], [data-action], [tabindex]')).filter(el => {
-                const rect = el.getBoundingClientRect();
-                const style = window.getComputedStyle(el);
-                return rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none';
-            }).slice(0, %d);
-            """.formatted(config.getMaxElements());
-
-        return captureElements(script);
+        return captureMatching(CLICKABLE_SELECTOR, false);
     }
 
     private List<ElementSnapshot> captureInputElements() {
-        String script = """
-            return Array.from(document.querySelectorAll('input:not([type="hidden"]):not([type="submit"]):not([type="button"]), textarea, [contenteditable="true"]')).filter(el => {
-                const rect = el.getBoundingClientRect();
-                const style = window.getComputedStyle(el);
-                return rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none';
-            }).slice(0, %d);
-            """.formatted(config.getMaxElements());
-
-        return captureElements(script);
+        return captureMatching(INPUT_SELECTOR, false);
     }
 
     private List<ElementSnapshot> captureSelectElements() {
-        String script = """
-            return Array.from(document.querySelectorAll('select, [role="listbox"], [role="combobox"]')).filter(el => {
-                const rect = el.getBoundingClientRect();
-                const style = window.getComputedStyle(el);
-                return rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none';
-            }).slice(0, %d);
-            """.formatted(config.getMaxElements());
-
-        return captureElements(script);
+        return captureMatching(SELECT_SELECTOR, false);
     }
 
     private List<ElementSnapshot> captureAllInteractiveElements() {
-        String script = """
-            return Array.from(document.querySelectorAll('button, a, input, select, textarea, [role="button"], [role="link"], [role="listbox"], [role="combobox"], [onclick], [tabindex]:not([tabindex="-1"])')).filter(el => {
+        return captureMatching(INTERACTIVE_SELECTOR, true);
+    }
+
+    /**
+     * Capture visible elements matching the selector using the configured capture mode.
+     * Bulk capture falls back to the per-element path if the page cannot run the script.
+     */
+    private List<ElementSnapshot> captureMatching(String selector, boolean skipHiddenInputs) {
+        long start = System.nanoTime();
+        boolean fallback = false;
+
+        if (config.getCaptureMode() != CaptureMode.PER_ELEMENT && driver instanceof JavascriptExecutor executor) {
+            Optional<List<ElementSnapshot>> bulk = new BulkElementCapture(executor, config)
+                    .capture(selector, skipHiddenInputs);
+            if (bulk.isPresent()) {
+                return recordTiming(CaptureMode.BULK, bulk.get(), start, false);
+            }
+            logger.debug("Bulk capture unavailable, falling back to per-element capture");
+            fallback = true;
+        }
+
+        List<ElementSnapshot> elements = captureElements(selectionScript(selector, skipHiddenInputs));
+        return recordTiming(CaptureMode.PER_ELEMENT, elements, start, fallback);
+    }
+
+    private List<ElementSnapshot> recordTiming(CaptureMode mode, List<ElementSnapshot> elements,
+                                               long startNanos, boolean fallback) {
+        lastCaptureTiming = new CaptureTiming(mode, elements.size(),
+                Duration.ofNanos(System.nanoTime() - startNanos), fallback);
+        logger.debug("Element capture: {}", lastCaptureTiming);
+        return elements;
+    }
+
+    private String selectionScript(String selector, boolean skipHiddenInputs) {
+        return """
+            return Array.from(document.querySelectorAll('%s')).filter(el => {
                 const rect = el.getBoundingClientRect();
                 const style = window.getComputedStyle(el);
                 const isVisible = rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none';
-                const isHidden = el.type === 'hidden';
-                return isVisible && !isHidden;
+                return isVisible%s;
             }).slice(0, %d);
-            """.formatted(config.getMaxElements());
+            """.formatted(selector, skipHiddenInputs ? " && el.type !== 'hidden'" : "", config.getMaxElements());
+    }
 
-        return captureElements(script);
+    /**
+     * Returns timing for the most recent element capture on this builder, or null if
+     * nothing has been captured yet.
+     */
+    public CaptureTiming getLastCaptureTiming() {
+        return lastCaptureTiming;
     }
 
     @SuppressWarnings("unchecked")
@@ -197,7 +235,7 @@ public class SnapshotBuilder {
         return builder.build();
     }
 
-    private List<String> parseClasses(String classAttr) {
+    static List<String> parseClasses(String classAttr) {
         if (classAttr == null || classAttr.isEmpty()) {
             return List.of();
         }
@@ -310,6 +348,25 @@ public class SnapshotBuilder {
         }
     }
 
+    /**
+     * Scroll offset and device pixel ratio, so element rectangles (document CSS pixels)
+     * can be mapped onto the viewport screenshot (device pixels).
+     */
+    private ViewportInfo captureViewport() {
+        try {
+            Object result = ((JavascriptExecutor) driver)
+                    .executeScript("return [window.scrollX, window.scrollY, window.devicePixelRatio || 1];");
+            if (result instanceof List<?> values && values.size() == 3
+                    && values.stream().allMatch(Number.class::isInstance)) {
+                return new ViewportInfo(((Number) values.get(0)).doubleValue(),
+                        ((Number) values.get(1)).doubleValue(), ((Number) values.get(2)).doubleValue());
+            }
+        } catch (WebDriverException e) {
+            logger.debug("Failed to capture viewport: {}", e.getMessage());
+        }
+        return null;
+    }
+
     private String captureScreenshot() {
         try {
             return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
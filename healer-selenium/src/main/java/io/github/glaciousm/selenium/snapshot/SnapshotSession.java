@@ -0,0 +1,184 @@
+package io.github.glaciousm.selenium.snapshot;
+
+import io.github.glaciousm.core.config.SnapshotConfig;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes UI snapshots per driver so a heal attempt, its outcome validation and any
+ * retries share a single capture.
+ *
+ * <p>A snapshot is reused while the page state is unchanged. The page state is the
+ * current URL plus a counter maintained by a page-side {@code MutationObserver}, so a
+ * navigation, reload or DOM mutation always forces a fresh capture. Drivers that cannot
+ * execute scripts are never served from the session.</p>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>Capture calls are synchronized per session, so concurrent callers on the same
+ * driver wait for one capture instead of each taking their own.</p>
+ */
+public class SnapshotSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotSession.class);
+
+    /**
+     * Installs the mutation counter on first use and returns the page state key.
+     * The random id distinguishes a reloaded page from the previous one at the same URL.
+     */
+    static final String PAGE_STATE_SCRIPT = """
+            let state = window.__healerDomState;
+            if (!state) {
+                state = { id: Math.random().toString(36).slice(2), n: 0 };
+                state.observer = new MutationObserver(records => { state.n += records.length; });
+                state.observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+                window.__healerDomState = state;
+            }
+            state.n += state.observer.takeRecords().length;
+            return location.href + '|' + state.id + '|' + state.n;
+            """;
+
+    private static final String SCOPE_ALL = "ALL";
+
+    // Track sessions per driver (WeakHashMap allows garbage collection)
+    private static final Map<WebDriver, SnapshotSession> sessions =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder totalCaptures = new LongAdder();
+    private static final LongAdder totalCapturesAvoided = new LongAdder();
+
+    private final WebDriver driver;
+    private final SnapshotBuilder snapshotBuilder;
+    private final long reuseTtlMs;
+    private final Map<String, CachedSnapshot> cachedSnapshots = new HashMap<>();
+    private long captures;
+    private long capturesAvoided;
+
+    public SnapshotSession(WebDriver driver, SnapshotConfig config) {
+        this.driver = Objects.requireNonNull(driver, "driver cannot be null");
+        SnapshotConfig effectiveConfig = config != null ? config : new SnapshotConfig();
+        this.snapshotBuilder = new SnapshotBuilder(driver, effectiveConfig);
+        this.reuseTtlMs = effectiveConfig.getReuseTtlMs();
+    }
+
+    /**
+     * Get the shared session for a driver, creating it on first use.
+     */
+    public static SnapshotSession forDriver(WebDriver driver, SnapshotConfig config) {
+        return sessions.computeIfAbsent(driver, d -> new SnapshotSession(d, config));
+    }
+
+    /**
+     * Capture all interactive elements, reusing the last capture if the page is unchanged.
+     */
+    public UiSnapshot captureAll() {
+        return capture(SCOPE_ALL, snapshotBuilder::captureAll);
+    }
+
+    /**
+     * Capture a snapshot for the failure, reusing the last capture for the same
+     * action type if the page is unchanged.
+     */
+    public UiSnapshot capture(FailureContext failure) {
+        return capture(String.valueOf(failure.getActionType()), () -> snapshotBuilder.capture(failure));
+    }
+
+    private synchronized UiSnapshot capture(String scope, Supplier<UiSnapshot> capturer) {
+        String pageState = reuseTtlMs > 0 ? readPageState() : null;
+
+        CachedSnapshot cached = cachedSnapshots.get(scope);
+        if (pageState != null && cached != null && cached.matches(pageState, reuseTtlMs)) {
+            capturesAvoided++;
+            totalCapturesAvoided.increment();
+            logger.debug("Reusing {} snapshot of {} ({} captures avoided)",
+                    scope, cached.snapshot.getUrl(), capturesAvoided);
+            return cached.snapshot;
+        }
+
+        UiSnapshot snapshot = capturer.get();
+        captures++;
+        totalCaptures.increment();
+
+        if (pageState != null && snapshot != null) {
+            cachedSnapshots.put(scope, new CachedSnapshot(pageState, snapshot, System.nanoTime()));
+        } else {
+            cachedSnapshots.remove(scope);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drop all memoized snapshots so the next call captures the page again.
+     */
+    public synchronized void invalidate() {
+        cachedSnapshots.clear();
+    }
+
+    private String readPageState() {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            return null;
+        }
+        try {
+            Object state = executor.executeScript(PAGE_STATE_SCRIPT);
+            return state instanceof String s ? s : null;
+        } catch (WebDriverException e) {
+            logger.debug("Could not read page state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The underlying builder, for callers that need its capture timing.
+     */
+    public SnapshotBuilder getSnapshotBuilder() {
+        return snapshotBuilder;
+    }
+
+    /**
+     * Number of snapshots actually captured by this session.
+     */
+    public synchronized long getCaptureCount() {
+        return captures;
+    }
+
+    /**
+     * Number of captures this session avoided by reusing a snapshot.
+     */
+    public synchronized long getCapturesAvoided() {
+        return capturesAvoided;
+    }
+
+    /**
+     * Number of snapshots captured across all sessions in this JVM.
+     */
+    public static long getTotalCaptureCount() {
+        return totalCaptures.sum();
+    }
+
+    /**
+     * Number of captures avoided across all sessions in this JVM.
+     */
+    public static long getTotalCapturesAvoided() {
+        return totalCapturesAvoided.sum();
+    }
+
+    private record CachedSnapshot(String pageState, UiSnapshot snapshot, long capturedAtNanos) {
+
+        boolean matches(String currentState, long ttlMs) {
+            long ageMs = (System.nanoTime() - capturedAtNanos) / 1_000_000;
+            return pageState.equals(currentState) && ageMs <= ttlMs;
+        }
+    }
+}
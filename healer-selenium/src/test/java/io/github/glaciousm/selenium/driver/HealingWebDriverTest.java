@@ -2,20 +2,26 @@ package io.github.glaciousm.selenium.driver;
 
 import io.github.glaciousm.core.config.HealerConfig;
 import io.github.glaciousm.core.engine.HealingEngine;
+import io.github.glaciousm.core.engine.cache.CacheKey;
+import io.github.glaciousm.core.engine.cache.HealCache;
 import io.github.glaciousm.core.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openqa.selenium.*;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -60,6 +66,21 @@ class HealingWebDriverTest {
         return fullMock;
     }
 
+    /**
+     * Creates a lenient engine mock whose coalesced heals capture the snapshot and run the
+     * plain {@code attemptHeal(failure, intent, snapshot)}, so tests stub and verify that one.
+     */
+    private HealingEngine createHealingEngineMock() {
+        HealingEngine engine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        when(engine.attemptHeal(any(CacheKey.class), any(FailureContext.class), any(IntentContract.class),
+                any(Supplier.class))).thenAnswer(invocation -> {
+                    Supplier<UiSnapshot> snapshotSupplier = invocation.getArgument(3);
+                    return engine.attemptHeal(invocation.<FailureContext>getArgument(1),
+                            invocation.<IntentContract>getArgument(2), snapshotSupplier.get());
+                });
+        return engine;
+    }
+
     /**
      * Sets up stubs needed by SnapshotBuilder for any WebDriver mock.
      */
@@ -123,7 +144,7 @@ class HealingWebDriverTest {
         // Use full-featured mock for healing tests
         WebDriver fullMock = createFullFeaturedMock();
         // Create a local mock to avoid strict stubbing issues
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         // Setup: First call throws exception, healing provides new locator
@@ -136,7 +157,7 @@ class HealingWebDriverTest {
                 "Element was healed using new ID",
                 "css=#new-id"
         );
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
 
         when(fullMock.findElement(By.cssSelector("#new-id")))
                 .thenReturn(mockElement);
@@ -146,16 +167,121 @@ class HealingWebDriverTest {
 
         // Verify
         assertThat(result).isNotNull();
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
         verify(fullMock).findElement(By.id("old-id"));
         verify(fullMock).findElement(By.cssSelector("#new-id"));
     }
 
+    // ===== Test heal cache fast path =====
+
+    @Test
+    void findElement_repeatedFailure_isServedFromHealCache() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = createHealingEngineMock();
+        HealCache healCache = new HealCache();
+        when(localEngine.getHealCache()).thenReturn(healCache);
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+
+        when(fullMock.findElement(By.id("old-id")))
+                .thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.cssSelector("#new-id")))
+                .thenReturn(mockElement);
+        doReturn(HealResult.success(0, 0.9, "Element was healed using new ID", "css=#new-id"))
+                .when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
+
+        healingDriver.findElement(By.id("old-id"));
+        WebElement second = healingDriver.findElement(By.id("old-id"));
+
+        assertThat(second).isNotNull();
+        verify(localEngine, times(1)).attemptHeal(any(), any(), any());
+        verify((TakesScreenshot) fullMock, times(2)).getScreenshotAs(any());
+        assertThat(healCache.getStats().hits()).isEqualTo(1);
+        healCache.shutdown();
+    }
+
+    @Test
+    void findElement_staleCacheEntry_fallsBackToFullHeal() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = createHealingEngineMock();
+        HealCache healCache = new HealCache();
+        when(localEngine.getHealCache()).thenReturn(healCache);
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+
+        when(fullMock.findElement(By.id("old-id")))
+                .thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.cssSelector("#new-id")))
+                .thenReturn(mockElement)
+                .thenThrow(new NoSuchElementException("Cached locator gone"));
+        when(fullMock.findElement(By.cssSelector("#newer-id")))
+                .thenReturn(mockElement);
+        doReturn(HealResult.success(0, 0.9, "First heal", "css=#new-id"))
+                .doReturn(HealResult.success(0, 0.9, "Second heal", "css=#newer-id"))
+                .when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
+
+        healingDriver.findElement(By.id("old-id"));
+        WebElement second = healingDriver.findElement(By.id("old-id"));
+
+        assertThat(second).isNotNull();
+        verify(localEngine, times(2)).attemptHeal(any(), any(), any());
+        verify(fullMock).findElement(By.cssSelector("#newer-id"));
+        healCache.shutdown();
+    }
+
+    @Test
+    void findElement_cachedLocatorThrows_fallsBackToFullHeal() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = createHealingEngineMock();
+        HealCache healCache = new HealCache();
+        when(localEngine.getHealCache()).thenReturn(healCache);
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+
+        healCache.put(CacheKey.builder()
+                        .pageUrl("http://test.com")
+                        .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.ID, "old-id"))
+                        .actionType(ActionType.UNKNOWN)
+                        .build(),
+                new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, "#bad["), 0.9, "cached heal");
+        when(fullMock.findElement(By.id("old-id")))
+                .thenThrow(new NoSuchElementException("Element not found"));
+        when(fullMock.findElement(By.cssSelector("#bad[")))
+                .thenThrow(new InvalidSelectorException("invalid selector"));
+        doReturn(HealResult.failed("No matching element"))
+                .when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
+
+        assertThatThrownBy(() -> healingDriver.findElement(By.id("old-id")))
+                .isInstanceOf(NoSuchElementException.class);
+
+        verify(fullMock).findElement(By.cssSelector("#bad["));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
+        healCache.shutdown();
+    }
+
+    // ===== Test pre-healing =====
+
+    @Test
+    void preHeal_probesLocatorsWithoutImplicitWait() {
+        WebDriver.Options options = mock(WebDriver.Options.class);
+        WebDriver.Timeouts timeouts = mock(WebDriver.Timeouts.class);
+        when(mockDelegate.manage()).thenReturn(options);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(timeouts.getImplicitWaitTimeout()).thenReturn(Duration.ofSeconds(10));
+        when(mockDelegate.findElements(By.id("present"))).thenReturn(List.of(mockElement));
+
+        Map<By, By> healed = healingDriver.preHeal(List.of(By.id("present")));
+
+        assertThat(healed).isEmpty();
+        InOrder inOrder = inOrder(timeouts, mockDelegate);
+        inOrder.verify(timeouts).implicitlyWait(Duration.ZERO);
+        inOrder.verify(mockDelegate).findElements(By.id("present"));
+        inOrder.verify(timeouts).implicitlyWait(Duration.ofSeconds(10));
+        verifyNoInteractions(mockEngine);
+    }
+
     @Test
     void findElement_whenHealingFails_throwsOriginalException() {
         // Use full-featured mock for healing tests
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         NoSuchElementException originalException = new NoSuchElementException("Element not found");
@@ -163,13 +289,13 @@ class HealingWebDriverTest {
                 .thenThrow(originalException);
 
         HealResult healResult = HealResult.failed("Could not find element");
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
 
         assertThatThrownBy(() -> healingDriver.findElement(By.id("test")))
                 .isInstanceOf(NoSuchElementException.class)
                 .hasMessageContaining("Element not found");
 
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
     }
 
     // ===== Test healing triggered on StaleElementReferenceException =====
@@ -178,39 +304,68 @@ class HealingWebDriverTest {
     void findElement_whenStaleElementException_attemptsHealing() {
         // Use full-featured mock for healing tests
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("stale-id")))
                 .thenThrow(new StaleElementReferenceException("Element is stale"));
 
         HealResult healResult = HealResult.failed("Could not re-find stale element");
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
 
         // Execute - should attempt healing but fail
         assertThatThrownBy(() -> healingDriver.findElement(By.id("stale-id")))
                 .isInstanceOf(StaleElementReferenceException.class);
 
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
     }
 
     @Test
     void findElements_whenStaleElementException_attemptsHealing() {
         // Use full-featured mock for healing tests
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElements(By.className("test")))
                 .thenThrow(new StaleElementReferenceException("Elements are stale"));
 
         HealResult healResult = HealResult.failed("Could not re-find stale elements");
-        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        doReturn(healResult).when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
+
+        assertThatThrownBy(() -> healingDriver.findElements(By.className("test")))
+                .isInstanceOf(StaleElementReferenceException.class);
+
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
+    }
+
+    @Test
+    void findElements_cachedLocatorThrows_fallsBackToFullHeal() {
+        WebDriver fullMock = createFullFeaturedMock();
+        HealingEngine localEngine = createHealingEngineMock();
+        HealCache healCache = new HealCache();
+        when(localEngine.getHealCache()).thenReturn(healCache);
+        healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
+
+        healCache.put(CacheKey.builder()
+                        .pageUrl("http://test.com")
+                        .originalLocator(new LocatorInfo(LocatorInfo.LocatorStrategy.CLASS_NAME, "test"))
+                        .actionType(ActionType.UNKNOWN)
+                        .build(),
+                new LocatorInfo(LocatorInfo.LocatorStrategy.CSS, "#bad["), 0.9, "cached heal");
+        when(fullMock.findElements(By.className("test")))
+                .thenThrow(new StaleElementReferenceException("Elements are stale"));
+        when(fullMock.findElements(By.cssSelector("#bad[")))
+                .thenThrow(new InvalidSelectorException("invalid selector"));
+        doReturn(HealResult.failed("Could not re-find stale elements"))
+                .when(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
 
         assertThatThrownBy(() -> healingDriver.findElements(By.className("test")))
                 .isInstanceOf(StaleElementReferenceException.class);
 
-        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class));
+        verify(fullMock).findElements(By.cssSelector("#bad["));
+        verify(localEngine).attemptHeal(any(FailureContext.class), any(IntentContract.class), any(UiSnapshot.class));
+        healCache.shutdown();
     }
 
     // ===== Test healing disabled when intent says not to heal =====
@@ -311,17 +466,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsIdLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.id("test-id");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.ID);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("test-id");
     }
@@ -329,17 +484,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsNameLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.name("username");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.NAME);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("username");
     }
@@ -347,17 +502,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsClassNameLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.className("btn-primary");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.CLASS_NAME);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("btn-primary");
     }
@@ -365,17 +520,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsTagNameLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.tagName("button");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.TAG_NAME);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("button");
     }
@@ -383,17 +538,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsLinkTextLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.linkText("Click here");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.LINK_TEXT);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("Click here");
     }
@@ -401,17 +556,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsPartialLinkTextLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.partialLinkText("Click");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.PARTIAL_LINK_TEXT);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("Click");
     }
@@ -419,17 +574,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsCssSelectorLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.cssSelector("div.container > button");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.CSS);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("div.container > button");
     }
@@ -437,17 +592,17 @@ class HealingWebDriverTest {
     @Test
     void byToLocatorInfo_convertsXpathLocator() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         By by = By.xpath("//button[@id='submit']");
         when(fullMock.findElement(by)).thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.failed("")).when(localEngine).attemptHeal(any(), any(), any());
 
         assertThatThrownBy(() -> healingDriver.findElement(by));
 
         ArgumentCaptor<FailureContext> fcCaptor = ArgumentCaptor.forClass(FailureContext.class);
-        verify(localEngine).attemptHeal(fcCaptor.capture(), any());
+        verify(localEngine).attemptHeal(fcCaptor.capture(), any(), any());
         assertThat(fcCaptor.getValue().getOriginalLocator().getStrategy()).isEqualTo(LocatorInfo.LocatorStrategy.XPATH);
         assertThat(fcCaptor.getValue().getOriginalLocator().getValue()).isEqualTo("//button[@id='submit']");
     }
@@ -457,12 +612,12 @@ class HealingWebDriverTest {
     @Test
     void locatorInfoToBy_convertsIdStrategy() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "id=new")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "id=new")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.id("new"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -473,12 +628,12 @@ class HealingWebDriverTest {
     @Test
     void locatorInfoToBy_convertsNameStrategy() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.name("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "name=new")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "name=new")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.name("new"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.name("old"));
@@ -489,12 +644,12 @@ class HealingWebDriverTest {
     @Test
     void locatorInfoToBy_convertsXpathStrategy() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.xpath("//old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "xpath=//new")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "xpath=//new")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.xpath("//new"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.xpath("//old"));
@@ -507,12 +662,12 @@ class HealingWebDriverTest {
     @Test
     void parseLocatorString_handlesStandardFormat() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "ID=test-id")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "ID=test-id")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.id("test-id"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -523,12 +678,12 @@ class HealingWebDriverTest {
     @Test
     void parseLocatorString_handlesClassNameVariation() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "CLASSNAME=btn")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "CLASSNAME=btn")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.className("btn"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -539,12 +694,12 @@ class HealingWebDriverTest {
     @Test
     void parseLocatorString_handlesCssSelectorVariation() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", "CSSSELECTOR=.btn")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", "CSSSELECTOR=.btn")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.cssSelector(".btn"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
@@ -555,12 +710,12 @@ class HealingWebDriverTest {
     @Test
     void parseLocatorString_defaultsToCssWhenNoStrategySpecified() {
         WebDriver fullMock = createFullFeaturedMock();
-        HealingEngine localEngine = mock(HealingEngine.class, withSettings().strictness(Strictness.LENIENT));
+        HealingEngine localEngine = createHealingEngineMock();
         healingDriver = new HealingWebDriver(fullMock, localEngine, mockConfig);
 
         when(fullMock.findElement(By.id("old")))
                 .thenThrow(new NoSuchElementException("test"));
-        doReturn(HealResult.success(0, 0.9, "healed", ".btn-primary")).when(localEngine).attemptHeal(any(), any());
+        doReturn(HealResult.success(0, 0.9, "healed", ".btn-primary")).when(localEngine).attemptHeal(any(), any(), any());
         when(fullMock.findElement(By.cssSelector(".btn-primary"))).thenReturn(mockElement);
 
         WebElement result = healingDriver.findElement(By.id("old"));
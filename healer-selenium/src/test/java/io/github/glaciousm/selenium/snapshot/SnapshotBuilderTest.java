@@ -582,6 +582,118 @@ class SnapshotBuilderTest {
                 .hasMessageContaining("driver cannot be null");
     }
 
+    // ===== Test capture modes =====
+
+    @Test
+    void captureAll_bulkMode_buildsSnapshotsFromSingleScript() {
+        when(mockDriver.getCurrentUrl()).thenReturn("https://example.com");
+        when(mockDriver.getTitle()).thenReturn("Test");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("document.documentElement.lang")))
+                .thenReturn("en");
+
+        String payload = """
+            [{"tag":"button","id":"submit-btn","cls":"btn btn-primary","text":"Submit","en":true,"sel":false,
+              "rect":[10,20,120,40],"ctr":"FORM#login","lbl":["Sign in"],"data":{"testid":"submit"}},
+             {"tag":"input","name":"email","type":"email","ph":"Email","text":"","en":false,
+              "rect":[10,80,200,30],"ctr":"body","lbl":[],"data":{}}]
+            """;
+        when(((JavascriptExecutor) mockDriver).executeScript(
+                eq(BulkElementCapture.SCRIPT), any(), any(), any(), any(), any()))
+                .thenReturn(payload);
+
+        UiSnapshot snapshot = snapshotBuilder.captureAll();
+
+        assertThat(snapshot.getInteractiveElements()).hasSize(2);
+        ElementSnapshot button = snapshot.getInteractiveElements().get(0);
+        assertThat(button.getIndex()).isEqualTo(0);
+        assertThat(button.getTagName()).isEqualTo("button");
+        assertThat(button.getId()).isEqualTo("submit-btn");
+        assertThat(button.getClasses()).containsExactly("btn", "btn-primary");
+        assertThat(button.getRect()).isEqualTo(new ElementRect(10, 20, 120, 40));
+        assertThat(button.getContainer()).isEqualTo("FORM#login");
+        assertThat(button.getNearbyLabels()).containsExactly("Sign in");
+        assertThat(button.getDataTestId()).isEqualTo("submit");
+
+        ElementSnapshot input = snapshot.getInteractiveElements().get(1);
+        assertThat(input.getIndex()).isEqualTo(1);
+        assertThat(input.getId()).isNull();
+        assertThat(input.getPlaceholder()).isEqualTo("Email");
+        assertThat(input.isEnabled()).isFalse();
+
+        assertThat(snapshotBuilder.getLastCaptureTiming().getMode()).isEqualTo(SnapshotConfig.CaptureMode.BULK);
+        assertThat(snapshotBuilder.getLastCaptureTiming().getEstimatedRoundTrips()).isEqualTo(1);
+        verify((JavascriptExecutor) mockDriver, never()).executeScript(contains("Array.from(document.querySelectorAll"));
+        verify(mockElement, never()).getTagName();
+    }
+
+    @Test
+    void captureAll_perElementMode_skipsBulkScript() {
+        config.setCaptureMode(SnapshotConfig.CaptureMode.PER_ELEMENT);
+        when(mockDriver.getCurrentUrl()).thenReturn("https://example.com");
+        when(mockDriver.getTitle()).thenReturn("Test");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("document.documentElement.lang")))
+                .thenReturn("en");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("document.querySelectorAll")))
+                .thenReturn(List.of(mockElement));
+        setupMockElement(mockElement, "button", "submit", "Submit");
+
+        UiSnapshot snapshot = snapshotBuilder.captureAll();
+
+        assertThat(snapshot.getInteractiveElements()).hasSize(1);
+        CaptureTiming timing = snapshotBuilder.getLastCaptureTiming();
+        assertThat(timing.getMode()).isEqualTo(SnapshotConfig.CaptureMode.PER_ELEMENT);
+        assertThat(timing.isFallback()).isFalse();
+        verify((JavascriptExecutor) mockDriver, never()).executeScript(
+                eq(BulkElementCapture.SCRIPT), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void captureAll_bulkModeWithUnexpectedPayload_fallsBackToPerElement() {
+        when(mockDriver.getCurrentUrl()).thenReturn("https://example.com");
+        when(mockDriver.getTitle()).thenReturn("Test");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("document.documentElement.lang")))
+                .thenReturn("en");
+        when(((JavascriptExecutor) mockDriver).executeScript(
+                eq(BulkElementCapture.SCRIPT), any(), any(), any(), any(), any()))
+                .thenReturn("not json");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("Array.from(document.querySelectorAll")))
+                .thenReturn(List.of(mockElement));
+        setupMockElement(mockElement, "button", "submit", "Submit");
+
+        UiSnapshot snapshot = snapshotBuilder.captureAll();
+
+        assertThat(snapshot.getInteractiveElements()).hasSize(1);
+        assertThat(snapshot.getInteractiveElements().get(0).getId()).isEqualTo("submit");
+        CaptureTiming timing = snapshotBuilder.getLastCaptureTiming();
+        assertThat(timing.getMode()).isEqualTo(SnapshotConfig.CaptureMode.PER_ELEMENT);
+        assertThat(timing.isFallback()).isTrue();
+        assertThat(timing.getElementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void captureAll_includeShadowDom_capturesShadowHostedElementsInSameScript() {
+        config.setIncludeShadowDom(true);
+        when(mockDriver.getCurrentUrl()).thenReturn("https://example.com");
+        when(mockDriver.getTitle()).thenReturn("Test");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("document.documentElement.lang")))
+                .thenReturn("en");
+
+        String payload = """
+            [{"tag":"button","id":"pay","text":"Pay","en":true,"sel":false,
+              "rect":[10,20,120,40],"ctr":"my-app >> checkout-form.card >> FORM#payment","lbl":[],"data":{}}]
+            """;
+        when(((JavascriptExecutor) mockDriver).executeScript(
+                eq(BulkElementCapture.SCRIPT), any(), any(), any(), any(), eq(true)))
+                .thenReturn(payload);
+
+        UiSnapshot snapshot = snapshotBuilder.captureAll();
+
+        assertThat(snapshot.getInteractiveElements()).hasSize(1);
+        assertThat(snapshot.getInteractiveElements().get(0).getContainer())
+                .isEqualTo("my-app >> checkout-form.card >> FORM#payment");
+        assertThat(snapshotBuilder.getLastCaptureTiming().getEstimatedRoundTrips()).isEqualTo(1);
+    }
+
     // ===== Helper methods =====
 
     private void setupMockElement(WebElement element, String tagName, String id, String text) {
@@ -0,0 +1,134 @@
+package io.github.glaciousm.selenium.snapshot;
+
+import io.github.glaciousm.core.config.SnapshotConfig;
+import io.github.glaciousm.core.model.ActionType;
+import io.github.glaciousm.core.model.FailureContext;
+import io.github.glaciousm.core.model.UiSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SnapshotSessionTest {
+
+    private WebDriver mockDriver;
+    private SnapshotConfig config;
+
+    @BeforeEach
+    void setUp() {
+        mockDriver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(mockDriver.getCurrentUrl()).thenReturn("https://example.com/login");
+        when(mockDriver.getTitle()).thenReturn("Login");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("document.documentElement.lang")))
+                .thenReturn("en");
+        when(((JavascriptExecutor) mockDriver).executeScript(contains("Array.from(document.querySelectorAll")))
+                .thenReturn(new ArrayList<>());
+
+        config = new SnapshotConfig();
+        config.setCaptureMode(SnapshotConfig.CaptureMode.PER_ELEMENT);
+    }
+
+    private void pageStateReturns(Object first, Object... rest) {
+        when(((JavascriptExecutor) mockDriver).executeScript(SnapshotSession.PAGE_STATE_SCRIPT))
+                .thenReturn(first, rest);
+    }
+
+    @Test
+    void captureAll_reusesSnapshotWhilePageUnchanged() {
+        pageStateReturns("https://example.com/login|abc|3");
+        SnapshotSession session = new SnapshotSession(mockDriver, config);
+
+        UiSnapshot first = session.captureAll();
+        UiSnapshot second = session.captureAll();
+
+        assertThat(second).isSameAs(first);
+        assertThat(session.getCaptureCount()).isEqualTo(1);
+        assertThat(session.getCapturesAvoided()).isEqualTo(1);
+        verify(mockDriver, times(1)).getTitle();
+    }
+
+    @Test
+    void captureAll_recapturesAfterDomMutation() {
+        pageStateReturns("https://example.com/login|abc|3", "https://example.com/login|abc|4");
+        SnapshotSession session = new SnapshotSession(mockDriver, config);
+
+        UiSnapshot first = session.captureAll();
+        UiSnapshot second = session.captureAll();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(session.getCaptureCount()).isEqualTo(2);
+        assertThat(session.getCapturesAvoided()).isZero();
+    }
+
+    @Test
+    void captureAll_neverReusesWhenPageStateUnavailable() {
+        pageStateReturns(null);
+        SnapshotSession session = new SnapshotSession(mockDriver, config);
+
+        session.captureAll();
+        session.captureAll();
+
+        assertThat(session.getCaptureCount()).isEqualTo(2);
+        assertThat(session.getCapturesAvoided()).isZero();
+    }
+
+    @Test
+    void captureAll_zeroTtlDisablesReuse() {
+        pageStateReturns("https://example.com/login|abc|3");
+        config.setReuseTtlMs(0);
+        SnapshotSession session = new SnapshotSession(mockDriver, config);
+
+        session.captureAll();
+        session.captureAll();
+
+        assertThat(session.getCaptureCount()).isEqualTo(2);
+        verify((JavascriptExecutor) mockDriver, never()).executeScript(SnapshotSession.PAGE_STATE_SCRIPT);
+    }
+
+    @Test
+    void capture_keepsSeparateSnapshotsPerActionType() {
+        pageStateReturns("https://example.com/login|abc|3");
+        config.setCaptureScreenshot(false);
+        SnapshotSession session = new SnapshotSession(mockDriver, config);
+
+        FailureContext click = FailureContext.builder()
+                .actionType(ActionType.CLICK).stepText("Click login").build();
+        FailureContext type = FailureContext.builder()
+                .actionType(ActionType.TYPE).stepText("Enter username").build();
+
+        UiSnapshot clickSnapshot = session.capture(click);
+        UiSnapshot typeSnapshot = session.capture(type);
+        UiSnapshot clickAgain = session.capture(click);
+
+        assertThat(typeSnapshot).isNotSameAs(clickSnapshot);
+        assertThat(clickAgain).isSameAs(clickSnapshot);
+        assertThat(session.getCaptureCount()).isEqualTo(2);
+        assertThat(session.getCapturesAvoided()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_forcesFreshCapture() {
+        pageStateReturns("https://example.com/login|abc|3");
+        SnapshotSession session = new SnapshotSession(mockDriver, config);
+
+        session.captureAll();
+        session.invalidate();
+        session.captureAll();
+
+        assertThat(session.getCaptureCount()).isEqualTo(2);
+    }
+
+    @Test
+    void forDriver_returnsSameSessionForSameDriver() {
+        SnapshotSession first = SnapshotSession.forDriver(mockDriver, config);
+        SnapshotSession second = SnapshotSession.forDriver(mockDriver, config);
+
+        assertThat(second).isSameAs(first);
+    }
+}